@@ -0,0 +1,615 @@
+package eecalcs.ampacity;
+
+import eecalcs.conductors.ConductiveMetal;
+import eecalcs.conductors.ConductorProperties;
+import eecalcs.conductors.Conduitable;
+import eecalcs.conductors.Insulation;
+import eecalcs.conductors.RWConduitable;
+import eecalcs.conductors.Size;
+import eecalcs.conduits.Conduit;
+import eecalcs.conduits.OuterMaterial;
+import eecalcs.conduits.TradeSize;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ This class calculates the ampacity of conductors in conduits, under engineering supervision, as permitted by NEC
+ 2014,2017:310.15(C), 2020:310.14(B), using the Neher-McGrath method:
+ <p>&emsp;<code>I = √[(T<sub>C</sub> - T<sub>A</sub>) / (R<sub>AC</sub>·R<sub>CA</sub>)]</code>
+ <p>where T<sub>C</sub> is the temperature rating of the conductors, T<sub>A</sub> the ambient temperature,
+ R<sub>AC</sub> the AC resistance of the conductors at T<sub>C</sub> (see
+ {@link ConductorProperties#getACResistanceAt(Size, ConductiveMetal, OuterMaterial, double)}) and R<sub>CA</sub> the
+ effective thermal resistance between the conductors and the ambient, which is the sum of:
+ <ul>
+ <li>the insulation of each conductor;</li>
+ <li>the space between the conductors and the conduit, which depends on the mean temperature of that space;</li>
+ <li>the wall of the conduit (zero for metallic conduits);</li>
+ <li>the surface of the conduit to the air, for conduits in free air, or the earth (or the concrete of a duct bank)
+ around the conduit, for underground conduits.</li>
+ </ul>
+ <p>Underground conduits heat each other. The temperature rise of each conduit is the sum of its own rise and the
+ rise caused by the heat of every other conduit, calculated with the image method, plus, for duct banks, the
+ correction for the difference between the thermal resistivities of the concrete and the earth. The earth portion
+ of the thermal resistances is multiplied by the loss factor <code>0.3·LF + 0.7·LF²</code>, except within the
+ fictitious diameter of 8.3 inches where the daily load cycle is not attenuated. The ampacities are those that make
+ all the conductors reach their temperature rating at the same time; they are the solution of a linear system with
+ one equation per conduit. A conduit that would exceed its temperature rating with the heat of its neighbors alone
+ has an ampacity of zero.
+ <p>Each conduit is treated as one circuit: all its current-carrying conductors carry the same current and must have
+ the same size and metal; the smallest temperature rating among them is used. Conduits in free air are assumed to
+ be spaced so that they do not heat each other. The dielectric losses are neglected, as they are for voltages up to
+ 2000 volts. The outer diameter of a conduit is estimated from its internal area (NEC Chapter 9 Table 4).
+ <p>{@link #calculateInParallel()} builds the mutual heating matrix and solves the linear system distributing the
+ conduits among the threads of the common fork-join pool, which pays off for duct banks with dozens of circuits. The
+ results can be transferred to the conductors with {@link #apply()}, so they are returned by
+ {@link Conduitable#getCorrectedAndAdjustedAmpacity()}. Objects of this class are not thread safe.
+ */
+public class NeherMcGrath {
+	/*Conduits (rows of the system) processed by a single task.*/
+	private static final int PARALLEL_THRESHOLD = 8;
+	private static final int MAX_ITERATIONS = 50;
+	private static final double TOLERANCE = 1e-6;
+	private static final double METERS_PER_INCH = 0.0254;
+	private static final double METERS_PER_1000FT = 304.8;
+	/*Fictitious diameter beyond which the daily load cycle is attenuated, in meters (8.3 inches).*/
+	private static final double FICTITIOUS_DIAMETER = 0.211;
+	/*Ratio of the outer to the inner diameter of a conduit.*/
+	private static final double CONDUIT_DIAMETER_RATIO = 1.15;
+	/*Thermal resistivity of a PVC conduit wall, in K·m/W.*/
+	private static final double PVC_RESISTIVITY = 6.0;
+	private final List<Conduit> conduits = new ArrayList<>();
+	private double[] x = new double[4];
+	private double[] depth = new double[4];
+	private double[] ampacities;
+	private double earthAmbientTemperature = 20;
+	private double earthResistivity = 90;
+	private double loadFactor = 1.0;
+	private boolean inAir = false;
+	private boolean ductBank = false;
+	private double bankWidth;
+	private double bankHeight;
+	private double bankDepth;
+	private double concreteResistivity;
+	private boolean calculated;
+	private boolean parallel;
+
+	/*Properties of each conduit, in SI units, prepared at the start of a calculation.*/
+	private int[] conductorCount;
+	private double[] ratedTemperature;
+	private double[] ambientTemperature;
+	private double[] resistance;
+	private double[] insulationResistance;
+	private double[] groupDiameter;
+	private double[] innerDiameter;
+	private double[] outerDiameter;
+	private double[] wallResistance;
+	private double[][] spaceConstants;
+	private double[][] mutual;
+
+	/**
+	 Creates a calculation for directly buried conduits, with an earth ambient temperature of 20°C, an earth thermal
+	 resistivity (RHO) of 90 °C·cm/W and a load factor of 100%.
+	 */
+	public NeherMcGrath() {}
+
+	/**
+	 Sets the conduits in free air. The ambient temperature of each conduit is its own ambient temperature.
+	 @return This object.
+	 */
+	public NeherMcGrath setInAir() {
+		inAir = true;
+		ductBank = false;
+		calculated = false;
+		return this;
+	}
+
+	/**
+	 Sets the conduits directly buried in the earth.
+	 @return This object.
+	 */
+	public NeherMcGrath setDirectBuried() {
+		inAir = false;
+		ductBank = false;
+		calculated = false;
+		return this;
+	}
+
+	/**
+	 Sets the conduits in a rectangular concrete duct bank.
+	 @param width The width of the duct bank, in inches. Must be > 0.
+	 @param height The height of the duct bank, in inches. Must be > 0. The longer side should not exceed three
+	 times the shorter side.
+	 @param depthToCenter The depth from the surface to the center of the duct bank, in inches. Must be greater than
+	 half the height.
+	 @param concreteResistivity The thermal resistivity of the concrete, in °C·cm/W. Must be > 0. Typically 55.
+	 @return This object.
+	 */
+	public NeherMcGrath setDuctBank(double width, double height, double depthToCenter, double concreteResistivity) {
+		if(width <= 0 || height <= 0)
+			throw new IllegalArgumentException("Duct bank dimensions must be > 0.");
+		if(depthToCenter <= height / 2)
+			throw new IllegalArgumentException("Duct bank must be below the surface.");
+		if(concreteResistivity <= 0)
+			throw new IllegalArgumentException("Concrete thermal resistivity must be > 0.");
+		inAir = false;
+		ductBank = true;
+		bankWidth = width;
+		bankHeight = height;
+		bankDepth = depthToCenter;
+		this.concreteResistivity = concreteResistivity;
+		calculated = false;
+		return this;
+	}
+
+	/**
+	 @param earthAmbientTemperatureC The temperature of the earth at the depth of the conduits, in degrees Celsius.
+	 @return This object.
+	 */
+	public NeherMcGrath setEarthAmbientTemperature(double earthAmbientTemperatureC) {
+		earthAmbientTemperature = earthAmbientTemperatureC;
+		calculated = false;
+		return this;
+	}
+
+	/**
+	 @param earthResistivity The thermal resistivity of the earth (RHO), in °C·cm/W. Must be > 0.
+	 @return This object.
+	 */
+	public NeherMcGrath setEarthThermalResistivity(double earthResistivity) {
+		if(earthResistivity <= 0)
+			throw new IllegalArgumentException("Earth thermal resistivity must be > 0.");
+		this.earthResistivity = earthResistivity;
+		calculated = false;
+		return this;
+	}
+
+	/**
+	 @param loadFactor The daily load factor of the circuits, that is, the average load divided by the peak load. Must
+	 be in the range (0, 1].
+	 @return This object.
+	 */
+	public NeherMcGrath setLoadFactor(double loadFactor) {
+		if(loadFactor <= 0 || loadFactor > 1)
+			throw new IllegalArgumentException("Load factor must be in the range (0, 1].");
+		this.loadFactor = loadFactor;
+		calculated = false;
+		return this;
+	}
+
+	/**
+	 Adds a conduit to this calculation.
+	 @param conduit The conduit. Cannot be null. It must have current-carrying conductors of the same size and metal,
+	 with a defined insulated area, and a trade size.
+	 @param x The horizontal position of the center of the conduit, in inches, measured from the vertical axis of the
+	 duct bank, if any. Ignored for conduits in free air.
+	 @param depth The depth from the surface to the center of the conduit, in inches. Ignored for conduits in free
+	 air.
+	 @return The index of the conduit in this calculation, starting at zero.
+	 */
+	public int addConduit(@NotNull Conduit conduit, double x, double depth) {
+		if(conduit == null)
+			throw new IllegalArgumentException("Conduit cannot be null.");
+		if(conduit.getCurrentCarryingCount() == 0)
+			throw new IllegalArgumentException("The conduit has no current-carrying conductors.");
+		if(conduit.getTradeSize() == null)
+			throw new IllegalArgumentException("The conductors do not fit in any trade size of the conduit.");
+		Conduitable first = null;
+		for(Conduitable c : conduit.getMembers()) {
+			if(c.getCurrentCarryingCount() == 0)
+				continue;
+			if(first == null)
+				first = c;
+			else if(c.getSize() != first.getSize() || c.getMetal() != first.getMetal())
+				throw new IllegalArgumentException("All the current-carrying conductors in a conduit must have the " +
+						"same size and metal.");
+			if(!ConductorProperties.hasInsulatedAreaDefined(c.getSize(), c.getInsulation()))
+				throw new IllegalArgumentException("The insulated area of " + c.getSize() + " " + c.getInsulation() +
+						" is not defined.");
+		}
+		int index = conduits.size();
+		if(index == this.x.length) {
+			this.x = Arrays.copyOf(this.x, index * 2);
+			this.depth = Arrays.copyOf(this.depth, index * 2);
+		}
+		this.x[index] = x;
+		this.depth[index] = depth;
+		conduits.add(conduit);
+		calculated = false;
+		return index;
+	}
+
+	/**
+	 @return The number of conduits in this calculation.
+	 */
+	public int getConduitCount() {
+		return conduits.size();
+	}
+
+	/**
+	 @param index The index of the conduit, as returned by {@link #addConduit(Conduit, double, double)}.
+	 @return The ampacity of each current-carrying conductor in the given conduit, in amperes. The calculation is
+	 performed, sequentially, if needed.
+	 */
+	public double getAmpacity(int index) {
+		if(index < 0 || index >= conduits.size())
+			throw new IllegalArgumentException("There is no conduit with index " + index + ".");
+		if(!calculated)
+			calculate();
+		return ampacities[index];
+	}
+
+	/**
+	 Sets the calculated ampacity of each current-carrying conductor or cable of every conduit, so it is returned by
+	 {@link Conduitable#getCorrectedAndAdjustedAmpacity()}. The calculation is performed, sequentially, if needed.
+	 Conductors whose calculated ampacity is zero are left with the ampacity of the tables.
+	 @see RWConduitable#setCalculatedAmpacity(double)
+	 */
+	public void apply() {
+		if(!calculated)
+			calculate();
+		for(int i = 0; i < conduits.size(); i++) {
+			if(ampacities[i] <= 0)
+				continue;
+			for(Conduitable c : conduits.get(i).getMembers())
+				if(c.getCurrentCarryingCount() > 0 && c instanceof RWConduitable)
+					((RWConduitable) c).setCalculatedAmpacity(ampacities[i]);
+		}
+	}
+
+	/**
+	 Calculates the ampacities in the calling thread.
+	 */
+	public void calculate() {
+		parallel = false;
+		solve();
+	}
+
+	/**
+	 Calculates the ampacities distributing the conduits among the threads of the common fork-join pool.
+	 */
+	public void calculateInParallel() {
+		parallel = true;
+		solve();
+	}
+
+	private void solve() {
+		int n = conduits.size();
+		if(ductBank)
+			checkDuctBank();
+		prepare(n);
+		forEach(0, n, this::prepareConduit);
+		if(!inAir)
+			forEach(0, n, this::prepareMutual);
+
+		double[] spaceResistance = new double[n];
+		double[] surfaceResistance = new double[n];
+		double[] meanTemperature = new double[n];
+		double[] squares = new double[n];
+		for(int p = 0; p < n; p++) {
+			meanTemperature[p] = (ratedTemperature[p] + ambientTemperature[p]) / 2;
+			if(inAir)
+				surfaceResistance[p] = surfaceResistance(outerDiameter[p], 10);
+		}
+		double[] previous = new double[n];
+		for(int iteration = 0; iteration < MAX_ITERATIONS; iteration++) {
+			forEach(0, n, p -> spaceResistance[p] = spaceResistance(p, meanTemperature[p]));
+			double[][] a = new double[n][n];
+			double[] b = new double[n];
+			forEach(0, n, p -> {
+				double[] row = a[p];
+				for(int k = 0; k < n; k++)
+					row[k] = inAir ? 0 : mutual[p][k] * conductorCount[k] * resistance[k];
+				row[p] += resistance[p] * (insulationResistance[p] + conductorCount[p] *
+						(spaceResistance[p] + wallResistance[p] + (inAir ? surfaceResistance[p] : 0)));
+				b[p] = ratedTemperature[p] - ambientTemperature[p];
+			});
+			solveNonNegative(a, b, squares);
+
+			double change = 0;
+			for(int p = 0; p < n; p++) {
+				double heat = conductorCount[p] * squares[p] * resistance[p];
+				double wallTemperature = ratedTemperature[p] - squares[p] * resistance[p] * insulationResistance[p] -
+						heat * spaceResistance[p];
+				meanTemperature[p] = (ratedTemperature[p] + wallTemperature) / 2;
+				if(inAir) {
+					double surfaceRise = heat * surfaceResistance[p];
+					surfaceResistance[p] = surfaceResistance(outerDiameter[p], surfaceRise);
+				}
+				double scale = Math.max(squares[p], previous[p]);
+				if(scale > 0)
+					change = Math.max(change, Math.abs(squares[p] - previous[p]) / scale);
+				previous[p] = squares[p];
+			}
+			if(iteration > 0 && change < TOLERANCE)
+				break;
+		}
+		ampacities = new double[n];
+		for(int p = 0; p < n; p++)
+			ampacities[p] = Math.sqrt(squares[p]);
+		mutual = null;
+		calculated = true;
+	}
+
+	private void checkDuctBank() {
+		for(int p = 0; p < conduits.size(); p++)
+			if(Math.abs(x[p]) > bankWidth / 2 || Math.abs(depth[p] - bankDepth) > bankHeight / 2)
+				throw new IllegalArgumentException("The conduit with index " + p + " is outside the duct bank.");
+	}
+
+	private void prepare(int n) {
+		conductorCount = new int[n];
+		ratedTemperature = new double[n];
+		ambientTemperature = new double[n];
+		resistance = new double[n];
+		insulationResistance = new double[n];
+		groupDiameter = new double[n];
+		innerDiameter = new double[n];
+		outerDiameter = new double[n];
+		wallResistance = new double[n];
+		spaceConstants = new double[n][];
+		mutual = inAir ? null : new double[n][];
+	}
+
+	/*
+	 Properties of the conductors and the conduit with the given index.
+	 */
+	private void prepareConduit(int p) {
+		Conduit conduit = conduits.get(p);
+		Conduitable phase = null;
+		double rating = Double.MAX_VALUE;
+		double area = 0;
+		int members = 0;
+		for(Conduitable c : conduit.getMembers()) {
+			area += c.getInsulatedAreaIn2();
+			members++;
+			if(c.getCurrentCarryingCount() == 0)
+				continue;
+			phase = c;
+			rating = Math.min(rating, c.getTemperatureRating().getValue());
+		}
+		if(phase == null)
+			throw new IllegalArgumentException("The conduit with index " + p + " has no current-carrying conductors.");
+		OuterMaterial material = conduit.getMaterial();
+		TradeSize tradeSize = conduit.getTradeSize();
+		if(tradeSize == null)
+			throw new IllegalArgumentException("The conductors of the conduit with index " + p + " do not fit in " +
+					"any trade size.");
+		conductorCount[p] = conduit.getCurrentCarryingCount();
+		ratedTemperature[p] = rating;
+		ambientTemperature[p] = inAir ? (conduit.getAmbientTemperatureF() - 32) / 1.8 : earthAmbientTemperature;
+		if(ambientTemperature[p] >= rating)
+			throw new IllegalArgumentException("The ambient temperature of the conduit with index " + p + " is not " +
+					"below the temperature rating of its conductors.");
+		resistance[p] = ConductorProperties.getACResistanceAt(phase.getSize(), phase.getMetal(), material, rating) /
+				METERS_PER_1000FT;
+
+		double conductorDiameter = Math.sqrt(ConductorProperties.getAreaCM(phase.getSize())) / 1000;
+		double insulatedDiameter = diameter(ConductorProperties.getInsulatedConductorAreaIn2(phase.getSize(),
+				phase.getInsulation()));
+		insulationResistance[p] = insulationResistivity(phase.getInsulation()) / (2 * Math.PI) *
+				Math.log(insulatedDiameter / conductorDiameter);
+
+		innerDiameter[p] = diameter(conduit.getArea()) * METERS_PER_INCH;
+		outerDiameter[p] = innerDiameter[p] * CONDUIT_DIAMETER_RATIO;
+		groupDiameter[p] = Math.min(diameter(area / members) * METERS_PER_INCH * groupFactor(members),
+				innerDiameter[p]);
+		wallResistance[p] = material == OuterMaterial.PVC ?
+				PVC_RESISTIVITY / (2 * Math.PI) * Math.log(CONDUIT_DIAMETER_RATIO) : 0;
+		spaceConstants[p] = material == OuterMaterial.PVC ?
+				new double[]{1.87, 0.312, 0.0037} : new double[]{5.2, 1.4, 0.011};
+	}
+
+	/*
+	 Row of the mutual heating matrix for the conduit with the given index, in K·m/W: the temperature rise at the
+	 conduit caused by one W/m in each conduit.
+	 */
+	private void prepareMutual(int p) {
+		int n = conduits.size();
+		double lossFactor = 0.3 * loadFactor + 0.7 * loadFactor * loadFactor;
+		double rho = (ductBank ? concreteResistivity : earthResistivity) / 100;
+		double bank = 0;
+		if(ductBank) {
+			double shortSide = Math.min(bankWidth, bankHeight) * METERS_PER_INCH;
+			double longSide = Math.max(bankWidth, bankHeight) * METERS_PER_INCH;
+			double ratio = shortSide / longSide;
+			double radius = Math.exp(0.5 * ratio * (4 / Math.PI - ratio) *
+					Math.log(1 + 1 / (ratio * ratio)) + Math.log(shortSide / 2));
+			bank = lossFactor * (earthResistivity - concreteResistivity) / 100 / (2 * Math.PI) *
+					arcosh(bankDepth * METERS_PER_INCH / radius);
+		}
+		double[] row = new double[n];
+		double xp = x[p] * METERS_PER_INCH;
+		double yp = depth[p] * METERS_PER_INCH;
+		for(int k = 0; k < n; k++) {
+			if(k == p) {
+				double d = outerDiameter[p];
+				if(yp <= d / 2)
+					throw new IllegalArgumentException("The conduit with index " + p + " must be below the surface.");
+				double full = arcosh(2 * yp / d);
+				double self = d < FICTITIOUS_DIAMETER ?
+						(1 - lossFactor) * Math.log(FICTITIOUS_DIAMETER / d) + lossFactor * full :
+						lossFactor * full;
+				row[k] = rho / (2 * Math.PI) * self + bank;
+			}
+			else {
+				double dx = xp - x[k] * METERS_PER_INCH;
+				double yk = depth[k] * METERS_PER_INCH;
+				double distance = Math.hypot(dx, yp - yk);
+				double image = Math.hypot(dx, yp + yk);
+				if(distance == 0)
+					throw new IllegalArgumentException("The conduits with indexes " + k + " and " + p + " are at the " +
+							"same position.");
+				row[k] = lossFactor * rho / (2 * Math.PI) * Math.log(image / distance) + bank;
+			}
+		}
+		mutual[p] = row;
+	}
+
+	/*
+	 Thermal resistance of the space between the conductors and the conduit, per the formula
+	 T = U / [1 + 0.1·(V + Y·θm)·De], De in millimeters.
+	 */
+	private double spaceResistance(int p, double meanTemperature) {
+		double[] c = spaceConstants[p];
+		return c[0] / (1 + 0.1 * (c[1] + c[2] * meanTemperature) * groupDiameter[p] * 1000);
+	}
+
+	/*
+	 Thermal resistance from the surface of a conduit in free air, in K·m/W, for the given temperature rise of the
+	 surface over the ambient: T = 1 / [π·D·h·Δθ^(1/4)], with h = 0.21 / D^0.6 + 3.94.
+	 */
+	private static double surfaceResistance(double outerDiameter, double surfaceRise) {
+		double h = 0.21 / Math.pow(outerDiameter, 0.6) + 3.94;
+		return 1 / (Math.PI * outerDiameter * h * Math.pow(Math.max(surfaceRise, 0.1), 0.25));
+	}
+
+	/*
+	 Thermal resistivity of the insulation, in K·m/W: cross-linked and rubber insulations 3.5, thermoplastic
+	 insulations 5.0.
+	 */
+	private static double insulationResistivity(Insulation insulation) {
+		switch(insulation) {
+			case XHH: case XHHW: case XHHW2: case RHH: case RHW: case RHW2: case USE: case USE2:
+				return 3.5;
+			default:
+				return 5.0;
+		}
+	}
+
+	/*
+	 Ratio of the equivalent diameter of a group of cables in a conduit to the diameter of one cable.
+	 */
+	private static double groupFactor(int cables) {
+		switch(cables) {
+			case 1: return 1;
+			case 2: return 1.65;
+			case 3: return 2.15;
+			case 4: return 2.5;
+			default: return 1.25 * Math.sqrt(cables);
+		}
+	}
+
+	private static double diameter(double area) {
+		return Math.sqrt(4 * area / Math.PI);
+	}
+
+	private static double arcosh(double u) {
+		return Math.log(u + Math.sqrt(u * u - 1));
+	}
+
+	/*
+	 Solves a·x = b with x >= 0. The conduits whose solution is negative are taken out of the system (their current is
+	 zero) and the system is solved again with the rest.
+	 */
+	private void solveNonNegative(double[][] a, double[] b, double[] solution) {
+		int n = b.length;
+		boolean[] active = new boolean[n];
+		Arrays.fill(active, true);
+		int[] map = new int[n];
+		while(true) {
+			int m = 0;
+			for(int p = 0; p < n; p++)
+				if(active[p])
+					map[m++] = p;
+			double[][] reduced = new double[m][m];
+			double[] rhs = new double[m];
+			for(int i = 0; i < m; i++) {
+				for(int j = 0; j < m; j++)
+					reduced[i][j] = a[map[i]][map[j]];
+				rhs[i] = b[map[i]];
+			}
+			double[] values = gauss(reduced, rhs);
+			Arrays.fill(solution, 0);
+			boolean negative = false;
+			for(int i = 0; i < m; i++) {
+				if(values[i] < 0) {
+					active[map[i]] = false;
+					negative = true;
+				}
+				else
+					solution[map[i]] = values[i];
+			}
+			if(!negative)
+				return;
+		}
+	}
+
+	/*
+	 Gaussian elimination with partial pivoting. The rows below the pivot are reduced in parallel when this
+	 calculation runs in parallel.
+	 */
+	private double[] gauss(double[][] a, double[] b) {
+		int n = b.length;
+		for(int col = 0; col < n; col++) {
+			int pivot = col;
+			for(int row = col + 1; row < n; row++)
+				if(Math.abs(a[row][col]) > Math.abs(a[pivot][col]))
+					pivot = row;
+			if(a[pivot][col] == 0)
+				throw new IllegalStateException("The mutual heating matrix is singular.");
+			double[] t = a[col];
+			a[col] = a[pivot];
+			a[pivot] = t;
+			double tb = b[col];
+			b[col] = b[pivot];
+			b[pivot] = tb;
+			int c = col;
+			double[] pivotRow = a[c];
+			forEach(c + 1, n, row -> {
+				double factor = a[row][c] / pivotRow[c];
+				if(factor == 0)
+					return;
+				double[] r = a[row];
+				for(int k = c; k < n; k++)
+					r[k] -= factor * pivotRow[k];
+				b[row] -= factor * b[c];
+			});
+		}
+		double[] result = new double[n];
+		for(int row = n - 1; row >= 0; row--) {
+			double sum = b[row];
+			for(int k = row + 1; k < n; k++)
+				sum -= a[row][k] * result[k];
+			result[row] = sum / a[row][row];
+		}
+		return result;
+	}
+
+	private void forEach(int from, int to, IntConsumer action) {
+		if(parallel && to - from > PARALLEL_THRESHOLD)
+			ForkJoinPool.commonPool().invoke(new RangeTask(from, to, action));
+		else
+			for(int i = from; i < to; i++)
+				action.accept(i);
+	}
+
+	@SuppressWarnings("serial")
+	private static final class RangeTask extends RecursiveAction {
+		private final int from;
+		private final int to;
+		private final IntConsumer action;
+
+		private RangeTask(int from, int to, IntConsumer action) {
+			this.from = from;
+			this.to = to;
+			this.action = action;
+		}
+
+		@Override
+		protected void compute() {
+			if(to - from <= PARALLEL_THRESHOLD) {
+				for(int i = from; i < to; i++)
+					action.accept(i);
+				return;
+			}
+			int middle = (from + to) >>> 1;
+			invokeAll(new RangeTask(from, middle, action), new RangeTask(middle, to, action));
+		}
+	}
+}
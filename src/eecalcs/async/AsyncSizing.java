@@ -0,0 +1,302 @@
+package eecalcs.async;
+
+import eecalcs.circuits.CircuitAll;
+import eecalcs.conductors.Size;
+import eecalcs.conduits.Conduit;
+import eecalcs.conduits.TradeSize;
+import eecalcs.voltagedrop.VoltageDropAC;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import tools.Metrics;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ This class runs the sizing calculations of {@link CircuitAll}, {@link VoltageDropAC} and {@link Conduit} objects in
+ a pool of worker threads and returns their results as {@link CompletableFuture} objects, so the calling thread is
+ never blocked by a calculation.
+ <p>The number of requests admitted (waiting or running) is bounded. When the bound is reached, new requests are not
+ queued: the returned future completes right away with a {@link RejectedExecutionException}, which tells the caller
+ to slow down. Each request can have a deadline; when it expires, the future completes with a
+ {@link TimeoutException}. A request whose future is cancelled or timed out is skipped if it has not started; if it
+ is running, its worker thread is interrupted.
+ <p>The number of waiting and admitted requests, and the number of rejected, timed out and cancelled requests, can be
+ read at any time. The wait and the total latency of the requests are recorded in the stages
+ {@link Metrics.Stage#ASYNC_WAIT} and {@link Metrics.Stage#ASYNC_REQUEST} of {@link Metrics}, when enabled.
+ <p>The objects passed to this class are not thread safe: they must not be read or modified by other threads until
+ their future is completed. Objects of this class are thread safe.
+ */
+public class AsyncSizing implements AutoCloseable {
+	private static final AtomicInteger poolCount = new AtomicInteger();
+	private final ThreadPoolExecutor executor;
+	private final Semaphore admission;
+	private final int capacity;
+	private final LongAdder rejected = new LongAdder();
+	private final LongAdder timedOut = new LongAdder();
+	private final LongAdder cancelled = new LongAdder();
+	private final LongAdder completed = new LongAdder();
+
+	/**
+	 Creates an object with one worker thread per available processor and an admission bound of sixteen requests per
+	 worker thread.
+	 */
+	public AsyncSizing() {
+		this(Runtime.getRuntime().availableProcessors(), 16 * Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 Creates an object with the given number of worker threads and admission bound.
+	 @param threads The number of worker threads. Must be > 0. The threads are daemon threads.
+	 @param capacity The maximum number of requests admitted, waiting or running, at any time. Must be >= threads.
+	 */
+	public AsyncSizing(int threads, int capacity) {
+		if(threads <= 0)
+			throw new IllegalArgumentException("Number of threads must be > 0.");
+		if(capacity < threads)
+			throw new IllegalArgumentException("Capacity must be >= the number of threads.");
+		this.capacity = capacity;
+		admission = new Semaphore(capacity);
+		String prefix = "eecalcs-sizing-" + poolCount.incrementAndGet() + "-";
+		AtomicInteger threadCount = new AtomicInteger();
+		executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+				runnable -> {
+					Thread thread = new Thread(runnable, prefix + threadCount.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				});
+	}
+
+	/**
+	 Calculates the given circuit.
+	 @param circuit The circuit. Cannot be null.
+	 @param deadline The maximum time to wait for the result, or null for no deadline.
+	 @return A future of the given circuit, completed when all its results are calculated.
+	 @see CircuitAll#getCircuitSize()
+	 */
+	public CompletableFuture<CircuitAll> calculate(@NotNull CircuitAll circuit, @Nullable Duration deadline) {
+		if(circuit == null)
+			throw new IllegalArgumentException("Circuit cannot be null.");
+		return submit(() -> {
+			circuit.getCircuitSize();
+			return circuit;
+		}, deadline);
+	}
+
+	/**
+	 @param circuit The circuit. Cannot be null.
+	 @param deadline The maximum time to wait for the result, or null for no deadline.
+	 @return A future of the size of the conductors of the given circuit.
+	 @see CircuitAll#getCircuitSize()
+	 */
+	public CompletableFuture<Size> getCircuitSize(@NotNull CircuitAll circuit, @Nullable Duration deadline) {
+		if(circuit == null)
+			throw new IllegalArgumentException("Circuit cannot be null.");
+		return submit(circuit::getCircuitSize, deadline);
+	}
+
+	/**
+	 @param voltageDrop The voltage drop object. Cannot be null.
+	 @param deadline The maximum time to wait for the result, or null for no deadline.
+	 @return A future of the voltage drop percentage.
+	 @see VoltageDropAC#getVoltageDropPercent()
+	 */
+	public CompletableFuture<Double> getVoltageDropPercent(@NotNull VoltageDropAC voltageDrop,
+	                                                       @Nullable Duration deadline) {
+		if(voltageDrop == null)
+			throw new IllegalArgumentException("Voltage drop object cannot be null.");
+		return submit(voltageDrop::getVoltageDropPercent, deadline);
+	}
+
+	/**
+	 @param voltageDrop The voltage drop object. Cannot be null.
+	 @param deadline The maximum time to wait for the result, or null for no deadline.
+	 @return A future of the minimum size for the maximum voltage drop; its value may be null.
+	 @see VoltageDropAC#getMinSizeForMaxVD()
+	 */
+	public CompletableFuture<Size> getMinSizeForMaxVD(@NotNull VoltageDropAC voltageDrop,
+	                                                  @Nullable Duration deadline) {
+		if(voltageDrop == null)
+			throw new IllegalArgumentException("Voltage drop object cannot be null.");
+		return submit(voltageDrop::getMinSizeForMaxVD, deadline);
+	}
+
+	/**
+	 @param conduit The conduit. Cannot be null.
+	 @param deadline The maximum time to wait for the result, or null for no deadline.
+	 @return A future of the trade size of the conduit; its value may be null.
+	 @see Conduit#getTradeSize()
+	 */
+	public CompletableFuture<TradeSize> getTradeSize(@NotNull Conduit conduit, @Nullable Duration deadline) {
+		if(conduit == null)
+			throw new IllegalArgumentException("Conduit cannot be null.");
+		return submit(conduit::getTradeSize, deadline);
+	}
+
+	/**
+	 Submits any calculation.
+	 @param task The calculation. Cannot be null.
+	 @param deadline The maximum time to wait for the result, or null for no deadline. Must be positive.
+	 @param <T> The type of the result.
+	 @return A future of the result of the calculation. It completes with a {@link RejectedExecutionException} if
+	 the admission bound is reached or this object is closed, with a {@link TimeoutException} if the deadline
+	 expires, and with the exception thrown by the calculation, if any.
+	 */
+	public <T> CompletableFuture<T> submit(@NotNull Callable<T> task, @Nullable Duration deadline) {
+		if(task == null)
+			throw new IllegalArgumentException("Task cannot be null.");
+		if(deadline != null && (deadline.isNegative() || deadline.isZero()))
+			throw new IllegalArgumentException("Deadline must be positive.");
+		if(!admission.tryAcquire()) {
+			rejected.increment();
+			return CompletableFuture.failedFuture(new RejectedExecutionException("The admission bound of " +
+					capacity + " requests has been reached."));
+		}
+		Request<T> request = new Request<>(task);
+		try {
+			executor.execute(request);
+		}
+		catch(RejectedExecutionException e) {
+			admission.release();
+			rejected.increment();
+			return CompletableFuture.failedFuture(e);
+		}
+		if(deadline != null)
+			request.result.orTimeout(deadline.toNanos(), TimeUnit.NANOSECONDS);
+		request.result.whenComplete((value, exception) -> {
+			if(exception instanceof TimeoutException) {
+				timedOut.increment();
+				request.interrupt();
+			}
+			else if(exception instanceof CancellationException) {
+				cancelled.increment();
+				request.interrupt();
+			}
+		});
+		return request.result;
+	}
+
+	/**
+	 @return The number of admitted requests waiting for a worker thread.
+	 */
+	public int getQueueDepth() {
+		return executor.getQueue().size();
+	}
+
+	/**
+	 @return The number of admitted requests, waiting or running.
+	 */
+	public int getAdmittedCount() {
+		return capacity - admission.availablePermits();
+	}
+
+	/**
+	 @return The maximum number of requests admitted at any time.
+	 */
+	public int getCapacity() {
+		return capacity;
+	}
+
+	/**
+	 @return The number of requests rejected since this object was created.
+	 */
+	public long getRejectedCount() {
+		return rejected.sum();
+	}
+
+	/**
+	 @return The number of requests whose deadline expired since this object was created.
+	 */
+	public long getTimedOutCount() {
+		return timedOut.sum();
+	}
+
+	/**
+	 @return The number of requests cancelled since this object was created.
+	 */
+	public long getCancelledCount() {
+		return cancelled.sum();
+	}
+
+	/**
+	 @return The number of requests whose calculation ran to completion since this object was created.
+	 */
+	public long getCompletedCount() {
+		return completed.sum();
+	}
+
+	/**
+	 Stops accepting requests. The admitted requests are completed. The worker threads end when the queue is empty.
+	 */
+	@Override
+	public void close() {
+		executor.shutdown();
+	}
+
+	/*
+	 An admitted request. The thread running it is recorded, so the request can be interrupted when its future is
+	 cancelled or times out, and only while it is running.
+	 */
+	private final class Request<T> implements Runnable {
+		private final Callable<T> task;
+		private final CompletableFuture<T> result = new CompletableFuture<>();
+		private final long submitted = Metrics.start();
+		private Thread runner;
+
+		private Request(Callable<T> task) {
+			this.task = task;
+		}
+
+		@Override
+		public void run() {
+			boolean skipped = result.isDone();
+			T value = null;
+			Throwable failure = null;
+			try {
+				if(!skipped) {
+					Metrics.stop(Metrics.Stage.ASYNC_WAIT, submitted);
+					synchronized(this) {
+						runner = Thread.currentThread();
+					}
+					value = task.call();
+				}
+			}
+			catch(Throwable t) {
+				failure = t;
+			}
+			finally {
+				synchronized(this) {
+					runner = null;
+				}
+				/*clears an interrupt that arrived after the task ended*/
+				Thread.interrupted();
+				admission.release();
+				Metrics.stop(Metrics.Stage.ASYNC_REQUEST, submitted);
+			}
+			/*the permit is released first, so a caller that sees the result can submit again right away*/
+			if(skipped)
+				return;
+			if(failure == null) {
+				completed.increment();
+				result.complete(value);
+			}
+			else
+				result.completeExceptionally(failure);
+		}
+
+		private synchronized void interrupt() {
+			if(runner != null)
+				runner.interrupt();
+		}
+	}
+}
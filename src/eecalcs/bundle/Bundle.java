@@ -5,6 +5,7 @@ import org.jetbrains.annotations.NotNull;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  This class represents a bundle. A bundle is a group of cables or a group of insulated conductors, or a group made
@@ -38,6 +39,7 @@ public class Bundle implements ROBundle {
 	private int ambientTemperatureF = 86;
 
 	private final List<Conduitable> conduitables = new ArrayList<>();
+	private final ConduitableView members = new ConduitableView(conduitables);
 
 	public Bundle(int ambientTemperatureF){
 		setAmbientTemperatureF(ambientTemperatureF);
@@ -60,7 +62,13 @@ public class Bundle implements ROBundle {
 
 	/** Sets the given ambient temperature (in degrees Fahrenheit) to all the conduitables in the bundle.*/
 	private void updateAmbientTemperature() {
-		for (var c: conduitables) {
+		updateAmbientTemperature(0);
+	}
+
+	/** Sets the ambient temperature of this bundle to the conduitables starting at the given index.*/
+	private void updateAmbientTemperature(int from) {
+		for (int i = from; i < conduitables.size(); i++) {
+			Conduitable c = conduitables.get(i);
 			if (c instanceof RWConduitable) {
 				((RWConduitable) c).setAmbientTemperatureF(ambientTemperatureF);
 			}
@@ -100,10 +108,119 @@ public class Bundle implements ROBundle {
 		if (c instanceof RWConduitable) {
 			((RWConduitable) c).setAmbientTemperatureF(ambientTemperatureF);
 		}
+		clearCalculatedAmpacities(conduitables.size());
 		conduitables.add(c);
 		return this;
 	}
 
+	/*
+	 Discards the calculated ampacity of the conduitables before the given index, which is no longer valid once other
+	 conduitables heat them.
+	 */
+	private void clearCalculatedAmpacities(int to) {
+		for(int i = 0; i < to; i++) {
+			Conduitable c = conduitables.get(i);
+			if (c instanceof RWConduitable)
+				((RWConduitable) c).setCalculatedAmpacity(Double.NaN);
+		}
+	}
+
+	/**
+	 Applies a batch of changes to this bundle in a single step. The given mutations are recorded by an
+	 {@link Editor} and nothing is changed until they all have been recorded; then all the values are validated and,
+	 if they are valid, applied at once: the ambient temperature is propagated to the conduitables (existing and
+	 added) in a single pass. If any value is not valid, an IllegalArgumentException is thrown and this bundle is
+	 left unchanged.
+	 @param mutations The changes to apply, as in <code>bundle.edit(e -> e.setBundlingLength(30).add(cable))</code>.
+	 Cannot be null.
+	 @return This bundle.
+	 */
+	public Bundle edit(@NotNull Consumer<Editor> mutations) {
+		Editor editor = new Editor();
+		mutations.accept(editor);
+		commit(editor);
+		return this;
+	}
+
+	/*
+	 Validates and applies the changes recorded by the editor, restoring the previous state if applying fails.
+	 */
+	private void commit(Editor editor) {
+		int newAmbientTemperatureF = editor.ambientTemperatureF == null ? ambientTemperatureF :
+				editor.ambientTemperatureF;
+		if(newAmbientTemperatureF < Factors.MIN_TEMP_F || newAmbientTemperatureF > Factors.MAX_TEMP_F)
+			throw new IllegalArgumentException("Ambient temperature must be " +
+					"in the [" + Factors.MIN_TEMP_F + "," + Factors.MAX_TEMP_F + "] °F range.");
+		if(editor.bundlingLength != null && editor.bundlingLength < 0)
+			throw new IllegalArgumentException("The bundling length cannot be < 0.");
+
+		double oldBundlingLength = bundlingLength;
+		int oldAmbientTemperatureF = ambientTemperatureF;
+		int oldCount = conduitables.size();
+		try {
+			if(editor.bundlingLength != null)
+				bundlingLength = editor.bundlingLength;
+			ambientTemperatureF = newAmbientTemperatureF;
+			for(Conduitable conduitable : editor.added)
+				conduitables.add(conduitable.copy(this));
+			updateAmbientTemperature(ambientTemperatureF == oldAmbientTemperatureF ? oldCount : 0);
+			if(!editor.added.isEmpty())
+				clearCalculatedAmpacities(oldCount);
+		} catch (RuntimeException e) {
+			while(conduitables.size() > oldCount)
+				conduitables.remove(conduitables.size() - 1);
+			bundlingLength = oldBundlingLength;
+			ambientTemperatureF = oldAmbientTemperatureF;
+			updateAmbientTemperature();
+			throw e;
+		}
+	}
+
+	/**
+	 Records the changes of a {@link #edit(Consumer)} transaction. The changes are applied to the bundle when the
+	 transaction commits; the bundle getters keep returning the previous values until then.
+	 */
+	public static final class Editor {
+		private Integer ambientTemperatureF;
+		private Double bundlingLength;
+		private final List<Conduitable> added = new ArrayList<>();
+
+		private Editor() {
+		}
+
+		/**
+		 @param ambientTemperatureF The new ambient temperature in degrees Fahrenheit. Validated at commit.
+		 @return This editor.
+		 @see Bundle#setAmbientTemperatureF(int)
+		 */
+		public Editor setAmbientTemperatureF(int ambientTemperatureF) {
+			this.ambientTemperatureF = ambientTemperatureF;
+			return this;
+		}
+
+		/**
+		 @param bundlingLength The new bundling length in inches. Validated at commit.
+		 @return This editor.
+		 @see Bundle#setBundlingLength(double)
+		 */
+		public Editor setBundlingLength(double bundlingLength) {
+			this.bundlingLength = bundlingLength;
+			return this;
+		}
+
+		/**
+		 @param conduitable The conduitable from which a copy will be added to the bundle at commit. Cannot be null.
+		 @return This editor.
+		 @see Bundle#add(Conduitable)
+		 */
+		public Editor add(@NotNull Conduitable conduitable) {
+			if(conduitable == null)
+				throw new IllegalArgumentException("Conduitable cannot be null.");
+			added.add(conduitable);
+			return this;
+		}
+	}
+
 	/**
 	 Sets the length of the bundling (not the length of the cable/conductors).
 	 @param bundlingLength The length in inches. Cannot be <0.
@@ -127,10 +244,16 @@ public class Bundle implements ROBundle {
 		return conduitables.contains(conduitable);
 	}
 
+	@Override
+	public ConduitableView getMembers() {
+		return members;
+	}
+
 	/**
 	 @return A copy of the list of all conduitable objects that are part of this
 	 bundle.
 	 @see Conduitable
+	 @deprecated Use {@link #getMembers()}, which does not copy the list.
 	 */
 	@Deprecated
 	public List<Conduitable> getConduitables() {
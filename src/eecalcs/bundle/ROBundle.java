@@ -1,6 +1,7 @@
 package eecalcs.bundle;
 
 import eecalcs.conductors.Conduitable;
+import eecalcs.conductors.ConduitableView;
 
 /**
  This interface defines the read-only properties of the {@link Bundle}
@@ -29,6 +30,13 @@ public interface ROBundle {
 	 */
 	boolean hasConduitable(Conduitable conduitable);
 
+	/**
+	 @return A read-only view of the conduitables that are part of this bundle. The view is not a copy: it always
+	 reflects the current contents of the bundle.
+	 @see ConduitableView
+	 */
+	ConduitableView getMembers();
+
 	/**
 	 @return True if this bundle is empty (contains no conduitable), false
 	 otherwise
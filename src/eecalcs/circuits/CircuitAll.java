@@ -9,15 +9,19 @@ import eecalcs.conduits.Conduit;
 import eecalcs.conduits.*;
 import eecalcs.loads.Load;
 import eecalcs.conductors.TempRating;
+import eecalcs.systems.NECEdition;
 import eecalcs.systems.VoltageAC;
 import eecalcs.voltagedrop.VoltageDropAC;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import tools.JSONTools;
+import tools.CircuitCalculationEvent;
+import tools.Metrics;
 import tools.ROResultMessages;
 import tools.ResultMessage;
 import tools.ResultMessages;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 
@@ -311,6 +315,7 @@ public class CircuitAll {
 		private CircuitMode circuitMode = null;
 		private int numberOfPrivateConduits = -10132189;
 		private int setsPerPrivateConduit = 1;
+		private Type privateConduitType = null;
 
 		public Builder(Load load) {
 			if(load == null)
@@ -395,6 +400,14 @@ public class CircuitAll {
 			return this;
 		}
 
+		public Builder privateConduitType(Type privateConduitType){
+			if(privateConduitType == null)
+				throw new IllegalArgumentException("Conduit type parameter " +
+						"cannot be null.");
+			this.privateConduitType = privateConduitType;
+			return this;
+		}
+
 		public CircuitAll build(){
 			if(ambientTemperatureF == 0)
 				ambientTemperatureF = 86;
@@ -414,8 +427,30 @@ public class CircuitAll {
 							"given number of sets.");
 				setsPerPrivateConduit = numberOfSets/numberOfPrivateConduits;
 			}
+			if(privateConduitType != null && circuitMode != CircuitMode.PRIVATE_CONDUIT)
+				throw new IllegalArgumentException("CircuitAll definition is " +
+						"ambiguous (private conduit type).");
 			return new CircuitAll(this);
 		}
+
+		/*
+		 Returns the values that define the circuit built by this builder, with the defaults of build() applied, for
+		 comparing builders (see CircuitSizing). Returns null when a shared conduit or bundle is used, since their
+		 content is not part of this builder.
+		 */
+		List<Object> getCanonicalKey() {
+			if(sharedConduit != null || sharedBundle != null)
+				return null;
+			int sets = numberOfSets == 0 ? 1 : numberOfSets;
+			return Arrays.asList(NECEdition.getDefault(),
+					circuitMode == null ? CircuitMode.PRIVATE_CONDUIT : circuitMode, sets, usingCable, usingOneEGC,
+					ambientTemperatureF == 0 ? 86 : ambientTemperatureF,
+					numberOfPrivateConduits, privateConduitType,
+					load.getClass(), load.getVoltageSource(), load.getNominalCurrent(), load.getNeutralCurrent(),
+					load.getPowerFactor(), load.getPowerFactorType(), load.getMCA(), load.getMaxOCPDRating(),
+					load.NHSRRuleApplies(), load.isNeutralCurrentCarrying(), load.isNonLinear(),
+					load.getRequiredCircuitType(), load.getLoadType());
+		}
 	}
 
 	private CircuitAll(Builder builder){
@@ -444,9 +479,12 @@ public class CircuitAll {
 	}
 
 	private Conduit createPrivateConduit(Builder builder){
-		if(circuitMode == CircuitMode.PRIVATE_CONDUIT)
-			return new Conduit(builder.ambientTemperatureF);
-		return null;
+		if(circuitMode != CircuitMode.PRIVATE_CONDUIT)
+			return null;
+		Conduit conduit = new Conduit(builder.ambientTemperatureF);
+		if(builder.privateConduitType != null)
+			conduit.setType(builder.privateConduitType);
+		return conduit;
 	}
 
 	private Conduit createSharedConduit(Builder builder){
@@ -754,7 +792,7 @@ public class CircuitAll {
 	private boolean failsWithError270(Size size){
 		if((size.ordinal() < Size.AWG_1$0.ordinal()) && numberOfSets > 1) {
 			//paralleled conductors < #1/0 AWG
-			resultMessages.add(ERROR270.append("Actual size is " + size.getName() + "."));
+			resultMessages.add(ERROR270, "Actual size is %s.", size.getName());
 			return true;
 		}
 		return false;
@@ -947,14 +985,39 @@ public class CircuitAll {
 	If no error is found it resets the circuitRecalculationNeeded flag and
 	returns true. Performs the opposite otherwise.*/
 	private boolean calculateCircuit(){
+		CircuitCalculationEvent event = new CircuitCalculationEvent();
+		event.begin();
+		long start = Metrics.start();
+		boolean succeeded = calculateCircuitStages();
+		Metrics.stop(Metrics.Stage.CIRCUIT, start);
+		event.end();
+		if(event.shouldCommit()) {
+			event.circuitMode = circuitMode.name();
+			event.loadCurrent = load.getNominalCurrent();
+			event.numberOfSets = numberOfSets;
+			event.circuitSize = succeeded ? _getSize().getName() : null;
+			event.succeeded = succeeded;
+			event.commit();
+		}
+		return succeeded;
+	}
+
+	/**Performs, in order, all the calculation stages of the circuit. Returns
+	 false as soon as a stage fails.*/
+	private boolean calculateCircuitStages(){
 		if(!calculatePhase())
 			return false;
 		if(!calculateCircuitAmpacity())
 			return false;
 		if(!calculateNeutral())
 			return false;
+		long start = Metrics.start();
 		calculateOCPDRating();
-		if(!calculateEGC())
+		Metrics.stop(Metrics.Stage.OCPD_RULES, start);
+		start = Metrics.start();
+		boolean egcCalculated = calculateEGC();
+		Metrics.stop(Metrics.Stage.EGC, start);
+		if(!egcCalculated)
 			return false;
 		/*The conduit object is available by calling getPrivateConduit() or
 		getSharedConduit(). That object will provide the proper trade size. No
@@ -966,10 +1029,14 @@ public class CircuitAll {
 	conductors or the phase conductors in the cable. Updates the size for all
 	phase conductors.*/
 	private boolean calculatePhase(){
+		long start = Metrics.start();
 		sizePerAmpacity = getSizePerAmpacity(false);
+		Metrics.stop(Metrics.Stage.AMPACITY_SIZING, start);
 		if(sizePerAmpacity == null) //reasons on resultMessages
 			return false;
+		start = Metrics.start();
 		sizePerVoltageDrop = getSizePerVoltageDrop(false);
+		Metrics.stop(Metrics.Stage.VOLTAGE_DROP_SIZING, start);
 		if(sizePerVoltageDrop == null) //reasons on resultMessages
 			return false;
 		//choosing the biggest one from these two sizes.
@@ -1318,17 +1385,22 @@ public class CircuitAll {
 	 */
 	@Nullable
 	private Size determineNeutralSize() {
-		/*This is wrong. What if the neutral current of the load is less than the nominal phase current?*/
+		/*The neutral of non-linear loads is sized for the neutral current of the load (which accounts for the harmonics
+		that add in the neutral) but it is never reduced below the size of the phase conductors, NEC 220.61(C).*/
 		Size neutralSize;
-		if(load.isNonLinear() && load.getVoltageSource().getPhases() == 3) {
+		if(load.isNonLinear()) {
+			long start = Metrics.start();
 			Size sizePerAmpacity= getSizePerAmpacity(true);
+			Metrics.stop(Metrics.Stage.AMPACITY_SIZING, start);
 			if(sizePerAmpacity == null)
 				return null;
+			start = Metrics.start();
 			Size sizePerVoltageDrop = getSizePerVoltageDrop(true);
+			Metrics.stop(Metrics.Stage.VOLTAGE_DROP_SIZING, start);
 			if(sizePerVoltageDrop == null)
 				return null;
-			neutralSize = ConductorProperties.getBiggestSize(sizePerAmpacity,
-					sizePerVoltageDrop);
+			neutralSize = ConductorProperties.getBiggestSize(_getSize(),
+					ConductorProperties.getBiggestSize(sizePerAmpacity, sizePerVoltageDrop));
 		}
 		else
 			neutralSize = _getSize();
@@ -1803,6 +1875,24 @@ Third line, circuit ratings:
 			conduitables.forEach(conduitable ->	((Conductor)conduitable).setMetal(conductiveMetal));
 	}
 
+	/**
+	 @return The conductive metal of the phase conductors of this circuit.
+	 */
+	public ConductiveMetal getMetal(){
+		return _getConduitable().getMetal();
+	}
+
+	/**
+	 @return The conduit material used for the voltage drop calculation of this circuit: the material of the conduit
+	 in use, or the outer material of the cable, or PVC for conductors not in a conduit.
+	 */
+	public OuterMaterial getVoltageDropConduitMaterial(){
+		Conduit conduit = getConduitPerMode();
+		if(conduit != null)
+			return ConduitProperties.getMaterial(conduit.getType());
+		return usingCable ? cable.getType().getCableOuterMaterial() : OuterMaterial.PVC;
+	}
+
 	/** Returns Conduitable interface to this circuit's internal cable or
 	 phase A conductor.
 	 */
@@ -0,0 +1,224 @@
+package eecalcs.circuits;
+
+import eecalcs.conductors.Conduitable;
+import eecalcs.conductors.Size;
+import eecalcs.conduits.ROConduit;
+import eecalcs.conduits.TradeSize;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ This class is an entry point for sizing circuits that coalesces identical concurrent requests: when a request
+ arrives while another request with the same canonical inputs is being calculated, it does not calculate the circuit
+ again but waits for, and shares, the result of the one in progress. This is common in batch runs and in service
+ traffic, where many identical circuits (like hundreds of 20A 120V receptacle circuits) arrive at the same time.
+ <p>The canonical inputs of a request are the properties of the load that the sizing depends on, the options of the
+ {@link CircuitAll.Builder}, the circuit length and the default {@link eecalcs.systems.NECEdition}. Results are not
+ cached: once a calculation finishes, the next identical request is calculated again. Circuits using a shared conduit
+ or a shared bundle are always calculated on their own, since the content of those is not part of the builder.
+ <p>The results are immutable {@link Result} objects, so they can be shared by all the waiting threads. The number of
+ requests and calculations, and the ratio of coalesced requests, can be read at any time. Objects of this class are
+ thread safe.
+ */
+public class CircuitSizing {
+	private final ConcurrentHashMap<List<Object>, CompletableFuture<Result>> inFlight = new ConcurrentHashMap<>();
+	private final LongAdder requests = new LongAdder();
+	private final LongAdder calculations = new LongAdder();
+
+	/**
+	 The results of a circuit calculation.
+	 @Immutable
+	 */
+	public static final class Result {
+		private final Size size;
+		private final Size neutralSize;
+		private final Size groundingSize;
+		private final int OCPDRating;
+		private final double ampacity;
+		private final TradeSize tradeSize;
+
+		private Result(CircuitAll circuit) {
+			size = circuit.getCircuitSize();
+			OCPDRating = circuit.getOCPDRating();
+			ampacity = circuit.getCircuitAmpacity();
+			if(size == null) {
+				neutralSize = null;
+				groundingSize = null;
+				tradeSize = null;
+				return;
+			}
+			Conduitable neutral = circuit.getNeutralConductor();
+			neutralSize = neutral == null ? null : neutral.getSize();
+			Conduitable grounding = circuit.getGroundingConductor();
+			groundingSize = grounding == null ? null : grounding.getSize();
+			ROConduit conduit = circuit.getPrivateConduit();
+			tradeSize = conduit == null ? null : conduit.getTradeSize();
+		}
+
+		/**
+		 @return The size of the phase conductors, or null if the circuit could not be calculated.
+		 @see CircuitAll#getCircuitSize()
+		 */
+		public @Nullable Size getSize() {
+			return size;
+		}
+
+		/**
+		 @return The size of the neutral conductor, or null if there is no neutral or the circuit could not be
+		 calculated.
+		 */
+		public @Nullable Size getNeutralSize() {
+			return neutralSize;
+		}
+
+		/**
+		 @return The size of the grounding conductor, or null if the circuit could not be calculated.
+		 */
+		public @Nullable Size getGroundingSize() {
+			return groundingSize;
+		}
+
+		/**
+		 @return The rating of the OCPD.
+		 @see CircuitAll#getOCPDRating()
+		 */
+		public int getOCPDRating() {
+			return OCPDRating;
+		}
+
+		/**
+		 @return The ampacity of the circuit.
+		 @see CircuitAll#getCircuitAmpacity()
+		 */
+		public double getAmpacity() {
+			return ampacity;
+		}
+
+		/**
+		 @return The trade size of the private conduit, or null if the circuit does not use a private conduit or
+		 could not be calculated.
+		 */
+		public @Nullable TradeSize getTradeSize() {
+			return tradeSize;
+		}
+	}
+
+	/**
+	 Sizes the circuit defined by the given builder, with the default length.
+	 @param builder The builder of the circuit. Cannot be null. It is built only if no identical request is in
+	 progress.
+	 @return The results of the calculation, shared with any identical concurrent request.
+	 */
+	public Result size(@NotNull CircuitAll.Builder builder) {
+		return size(builder, Double.NaN);
+	}
+
+	/**
+	 Sizes the circuit defined by the given builder and length.
+	 @param builder The builder of the circuit. Cannot be null. It is built only if no identical request is in
+	 progress.
+	 @param length The length of the circuit in feet (see {@link CircuitAll#setLength(double)}), or NaN for the
+	 default length.
+	 @return The results of the calculation, shared with any identical concurrent request.
+	 @throws IllegalArgumentException If the builder cannot build a circuit. All the identical concurrent requests
+	 receive the same exception.
+	 */
+	public Result size(@NotNull CircuitAll.Builder builder, double length) {
+		if(builder == null)
+			throw new IllegalArgumentException("Builder cannot be null.");
+		requests.increment();
+		List<Object> builderKey = builder.getCanonicalKey();
+		if(builderKey == null) {
+			calculations.increment();
+			return calculate(builder, length);
+		}
+		List<Object> key = Arrays.asList(builderKey, length);
+		CompletableFuture<Result> own = new CompletableFuture<>();
+		CompletableFuture<Result> existing = inFlight.putIfAbsent(key, own);
+		if(existing != null) {
+			try {
+				return existing.join();
+			}
+			catch(CompletionException e) {
+				if(e.getCause() instanceof RuntimeException)
+					throw (RuntimeException) e.getCause();
+				if(e.getCause() instanceof Error)
+					throw (Error) e.getCause();
+				throw e;
+			}
+		}
+		calculations.increment();
+		try {
+			Result result = calculate(builder, length);
+			own.complete(result);
+			return result;
+		}
+		catch(Throwable t) {
+			own.completeExceptionally(t);
+			throw t;
+		}
+		finally {
+			inFlight.remove(key, own);
+		}
+	}
+
+	private static Result calculate(CircuitAll.Builder builder, double length) {
+		CircuitAll circuit = builder.build();
+		if(!Double.isNaN(length))
+			circuit.setLength(length);
+		return new Result(circuit);
+	}
+
+	/**
+	 @return The number of requests received since this object was created or the counters were reset.
+	 */
+	public long getRequestCount() {
+		return requests.sum();
+	}
+
+	/**
+	 @return The number of circuits calculated since this object was created or the counters were reset.
+	 */
+	public long getCalculationCount() {
+		return calculations.sum();
+	}
+
+	/**
+	 @return The number of requests that shared the result of another request since this object was created or the
+	 counters were reset.
+	 */
+	public long getCoalescedCount() {
+		return Math.max(0, requests.sum() - calculations.sum());
+	}
+
+	/**
+	 @return The fraction of the requests that shared the result of another request, in the range [0, 1], or zero if
+	 there were no requests.
+	 */
+	public double getCoalescingRatio() {
+		long count = requests.sum();
+		return count == 0 ? 0 : (double) getCoalescedCount() / count;
+	}
+
+	/**
+	 @return The number of distinct calculations in progress.
+	 */
+	public int getInFlightCount() {
+		return inFlight.size();
+	}
+
+	/**
+	 Sets the request and calculation counters to zero.
+	 */
+	public void resetCounters() {
+		requests.reset();
+		calculations.reset();
+	}
+}
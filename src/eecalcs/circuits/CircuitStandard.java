@@ -93,13 +93,13 @@ public class CircuitStandard implements Circuit{
 		if (neutralConductor != null) {
 			conduit.add(neutralConductor); //if null nothing happens
 			//getting the copy
-			neutralConductor = (Conductor) conduit.getConduitables().get(0);
+			neutralConductor = (Conductor) conduit.getMembers().get(0);
 		}
 
 		conduit.add(groundConductor);
 		//getting the copy
 		int index = neutralConductor == null ? 0 : 1;
-		groundConductor = (Conductor) conduit.getConduitables().get(index);
+		groundConductor = (Conductor) conduit.getMembers().get(index);
 
 		//up to here
 
@@ -116,7 +116,7 @@ public class CircuitStandard implements Circuit{
 
 		//getting the copy
 		index = neutralConductor == null ? 1 : 2;
-		phaseConductor = (Conductor) conduit.getConduitables().get(index);
+		phaseConductor = (Conductor) conduit.getMembers().get(index);
 
 	}
 
@@ -0,0 +1,382 @@
+package eecalcs.circuits;
+
+import eecalcs.conductors.ConductiveMetal;
+import eecalcs.conductors.ConductorProperties;
+import eecalcs.conductors.Factors;
+import eecalcs.conductors.Insulation;
+import eecalcs.conductors.Size;
+import eecalcs.conductors.TempRating;
+import eecalcs.conduits.OuterMaterial;
+import eecalcs.loads.PowerFactorType;
+import eecalcs.systems.NEC;
+import eecalcs.systems.VoltageAC;
+import eecalcs.voltagedrop.VoltageDropAC;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.stream.IntStream;
+
+/**
+ This class answers the inverse questions of {@link CircuitAll}: given a circuit that is already installed (its
+ conductor size, number of sets, raceway conditions and OCPD are fixed), it finds how much load the circuit supports.
+ This is the kind of evaluation needed for existing buildings, where new loads must be connected to existing circuits.
+ <p>The following results are provided:
+ <ul>
+ <li>The maximum continuous and non-continuous load current, limited by the ampacity of the conductors under the
+ conditions of use (NEC 310.15), the ampacity at the terminations (NEC 110.14(C)), and the OCPD rating; continuous
+ loads are limited to 80% of the terminations ampacity and of the OCPD rating unless the OCPD is 100% rated (NEC
+ 210.19(A)(1), 210.20(A), 215.2(A)(1), 215.3).</li>
+ <li>The maximum current for which the voltage drop does not exceed the maximum allowed.</li>
+ <li>The maximum length of the circuit for a given load current, combining the ampacity and the voltage drop limits.</li>
+ <li>The headroom, that is, how far a given load current is from the limit of the circuit, in percent.</li>
+ </ul>
+ <p>Ampacity limits are closed-form (a few table lookups). The voltage drop limit on the current is found by
+ bisection over {@link VoltageDropAC#getVoltageDropPercent(double, int, double, double, boolean, Size, double, int,
+ ConductiveMetal, OuterMaterial)} and the length limit uses the closed-form
+ {@link VoltageDropAC#getMaxLengthForVD(double, int, double, double, boolean, Size, double, int, ConductiveMetal,
+ OuterMaterial)}. No object is created per calculation, so whole inventories can be evaluated with
+ {@link #solve(InstalledCircuit[], double[], boolean[], double[], double[], double[])}.
+ <p>The default parameters are:
+ <ul>
+ <li>Voltage system: 208V 3Ø 3W.</li>
+ <li>Conductor: 12 AWG, copper, THHN.</li>
+ <li>Number of sets: 1.</li>
+ <li>Number of current-carrying conductors in the raceway: 3.</li>
+ <li>Ambient temperature: 86 °F, not in a rooftop condition.</li>
+ <li>Termination temperature rating: unknown.</li>
+ <li>OCPD: none (0 amperes), not 100% rated.</li>
+ <li>Length: 100 feet, in a PVC conduit.</li>
+ <li>Power factor: 1.0 lagging.</li>
+ <li>Maximum voltage drop: 3%.</li>
+ </ul>
+ */
+public class InstalledCircuit {
+	/**Precision, in amperes, of the current found by bisection.*/
+	public static final double CURRENT_TOLERANCE = 0.01;
+	private @NotNull VoltageAC voltageAC = VoltageAC.v208_3ph_3w;
+	private @NotNull Size size = Size.AWG_12;
+	private @NotNull ConductiveMetal metal = ConductiveMetal.COPPER;
+	private @NotNull Insulation insulation = Insulation.THHN;
+	private int numberOfSets = 1;
+	private int currentCarryingCount = 3;
+	private int ambientTemperatureF = 86;
+	private double rooftopDistance = -1;
+	private @NotNull TempRating terminationTempRating = TempRating.UNKNOWN;
+	private int OCPDRating = 0;
+	private boolean fullPercentRated = false;
+	private double length = 100;
+	private @Nullable OuterMaterial conduitMaterial = OuterMaterial.PVC;
+	private double powerFactor = 1.0;
+	private @NotNull PowerFactorType powerFactorType = PowerFactorType.LAGGING;
+	private double maxVDropPercent = 3.0;
+
+	/**
+	 @param voltageAC The voltage system feeding the circuit. Cannot be null.
+	 @return This installed circuit.
+	 */
+	public InstalledCircuit setVoltageAC(@NotNull VoltageAC voltageAC) {
+		if(voltageAC == null)
+			throw new IllegalArgumentException("Voltage system cannot be null.");
+		this.voltageAC = voltageAC;
+		return this;
+	}
+
+	/**
+	 @param size The size of the installed phase conductors. Cannot be null.
+	 @return This installed circuit.
+	 */
+	public InstalledCircuit setSize(@NotNull Size size) {
+		if(size == null)
+			throw new IllegalArgumentException("Size cannot be null.");
+		this.size = size;
+		return this;
+	}
+
+	/**
+	 @param metal The metal of the installed phase conductors. Cannot be null.
+	 @return This installed circuit.
+	 */
+	public InstalledCircuit setMetal(@NotNull ConductiveMetal metal) {
+		if(metal == null)
+			throw new IllegalArgumentException("Metal cannot be null.");
+		this.metal = metal;
+		return this;
+	}
+
+	/**
+	 @param insulation The insulation of the installed phase conductors. Cannot be null.
+	 @return This installed circuit.
+	 */
+	public InstalledCircuit setInsulation(@NotNull Insulation insulation) {
+		if(insulation == null)
+			throw new IllegalArgumentException("Insulation cannot be null.");
+		this.insulation = insulation;
+		return this;
+	}
+
+	/**
+	 @param numberOfSets The number of sets in parallel. Must be between 1 and 10.
+	 @return This installed circuit.
+	 */
+	public InstalledCircuit setNumberOfSets(int numberOfSets) {
+		if(numberOfSets <= 0 || numberOfSets > 10)
+			throw new IllegalArgumentException("Number of sets must be between 1 and 10.");
+		this.numberOfSets = numberOfSets;
+		return this;
+	}
+
+	/**
+	 @param currentCarryingCount The number of current-carrying conductors in the raceway, cable or bundle,
+	 including the ones of other circuits, used for the adjustment factor. Must be >= 1.
+	 @return This installed circuit.
+	 */
+	public InstalledCircuit setCurrentCarryingCount(int currentCarryingCount) {
+		if(currentCarryingCount < 1)
+			throw new IllegalArgumentException("Number of current carrying conductors must be >= 1.");
+		this.currentCarryingCount = currentCarryingCount;
+		return this;
+	}
+
+	/**
+	 @param ambientTemperatureF The ambient temperature in degrees Fahrenheit. Must be in the range
+	 [{@link Factors#MIN_TEMP_F}, {@link Factors#MAX_TEMP_F}].
+	 @return This installed circuit.
+	 */
+	public InstalledCircuit setAmbientTemperatureF(int ambientTemperatureF) {
+		if(ambientTemperatureF < Factors.MIN_TEMP_F || ambientTemperatureF > Factors.MAX_TEMP_F)
+			throw new IllegalArgumentException("Ambient temperature must be " +
+					"in the [" + Factors.MIN_TEMP_F + "," + Factors.MAX_TEMP_F + "] °F range.");
+		this.ambientTemperatureF = ambientTemperatureF;
+		return this;
+	}
+
+	/**
+	 @param rooftopDistance The distance in inches above the roof. A negative value means the circuit is not in a
+	 rooftop condition.
+	 @return This installed circuit.
+	 */
+	public InstalledCircuit setRooftopDistance(double rooftopDistance) {
+		this.rooftopDistance = rooftopDistance;
+		return this;
+	}
+
+	/**
+	 @param terminationTempRating The temperature rating of the terminations. Use {@link TempRating#UNKNOWN} to apply
+	 the rules of NEC 110.14(C)(1)(a) and (b). Cannot be null.
+	 @return This installed circuit.
+	 */
+	public InstalledCircuit setTerminationTempRating(@NotNull TempRating terminationTempRating) {
+		if(terminationTempRating == null)
+			throw new IllegalArgumentException("Termination temperature rating cannot be null.");
+		this.terminationTempRating = terminationTempRating;
+		return this;
+	}
+
+	/**
+	 @param OCPDRating The rating of the installed OCPD, in amperes. Zero means the OCPD does not limit the load.
+	 Must be >= 0.
+	 @return This installed circuit.
+	 */
+	public InstalledCircuit setOCPDRating(int OCPDRating) {
+		if(OCPDRating < 0)
+			throw new IllegalArgumentException("OCPD rating must be >= 0.");
+		this.OCPDRating = OCPDRating;
+		return this;
+	}
+
+	/**
+	 @param fullPercentRated True if the OCPD and its assembly are listed for operation at 100% of its rating.
+	 @return This installed circuit.
+	 */
+	public InstalledCircuit setFullPercentRated(boolean fullPercentRated) {
+		this.fullPercentRated = fullPercentRated;
+		return this;
+	}
+
+	/**
+	 @param length The one-way length of the circuit, in feet. Must be > 0.
+	 @return This installed circuit.
+	 */
+	public InstalledCircuit setLength(double length) {
+		if(length <= 0)
+			throw new IllegalArgumentException("Length must be > 0");
+		this.length = length;
+		return this;
+	}
+
+	/**
+	 @param conduitMaterial The material of the conduit, or null if the circuit is in free air or bundled.
+	 @return This installed circuit.
+	 */
+	public InstalledCircuit setConduitMaterial(@Nullable OuterMaterial conduitMaterial) {
+		this.conduitMaterial = conduitMaterial;
+		return this;
+	}
+
+	/**
+	 @param powerFactor The power factor of the load. Must be in the range of [0, 1].
+	 @param powerFactorType The type of power factor. Cannot be null.
+	 @return This installed circuit.
+	 */
+	public InstalledCircuit setPowerFactor(double powerFactor, @NotNull PowerFactorType powerFactorType) {
+		if(powerFactor < 0 || powerFactor > 1)
+			throw new IllegalArgumentException("Power factor must be in the range of [0, 1]");
+		if(powerFactorType == null)
+			throw new IllegalArgumentException("Power factor type cannot be null.");
+		this.powerFactor = powerFactor;
+		this.powerFactorType = powerFactorType;
+		return this;
+	}
+
+	/**
+	 @param maxVDropPercent The maximum line-to-line voltage drop percent permitted. Must be in the range of (0,100].
+	 @return This installed circuit.
+	 */
+	public InstalledCircuit setMaxVDropPercent(double maxVDropPercent) {
+		if(maxVDropPercent <= 0 || maxVDropPercent > 100)
+			throw new IllegalArgumentException("Maximum voltage drop percent must be in the range of (0, 100]");
+		this.maxVDropPercent = maxVDropPercent;
+		return this;
+	}
+
+	/**
+	 @return The ampacity of all the sets of phase conductors, corrected for the ambient temperature (including the
+	 rooftop adder) and adjusted for the number of current-carrying conductors. Zero if the insulation is not
+	 suitable for the ambient temperature.
+	 */
+	@NEC(year = "2014")
+	@NEC(year = "2017")
+	@NEC(year = "2020")
+	public double getAmpacity() {
+		TempRating rating = ConductorProperties.getTempRating(insulation);
+		double correction = Factors.getTemperatureCorrectionF(
+				ambientTemperatureF + Factors.getRoofTopTempAdder(rooftopDistance), rating);
+		return ConductorProperties.getStandardAmpacity(size, metal, rating) * correction
+				* Factors.getAdjustmentFactor(currentCarryingCount) * numberOfSets;
+	}
+
+	/**
+	 @return The ampacity of all the sets of phase conductors at the temperature rating of the terminations, without
+	 correction or adjustment. When the termination rating is unknown, the 60 °C column is used for sizes up to 1
+	 AWG and the 75 °C column for bigger sizes, NEC 110.14(C)(1)(a) and (b). The column is never higher than the
+	 rating of the insulation.
+	 */
+	@NEC(year = "2014")
+	@NEC(year = "2017")
+	@NEC(year = "2020")
+	public double getTerminationAmpacity() {
+		TempRating insulationRating = ConductorProperties.getTempRating(insulation);
+		TempRating rating = terminationTempRating;
+		if(rating == TempRating.UNKNOWN)
+			rating = size.isBiggerThan(Size.AWG_1) ? TempRating.T75 : TempRating.T60;
+		if(rating.getValue() > insulationRating.getValue())
+			rating = insulationRating;
+		return ConductorProperties.getStandardAmpacity(size, metal, rating) * numberOfSets;
+	}
+
+	/**
+	 @return The maximum load current this circuit supports as per the ampacity of its conductors and the rating of
+	 its OCPD (the voltage drop is not considered; see {@link #getMaxCurrentForVD()}).
+	 @param continuous True for a continuous load, false for a non-continuous load.
+	 */
+	@NEC(year = "2014")
+	@NEC(year = "2017")
+	@NEC(year = "2020")
+	public double getMaxCurrent(boolean continuous) {
+		double factor = continuous && !fullPercentRated ? 1.25 : 1.0;
+		double maxCurrent = Math.min(getTerminationAmpacity() / factor, getAmpacity());
+		if(OCPDRating > 0)
+			maxCurrent = Math.min(maxCurrent, OCPDRating / factor);
+		return maxCurrent;
+	}
+
+	/**
+	 @return The maximum load current for which the voltage drop of this circuit does not exceed the maximum allowed,
+	 within {@link #CURRENT_TOLERANCE}.
+	 */
+	public double getMaxCurrentForVD() {
+		double lo = 0;
+		double hi = Math.max(1, getMaxCurrent(false));
+		while(voltageDropAt(hi) <= maxVDropPercent) {
+			lo = hi;
+			hi *= 2;
+		}
+		while(hi - lo > CURRENT_TOLERANCE) {
+			double middle = (lo + hi) / 2;
+			if(voltageDropAt(middle) <= maxVDropPercent)
+				lo = middle;
+			else
+				hi = middle;
+		}
+		return lo;
+	}
+
+	/*
+	 Voltage drop percent for the given current, with ill-conditioned results reported as an infinite drop.
+	 */
+	private double voltageDropAt(double current) {
+		double vDrop = VoltageDropAC.getVoltageDropPercent(voltageAC.getVoltage(), voltageAC.getPhases(), current,
+				powerFactor, powerFactorType == PowerFactorType.LAGGING, size, length, numberOfSets, metal,
+				conduitMaterial);
+		return vDrop == VoltageDropAC.CURRENT_OR_IMPEDANCE_TOO_HIGH ? Double.POSITIVE_INFINITY : vDrop;
+	}
+
+	/**
+	 @return The maximum one-way length in feet of this circuit for the given load current, as limited by the
+	 voltage drop; zero if the current exceeds the ampacity limit of the circuit, and infinity for a zero current.
+	 @param loadCurrent The load current in amperes. Must be >= 0.
+	 @param continuous True for a continuous load, false for a non-continuous load.
+	 */
+	public double getMaxLength(double loadCurrent, boolean continuous) {
+		if(loadCurrent < 0)
+			throw new IllegalArgumentException("Current must be >= 0");
+		if(loadCurrent > getMaxCurrent(continuous))
+			return 0;
+		if(loadCurrent == 0)
+			return Double.POSITIVE_INFINITY;
+		return VoltageDropAC.getMaxLengthForVD(voltageAC.getVoltage(), voltageAC.getPhases(), loadCurrent,
+				powerFactor, powerFactorType == PowerFactorType.LAGGING, size, maxVDropPercent, numberOfSets, metal,
+				conduitMaterial);
+	}
+
+	/**
+	 @return The headroom of this circuit for the given load, in percent of the maximum current the circuit supports
+	 (the smaller of the ampacity and the voltage drop limits): 100% for no load, 0% at the limit and negative when
+	 the circuit is overloaded.
+	 @param loadCurrent The load current in amperes. Must be >= 0.
+	 @param continuous True for a continuous load, false for a non-continuous load.
+	 */
+	public double getHeadroomPercent(double loadCurrent, boolean continuous) {
+		if(loadCurrent < 0)
+			throw new IllegalArgumentException("Current must be >= 0");
+		double limit = Math.min(getMaxCurrent(continuous), getMaxCurrentForVD());
+		if(limit == 0)
+			return loadCurrent == 0 ? 0 : Double.NEGATIVE_INFINITY;
+		return 100 * (limit - loadCurrent) / limit;
+	}
+
+	/**
+	 Solves a batch of installed circuits in parallel. For each index i, the results correspond to
+	 <code>circuits[i]</code> serving a load of <code>loadCurrents[i]</code> amperes. The circuits must not be
+	 modified while this method runs.
+	 @param circuits The installed circuits. Cannot be null nor contain nulls.
+	 @param loadCurrents The load current for each circuit, in amperes.
+	 @param continuous Whether each load is continuous.
+	 @param maxCurrent Output: the result of {@link #getMaxCurrent(boolean)}.
+	 @param maxLength Output: the result of {@link #getMaxLength(double, boolean)}.
+	 @param headroomPercent Output: the result of {@link #getHeadroomPercent(double, boolean)}.
+	 */
+	public static void solve(@NotNull InstalledCircuit[] circuits, double[] loadCurrents, boolean[] continuous,
+	                         double[] maxCurrent, double[] maxLength, double[] headroomPercent) {
+		int n = circuits.length;
+		if(loadCurrents.length != n || continuous.length != n || maxCurrent.length != n || maxLength.length != n
+				|| headroomPercent.length != n)
+			throw new IllegalArgumentException("All the arrays must have the same length.");
+		IntStream.range(0, n).parallel().forEach(i -> {
+			InstalledCircuit circuit = circuits[i];
+			maxCurrent[i] = circuit.getMaxCurrent(continuous[i]);
+			maxLength[i] = circuit.getMaxLength(loadCurrents[i], continuous[i]);
+			headroomPercent[i] = circuit.getHeadroomPercent(loadCurrents[i], continuous[i]);
+		});
+	}
+}
@@ -0,0 +1,380 @@
+package eecalcs.circuits;
+
+import eecalcs.conductors.Size;
+import eecalcs.conduits.ROConduit;
+import eecalcs.conduits.TradeSize;
+import eecalcs.voltagedrop.VoltageDropAC;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.DoubleFunction;
+import java.util.stream.Collectors;
+
+/**
+ This class finds the values of a design parameter (like the ambient temperature, the length, the load current or the
+ power factor of a circuit) at which a result of the circuit (like the phase conductor size, the OCPD rating or the
+ conduit trade size) changes. The answer is a {@link BreakpointTable}: the result at the start of the range, followed
+ by the parameter value at which each change happens and the new result.
+ <p>The results of this software are step functions of its parameters: sizes and ratings are picked from NEC tables
+ that are monotone in the current, the temperature, the length and so on. For this reason, the breakpoints are found
+ by bisection: when the result is the same at both ends of an interval, it is assumed to be the same in the whole
+ interval, otherwise the interval is split in halves until the change is located within the resolution of the sweep.
+ This takes a number of evaluations proportional to the number of breakpoints times the logarithm of the number of
+ grid points, instead of evaluating every grid point. Results that are not monotone in the swept parameter might
+ have changes that go undetected when they revert within an interval; for instance, the phase size of a circuit
+ can decrease when the load current goes above 100 amperes, because the 75 °C column of the ampacity table becomes
+ usable, NEC 110.14(C)(1). The values where such discontinuities happen can be given with {@link #splitAt(double...)}
+ so that the sweep is bisected separately on each side of them.
+ <p>The parameter is swept over the grid <code>from, from + resolution, from + 2·resolution, ..., to</code>; the
+ last point is always <code>to</code>. Use a resolution of 1 for integer parameters like the ambient temperature.
+ <p>The model is a function that returns the result for a value of the parameter. Since {@link CircuitAll} and
+ {@link VoltageDropAC} objects are not thread safe and keep state between calculations, the model should build a new
+ object for every evaluation, as in:
+ <pre>
+ Sweep&lt;Size&gt; sweep = new Sweep&lt;&gt;("Length (ft)", Sweep.phaseSize(length -&gt; {
+         CircuitAll circuit = new CircuitAll.Builder(load).build();
+         circuit.setLength(length);
+         return circuit;
+     })).range(10, 500).resolution(1);
+ BreakpointTable&lt;Size&gt; table = sweep.run();
+ </pre>
+ Independent sweeps (over different parameters or different circuits) can be run in parallel with
+ {@link #runAll(List)}.
+ @param <R> The type of the result.
+ */
+public class Sweep<R> {
+	private final String name;
+	private final DoubleFunction<R> model;
+	private double from = 0;
+	private double to = 1;
+	private double resolution = 0.01;
+	private double[] splits = new double[0];
+
+	/**
+	 Creates a sweep with a range of [0, 1] and a resolution of 0.01.
+	 @param name The name of the swept parameter, used to describe the results. Cannot be null.
+	 @param model The function that returns the result for a value of the parameter. The returned value can be null
+	 (for instance, when the circuit cannot be sized for that value). Cannot be null.
+	 */
+	public Sweep(@NotNull String name, @NotNull DoubleFunction<R> model) {
+		if(name == null)
+			throw new IllegalArgumentException("Sweep name cannot be null.");
+		if(model == null)
+			throw new IllegalArgumentException("Sweep model cannot be null.");
+		this.name = name;
+		this.model = model;
+	}
+
+	/**
+	 Sets the range of values of the swept parameter.
+	 @param from The first value of the parameter.
+	 @param to The last value of the parameter. Must be greater than from.
+	 @return This sweep.
+	 */
+	public Sweep<R> range(double from, double to) {
+		if(!(to > from))
+			throw new IllegalArgumentException("The end of the sweep range must be greater than its start.");
+		this.from = from;
+		this.to = to;
+		return this;
+	}
+
+	/**
+	 Sets the step of the grid over which the parameter is swept. Breakpoints are located exactly at a grid point.
+	 @param resolution The step. Must be greater than zero.
+	 @return This sweep.
+	 */
+	public Sweep<R> resolution(double resolution) {
+		if(!(resolution > 0))
+			throw new IllegalArgumentException("The sweep resolution must be greater than zero.");
+		this.resolution = resolution;
+		return this;
+	}
+
+	/**
+	 Sets the values of the parameter right after which the result is known to change in a non-monotone way (like
+	 100 amperes for the NEC 110.14(C)(1) rule). Each of these values (snapped to the grid) and the next grid point are
+	 always evaluated, and the bisection is done separately on each side of them. Values outside the range are
+	 ignored.
+	 @param values The values of the parameter.
+	 @return This sweep.
+	 */
+	public Sweep<R> splitAt(double... values) {
+		splits = values.clone();
+		Arrays.sort(splits);
+		return this;
+	}
+
+	/**
+	 @return The name of the swept parameter.
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 Runs this sweep in the calling thread.
+	 @return The table of breakpoints found.
+	 */
+	public BreakpointTable<R> run() {
+		long last = (long) Math.ceil((to - from) / resolution - 1e-9);
+		Search<R> search = new Search<>(this, last);
+		R first = search.evaluate(0);
+		long lo = 0;
+		R atLo = first;
+		for(double split : splits) {
+			long index = Math.round((split - from) / resolution);
+			if(index < lo || index >= last)
+				continue;
+			R atIndex = index == lo ? atLo : search.evaluate(index);
+			search.bisect(lo, atLo, index, atIndex);
+			R atNext = search.evaluate(index + 1);
+			search.bisect(index, atIndex, index + 1, atNext);
+			lo = index + 1;
+			atLo = atNext;
+		}
+		search.bisect(lo, atLo, last, lo == last ? atLo : search.evaluate(last));
+		return new BreakpointTable<>(name, from, to, first, search.breakpoints, search.evaluations);
+	}
+
+	/**
+	 Runs the given sweeps in parallel, using the common fork-join pool. Every model is called from several
+	 threads, so the objects used by a model must not be shared with other models or evaluations.
+	 @param sweeps The sweeps to run. Cannot be null.
+	 @return The tables of breakpoints, in the same order as the given sweeps.
+	 */
+	public static List<BreakpointTable<?>> runAll(@NotNull List<? extends Sweep<?>> sweeps) {
+		return sweeps.parallelStream()
+				.map(Sweep::run)
+				.collect(Collectors.toList());
+	}
+
+	/**
+	 @return A model that returns the phase conductor size of the circuit built by the given factory, or null if the
+	 circuit cannot be sized.
+	 @param circuitFactory Builds a new circuit for a value of the parameter.
+	 */
+	public static DoubleFunction<Size> phaseSize(@NotNull DoubleFunction<CircuitAll> circuitFactory) {
+		return x -> circuitFactory.apply(x).getCircuitSize();
+	}
+
+	/**
+	 @return A model that returns the OCPD rating of the circuit built by the given factory, or zero if the circuit
+	 cannot be sized.
+	 @param circuitFactory Builds a new circuit for a value of the parameter.
+	 */
+	public static DoubleFunction<Integer> ocpdRating(@NotNull DoubleFunction<CircuitAll> circuitFactory) {
+		return x -> circuitFactory.apply(x).getOCPDRating();
+	}
+
+	/**
+	 @return A model that returns the trade size of the private conduit of the circuit built by the given factory,
+	 or null if the circuit does not use a private conduit or it cannot be sized.
+	 @param circuitFactory Builds a new circuit for a value of the parameter.
+	 */
+	public static DoubleFunction<TradeSize> conduitTradeSize(@NotNull DoubleFunction<CircuitAll> circuitFactory) {
+		return x -> {
+			CircuitAll circuit = circuitFactory.apply(x);
+			if(circuit.getCircuitSize() == null)
+				return null;
+			ROConduit conduit = circuit.getPrivateConduit();
+			return conduit == null ? null : conduit.getTradeSize();
+		};
+	}
+
+	/**
+	 @return A model that returns the minimum conductor size that keeps the voltage drop below the maximum allowed,
+	 for the voltage drop object built by the given factory.
+	 @param voltageDropFactory Builds a new voltage drop object for a value of the parameter.
+	 */
+	public static DoubleFunction<Size> minSizeForMaxVD(@NotNull DoubleFunction<VoltageDropAC> voltageDropFactory) {
+		return x -> voltageDropFactory.apply(x).getMinSizeForMaxVD();
+	}
+
+	/*
+	 The state of one run: bisection over the grid indexes [0, last].
+	 */
+	private static final class Search<R> {
+		private final Sweep<R> sweep;
+		private final long last;
+		private final List<Breakpoint<R>> breakpoints = new ArrayList<>();
+		private int evaluations;
+
+		private Search(Sweep<R> sweep, long last) {
+			this.sweep = sweep;
+			this.last = last;
+		}
+
+		private double valueAt(long index) {
+			return index >= last ? sweep.to : sweep.from + index * sweep.resolution;
+		}
+
+		private R evaluate(long index) {
+			evaluations++;
+			return sweep.model.apply(valueAt(index));
+		}
+
+		/*
+		 Records, in order, the breakpoints in the range (lo, hi], given the results at both ends.
+		 */
+		private void bisect(long lo, R atLo, long hi, R atHi) {
+			if(Objects.equals(atLo, atHi))
+				return;
+			if(hi - lo == 1) {
+				breakpoints.add(new Breakpoint<>(valueAt(hi), atLo, atHi));
+				return;
+			}
+			long middle = lo + (hi - lo) / 2;
+			R atMiddle = evaluate(middle);
+			bisect(lo, atLo, middle, atMiddle);
+			bisect(middle, atMiddle, hi, atHi);
+		}
+	}
+
+	/**
+	 A change of the result of a sweep.
+	 @param <R> The type of the result.
+	 */
+	public static final class Breakpoint<R> {
+		private final double value;
+		private final R before;
+		private final R after;
+
+		private Breakpoint(double value, R before, R after) {
+			this.value = value;
+			this.before = before;
+			this.after = after;
+		}
+
+		/**
+		 @return The first value of the parameter (in the sweep grid) at which the result is {@link #getAfter()}.
+		 */
+		public double getValue() {
+			return value;
+		}
+
+		/**
+		 @return The result just below the breakpoint.
+		 */
+		public @Nullable R getBefore() {
+			return before;
+		}
+
+		/**
+		 @return The result from the breakpoint on.
+		 */
+		public @Nullable R getAfter() {
+			return after;
+		}
+
+		@Override
+		public String toString() {
+			return value + ": " + before + " -> " + after;
+		}
+	}
+
+	/**
+	 The result of a sweep: the result at the start of the range and the list of breakpoints, in increasing order of
+	 the parameter.
+	 @param <R> The type of the result.
+	 */
+	public static final class BreakpointTable<R> {
+		private final String name;
+		private final double from;
+		private final double to;
+		private final R initial;
+		private final List<Breakpoint<R>> breakpoints;
+		private final int evaluations;
+
+		private BreakpointTable(String name, double from, double to, R initial, List<Breakpoint<R>> breakpoints,
+		                        int evaluations) {
+			this.name = name;
+			this.from = from;
+			this.to = to;
+			this.initial = initial;
+			this.breakpoints = Collections.unmodifiableList(breakpoints);
+			this.evaluations = evaluations;
+		}
+
+		/**
+		 @return The name of the swept parameter.
+		 */
+		public String getName() {
+			return name;
+		}
+
+		/**
+		 @return The first value of the swept range.
+		 */
+		public double getFrom() {
+			return from;
+		}
+
+		/**
+		 @return The last value of the swept range.
+		 */
+		public double getTo() {
+			return to;
+		}
+
+		/**
+		 @return The result at the start of the range.
+		 */
+		public @Nullable R getInitial() {
+			return initial;
+		}
+
+		/**
+		 @return The read-only list of breakpoints, in increasing order of the parameter.
+		 */
+		public List<Breakpoint<R>> getBreakpoints() {
+			return breakpoints;
+		}
+
+		/**
+		 @return The number of times the model was evaluated to build this table.
+		 */
+		public int getEvaluations() {
+			return evaluations;
+		}
+
+		/**
+		 @return The result for the given value of the parameter, as given by this table.
+		 @param value A value in the swept range.
+		 */
+		public @Nullable R getResultAt(double value) {
+			int lo = 0, hi = breakpoints.size();
+			while(lo < hi) {
+				int middle = (lo + hi) >>> 1;
+				if(breakpoints.get(middle).value <= value)
+					lo = middle + 1;
+				else
+					hi = middle;
+			}
+			return lo == 0 ? initial : breakpoints.get(lo - 1).after;
+		}
+
+		/**
+		 @return A multiline description of this table, one line per range of the parameter with the same result.
+		 */
+		@Override
+		public String toString() {
+			StringBuilder sb = new StringBuilder(name).append('\n');
+			double start = from;
+			R result = initial;
+			for(Breakpoint<R> breakpoint : breakpoints) {
+				sb.append('[').append(start).append(", ").append(breakpoint.value).append("): ")
+						.append(result).append('\n');
+				start = breakpoint.value;
+				result = breakpoint.after;
+			}
+			sb.append('[').append(start).append(", ").append(to).append("]: ").append(result);
+			return sb.toString();
+		}
+	}
+}
@@ -11,6 +11,8 @@ import org.jetbrains.annotations.Nullable;
 import tools.JSONTools;
 import tools.Tools;
 
+import java.util.function.Consumer;
+
 import static eecalcs.conductors.Conductor.*;
 
 /**
@@ -70,42 +72,23 @@ public class Cable implements Conduitable, RWConduitable {
 	private @NotNull VoltageAC voltageAC;
 	private @Nullable Conduit conduit = null;
 	private @Nullable Bundle bundle = null;
+	private boolean outerDiameterFromCatalog = false;
+	private double calculatedAmpacity = Double.NaN;
 	//endregion
 
-	//region some MC cables from the company Atkore
-	//Todo: move this to another class? Make it part of a database?
-	public static Cable MC_12_4 = new Cable(VoltageAC.v208_3ph_4w).setOuterDiameter(0.586);
-	public static Cable MC_12_3 = new Cable(VoltageAC.v208_3ph_3w).setOuterDiameter(0.586);
-	public static Cable MC_10_2 = new Cable(VoltageAC.v120_1ph_2w)
-			.setOuterDiameter(0.581)
-			.setPhaseConductorSize(Size.AWG_10)
-			.setNeutralConductorSize(Size.AWG_10)
-			.setGroundingConductorSize(Size.AWG_10);
-	public static Cable MC_10_3 = new Cable(VoltageAC.v208_1ph_3w)
-			.setOuterDiameter(0.622)
-			.setPhaseConductorSize(Size.AWG_10)
-			.setNeutralConductorSize(Size.AWG_10)
-			.setGroundingConductorSize(Size.AWG_10);
-	public static Cable MC_10_4 = new Cable(VoltageAC.v208_3ph_4w)
-			.setOuterDiameter(0.643)
-			.setPhaseConductorSize(Size.AWG_10)
-			.setNeutralConductorSize(Size.AWG_10)
-			.setGroundingConductorSize(Size.AWG_10);
-	public static Cable MC_8_2 = new Cable(VoltageAC.v120_1ph_2w)
-			.setOuterDiameter(0.677)
-			.setPhaseConductorSize(Size.AWG_8)
-			.setNeutralConductorSize(Size.AWG_8)
-			.setGroundingConductorSize(Size.AWG_10);
-	public static Cable MC_8_3 = new Cable(VoltageAC.v208_1ph_3w)
-			.setOuterDiameter(0.813)
-			.setPhaseConductorSize(Size.AWG_8)
-			.setNeutralConductorSize(Size.AWG_8)
-			.setGroundingConductorSize(Size.AWG_10);
-	public static Cable MC_8_4 = new Cable(VoltageAC.v208_3ph_4w)
-			.setOuterDiameter(0.848)
-			.setPhaseConductorSize(Size.AWG_8)
-			.setNeutralConductorSize(Size.AWG_8)
-			.setGroundingConductorSize(Size.AWG_10);
+	//region some MC cables from the company Atkore, as listed in the default cable catalog
+	public static Cable MC_12_4 = mcCable(Size.AWG_12, VoltageAC.v208_3ph_4w);
+	public static Cable MC_12_3 = mcCable(Size.AWG_12, VoltageAC.v208_3ph_3w);
+	public static Cable MC_10_2 = mcCable(Size.AWG_10, VoltageAC.v120_1ph_2w);
+	public static Cable MC_10_3 = mcCable(Size.AWG_10, VoltageAC.v208_1ph_3w);
+	public static Cable MC_10_4 = mcCable(Size.AWG_10, VoltageAC.v208_3ph_4w);
+	public static Cable MC_8_2 = mcCable(Size.AWG_8, VoltageAC.v120_1ph_2w);
+	public static Cable MC_8_3 = mcCable(Size.AWG_8, VoltageAC.v208_1ph_3w);
+	public static Cable MC_8_4 = mcCable(Size.AWG_8, VoltageAC.v208_3ph_4w);
+
+	private static Cable mcCable(Size size, VoltageAC voltageAC) {
+		return CableCatalog.getDefault().createCable(CableType.MC, ConductiveMetal.COPPER, size, voltageAC);
+	}
 	//endregion
 
 	/**
@@ -144,12 +127,15 @@ public class Cable implements Conduitable, RWConduitable {
 	 is so that a phase and a neutral are the only current-carrying
 	 conductors, the size of the neutral is set to be the same as the size
 	 of the phase.<br>
-	 Note the outer diameter of the cable is not updated. The user of this
+	 Note the outer diameter of the cable is not updated, unless it is taken from the cable catalog (see
+	 {@link #setOuterDiameterFromCatalog(boolean)}). Otherwise, the user of this
 	 method is responsible to set the proper outer diameter that correspond
 	 to the size of the conductors making up this cable.
 	 @param phaseConductorSize The new size. Cannot be null.
 	 */
 	public Cable setPhaseConductorSize(@NotNull Size phaseConductorSize) {
+		if(phaseConductorSize != phaseAConductor.getSize())
+			calculatedAmpacity = Double.NaN;
 		phaseAConductor.setSize(phaseConductorSize);
 		if(phaseBConductor != null)
 			phaseBConductor.setSize(phaseConductorSize);
@@ -159,6 +145,7 @@ public class Cable implements Conduitable, RWConduitable {
 			assert neutralConductor != null;
 			neutralConductor.setSize(phaseConductorSize);
 		}
+		updateOuterDiameterFromCatalog();
 		return this;
 	}
 
@@ -166,8 +153,9 @@ public class Cable implements Conduitable, RWConduitable {
 	 Sets the size of the neutral conductors. If the cable does not contain a neutral, an IllegalArgumentException is thrown.
 	 Note that if the voltage source is so that a phase and a neutral are the only current-carrying conductors,
 	 the size of the phase will be updated to match the size of the neutral.<br>
-	 Note the outer diameter of the cable is not updated. The user of this method is responsible to set the proper
-	 outer diameter that correspond to the size of the conductors making up this cable.
+	 Note the outer diameter of the cable is not updated, unless it is taken from the cable catalog. Otherwise, the
+	 user of this method is responsible to set the proper outer diameter that correspond to the size of the
+	 conductors making up this cable.
 	 @param neutralConductorSize The new size. Cannot be null.
 	 */
 	@SuppressWarnings("UnusedReturnValue")
@@ -175,22 +163,28 @@ public class Cable implements Conduitable, RWConduitable {
 		if(neutralConductor == null)
 			throw new IllegalArgumentException("This cable does not " +
 					"have a neutral conductor.");
+		if(neutralConductorSize != neutralConductor.getSize())
+			calculatedAmpacity = Double.NaN;
 		neutralConductor.setSize(neutralConductorSize);
 		if(voltageAC.hasHotAndNeutralOnly())
 			phaseAConductor.setSize(neutralConductorSize);
+		updateOuterDiameterFromCatalog();
 		return this;
 	}
 
 	/**
 	 Sets the size of the grounding conductor.<br>
-	 Note the outer diameter of the cable is not updated. The user of this
-	 method is responsible to set the proper outer diameter that correspond
+	 Note the outer diameter of the cable is not updated, unless it is taken from the cable catalog. Otherwise, the
+	 user of this method is responsible to set the proper outer diameter that correspond
 	 to the size of the conductors making up this cable.
 	 @param groundingConductorSize The new size. Cannot be null.
 	 */
 	@SuppressWarnings("UnusedReturnValue")
 	public Cable setGroundingConductorSize(@NotNull Size groundingConductorSize) {
+		if(groundingConductorSize != groundingConductor.getSize())
+			calculatedAmpacity = Double.NaN;
 		groundingConductor.setSize(groundingConductorSize);
+		updateOuterDiameterFromCatalog();
 		return this;
 	}
 
@@ -199,6 +193,8 @@ public class Cable implements Conduitable, RWConduitable {
 	 @param conductiveMetal The new conductor's conductive material. Cannot be null.
 	 */
 	public Cable setMetalForPhaseAndNeutral(@NotNull ConductiveMetal conductiveMetal) {
+		if(conductiveMetal != phaseAConductor.getMetal())
+			calculatedAmpacity = Double.NaN;
 		phaseAConductor.setMetal(conductiveMetal);
 		if(phaseBConductor != null)
 			phaseBConductor.setMetal(conductiveMetal);
@@ -207,6 +203,7 @@ public class Cable implements Conduitable, RWConduitable {
 		if(neutralConductor != null) {
 			neutralConductor.setMetal(conductiveMetal);
 		}
+		updateOuterDiameterFromCatalog();
 		return this;
 	}
 
@@ -216,6 +213,8 @@ public class Cable implements Conduitable, RWConduitable {
 	 */
 	@SuppressWarnings("UnusedReturnValue")
 	public Cable setMetalForGrounding(@NotNull ConductiveMetal conductiveMetal) {
+		if(conductiveMetal != groundingConductor.getMetal())
+			calculatedAmpacity = Double.NaN;
 		groundingConductor.setMetal(conductiveMetal);
 		return this;
 	}
@@ -225,6 +224,8 @@ public class Cable implements Conduitable, RWConduitable {
 	 @param insulation The new insulation. Cannot be null.
 	 */
 	public Cable setInsulation(@NotNull Insulation insulation) {
+		if(insulation != phaseAConductor.getInsulation())
+			calculatedAmpacity = Double.NaN;
 		phaseAConductor.setInsulation(insulation);
 		if(phaseBConductor != null)
 			phaseBConductor.setInsulation(insulation);
@@ -258,6 +259,8 @@ public class Cable implements Conduitable, RWConduitable {
 		if(ambientTemperatureF < Factors.MIN_TEMP_F || ambientTemperatureF > Factors.MAX_TEMP_F)
 			throw new IllegalArgumentException("Ambient temperature must be " +
 					"in the [" + Factors.MIN_TEMP_F + "," + Factors.MAX_TEMP_F + "] °F range.");
+		if(ambientTemperatureF != phaseAConductor.getAmbientTemperatureF())
+			calculatedAmpacity = Double.NaN;
 		phaseAConductor.setAmbientTemperatureF(ambientTemperatureF);
 		if(phaseBConductor != null)
 			phaseBConductor.setAmbientTemperatureF(ambientTemperatureF);
@@ -269,6 +272,209 @@ public class Cable implements Conduitable, RWConduitable {
 		return this;
 	}
 
+	/**
+	 Applies a batch of changes to this cable in a single step. The given mutations are recorded by an {@link Editor}
+	 and nothing is changed until they all have been recorded; then all the values are validated and, if they are
+	 valid, each conductor of this cable is updated once with all the changes that affect it, instead of once per
+	 setter. If any value is not valid, an IllegalArgumentException is thrown and this cable is left unchanged.
+	 <p>The rules of the individual setters still apply: for instance, if the voltage source is so that a phase and a
+	 neutral are the only current-carrying conductors, the phase and neutral sizes are kept the same.
+	 @param mutations The changes to apply, as in
+	 <code>cable.edit(e -> e.setPhaseConductorSize(Size.AWG_8).setLength(120))</code>. Cannot be null.
+	 @return This cable.
+	 */
+	public Cable edit(@NotNull Consumer<Editor> mutations) {
+		Editor editor = new Editor();
+		mutations.accept(editor);
+		commit(editor);
+		return this;
+	}
+
+	/*
+	 Validates all the changes recorded by the editor before applying any of them.
+	 */
+	@SuppressWarnings("DataFlowIssue")
+	private void commit(Editor editor) {
+		if(!hasNeutral() && (editor.neutralConductorSize != null || editor.neutralCurrentCarrying != null))
+			throw new IllegalArgumentException("This cable does not have a neutral conductor.");
+		if(editor.length != null && editor.length <= 0)
+			throw new IllegalArgumentException("Length of a cable cannot be <= 0");
+		if(editor.ambientTemperatureF != null && (editor.ambientTemperatureF < Factors.MIN_TEMP_F ||
+				editor.ambientTemperatureF > Factors.MAX_TEMP_F))
+			throw new IllegalArgumentException("Ambient temperature must be " +
+					"in the [" + Factors.MIN_TEMP_F + "," + Factors.MAX_TEMP_F + "] °F range.");
+		if(editor.roofTopDistance != null && hasConduit())
+			throw new IllegalArgumentException("Rooftop distance cannot be" +
+					" assigned to a cable that belongs to a conduit. Use the" +
+					" conduit to set the rooftop distance of this cable.");
+
+		Size phaseASize = editor.phaseConductorSize;
+		Size phaseBCSize = editor.phaseConductorSize;
+		Size neutralSize = null;
+		if(voltageAC.hasHotAndNeutralOnly()) {
+			if(editor.neutralConductorSize != null)
+				phaseASize = neutralSize = editor.neutralConductorSize;
+			else
+				neutralSize = editor.phaseConductorSize;
+		}
+		else
+			neutralSize = editor.neutralConductorSize;
+
+		apply(phaseAConductor, phaseASize, editor.metalForPhaseAndNeutral, editor);
+		if(phaseBConductor != null)
+			apply(phaseBConductor, phaseBCSize, editor.metalForPhaseAndNeutral, editor);
+		if(phaseCConductor != null)
+			apply(phaseCConductor, phaseBCSize, editor.metalForPhaseAndNeutral, editor);
+		if(neutralConductor != null) {
+			apply(neutralConductor, neutralSize, editor.metalForPhaseAndNeutral, editor);
+			if(editor.neutralCurrentCarrying != null)
+				neutralConductor.setRole(editor.neutralCurrentCarrying ? Role.NEUCC : Role.NEUNCC);
+		}
+		apply(groundingConductor, editor.groundingConductorSize, editor.metalForGrounding, editor);
+
+		if(editor.jacketed != null)
+			jacketed = editor.jacketed;
+		if(editor.outerDiameter != null) {
+			outerDiameter = Math.max(editor.outerDiameter, MINIMUM_OUTER_DIAMETER);
+			outerDiameterFromCatalog = false;
+		}
+		if(editor.roofTopDistance != null)
+			roofTopDistance = editor.roofTopDistance;
+		if(editor.type != null)
+			type = editor.type;
+		updateOuterDiameterFromCatalog();
+	}
+
+	/*
+	 Applies to the given conductor the recorded changes that affect it. Null values are left unchanged.
+	 */
+	private static void apply(Conductor conductor, @Nullable Size size, @Nullable ConductiveMetal metal, Editor editor) {
+		if(size != null)
+			conductor.setSize(size);
+		if(metal != null)
+			conductor.setMetal(metal);
+		if(editor.insulation != null)
+			conductor.setInsulation(editor.insulation);
+		if(editor.length != null)
+			conductor.setLength(editor.length);
+		if(editor.ambientTemperatureF != null)
+			conductor.setAmbientTemperatureF(editor.ambientTemperatureF);
+	}
+
+	/**
+	 Records the changes of a {@link #edit(Consumer)} transaction. The changes are applied to the cable when the
+	 transaction commits; the cable getters keep returning the previous values until then. The setters of this class
+	 have the same meaning as the ones with the same name in {@link Cable}, but their values are validated at commit.
+	 */
+	public static final class Editor {
+		private Size phaseConductorSize;
+		private Size neutralConductorSize;
+		private Size groundingConductorSize;
+		private ConductiveMetal metalForPhaseAndNeutral;
+		private ConductiveMetal metalForGrounding;
+		private Insulation insulation;
+		private Double length;
+		private Integer ambientTemperatureF;
+		private Boolean jacketed;
+		private Double outerDiameter;
+		private Double roofTopDistance;
+		private CableType type;
+		private Boolean neutralCurrentCarrying;
+
+		private Editor() {
+		}
+
+		/** @see Cable#setPhaseConductorSize(Size) */
+		public Editor setPhaseConductorSize(@NotNull Size phaseConductorSize) {
+			this.phaseConductorSize = notNull(phaseConductorSize, "Phase conductor size");
+			return this;
+		}
+
+		/** @see Cable#setNeutralConductorSize(Size) */
+		public Editor setNeutralConductorSize(@NotNull Size neutralConductorSize) {
+			this.neutralConductorSize = notNull(neutralConductorSize, "Neutral conductor size");
+			return this;
+		}
+
+		/** @see Cable#setGroundingConductorSize(Size) */
+		public Editor setGroundingConductorSize(@NotNull Size groundingConductorSize) {
+			this.groundingConductorSize = notNull(groundingConductorSize, "Grounding conductor size");
+			return this;
+		}
+
+		/** @see Cable#setMetalForPhaseAndNeutral(ConductiveMetal) */
+		public Editor setMetalForPhaseAndNeutral(@NotNull ConductiveMetal conductiveMetal) {
+			this.metalForPhaseAndNeutral = notNull(conductiveMetal, "Conductive metal");
+			return this;
+		}
+
+		/** @see Cable#setMetalForGrounding(ConductiveMetal) */
+		public Editor setMetalForGrounding(@NotNull ConductiveMetal conductiveMetal) {
+			this.metalForGrounding = notNull(conductiveMetal, "Conductive metal");
+			return this;
+		}
+
+		/** @see Cable#setInsulation(Insulation) */
+		public Editor setInsulation(@NotNull Insulation insulation) {
+			this.insulation = notNull(insulation, "Insulation");
+			return this;
+		}
+
+		/** @see Cable#setLength(double) */
+		public Editor setLength(double length) {
+			this.length = length;
+			return this;
+		}
+
+		/** @see Cable#setAmbientTemperatureF(int) */
+		public Editor setAmbientTemperatureF(int ambientTemperatureF) {
+			this.ambientTemperatureF = ambientTemperatureF;
+			return this;
+		}
+
+		/**
+		 @param jacketed True for a jacketed cable, false otherwise.
+		 @see Cable#setJacketed()
+		 */
+		public Editor setJacketed(boolean jacketed) {
+			this.jacketed = jacketed;
+			return this;
+		}
+
+		/** @see Cable#setOuterDiameter(double) */
+		public Editor setOuterDiameter(double outerDiameter) {
+			this.outerDiameter = outerDiameter;
+			return this;
+		}
+
+		/** @see Cable#setRoofTopDistance(double) */
+		public Editor setRoofTopDistance(double roofTopDistance) {
+			this.roofTopDistance = roofTopDistance;
+			return this;
+		}
+
+		/** @see Cable#setType(CableType) */
+		public Editor setType(@NotNull CableType type) {
+			this.type = notNull(type, "Cable type");
+			return this;
+		}
+
+		/**
+		 @param currentCarrying True to set the neutral as a current-carrying conductor, false otherwise.
+		 @see Cable#setNeutralAsCurrentCarrying()
+		 */
+		public Editor setNeutralCurrentCarrying(boolean currentCarrying) {
+			this.neutralCurrentCarrying = currentCarrying;
+			return this;
+		}
+
+		private static <T> T notNull(T value, String name) {
+			if(value == null)
+				throw new IllegalArgumentException(name + " cannot be null.");
+			return value;
+		}
+	}
+
 	/**
 	 Marks this cable as being jacketed. This is meaningful only for AC or MC
 	 type cables.
@@ -290,14 +496,51 @@ public class Cable implements Conduitable, RWConduitable {
 
 	/**
 	 Sets the outer diameter of this cable. If the provided value is less
-	 than MINIMUM_OUTER_DIAMETER, the MINIMUM_OUTER_DIAMETER value is set.
+	 than MINIMUM_OUTER_DIAMETER, the MINIMUM_OUTER_DIAMETER value is set. The outer diameter is no longer taken
+	 from the cable catalog, see {@link #setOuterDiameterFromCatalog(boolean)}.
 	 @param outerDiameter The outer diameter in inches.
 	 */
 	public Cable setOuterDiameter(double outerDiameter) {
 		this.outerDiameter = Math.max(outerDiameter, MINIMUM_OUTER_DIAMETER);
+		outerDiameterFromCatalog = false;
 		return this;
 	}
 
+	/**
+	 Sets whether the outer diameter of this cable is taken from the default {@link CableCatalog}. When enabled,
+	 the outer diameter is updated right away and every time the type, the phase metal or the size of the phase,
+	 neutral or grounding conductors change, using the catalog row that best matches the composition of this cable
+	 (see {@link CableCatalog#find(Cable)}). If no row matches, the outer diameter is left unchanged. Setting the outer
+	 diameter explicitly disables this behavior.
+	 @param fromCatalog True to take the outer diameter from the catalog, false otherwise.
+	 @return This cable.
+	 */
+	public Cable setOuterDiameterFromCatalog(boolean fromCatalog) {
+		outerDiameterFromCatalog = fromCatalog;
+		updateOuterDiameterFromCatalog();
+		return this;
+	}
+
+	/**
+	 @return True if the outer diameter of this cable is taken from the default cable catalog, false otherwise.
+	 @see #setOuterDiameterFromCatalog(boolean)
+	 */
+	public boolean isOuterDiameterFromCatalog() {
+		return outerDiameterFromCatalog;
+	}
+
+	/*
+	 Updates the outer diameter from the default catalog, if enabled and if the catalog has a matching row.
+	 */
+	private void updateOuterDiameterFromCatalog() {
+		if(!outerDiameterFromCatalog)
+			return;
+		CableCatalog catalog = CableCatalog.getDefault();
+		int row = catalog.find(this);
+		if(row != CableCatalog.NOT_FOUND)
+			outerDiameter = Math.max(catalog.getOuterDiameter(row), MINIMUM_OUTER_DIAMETER);
+	}
+
 
 	/**
 	 Sets the distance from this cable to the rooftop.
@@ -312,6 +555,8 @@ public class Cable implements Conduitable, RWConduitable {
 			throw new IllegalArgumentException("Rooftop distance cannot be" +
 					" assigned to a cable that belongs to a conduit. Use the" +
 					" conduit to set the rooftop distance of this cable.");
+		if(roofTopDistance != this.roofTopDistance)
+			calculatedAmpacity = Double.NaN;
 		this.roofTopDistance = roofTopDistance;
 		return this;
 	}
@@ -322,6 +567,7 @@ public class Cable implements Conduitable, RWConduitable {
 	 */
 	public Cable setType(@NotNull CableType type) {
 		this.type = type;
+		updateOuterDiameterFromCatalog();
 		return this;
 	}
 
@@ -333,6 +579,8 @@ public class Cable implements Conduitable, RWConduitable {
 	public Cable setNeutralAsCurrentCarrying() {
 		if (hasNeutral()) {
 			assert neutralConductor != null;
+			if(neutralConductor.getRole() != Role.NEUCC)
+				calculatedAmpacity = Double.NaN;
 			neutralConductor.setRole(Role.NEUCC);
 		}
 		else
@@ -350,6 +598,8 @@ public class Cable implements Conduitable, RWConduitable {
 	public Cable setNeutralAsNonCurrentCarrying() {
 		if (hasNeutral()) {
 			assert neutralConductor != null;
+			if(neutralConductor.getRole() != Role.NEUNCC)
+				calculatedAmpacity = Double.NaN;
 			neutralConductor.setRole(Role.NEUNCC);
 		}
 		else
@@ -369,6 +619,7 @@ public class Cable implements Conduitable, RWConduitable {
 		Cable cable = new Cable(voltageAC);
 		cable.jacketed = this.jacketed;
 		cable.outerDiameter = this.outerDiameter;
+		cable.outerDiameterFromCatalog = this.outerDiameterFromCatalog;
 		cable.roofTopDistance = hasConduit()? conduit.getRooftopDistance() : this.roofTopDistance;
 		cable.type = this.type;
 		//The ambient temperature is copied from each conductor
@@ -380,6 +631,7 @@ public class Cable implements Conduitable, RWConduitable {
 		if(cable.hasNeutral())
 			cable.neutralConductor.copyFrom(this.neutralConductor);
 		cable.groundingConductor.copyFrom(this.groundingConductor);
+		cable.calculatedAmpacity = this.calculatedAmpacity;
 
 		return cable;
 	}
@@ -555,8 +807,26 @@ public class Cable implements Conduitable, RWConduitable {
 		return Factors.getTemperatureCorrectionF(phaseAConductor.getAmbientTemperatureF() + adjustedTemp, getTemperatureRating(insulation));
 	}
 
+	@Override
+	public Cable setCalculatedAmpacity(double ampacity) {
+		if(ampacity <= 0)
+			throw new IllegalArgumentException("Calculated ampacity must be > 0.");
+		calculatedAmpacity = ampacity;
+		return this;
+	}
+
+	/**
+	 @return True if an ampacity calculated under engineering supervision has been set for this cable.
+	 @see #setCalculatedAmpacity(double)
+	 */
+	public boolean hasCalculatedAmpacity() {
+		return !Double.isNaN(calculatedAmpacity);
+	}
+
 	@Override
 	public double getCorrectedAndAdjustedAmpacity() {
+		if(hasCalculatedAmpacity())
+			return calculatedAmpacity;
 		return ConductorProperties.getStandardAmpacity(phaseAConductor.getSize(),
 				phaseAConductor.getMetal(),
 				phaseAConductor.getTemperatureRating())
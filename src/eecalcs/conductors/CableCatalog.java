@@ -0,0 +1,383 @@
+package eecalcs.conductors;
+
+import eecalcs.systems.VoltageAC;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ This class is a catalog of manufactured cables, read from a CSV source. Each row of the catalog describes the
+ composition of a cable: its type, the metal and size of its phase conductors, the number of insulated conductors
+ (phases and neutral, not counting the grounding conductor, as in "12/3"), the size of the conductor used as neutral,
+ the size of the grounding conductor, the insulation and the outer diameter in inches.
+ <p>The CSV source has a header line followed by one line per cable with the columns
+ <code>type,metal,phase,conductors,neutral,ground,insulation,outer_diameter</code>, where type, metal, sizes and
+ insulation are the names of the {@link CableType}, {@link ConductiveMetal}, {@link Size} and {@link Insulation}
+ values. Blank lines and lines starting with # are ignored.
+ <p>The rows are stored column by column in primitive arrays and are identified by their index. Rows are indexed by
+ (type, metal, phase size, conductors, neutral size, grounding size), and also by the same key without the neutral
+ size or without the neutral and grounding sizes, so that any lookup is a single probe in an open addressing hash
+ table. When several rows share a key, the first one wins.
+ <p>The default catalog, {@link #getDefault()}, is read from the resource CableCatalog.csv next to this class, and
+ contains the MC cables of a common manufacturer.
+ */
+public final class CableCatalog {
+	/**Value returned by the lookup methods when there is no matching row.*/
+	public static final int NOT_FOUND = -1;
+	private static final int ANY = 63;
+	private static final String RESOURCE = "CableCatalog.csv";
+	private static final int COLUMNS = 8;
+	private static final CableType[] TYPES = CableType.values();
+	private static final ConductiveMetal[] METALS = ConductiveMetal.values();
+	private static final Size[] SIZES = Size.values();
+	private static final Insulation[] INSULATIONS = Insulation.values();
+
+	private int count;
+	private byte[] types = new byte[16];
+	private byte[] metals = new byte[16];
+	private byte[] phaseSizes = new byte[16];
+	private byte[] conductors = new byte[16];
+	private byte[] neutralSizes = new byte[16];
+	private byte[] groundSizes = new byte[16];
+	private byte[] insulations = new byte[16];
+	private double[] outerDiameters = new double[16];
+	/*Open addressing hash table: packed key -> row. Empty slots have key -1.*/
+	private int[] keys;
+	private int[] rows;
+
+	private CableCatalog() {
+	}
+
+	private static final class DefaultHolder {
+		private static final CableCatalog CATALOG = loadResource();
+
+		private static CableCatalog loadResource() {
+			InputStream stream = CableCatalog.class.getResourceAsStream(RESOURCE);
+			if(stream == null)
+				throw new IllegalStateException("Cable catalog resource " + RESOURCE + " not found.");
+			try(Reader reader = new InputStreamReader(stream, StandardCharsets.UTF_8)) {
+				return load(reader);
+			}
+			catch(IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+	}
+
+	/**
+	 @return The default catalog, read once from the CableCatalog.csv resource.
+	 */
+	public static CableCatalog getDefault() {
+		return DefaultHolder.CATALOG;
+	}
+
+	/**
+	 Reads a catalog from the given CSV source. See the class description for the format.
+	 @param reader The CSV source. Cannot be null. It is not closed by this method.
+	 @return The new catalog.
+	 @throws IOException If the source cannot be read.
+	 @throws IllegalArgumentException If a line of the source is not valid. The message contains the line number.
+	 */
+	public static CableCatalog load(@NotNull Reader reader) throws IOException {
+		if(reader == null)
+			throw new IllegalArgumentException("Reader cannot be null.");
+		CableCatalog catalog = new CableCatalog();
+		BufferedReader lines = new BufferedReader(reader);
+		boolean header = true;
+		int lineNumber = 0;
+		String line;
+		while((line = lines.readLine()) != null) {
+			lineNumber++;
+			line = line.trim();
+			if(line.isEmpty() || line.startsWith("#"))
+				continue;
+			if(header) {
+				header = false;
+				continue;
+			}
+			try {
+				catalog.addRow(line.split(","));
+			}
+			catch(IllegalArgumentException e) {
+				throw new IllegalArgumentException("Cable catalog line " + lineNumber + ": " + e.getMessage());
+			}
+		}
+		catalog.buildIndex();
+		return catalog;
+	}
+
+	private void addRow(String[] cells) {
+		if(cells.length != COLUMNS)
+			throw new IllegalArgumentException(COLUMNS + " columns expected, found " + cells.length + ".");
+		int conductorCount = Integer.parseInt(cells[3].trim());
+		if(conductorCount < 1 || conductorCount > 4)
+			throw new IllegalArgumentException("The number of conductors must be in the [1,4] range.");
+		double outerDiameter = Double.parseDouble(cells[7].trim());
+		if(outerDiameter <= 0)
+			throw new IllegalArgumentException("The outer diameter must be > 0.");
+		if(count == types.length)
+			grow();
+		types[count] = (byte) CableType.valueOf(cells[0].trim()).ordinal();
+		metals[count] = (byte) ConductiveMetal.valueOf(cells[1].trim()).ordinal();
+		phaseSizes[count] = (byte) Size.valueOf(cells[2].trim()).ordinal();
+		conductors[count] = (byte) conductorCount;
+		neutralSizes[count] = (byte) Size.valueOf(cells[4].trim()).ordinal();
+		groundSizes[count] = (byte) Size.valueOf(cells[5].trim()).ordinal();
+		insulations[count] = (byte) Insulation.valueOf(cells[6].trim()).ordinal();
+		outerDiameters[count] = outerDiameter;
+		count++;
+	}
+
+	private void grow() {
+		int capacity = count * 2;
+		types = Arrays.copyOf(types, capacity);
+		metals = Arrays.copyOf(metals, capacity);
+		phaseSizes = Arrays.copyOf(phaseSizes, capacity);
+		conductors = Arrays.copyOf(conductors, capacity);
+		neutralSizes = Arrays.copyOf(neutralSizes, capacity);
+		groundSizes = Arrays.copyOf(groundSizes, capacity);
+		insulations = Arrays.copyOf(insulations, capacity);
+		outerDiameters = Arrays.copyOf(outerDiameters, capacity);
+	}
+
+	/*
+	 Indexes every row under its full key, its key without neutral and its key without neutral and grounding.
+	 */
+	private void buildIndex() {
+		int capacity = Integer.highestOneBit(Math.max(count * 3 * 2, 8) - 1) << 1;
+		keys = new int[capacity];
+		rows = new int[capacity];
+		Arrays.fill(keys, -1);
+		for(int row = 0; row < count; row++) {
+			int base = key(types[row], metals[row], phaseSizes[row], conductors[row], 0, 0);
+			put(base | neutralSizes[row] << 6 | groundSizes[row], row);
+			put(base | ANY << 6 | groundSizes[row], row);
+			put(base | ANY << 6 | ANY, row);
+		}
+	}
+
+	private static int key(int type, int metal, int phaseSize, int conductorCount, int neutralSize, int groundSize) {
+		return type << 22 | metal << 20 | phaseSize << 15 | conductorCount << 12 | neutralSize << 6 | groundSize;
+	}
+
+	private void put(int key, int row) {
+		int slot = slot(key);
+		if(keys[slot] == -1) {
+			keys[slot] = key;
+			rows[slot] = row;
+		}
+	}
+
+	private int slot(int key) {
+		int mask = keys.length - 1;
+		int hash = key * 0x9E3779B9;
+		int slot = (hash ^ hash >>> 16) & mask;
+		while(keys[slot] != -1 && keys[slot] != key)
+			slot = (slot + 1) & mask;
+		return slot;
+	}
+
+	private int get(int key) {
+		int slot = slot(key);
+		return keys[slot] == key ? rows[slot] : NOT_FOUND;
+	}
+
+	/**
+	 @return The index of the row matching all the given values, or {@link #NOT_FOUND}.
+	 @param type The type of cable. Cannot be null.
+	 @param metal The metal of the phase conductors. Cannot be null.
+	 @param phaseSize The size of the phase conductors. Cannot be null.
+	 @param conductorCount The number of insulated conductors, phases and neutral.
+	 @param neutralSize The size of the neutral, or null to match any neutral size.
+	 @param groundSize The size of the grounding conductor, or null to match any grounding size (in which case the
+	 neutral size is not considered either).
+	 */
+	public int find(@NotNull CableType type, @NotNull ConductiveMetal metal, @NotNull Size phaseSize,
+	                int conductorCount, @Nullable Size neutralSize, @Nullable Size groundSize) {
+		if(type == null || metal == null || phaseSize == null)
+			throw new IllegalArgumentException("Cable type, metal and phase size cannot be null.");
+		if(conductorCount < 1 || conductorCount > 4)
+			return NOT_FOUND;
+		int key = key(type.ordinal(), metal.ordinal(), phaseSize.ordinal(), conductorCount,
+				groundSize == null || neutralSize == null ? ANY : neutralSize.ordinal(),
+				groundSize == null ? ANY : groundSize.ordinal());
+		return get(key);
+	}
+
+	/**
+	 @return The index of the first row of the given type, metal, phase size and number of conductors, or
+	 {@link #NOT_FOUND}.
+	 @param type The type of cable. Cannot be null.
+	 @param metal The metal of the phase conductors. Cannot be null.
+	 @param phaseSize The size of the phase conductors. Cannot be null.
+	 @param conductorCount The number of insulated conductors, phases and neutral.
+	 */
+	public int find(@NotNull CableType type, @NotNull ConductiveMetal metal, @NotNull Size phaseSize,
+	                int conductorCount) {
+		return find(type, metal, phaseSize, conductorCount, null, null);
+	}
+
+	/**
+	 @return The index of the row that best matches the composition of the given cable: the one matching its type,
+	 phase metal and size, number of conductors, neutral and grounding sizes or, if there is none, the first one
+	 matching its type, phase metal and size and number of conductors. {@link #NOT_FOUND} if none matches.
+	 @param cable The cable. Cannot be null.
+	 */
+	public int find(@NotNull Cable cable) {
+		if(cable == null)
+			throw new IllegalArgumentException("Cable cannot be null.");
+		int conductorCount = cable.getVoltageSystemAC().getHots() + (cable.hasNeutral() ? 1 : 0);
+		Conduitable phase = cable.getPhaseConductor();
+		Size neutralSize = cable.hasNeutral() ? cable.getNeutralConductor().getSize() : null;
+		int row = find(cable.getType(), phase.getMetal(), phase.getSize(), conductorCount, neutralSize,
+				cable.getGroundingConductor().getSize());
+		if(row == NOT_FOUND && neutralSize != null)
+			row = find(cable.getType(), phase.getMetal(), phase.getSize(), conductorCount, null,
+					cable.getGroundingConductor().getSize());
+		if(row == NOT_FOUND)
+			row = find(cable.getType(), phase.getMetal(), phase.getSize(), conductorCount);
+		return row;
+	}
+
+	/**
+	 Creates a new cable with the composition of the given row. The cable has the default values of a new
+	 {@link Cable} for the properties that are not part of the catalog.
+	 @param row The index of the row.
+	 @param voltageAC The voltage source of the cable. Cannot be null. Its number of hots and neutral must match the
+	 number of conductors of the row.
+	 @return The new cable.
+	 */
+	public Cable createCable(int row, @NotNull VoltageAC voltageAC) {
+		checkRow(row);
+		if(voltageAC == null)
+			throw new IllegalArgumentException("Voltage source cannot be null.");
+		int conductorCount = voltageAC.getHots() + (voltageAC.hasNeutral() ? 1 : 0);
+		if(conductorCount != conductors[row])
+			throw new IllegalArgumentException("The voltage source " + voltageAC.getName() + " requires " +
+					conductorCount + " conductors but the cable has " + conductors[row] + ".");
+		Cable cable = new Cable(voltageAC)
+				.setType(getType(row))
+				.setMetalForPhaseAndNeutral(getMetal(row))
+				.setMetalForGrounding(getMetal(row))
+				.setInsulation(getInsulation(row))
+				.setPhaseConductorSize(getPhaseSize(row))
+				.setGroundingConductorSize(getGroundSize(row))
+				.setOuterDiameter(outerDiameters[row]);
+		if(cable.hasNeutral() && !voltageAC.hasHotAndNeutralOnly())
+			cable.setNeutralConductorSize(getNeutralSize(row));
+		return cable;
+	}
+
+	/**
+	 Creates a new cable with the composition of the first row of the given type, metal and phase size and the number
+	 of conductors required by the given voltage source.
+	 @param type The type of cable. Cannot be null.
+	 @param metal The metal of the phase conductors. Cannot be null.
+	 @param phaseSize The size of the phase conductors. Cannot be null.
+	 @param voltageAC The voltage source of the cable. Cannot be null.
+	 @return The new cable.
+	 @throws IllegalArgumentException If there is no such cable in this catalog.
+	 */
+	public Cable createCable(@NotNull CableType type, @NotNull ConductiveMetal metal, @NotNull Size phaseSize,
+	                         @NotNull VoltageAC voltageAC) {
+		if(voltageAC == null)
+			throw new IllegalArgumentException("Voltage source cannot be null.");
+		int row = find(type, metal, phaseSize, voltageAC.getHots() + (voltageAC.hasNeutral() ? 1 : 0));
+		if(row == NOT_FOUND)
+			throw new IllegalArgumentException("There is no " + type + " " + metal + " " + phaseSize.getName() +
+					" cable for " + voltageAC.getName() + " in the catalog.");
+		return createCable(row, voltageAC);
+	}
+
+	/**
+	 @return The number of rows of this catalog.
+	 */
+	public int size() {
+		return count;
+	}
+
+	private void checkRow(int row) {
+		if(row < 0 || row >= count)
+			throw new IllegalArgumentException("Row " + row + " is not in the [0," + count + ") range.");
+	}
+
+	/**
+	 @return The type of the cable of the given row.
+	 @param row The index of the row.
+	 */
+	public CableType getType(int row) {
+		checkRow(row);
+		return TYPES[types[row]];
+	}
+
+	/**
+	 @return The metal of the phase conductors of the given row.
+	 @param row The index of the row.
+	 */
+	public ConductiveMetal getMetal(int row) {
+		checkRow(row);
+		return METALS[metals[row]];
+	}
+
+	/**
+	 @return The size of the phase conductors of the given row.
+	 @param row The index of the row.
+	 */
+	public Size getPhaseSize(int row) {
+		checkRow(row);
+		return SIZES[phaseSizes[row]];
+	}
+
+	/**
+	 @return The number of insulated conductors (phases and neutral) of the given row.
+	 @param row The index of the row.
+	 */
+	public int getConductorCount(int row) {
+		checkRow(row);
+		return conductors[row];
+	}
+
+	/**
+	 @return The size of the conductor used as neutral in the given row.
+	 @param row The index of the row.
+	 */
+	public Size getNeutralSize(int row) {
+		checkRow(row);
+		return SIZES[neutralSizes[row]];
+	}
+
+	/**
+	 @return The size of the grounding conductor of the given row.
+	 @param row The index of the row.
+	 */
+	public Size getGroundSize(int row) {
+		checkRow(row);
+		return SIZES[groundSizes[row]];
+	}
+
+	/**
+	 @return The insulation of the conductors of the given row.
+	 @param row The index of the row.
+	 */
+	public Insulation getInsulation(int row) {
+		checkRow(row);
+		return INSULATIONS[insulations[row]];
+	}
+
+	/**
+	 @return The outer diameter in inches of the cable of the given row.
+	 @param row The index of the row.
+	 */
+	public double getOuterDiameter(int row) {
+		checkRow(row);
+		return outerDiameters[row];
+	}
+}
@@ -43,6 +43,7 @@ public class Conductor implements Conduitable, RWConduitable {
 	private @NotNull Role role = Role.HOT;
 	private @Nullable Conduit conduit = null;
 	private @Nullable Bundle bundle = null;
+	private double calculatedAmpacity = Double.NaN;
 	//endregion
 
 	/**
@@ -127,7 +128,8 @@ public class Conductor implements Conduitable, RWConduitable {
 	}
 
 	/**
-	 Copy all the properties of the given conductor to this conductor, except for the conduit and bundle parameters
+	 Copy all the properties of the given conductor to this conductor, including its calculated ampacity, except for
+	 the conduit and bundle parameters
 	 @param conductor The conductor to copy from. Cannot be null.
 	 @return This conductor.
 	 */
@@ -138,6 +140,7 @@ public class Conductor implements Conduitable, RWConduitable {
 		length = conductor.length;
 		ambientTemperatureF = conductor.ambientTemperatureF;
 		role = conductor.role;
+		calculatedAmpacity = conductor.calculatedAmpacity;
 		return this;
 	}
 
@@ -147,6 +150,8 @@ public class Conductor implements Conduitable, RWConduitable {
 	 @return This conductor.
 	 */
 	public Conductor setSize(@NotNull Size size){
+		if(size != this.size)
+			calculatedAmpacity = Double.NaN;
 		this.size = size;
 		return this;
 	}
@@ -157,6 +162,8 @@ public class Conductor implements Conduitable, RWConduitable {
 	 @return This conductor.
 	 */
 	public Conductor setMetal(@NotNull ConductiveMetal conductiveMetal){
+		if(conductiveMetal != this.conductiveMetal)
+			calculatedAmpacity = Double.NaN;
 		this.conductiveMetal = conductiveMetal;
 		return this;
 	}
@@ -167,6 +174,8 @@ public class Conductor implements Conduitable, RWConduitable {
 	 @return This conductor.
 	 */
 	public Conductor setInsulation(@NotNull Insulation insulation){
+		if(insulation != this.insulation)
+			calculatedAmpacity = Double.NaN;
 		this.insulation = insulation;
 		return this;
 	}
@@ -188,6 +197,8 @@ public class Conductor implements Conduitable, RWConduitable {
 		if(ambientTemperatureF < Factors.MIN_TEMP_F || ambientTemperatureF > Factors.MAX_TEMP_F)
 			throw new IllegalArgumentException("Ambient temperature must be " +
 					"in the [" + Factors.MIN_TEMP_F + "," + Factors.MAX_TEMP_F + "] °F range.");
+		if(ambientTemperatureF != this.ambientTemperatureF)
+			calculatedAmpacity = Double.NaN;
 		this.ambientTemperatureF = ambientTemperatureF;
 		return this;
 	}
@@ -198,6 +209,8 @@ public class Conductor implements Conduitable, RWConduitable {
 	 @return This conductor.
 	 */
 	public Conductor setRole(@NotNull Role role){
+		if(role != this.role)
+			calculatedAmpacity = Double.NaN;
 		this.role = role;
 		return this;
 	}
@@ -261,10 +274,28 @@ public class Conductor implements Conduitable, RWConduitable {
 	@NEC(year = "2017")
 	@NEC(year = "2020")
 	public double getCorrectedAndAdjustedAmpacity(){
+		if(hasCalculatedAmpacity())
+			return calculatedAmpacity;
 		return ConductorProperties.getStandardAmpacity(size, conductiveMetal,
 				ConductorProperties.getTempRating(insulation)) * getCompoundFactor();
 	}
 
+	@Override
+	public Conductor setCalculatedAmpacity(double ampacity) {
+		if(ampacity <= 0)
+			throw new IllegalArgumentException("Calculated ampacity must be > 0.");
+		calculatedAmpacity = ampacity;
+		return this;
+	}
+
+	/**
+	 @return True if an ampacity calculated under engineering supervision has been set for this conductor.
+	 @see #setCalculatedAmpacity(double)
+	 */
+	public boolean hasCalculatedAmpacity() {
+		return !Double.isNaN(calculatedAmpacity);
+	}
+
 	@Override
 	@NEC(year = "2014")
 	@NEC(year = "2017")
@@ -4,6 +4,7 @@ import eecalcs.conduits.OuterMaterial;
 import eecalcs.systems.Location;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import tools.Metrics;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -22,6 +23,16 @@ import static eecalcs.systems.Location.WET;
  type of raceway, voltage type (AC or DC), number of phases, special locations,
  load types, etc. */
 public class ConductorProperties {
+	/**The temperature of the resistances of NEC Chapter 9 tables 8 and 9, in degrees Celsius.*/
+	public static final int TABLE_RESISTANCE_TEMPERATURE = 75;
+	/**Temperature coefficient of the resistance of copper at 75 °C, NEC Chapter 9 Table 8, Note 2.*/
+	public static final double COPPER_TEMPERATURE_COEFFICIENT = 0.00323;
+	/**Temperature coefficient of the resistance of aluminum at 75 °C, NEC Chapter 9 Table 8, Note 2.*/
+	public static final double ALUMINUM_TEMPERATURE_COEFFICIENT = 0.00330;
+	private static final int MIN_FACTOR_TEMPERATURE = -50;
+	private static final int MAX_FACTOR_TEMPERATURE = 250;
+	/*Resistance temperature factors indexed by metal ordinal and whole temperature.*/
+	private static final double[][] resistanceTemperatureFactors;
 	private static final Properties[] table;
 	//region Area of the cross-section of insulated conductors in inch-square, including its insulation.
 	/*Table 5*/
@@ -56,6 +67,11 @@ public class ConductorProperties {
 	private static final Map<Size, Double> compactBareDimensions;
 	private static final Map<Insulation, Map<Size, Double>> compactDimensions;
 
+	/*Dense copies of the tables 5 and 5A above, indexed by insulation and size ordinals. Zero means not defined.*/
+	private static final double[][] insulatedAreas;
+	private static final double[][] compactAreas;
+	private static final double[] compactBareAreas;
+
 	private static final Map<TempRating, Insulation[]> insulationTempMap;
 	//endregion
 
@@ -637,9 +653,31 @@ public class ConductorProperties {
 		compactBareDimensions.put(Size.KCMIL_900, 0.7838);
 		compactBareDimensions.put(Size.KCMIL_1000, 0.8825);
 		//endregion
+
+		insulatedAreas = toArray(insulatedDimensions);
+		compactAreas = toArray(compactDimensions);
+		compactBareAreas = new double[Size.values().length];
+		compactBareDimensions.forEach((size, area) -> compactBareAreas[size.ordinal()] = area);
+
+		resistanceTemperatureFactors = new double[ConductiveMetal.values().length]
+				[MAX_FACTOR_TEMPERATURE - MIN_FACTOR_TEMPERATURE + 1];
+		for(ConductiveMetal metal : ConductiveMetal.values())
+			for(int t = MIN_FACTOR_TEMPERATURE; t <= MAX_FACTOR_TEMPERATURE; t++)
+				resistanceTemperatureFactors[metal.ordinal()][t - MIN_FACTOR_TEMPERATURE] =
+						calculateResistanceTemperatureFactor(metal, t);
 	}
 
 
+	/*
+	 Copies the given map of areas into a dense array indexed by insulation and size ordinals.
+	 */
+	private static double[][] toArray(Map<Insulation, Map<Size, Double>> areas) {
+		double[][] array = new double[Insulation.values().length][Size.values().length];
+		areas.forEach((insulation, areasBySize) ->
+				areasBySize.forEach((size, area) -> array[insulation.ordinal()][size.ordinal()] = area));
+		return array;
+	}
+
 	/**
 	 Returns a Properties object for the given conductor size.
 	 @param conductorSize The size of the conductor for which the properties
@@ -663,9 +701,10 @@ public class ConductorProperties {
 	 */
 	public static double getInsulatedConductorAreaIn2(Size conductorSize,
 	                                                  Insulation insulation) {
-		if (hasInsulatedAreaDefined(conductorSize, insulation))
-			return insulatedDimensions.get(insulation).get(conductorSize);
-		return 0;
+		Metrics.lookup(Metrics.Table.CONDUCTOR_AREA);
+		if (conductorSize == null || insulation == null)
+			return 0;
+		return insulatedAreas[insulation.ordinal()][conductorSize.ordinal()];
 	}
 
 	/**
@@ -680,9 +719,10 @@ public class ConductorProperties {
 	 */
 	public static double getCompactConductorAreaIn2(Size conductorSize,
 	                                                Insulation insulation) {
-		if (hasCompactAreaDefined(conductorSize, insulation))
-			return compactDimensions.get(insulation).get(conductorSize);
-		return 0;
+		Metrics.lookup(Metrics.Table.CONDUCTOR_AREA);
+		if (conductorSize == null || insulation == null)
+			return 0;
+		return compactAreas[insulation.ordinal()][conductorSize.ordinal()];
 	}
 
 	/**
@@ -693,9 +733,7 @@ public class ConductorProperties {
 	 defined in table 5A.
 	 */
 	public static double getBareCompactConductorAreaIn2(@NotNull Size conductorSize) {
-		if (hasCompactBareAreaDefined(conductorSize))
-			return compactBareDimensions.get(conductorSize);
-		return 0;
+		return compactBareAreas[conductorSize.ordinal()];
 	}
 
 	/**
@@ -710,7 +748,8 @@ public class ConductorProperties {
 	 */
 	public static boolean hasInsulatedAreaDefined(Size conductorSize,
 	                                              Insulation insulation) {
-		return insulatedDimensions.containsKey(insulation) && insulatedDimensions.get(insulation).containsKey(conductorSize);
+		return conductorSize != null && insulation != null &&
+				insulatedAreas[insulation.ordinal()][conductorSize.ordinal()] != 0;
 	}
 
 	/**
@@ -724,7 +763,8 @@ public class ConductorProperties {
 	 */
 	public static boolean hasCompactAreaDefined(Size conductorSize,
 	                                            Insulation insulation) {
-		return compactDimensions.containsKey(insulation) && compactDimensions.get(insulation).containsKey(conductorSize);
+		return conductorSize != null && insulation != null &&
+				compactAreas[insulation.ordinal()][conductorSize.ordinal()] != 0;
 	}
 
 	/**
@@ -735,7 +775,7 @@ public class ConductorProperties {
 	 @return True if the area is defined in table 5A, false otherwise.
 	 */
 	public static boolean hasCompactBareAreaDefined(@NotNull Size conductorSize) {
-		return compactBareDimensions.containsKey(conductorSize);
+		return compactBareAreas[conductorSize.ordinal()] != 0;
 	}
 
 	/**
@@ -948,6 +988,85 @@ public class ConductorProperties {
 		return getACResistance(conductorSize, conductiveMetal, conduitMaterial) * 0.001 * oneWayLength / numberOfSets;
 	}
 
+	/**
+	 @return The ratio of the resistance of a conductor of the given metal at the given temperature to its resistance
+	 at {@link #TABLE_RESISTANCE_TEMPERATURE}, as per NEC Chapter 9 Table 8, Note 2: R2 = R1·[1 + α·(T2 - 75)], where
+	 α is {@link #COPPER_TEMPERATURE_COEFFICIENT} or {@link #ALUMINUM_TEMPERATURE_COEFFICIENT}. For whole
+	 temperatures in the range [-50, 250] °C, the ratio is taken from a precomputed table.
+	 @param conductiveMetal Not null. The metal of the conductor as defined by {@link ConductiveMetal}.
+	 @param temperatureC The temperature of the conductor, in degrees Celsius.
+	 */
+	public static double getResistanceTemperatureFactor(@NotNull ConductiveMetal conductiveMetal,
+	                                                    double temperatureC) {
+		int whole = (int) temperatureC;
+		if(whole == temperatureC && whole >= MIN_FACTOR_TEMPERATURE && whole <= MAX_FACTOR_TEMPERATURE)
+			return resistanceTemperatureFactors[conductiveMetal.ordinal()][whole - MIN_FACTOR_TEMPERATURE];
+		return calculateResistanceTemperatureFactor(conductiveMetal, temperatureC);
+	}
+
+	private static double calculateResistanceTemperatureFactor(ConductiveMetal conductiveMetal, double temperatureC) {
+		double alpha = conductiveMetal == ConductiveMetal.ALUMINUM ? ALUMINUM_TEMPERATURE_COEFFICIENT :
+				COPPER_TEMPERATURE_COEFFICIENT;
+		return 1 + alpha * (temperatureC - TABLE_RESISTANCE_TEMPERATURE);
+	}
+
+	/**
+	 Returns the DC resistance of this conductor size for the given conductiveMetal at the given temperature.
+	 @param conductorSize The size of the conductor as defined by {@link Size}
+	 @param conductiveMetal The conductiveMetal of the conductor as defined by  {@link ConductiveMetal}.
+	 None of these parameters can be null.
+	 @param temperatureC The temperature of the conductor, in degrees Celsius.
+	 @return The DC resistance of this conductor in ohms per 1000 feet.
+	 @see #getResistanceTemperatureFactor(ConductiveMetal, double)
+	 */
+	public static double getDCResistanceAt(@NotNull Size conductorSize, @NotNull ConductiveMetal conductiveMetal,
+	                                       double temperatureC) {
+		return getDCResistance(conductorSize, conductiveMetal) *
+				getResistanceTemperatureFactor(conductiveMetal, temperatureC);
+	}
+
+	/**
+	 Returns the AC resistance of this conductor size for the given conductiveMetal and conduit material at the
+	 given temperature.
+	 @param conductorSize Not null. The size of the conductor as defined by {@link Size}.
+	 @param conductiveMetal Not null. The conductiveMetal of the conductor as defined by {@link ConductiveMetal}.
+	 @param conduitMaterial The material type of the conduit as specified in {@link OuterMaterial}, or NULL if the
+	 conductor is in free air.
+	 @param temperatureC The temperature of the conductor, in degrees Celsius.
+	 @return The AC resistance in ohms per 1000 feet.
+	 @see #getResistanceTemperatureFactor(ConductiveMetal, double)
+	 */
+	public static double getACResistanceAt(@NotNull Size conductorSize, @NotNull ConductiveMetal conductiveMetal,
+	                                       @Nullable OuterMaterial conduitMaterial, double temperatureC) {
+		return getACResistance(conductorSize, conductiveMetal, conduitMaterial) *
+				getResistanceTemperatureFactor(conductiveMetal, temperatureC);
+	}
+
+	/**
+	 Estimates the operating temperature of a conductor from its load current, assuming that the temperature rise
+	 above the ambient is proportional to the losses, that is, to the square of the current:
+	 T = Ta + (Tr - Ta)·(I / A)², where Tr is the temperature rating of the conductor and A is its ampacity under the
+	 conditions of use (corrected and adjusted), at which the conductor reaches its rating.
+	 @param ambientTemperatureC The ambient temperature, in degrees Celsius.
+	 @param temperatureRating Not null. The temperature rating used to determine the ampacity. Cannot be UNKNOWN.
+	 @param current The current of one conductor, in amperes. Must be >= 0.
+	 @param correctedAmpacity The ampacity of one conductor under the conditions of use, in amperes. Must be > 0.
+	 @return The estimated temperature of the conductor, in degrees Celsius. It's above the temperature rating for
+	 currents above the ampacity.
+	 */
+	public static double estimateOperatingTemperature(double ambientTemperatureC,
+	                                                  @NotNull TempRating temperatureRating, double current,
+	                                                  double correctedAmpacity) {
+		if(temperatureRating == null || temperatureRating == TempRating.UNKNOWN)
+			throw new IllegalArgumentException("The temperature rating must be known.");
+		if(current < 0)
+			throw new IllegalArgumentException("Current must be >= 0");
+		if(correctedAmpacity <= 0)
+			throw new IllegalArgumentException("Corrected ampacity must be > 0");
+		double ratio = current / correctedAmpacity;
+		return ambientTemperatureC + (temperatureRating.getValue() - ambientTemperatureC) * ratio * ratio;
+	}
+
 	/**
 	 Returns the ampacity of the given conductor size for the given conductiveMetal and
 	 temperature rating per the NEC table 310.16 (old 310.15(B)(16)) (30 °C, up to 3
@@ -999,6 +1118,7 @@ public class ConductorProperties {
 	                                               @NotNull TempRating tempRating) {
 		if (current <= 0)
 			throw new IllegalArgumentException("current must be > 0");
+		Metrics.lookup(Metrics.Table.AMPACITY);
 
 		if (conductiveMetal == ConductiveMetal.COPPER) {
 			if (tempRating == TempRating.T60) {
@@ -0,0 +1,108 @@
+package eecalcs.conductors;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ This class is a read-only, zero-copy view of the conduitables of a raceway (a conduit or a bundle). It reads
+ directly from the list of the raceway, so it always reflects its current contents and getting or traversing it does
+ not allocate a copy. Any attempt to modify the view throws an UnsupportedOperationException.
+ <p>The spliterator of this view knows its exact size and splits in halves by index, so sequential and parallel
+ streams can traverse the members without copying them. It reports the characteristics ORDERED, SIZED, SUBSIZED,
+ NONNULL and IMMUTABLE: the view itself cannot be modified, and the raceway must not be modified (by adding members
+ to it) while a traversal is in progress.
+ */
+public final class ConduitableView extends AbstractList<Conduitable> implements RandomAccess {
+	private final List<Conduitable> conduitables;
+
+	/**
+	 Creates a read-only view of the given list.
+	 @param conduitables The list of conduitables owned by a raceway. Cannot be null. It should support fast random
+	 access, like an ArrayList.
+	 */
+	public ConduitableView(@NotNull List<Conduitable> conduitables) {
+		if(conduitables == null)
+			throw new IllegalArgumentException("The list of conduitables cannot be null.");
+		this.conduitables = conduitables;
+	}
+
+	@Override
+	public Conduitable get(int index) {
+		return conduitables.get(index);
+	}
+
+	@Override
+	public int size() {
+		return conduitables.size();
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		return conduitables.contains(o);
+	}
+
+	@Override
+	public void forEach(Consumer<? super Conduitable> action) {
+		for(int i = 0, n = conduitables.size(); i < n; i++)
+			action.accept(conduitables.get(i));
+	}
+
+	@Override
+	public Spliterator<Conduitable> spliterator() {
+		return new IndexSpliterator(conduitables, 0, conduitables.size());
+	}
+
+	/*
+	 Spliterator over a range of indexes of a random access list.
+	 */
+	private static final class IndexSpliterator implements Spliterator<Conduitable> {
+		private final List<Conduitable> conduitables;
+		private int index;
+		private final int end;
+
+		private IndexSpliterator(List<Conduitable> conduitables, int index, int end) {
+			this.conduitables = conduitables;
+			this.index = index;
+			this.end = end;
+		}
+
+		@Override
+		public boolean tryAdvance(Consumer<? super Conduitable> action) {
+			if(index >= end)
+				return false;
+			action.accept(conduitables.get(index++));
+			return true;
+		}
+
+		@Override
+		public void forEachRemaining(Consumer<? super Conduitable> action) {
+			for(; index < end; index++)
+				action.accept(conduitables.get(index));
+		}
+
+		@Override
+		public Spliterator<Conduitable> trySplit() {
+			int middle = (index + end) >>> 1;
+			if(middle <= index)
+				return null;
+			Spliterator<Conduitable> prefix = new IndexSpliterator(conduitables, index, middle);
+			index = middle;
+			return prefix;
+		}
+
+		@Override
+		public long estimateSize() {
+			return end - index;
+		}
+
+		@Override
+		public int characteristics() {
+			return ORDERED | SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+		}
+	}
+}
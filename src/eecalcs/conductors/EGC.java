@@ -1,6 +1,7 @@
 package eecalcs.conductors;
 
 import org.jetbrains.annotations.NotNull;
+import tools.Metrics;
 
 /**
  This class represents the values of the table NEC 2014,2017,2020: 250.122.
@@ -49,6 +50,7 @@ public class EGC {
 	public static Size getEGCSize(int ocpdRating, @NotNull ConductiveMetal conductiveMetal){
 		if(ocpdRating < 15 || ocpdRating > 6000)
 			throw new IllegalArgumentException("The OCPD rating must be in the range [15, 6000]");
+		Metrics.lookup(Metrics.Table.EGC);
 		int index = table.length - 1;
 
 		for (int i = 0; i < table.length; i++) {
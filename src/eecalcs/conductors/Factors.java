@@ -3,6 +3,7 @@ package eecalcs.conductors;
 import eecalcs.systems.NEC;
 import eecalcs.systems.NECEdition;
 import org.jetbrains.annotations.NotNull;
+import tools.Metrics;
 
 /**
  This class encapsulates static methods to provide temperature correction factors
@@ -74,6 +75,7 @@ public class Factors {
 	@NEC(year="2020")
 	public static double getTemperatureCorrectionF(int ambientTemperatureF,
                                                    @NotNull TempRating temperatureRating) {
+		Metrics.lookup(Metrics.Table.TEMPERATURE_CORRECTION);
 		for (Factors tcf : tempCorrectionFactors) {
 			if (tcf.inRangeF(ambientTemperatureF))
 				return tcf.getCorrectionFactor(temperatureRating.getValue());
@@ -7,4 +7,17 @@ public interface RWConduitable {
      [{@link Factors#MIN_TEMP_F},{@link Factors#MAX_TEMP_F}], otherwise, an IllegalArgumentException is thrown.
      */
     RWConduitable setAmbientTemperatureF(int ambientTemperatureF);
+
+    /**
+     Sets the ampacity of this RWConduitable calculated under engineering supervision, as permitted by NEC
+     2014,2017:310.15(C), 2020:310.14(B), for example by {@link eecalcs.ampacity.NeherMcGrath}. While set,
+     {@link Conduitable#getCorrectedAndAdjustedAmpacity()} returns this value instead of the ampacity of the tables
+     corrected and adjusted. The value applies only to the exact configuration it was calculated for: it is discarded
+     (and the ampacity of the tables is used again) when the size, metal, insulation, role or ambient temperature of
+     the conductors change, or when another conduitable is added to the same conduit or bundle; it must then be
+     calculated and set again. It is kept by the copies of this RWConduitable, like the ones added to a conduit.
+     @param ampacity The calculated ampacity in amperes. Must be > 0, or Double.NaN to use the ampacity of the tables
+     again.
+     */
+    RWConduitable setCalculatedAmpacity(double ampacity);
 }
@@ -0,0 +1,116 @@
+package eecalcs.conduits;
+
+import eecalcs.conductors.ConductorProperties;
+import eecalcs.conductors.Insulation;
+import eecalcs.conductors.Size;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ This class answers the question "how many conductors of the same size and insulation fit in a conduit", as the
+ tables of NEC Annex C do, for every conduit type and trade size of NEC table 4 and every conductor of NEC tables 5
+ (standard conductors) and 5A (compact conductors).
+ <p>The maximum number of conductors follows the fill rules of NEC Chapter 9 Table 1: 53% of the conduit area for
+ one conductor, 31% for two and 40% for more than two, or 60% for nipples not exceeding 24 inches (Note 4). As per
+ Note 7, when all the conductors are the same size and the calculation results in a decimal of 0.8 or larger, the
+ next higher whole number is used.
+ <p>All the counts are precomputed once, the first time this class is used, into dense matrices indexed by
+ [type][trade size][insulation][size] ordinals, so every query is an array access. Counts are stored as shorts, as
+ the largest one (14 AWG in a 6" conduit) is well below that limit. A count of zero means the conductor does not fit
+ in the conduit or that the area of the conduit or of the conductor is not defined in the tables.
+ */
+public final class ConductorFill {
+	private static final int TYPES = Type.values().length;
+	private static final int TRADE_SIZES = TradeSize.values().length;
+	private static final int INSULATIONS = Insulation.values().length;
+	private static final int SIZES = Size.values().length;
+	private static final int STANDARD = 0;
+	private static final int COMPACT = 1;
+	private static final int NIPPLE = 2;
+	/*Indexed by STANDARD or COMPACT, plus NIPPLE for nipples.*/
+	private static final short[][] counts = new short[4][];
+
+	static {
+		for(int table = STANDARD; table <= COMPACT; table++) {
+			short[] regular = new short[TYPES * TRADE_SIZES * INSULATIONS * SIZES];
+			short[] nipple = new short[regular.length];
+			int index = 0;
+			for(Type type : Type.values()) {
+				for(TradeSize tradeSize : TradeSize.values()) {
+					double conduitArea = ConduitProperties.getArea(type, tradeSize);
+					for(Insulation insulation : Insulation.values()) {
+						for(Size size : Size.values()) {
+							double conductorArea = table == COMPACT ?
+									ConductorProperties.getCompactConductorAreaIn2(size, insulation) :
+									ConductorProperties.getInsulatedConductorAreaIn2(size, insulation);
+							if(conduitArea != 0 && conductorArea != 0) {
+								regular[index] = (short) calculateCount(conduitArea, conductorArea);
+								nipple[index] = (short) roundCount(0.6 * conduitArea / conductorArea);
+							}
+							index++;
+						}
+					}
+				}
+			}
+			counts[table] = regular;
+			counts[table + NIPPLE] = nipple;
+		}
+	}
+
+	private ConductorFill() {
+	}
+
+	/*
+	 Maximum number of conductors of the given area in a conduit of the given area, as per Chapter 9 Table 1.
+	 */
+	private static int calculateCount(double conduitArea, double conductorArea) {
+		int count = roundCount(0.40 * conduitArea / conductorArea);
+		if(count >= 3)
+			return count;
+		if(2 * conductorArea <= 0.31 * conduitArea)
+			return 2;
+		if(conductorArea <= 0.53 * conduitArea)
+			return 1;
+		return 0;
+	}
+
+	/*
+	 Rounds down the given number of conductors, unless its decimal part is 0.8 or larger (Chapter 9 Note 7).
+	 */
+	private static int roundCount(double count) {
+		int whole = (int) count;
+		return count - whole >= 0.8 ? whole + 1 : whole;
+	}
+
+	/**
+	 @return The maximum number of standard (table 5) conductors of the given size and insulation that can be
+	 installed in a conduit of the given type and trade size, or zero if none fits or if the areas are not defined.
+	 @param type The type of the conduit. Cannot be null.
+	 @param tradeSize The trade size of the conduit. Cannot be null.
+	 @param insulation The insulation of the conductors. Cannot be null.
+	 @param size The size of the conductors. Cannot be null.
+	 */
+	public static int getMaxConductorCount(@NotNull Type type, @NotNull TradeSize tradeSize,
+	                                       @NotNull Insulation insulation, @NotNull Size size) {
+		return getMaxConductorCount(type, tradeSize, insulation, size, false, false);
+	}
+
+	/**
+	 @return The maximum number of conductors of the given size and insulation that can be installed in a conduit
+	 of the given type and trade size, or zero if none fits or if the areas are not defined.
+	 @param type The type of the conduit. Cannot be null.
+	 @param tradeSize The trade size of the conduit. Cannot be null.
+	 @param insulation The insulation of the conductors. Cannot be null.
+	 @param size The size of the conductors. Cannot be null.
+	 @param compact True for compact conductors (table 5A), false for standard conductors (table 5).
+	 @param nipple True if the conduit is a nipple not exceeding 24 inches (60% fill), false otherwise.
+	 */
+	public static int getMaxConductorCount(@NotNull Type type, @NotNull TradeSize tradeSize,
+	                                       @NotNull Insulation insulation, @NotNull Size size,
+	                                       boolean compact, boolean nipple) {
+		if(type == null || tradeSize == null || insulation == null || size == null)
+			throw new IllegalArgumentException("Conduit type, trade size, insulation and size cannot be null.");
+		int index = ((type.ordinal() * TRADE_SIZES + tradeSize.ordinal()) * INSULATIONS + insulation.ordinal())
+				* SIZES + size.ordinal();
+		return counts[(compact ? COMPACT : STANDARD) + (nipple ? NIPPLE : 0)][index];
+	}
+}
@@ -6,9 +6,11 @@ import eecalcs.conductors.Conductor;
 import eecalcs.systems.NEC;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import tools.Metrics;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 
 /**
@@ -43,6 +45,7 @@ public class Conduit implements ROConduit {
 	private double rooftopDistance = -1.0; //means no rooftop condition
 	private int ambientTemperatureF = 86;
 	private final List<Conduitable> conduitables = new ArrayList<>();
+	private final ConduitableView members = new ConduitableView(conduitables);
 
 	public Conduit(int ambientTemperatureF){
 		setAmbientTemperatureF(ambientTemperatureF);
@@ -168,8 +171,11 @@ public class Conduit implements ROConduit {
 
 	@Override
 	public @Nullable TradeSize getTradeSize() {
+		long start = Metrics.start();
 		double conduitableAreas = getConduitablesArea() / (getMaxAllowedFillPercentage() * 0.01);
-		return ConduitProperties.getTradeSizeForArea(conduitableAreas, type, minimumTradeSizeSize);
+		TradeSize tradeSize = ConduitProperties.getTradeSizeForArea(conduitableAreas, type, minimumTradeSizeSize);
+		Metrics.stop(Metrics.Stage.CONDUIT_TRADE_SIZE, start);
+		return tradeSize;
 	}
 
 	@Override
@@ -211,10 +217,177 @@ public class Conduit implements ROConduit {
 		if (c instanceof RWConduitable) {
 			((RWConduitable) c).setAmbientTemperatureF(ambientTemperatureF);
 		}
+		clearCalculatedAmpacities(conduitables.size());
 		conduitables.add(c);
 		return this;
 	}
 
+	/**
+	 Applies a batch of changes to this conduit in a single step. The given mutations are recorded by an
+	 {@link Editor} and nothing is changed until they all have been recorded; then all the values are validated and,
+	 if they are valid, applied at once: the ambient temperature is propagated to the conduitables (existing and
+	 added) in a single pass. If any value is not valid, an IllegalArgumentException is thrown and this conduit is
+	 left unchanged.
+	 @param mutations The changes to apply, as in <code>conduit.edit(e -> e.setType(Type.PVC40).add(cable))</code>.
+	 Cannot be null.
+	 @return This conduit.
+	 */
+	public Conduit edit(@NotNull Consumer<Editor> mutations) {
+		Editor editor = new Editor();
+		mutations.accept(editor);
+		commit(editor);
+		return this;
+	}
+
+	/*
+	 Validates and applies the changes recorded by the editor, restoring the previous state if applying fails.
+	 */
+	private void commit(Editor editor) {
+		int newAmbientTemperatureF = editor.ambientTemperatureF == null ? ambientTemperatureF :
+				editor.ambientTemperatureF;
+		if(newAmbientTemperatureF < Factors.MIN_TEMP_F || newAmbientTemperatureF > Factors.MAX_TEMP_F)
+			throw new IllegalArgumentException("Ambient temperature must be " +
+					"in the [" + Factors.MIN_TEMP_F + "," + Factors.MAX_TEMP_F + "] °F range.");
+
+		TradeSize oldMinimumTradeSize = minimumTradeSizeSize;
+		boolean oldNipple = nipple;
+		Type oldType = type;
+		double oldRooftopDistance = rooftopDistance;
+		int oldAmbientTemperatureF = ambientTemperatureF;
+		int oldCount = conduitables.size();
+		try {
+			if(editor.minimumTradeSize != null)
+				minimumTradeSizeSize = editor.minimumTradeSize;
+			if(editor.nipple != null)
+				nipple = editor.nipple;
+			if(editor.type != null)
+				type = editor.type;
+			if(editor.rooftopDistance != null)
+				rooftopDistance = editor.rooftopDistance;
+			ambientTemperatureF = newAmbientTemperatureF;
+			for(Conduitable conduitable : editor.added)
+				conduitables.add(conduitable.copy(this));
+			int from = ambientTemperatureF == oldAmbientTemperatureF ? oldCount : 0;
+			setMembersAmbientTemperature(from, ambientTemperatureF);
+			if(rooftopDistance != oldRooftopDistance)
+				clearCalculatedAmpacities(conduitables.size());
+			else if(!editor.added.isEmpty())
+				clearCalculatedAmpacities(oldCount);
+		} catch (RuntimeException e) {
+			while(conduitables.size() > oldCount)
+				conduitables.remove(conduitables.size() - 1);
+			minimumTradeSizeSize = oldMinimumTradeSize;
+			nipple = oldNipple;
+			type = oldType;
+			rooftopDistance = oldRooftopDistance;
+			ambientTemperatureF = oldAmbientTemperatureF;
+			setMembersAmbientTemperature(0, oldAmbientTemperatureF);
+			throw e;
+		}
+	}
+
+	/*
+	 Discards the calculated ampacity of the conduitables before the given index, which is no longer valid once other
+	 conduitables heat them or the rooftop condition changes.
+	 */
+	private void clearCalculatedAmpacities(int to) {
+		for(int i = 0; i < to; i++) {
+			Conduitable c = conduitables.get(i);
+			if (c instanceof RWConduitable)
+				((RWConduitable) c).setCalculatedAmpacity(Double.NaN);
+		}
+	}
+
+	/*
+	 Sets the given ambient temperature to the conduitables starting at the given index.
+	 */
+	private void setMembersAmbientTemperature(int from, int ambientTemperatureF) {
+		for(int i = from; i < conduitables.size(); i++) {
+			Conduitable c = conduitables.get(i);
+			if (c instanceof RWConduitable)
+				((RWConduitable) c).setAmbientTemperatureF(ambientTemperatureF);
+		}
+	}
+
+	/**
+	 Records the changes of a {@link #edit(Consumer)} transaction. The changes are applied to the conduit when the
+	 transaction commits; the conduit getters keep returning the previous values until then.
+	 */
+	public static final class Editor {
+		private Integer ambientTemperatureF;
+		private TradeSize minimumTradeSize;
+		private Boolean nipple;
+		private Type type;
+		private Double rooftopDistance;
+		private final List<Conduitable> added = new ArrayList<>();
+
+		private Editor() {
+		}
+
+		/**
+		 @param ambientTemperatureF The new ambient temperature in degrees Fahrenheit. Validated at commit.
+		 @return This editor.
+		 @see Conduit#setAmbientTemperatureF(int)
+		 */
+		public Editor setAmbientTemperatureF(int ambientTemperatureF) {
+			this.ambientTemperatureF = ambientTemperatureF;
+			return this;
+		}
+
+		/**
+		 @param minimumTradeSize The new minimum trade size. Cannot be null.
+		 @return This editor.
+		 */
+		public Editor setMinimumTradeSize(@NotNull TradeSize minimumTradeSize) {
+			if(minimumTradeSize == null)
+				throw new IllegalArgumentException("Minimum trade size cannot be null.");
+			this.minimumTradeSize = minimumTradeSize;
+			return this;
+		}
+
+		/**
+		 @param nipple True for the nipple condition, false for the non-nipple one.
+		 @return This editor.
+		 */
+		public Editor setNipple(boolean nipple) {
+			this.nipple = nipple;
+			return this;
+		}
+
+		/**
+		 @param type The new conduit type. Cannot be null.
+		 @return This editor.
+		 */
+		public Editor setType(@NotNull Type type) {
+			if(type == null)
+				throw new IllegalArgumentException("Conduit type cannot be null.");
+			this.type = type;
+			return this;
+		}
+
+		/**
+		 @param rooftopDistanceInInches The new rooftop distance in inches. A negative value means the conduit does
+		 not run above the rooftop.
+		 @return This editor.
+		 */
+		public Editor setRooftopDistance(double rooftopDistanceInInches) {
+			this.rooftopDistance = rooftopDistanceInInches;
+			return this;
+		}
+
+		/**
+		 @param conduitable The conduitable from which a copy will be added to the conduit at commit. Cannot be null.
+		 @return This editor.
+		 @see Conduit#add(Conduitable)
+		 */
+		public Editor add(@NotNull Conduitable conduitable) {
+			if(conduitable == null)
+				throw new IllegalArgumentException("Conduitable cannot be null.");
+			added.add(conduitable);
+			return this;
+		}
+	}
+
 	/**
 	 * Sets the minimum trade size for this conduit.
 	 * @param minimumTradeSizeSize The minimum trade size.
@@ -260,14 +433,22 @@ public class Conduit implements ROConduit {
 	 * @return This conduit.
 	 */
 	public Conduit setRooftopDistance(double rooftopDistanceInInches){
+		if(rooftopDistanceInInches != rooftopDistance)
+			clearCalculatedAmpacities(conduitables.size());
 		this.rooftopDistance = rooftopDistanceInInches;
 		return this;
 	}
 
+	@Override
+	public ConduitableView getMembers() {
+		return members;
+	}
+
 	/**
 	 @return A copy of the list of all conduitable objects that are inside this
 	 conduit.
 	 @see Conduitable
+	 @deprecated Use {@link #getMembers()}, which does not copy the list.
 	 */
 	@Deprecated
 	public List<Conduitable> getConduitables() {
@@ -3,6 +3,7 @@ package eecalcs.conduits;
 import eecalcs.systems.NECEdition;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import tools.Metrics;
 
 
 import java.util.HashMap;
@@ -27,7 +28,10 @@ public class ConduitProperties {
 	private static final Map<TradeSize, Double> areaPVCA;
 	private static final Map<TradeSize, Double> areaPVCEB;
 	private static final Map<Type, Map<TradeSize, Double>> dimensions;
+	/*Dense copy of the dimensions above, indexed by type and trade size ordinals. Zero means not defined.*/
+	private static final double[][] areas;
 
+	private static final TradeSize[] TRADE_SIZES = TradeSize.values();
 	private static final double ROOFTOP_CONDITION_DISTANCE_2014 = 36.0;
 	private static final double ROOFTOP_CONDITION_DISTANCE_2017_2020 = 7.0/8.0;
 
@@ -230,6 +234,10 @@ public class ConduitProperties {
 		dimensions.put(Type.PVCA,   areaPVCA);
 		dimensions.put(Type.PVCEB,  areaPVCEB);
 		//endregion
+
+		areas = new double[Type.values().length][TradeSize.values().length];
+		dimensions.forEach((type, areasBySize) ->
+				areasBySize.forEach((tradeSize, area) -> areas[type.ordinal()][tradeSize.ordinal()] = area));
 	}
 
 	public static double getRooftopConditionDistance(){
@@ -249,7 +257,7 @@ public class ConduitProperties {
 	 area in table 4.
 	 */
 	public static boolean hasArea(@NotNull Type conduitType, @NotNull TradeSize tradeSize){
-		return dimensions.get(conduitType).containsKey(tradeSize);
+		return areas[conduitType.ordinal()][tradeSize.ordinal()] != 0;
 	}
 
 	/**
@@ -260,18 +268,7 @@ public class ConduitProperties {
 	 @return The area in square inches of the conduit, or zero if not in NEC Table 4.
 	 */
 	public static double getArea(@NotNull Type conduitType, @NotNull TradeSize tradeSize){
-		if(hasArea(conduitType, tradeSize))
-			return dimensions.get(conduitType).get(tradeSize);
-		return 0;
-	}
-
-	/**
-	 @return The map of trade-size-and-area pair values corresponding to the
-	 given conduit type.
-	 @param conduitType The conduit type for which the areas are requested. Cannot be null.
-	 */
-	private static Map<TradeSize, Double> getAreasForType(@NotNull Type conduitType){
-		return dimensions.get(conduitType);
+		return areas[conduitType.ordinal()][tradeSize.ordinal()];
 	}
 
 	/**
@@ -286,14 +283,11 @@ public class ConduitProperties {
 	                                                      @NotNull TradeSize minimumTradeSizeSize){
 		if (area < 0)
 			throw new IllegalArgumentException("The area parameter must be >= 0");
-		Map<TradeSize, Double> areasForType =
-				ConduitProperties.getAreasForType(type);
-
-		for (int i = minimumTradeSizeSize.ordinal(); i < TradeSize.values().length; i++)
-			if (ConduitProperties.hasArea(type, TradeSize.values()[i])) {
-				if (areasForType.get(TradeSize.values()[i]) >= area)
-					return TradeSize.values()[i];
-			}
+		Metrics.lookup(Metrics.Table.CONDUIT_AREA);
+		double[] areasForType = areas[type.ordinal()];
+		for (int i = minimumTradeSizeSize.ordinal(); i < areasForType.length; i++)
+			if (areasForType[i] != 0 && areasForType[i] >= area)
+				return TRADE_SIZES[i];
 		return null;
 	}
 
@@ -1,6 +1,7 @@
 package eecalcs.conduits;
 
 import eecalcs.conductors.Conduitable;
+import eecalcs.conductors.ConduitableView;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -15,6 +16,13 @@ import org.jetbrains.annotations.Nullable;
  <p><code>void empty()</code>
  <p><code>TradeSize getTradeSize()</code> */
 public interface ROConduit {
+	/**
+	 @return A read-only view of the conduitables inside this conduit. The view is not a copy: it always reflects the
+	 current contents of the conduit.
+	 @see ConduitableView
+	 */
+	ConduitableView getMembers();
+
 	/**
 	 Asks if this conduit is empty (contains no conduitable)
 	 @return True if empty.
@@ -0,0 +1,546 @@
+package eecalcs.distribution;
+
+import eecalcs.circuits.CircuitAll;
+import eecalcs.circuits.CircuitType;
+import eecalcs.conductors.ConductiveMetal;
+import eecalcs.conductors.Size;
+import eecalcs.conduits.OuterMaterial;
+import eecalcs.loads.BaseLoad;
+import eecalcs.loads.Load;
+import eecalcs.loads.PowerFactorType;
+import eecalcs.systems.VoltageAC;
+import eecalcs.voltagedrop.VoltageDropAC;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+
+/**
+ This class represents a radial distribution system, like service → switchboard → panel → branch circuits, as a
+ tree of nodes. Each node is fed from its parent through a {@link CircuitAll}:
+ <ul>
+ <li>Load nodes are leaves that hold a {@link Load}; their circuit is the branch circuit (or feeder) of that load.</li>
+ <li>Panel nodes hold the aggregated load of all the loads downstream of them; their circuit is the feeder of the
+ panel (for the root, the service conductors).</li>
+ </ul>
+ <p>The aggregated load of a panel is the vector sum of the real and reactive power of its downstream loads,
+ expressed as a current at the voltage of the panel. Its MCA is the arithmetic sum of the MCA of the downstream loads
+ (expressed as volt-amperes), but never less than its nominal current. Its neutral current is its nominal current and
+ it's non-linear if any downstream load is. Loads of any voltage can be connected to a panel; the transformers in
+ between are not modeled.
+ <p>Each node keeps the sums of its subtree, so adding, removing or updating a load changes only the nodes in the
+ path from that load to the root (O(depth)), and the propagation stops at the first node whose sums do not change.
+ Only the nodes whose load changed are marked for resizing; the circuits of the other nodes keep their last results.
+ The circuits are sized on demand, when a result of a node is requested, or all at once with {@link #resize()} or
+ {@link #resizeInParallel()}. The latter sizes large subtrees in parallel using the common fork-join pool, which is
+ meant for the initial sizing of large campuses.
+ <p>The circuits are created by the circuit factory of the tree, the first time they are needed. Since a circuit
+ keeps a copy of its load, the circuit of a node is created again when the load of the node changes; the settings
+ made directly on the old circuit are lost then, so the settings of a node that must survive load changes belong in
+ the factory. The default factory creates a circuit with the default values of {@link CircuitAll.Builder}. After
+ modifying the load of a load node or the circuit of any node (for instance, its length), call
+ {@link Node#update()}.
+ <p>The voltage drop of each node is the voltage drop of its own circuit plus the voltage drop of all the upstream
+ circuits, up to the source (see {@link Node#getCumulativeVoltageDropPercent()}), to be compared against the 5%
+ combined feeder and branch circuit limit of the informational notes of NEC 210.19(A) and 215.2(A). The drops are
+ memoized per node until the tree is modified, so evaluating all the endpoints of the tree is O(nodes); use
+ {@link #getWorstEndpoints(int)} to find the loads with the highest cumulative drop.
+ <p>Objects of this class are not thread safe.
+ */
+public class DistributionTree {
+	/*Subtrees smaller than this are sized in the thread of their parent.*/
+	private static final int PARALLEL_THRESHOLD = 16;
+	private final Node root;
+	private final Function<Load, CircuitAll> circuitFactory;
+	/*Incremented on every modification; the memoized voltage drops are valid while it does not change.*/
+	private long modificationCount;
+
+	/**
+	 Creates a tree whose circuits are created with the default values of {@link CircuitAll.Builder}.
+	 @param name The name of the root panel, like "MSB".
+	 @param voltage The voltage system of the root panel. Cannot be null.
+	 */
+	public DistributionTree(String name, @NotNull VoltageAC voltage) {
+		this(name, voltage, load -> new CircuitAll.Builder(load).build());
+	}
+
+	/**
+	 Creates a tree whose circuits are created by the given factory.
+	 @param name The name of the root panel, like "MSB".
+	 @param voltage The voltage system of the root panel. Cannot be null.
+	 @param circuitFactory The function that creates the circuit feeding a given load. It's called for each node the
+	 first time its circuit is needed and every time its load changes, and from several threads when using
+	 {@link #resizeInParallel()}. Cannot be null.
+	 */
+	public DistributionTree(String name, @NotNull VoltageAC voltage,
+	                        @NotNull Function<Load, CircuitAll> circuitFactory) {
+		if(circuitFactory == null)
+			throw new IllegalArgumentException("Circuit factory cannot be null.");
+		this.circuitFactory = circuitFactory;
+		root = new Node(this, null, name, new PanelLoad(voltage, name));
+	}
+
+	/**
+	 @return The root panel of this tree.
+	 */
+	public Node getRoot() {
+		return root;
+	}
+
+	/**
+	 @return The number of nodes of this tree, including the root.
+	 */
+	public int size() {
+		return root.subtreeSize;
+	}
+
+	/**
+	 Sizes, in the calling thread, the circuits of all the nodes that need resizing.
+	 */
+	public void resize() {
+		ArrayDeque<Node> pending = new ArrayDeque<>();
+		pending.push(root);
+		while(!pending.isEmpty()) {
+			Node node = pending.pop();
+			node.resizeIfNeeded();
+			for(Node child : node.children)
+				pending.push(child);
+		}
+	}
+
+	/**
+	 Sizes the circuits of all the nodes that need resizing, sizing large subtrees in parallel.
+	 */
+	public void resizeInParallel() {
+		ForkJoinPool.commonPool().invoke(new SubtreeTask(root));
+	}
+
+	/**
+	 @return The load nodes of this tree with the highest cumulative voltage drop, sorted from the highest. Nodes
+	 whose voltage drop cannot be calculated are returned first.
+	 @param count The maximum number of nodes to return. Must be > 0.
+	 */
+	public List<Node> getWorstEndpoints(int count) {
+		if(count <= 0)
+			throw new IllegalArgumentException("Count must be > 0.");
+		Comparator<Node> byDrop = Comparator.comparingDouble(node -> node.cumulativeVoltageDrop);
+		PriorityQueue<Node> worst = new PriorityQueue<>(byDrop);
+		ArrayDeque<Node> pending = new ArrayDeque<>();
+		pending.push(root);
+		while(!pending.isEmpty()) {
+			Node node = pending.pop();
+			if(node.voltageDropStamp != modificationCount)
+				node.calculateVoltageDrop();
+			if(!node.isPanel()) {
+				worst.add(node);
+				if(worst.size() > count)
+					worst.poll();
+			}
+			for(Node child : node.children)
+				pending.push(child);
+		}
+		List<Node> endpoints = new ArrayList<>(worst);
+		endpoints.sort(byDrop.reversed());
+		return endpoints;
+	}
+
+	/*
+	 Sizes a subtree iteratively. A child subtree is forked only where a panel has two or more large children, so the
+	 nesting of tasks is bounded by the branching of the tree and not by its depth.
+	 */
+	@SuppressWarnings("serial")
+	private static final class SubtreeTask extends RecursiveAction {
+		private final Node node;
+
+		private SubtreeTask(Node node) {
+			this.node = node;
+		}
+
+		@Override
+		protected void compute() {
+			List<SubtreeTask> forked = new ArrayList<>();
+			ArrayDeque<Node> pending = new ArrayDeque<>();
+			pending.push(node);
+			while(!pending.isEmpty()) {
+				Node next = pending.pop();
+				next.resizeIfNeeded();
+				int large = 0;
+				for(Node child : next.children)
+					if(child.subtreeSize >= PARALLEL_THRESHOLD)
+						large++;
+				for(Node child : next.children) {
+					if(large > 1 && child.subtreeSize >= PARALLEL_THRESHOLD) {
+						SubtreeTask task = new SubtreeTask(child);
+						task.fork();
+						forked.add(task);
+					}
+					else
+						pending.push(child);
+				}
+			}
+			for(SubtreeTask task : forked)
+				task.join();
+		}
+	}
+
+	/**
+	 A node of a {@link DistributionTree}: a panel or a load, and the circuit that feeds it.
+	 */
+	public static final class Node {
+		private final DistributionTree tree;
+		private final String name;
+		private final Load load;
+		private final List<Node> children;
+		private Node parent;
+		private int subtreeSize = 1;
+		/*For load nodes, the values of the load; for panels, the sums of the subtree.*/
+		private double realPower;
+		private double reactivePower;
+		private double mcaPower;
+		private int nonLinearCount;
+		private int loadCount;
+		private CircuitAll circuit;
+		private boolean resizingNeeded = true;
+		private Size circuitSize;
+		private int OCPDRating;
+		private long voltageDropStamp = -1;
+		private double voltageDrop;
+		private double cumulativeVoltageDrop;
+
+		private Node(DistributionTree tree, Node parent, String name, Load load) {
+			this.tree = tree;
+			this.parent = parent;
+			this.name = name;
+			this.load = load;
+			children = load instanceof PanelLoad ? new ArrayList<>() : Collections.emptyList();
+		}
+
+		/**
+		 Adds a panel fed from this panel.
+		 @param name The name of the new panel.
+		 @param voltage The voltage system of the new panel. Cannot be null.
+		 @return The new panel.
+		 */
+		public Node addPanel(String name, @NotNull VoltageAC voltage) {
+			return addChild(new Node(tree, this, name, new PanelLoad(voltage, name)));
+		}
+
+		/**
+		 Adds a load fed from this panel.
+		 @param name The name of the new node.
+		 @param load The load. Cannot be null. The load object is not copied.
+		 @return The new node.
+		 */
+		public Node addLoad(String name, @NotNull Load load) {
+			if(load == null)
+				throw new IllegalArgumentException("Load cannot be null.");
+			Node child = addChild(new Node(tree, this, name, load));
+			child.update();
+			return child;
+		}
+
+		private Node addChild(Node child) {
+			if(!isPanel())
+				throw new IllegalArgumentException("Nodes can only be added to panels.");
+			children.add(child);
+			for(Node node = this; node != null; node = node.parent)
+				node.subtreeSize++;
+			tree.modificationCount++;
+			return child;
+		}
+
+		/**
+		 Removes this node and its subtree from the tree. The root panel cannot be removed.
+		 */
+		public void remove() {
+			if(parent == null)
+				throw new IllegalArgumentException("The root panel cannot be removed.");
+			propagate(-realPower, -reactivePower, -mcaPower, -nonLinearCount, -loadCount);
+			parent.children.remove(this);
+			for(Node node = parent; node != null; node = node.parent)
+				node.subtreeSize -= subtreeSize;
+			parent = null;
+			tree.modificationCount++;
+		}
+
+		/**
+		 Refreshes the values kept for this node after its load (for load nodes) or its circuit was modified. The
+		 change is propagated to the upstream panels, and this node and the panels whose aggregated load changed are
+		 marked for resizing.
+		 */
+		public void update() {
+			resizingNeeded = true;
+			tree.modificationCount++;
+			if(isPanel())
+				return;
+			double S = load.getApparentPower();
+			double P = load.getRealPower();
+			double Q = Math.sqrt(Math.max(0, S * S - P * P));
+			if(load.getPowerFactorType() == PowerFactorType.LEADING)
+				Q = -Q;
+			double current = load.getNominalCurrent();
+			double mca = current > 0 ? load.getMCA() * S / current : 0;
+			int nonLinear = load.isNonLinear() ? 1 : 0;
+			double dP = P - realPower;
+			double dQ = Q - reactivePower;
+			double dMca = mca - mcaPower;
+			int dNonLinear = nonLinear - nonLinearCount;
+			realPower = P;
+			reactivePower = Q;
+			mcaPower = mca;
+			nonLinearCount = nonLinear;
+			if(dP != 0 || dQ != 0 || dMca != 0 || dNonLinear != 0)
+				circuit = null;
+			propagate(dP, dQ, dMca, dNonLinear, 1 - loadCount);
+			loadCount = 1;
+		}
+
+		/*
+		 Adds the given differences to the sums of the upstream panels, stopping at the first one that does not change.
+		 */
+		private void propagate(double dP, double dQ, double dMca, int dNonLinear, int dLoads) {
+			if(dP == 0 && dQ == 0 && dMca == 0 && dNonLinear == 0 && dLoads == 0)
+				return;
+			for(Node node = parent; node != null; node = node.parent) {
+				node.realPower += dP;
+				node.reactivePower += dQ;
+				node.mcaPower += dMca;
+				node.nonLinearCount += dNonLinear;
+				node.loadCount += dLoads;
+				if(node.loadCount == 0) {
+					/*discard the rounding errors accumulated by adding and subtracting*/
+					node.realPower = 0;
+					node.reactivePower = 0;
+					node.mcaPower = 0;
+				}
+				((PanelLoad) node.load).set(node.realPower, node.reactivePower, node.mcaPower, node.nonLinearCount);
+				/*the circuit holds a copy of the old load*/
+				node.circuit = null;
+				node.resizingNeeded = true;
+			}
+		}
+
+		/**
+		 @return The voltage drop of the circuit feeding this node, in percent, as calculated by
+		 {@link VoltageDropAC#getVoltageDropPercent(double, int, double, double, boolean, Size, double, int,
+		 ConductiveMetal, OuterMaterial)} for the load of this node. It's NaN if the circuit could not be sized or if
+		 the current or the impedance of the circuit is too high.
+		 */
+		public double getVoltageDropPercent() {
+			refreshVoltageDrops();
+			return voltageDrop;
+		}
+
+		/**
+		 @return The voltage drop from the source to this node, in percent, as the sum of the voltage drop of the
+		 circuit feeding this node and of the circuits feeding all its upstream panels. It's NaN if any of those drops
+		 cannot be calculated.
+		 */
+		public double getCumulativeVoltageDropPercent() {
+			refreshVoltageDrops();
+			return cumulativeVoltageDrop;
+		}
+
+		/*
+		 Recalculates the voltage drop of the nodes from the nearest upstream node whose drop is up-to-date.
+		 */
+		private void refreshVoltageDrops() {
+			ArrayDeque<Node> path = new ArrayDeque<>();
+			for(Node node = this; node != null && node.voltageDropStamp != tree.modificationCount; node = node.parent)
+				path.push(node);
+			while(!path.isEmpty())
+				path.pop().calculateVoltageDrop();
+		}
+
+		/*
+		 Calculates the voltage drop of this node. The cumulative drop of its parent must be up-to-date.
+		 */
+		private void calculateVoltageDrop() {
+			voltageDrop = calculateCircuitVoltageDrop();
+			cumulativeVoltageDrop = parent == null ? voltageDrop : parent.cumulativeVoltageDrop + voltageDrop;
+			voltageDropStamp = tree.modificationCount;
+		}
+
+		private double calculateCircuitVoltageDrop() {
+			double current = load.getNominalCurrent();
+			CircuitAll circuit = getCircuit();
+			double length = circuit.getCircuitLength();
+			if(current == 0 || length == 0)
+				return 0;
+			Size size = getCircuitSize();
+			if(size == null)
+				return Double.NaN;
+			VoltageAC voltage = load.getVoltageSource();
+			double percent = VoltageDropAC.getVoltageDropPercent(voltage.getVoltage(), voltage.getPhases(), current,
+					load.getPowerFactor(), load.getPowerFactorType() == PowerFactorType.LAGGING, size, length,
+					circuit.getNumberOfSets(), circuit.getMetal(), circuit.getVoltageDropConduitMaterial());
+			return percent == VoltageDropAC.CURRENT_OR_IMPEDANCE_TOO_HIGH ? Double.NaN : percent;
+		}
+
+		private void resizeIfNeeded() {
+			if(!resizingNeeded)
+				return;
+			CircuitAll circuit = getCircuit();
+			circuitSize = load.getNominalCurrent() > 0 ? circuit.getCircuitSize() : null;
+			OCPDRating = circuitSize == null ? 0 : circuit.getOCPDRating();
+			resizingNeeded = false;
+		}
+
+		/**
+		 @return The name of this node.
+		 */
+		public String getName() {
+			return name;
+		}
+
+		/**
+		 @return True if this node is a panel, false if it's a load.
+		 */
+		public boolean isPanel() {
+			return load instanceof PanelLoad;
+		}
+
+		/**
+		 @return The load of this node. For panels, it's the aggregated load of all the downstream loads.
+		 */
+		public Load getLoad() {
+			return load;
+		}
+
+		/**
+		 @return The number of loads downstream of this node (one for load nodes).
+		 */
+		public int getLoadCount() {
+			return loadCount;
+		}
+
+		/**
+		 @return The circuit feeding this node. It's created by the circuit factory of the tree if it does not exist
+		 yet or if the load of this node changed since it was created. Call {@link #update()} after modifying it.
+		 */
+		public CircuitAll getCircuit() {
+			if(circuit == null)
+				circuit = tree.circuitFactory.apply(load);
+			return circuit;
+		}
+
+		/**
+		 @return True if the load or the circuit of this node changed since the circuit was last sized.
+		 */
+		public boolean isResizingNeeded() {
+			return resizingNeeded;
+		}
+
+		/**
+		 @return The size of the phase conductors of the circuit feeding this node, or null if the circuit could not
+		 be sized (see the result messages of the circuit) or if there is no load downstream of this node.
+		 */
+		public @Nullable Size getCircuitSize() {
+			resizeIfNeeded();
+			return circuitSize;
+		}
+
+		/**
+		 @return The rating of the OCPD of the circuit feeding this node, or zero if the circuit could not be sized.
+		 */
+		public int getOCPDRating() {
+			resizeIfNeeded();
+			return OCPDRating;
+		}
+
+		/**
+		 @return The panel feeding this node, or null for the root panel or for a removed node.
+		 */
+		public Node getParent() {
+			return parent;
+		}
+
+		/**
+		 @return An unmodifiable view of the nodes fed from this panel (empty for load nodes).
+		 */
+		public List<Node> getChildren() {
+			return Collections.unmodifiableList(children);
+		}
+	}
+
+	/*
+	 The aggregated load of a panel.
+	 */
+	private static final class PanelLoad extends BaseLoad {
+		private PowerFactorType powerFactorType = PowerFactorType.LAGGING;
+		private boolean nonLinear;
+
+		private PanelLoad(VoltageAC voltage, String name) {
+			if(voltage == null)
+				throw new IllegalArgumentException("Panel voltage cannot be null.");
+			voltageSource = voltage;
+			description = name;
+			nominalCurrent = 0;
+			MCA = 0;
+		}
+
+		private void set(double realPower, double reactivePower, double mcaPower, int nonLinearCount) {
+			double S = Math.hypot(realPower, reactivePower);
+			double k = voltageSource.getVoltage() * voltageSource.getFactor();
+			nominalCurrent = S / k;
+			MCA = Math.max(nominalCurrent, mcaPower / k);
+			powerFactor = S > 0 ? realPower / S : 1;
+			powerFactorType = reactivePower < 0 ? PowerFactorType.LEADING : PowerFactorType.LAGGING;
+			nonLinear = nonLinearCount > 0;
+		}
+
+		@Override
+		public @NotNull PowerFactorType getPowerFactorType() {
+			return powerFactorType;
+		}
+
+		@Override
+		public Load getACopy() {
+			PanelLoad copy = new PanelLoad(voltageSource, description);
+			copy.nominalCurrent = nominalCurrent;
+			copy.MCA = MCA;
+			copy.powerFactor = powerFactor;
+			copy.powerFactorType = powerFactorType;
+			copy.nonLinear = nonLinear;
+			return copy;
+		}
+
+		@Override
+		public CircuitType getRequiredCircuitType() {
+			return CircuitType.FEEDER;
+		}
+
+		@Override
+		public double getMaxOCPDRating() {
+			return 0;
+		}
+
+		@Override
+		public double getMinDSRating() {
+			return 0;
+		}
+
+		@Override
+		public boolean NHSRRuleApplies() {
+			return true;
+		}
+
+		@Override
+		public double getMaxOLPDRating() {
+			return 0;
+		}
+
+		@Override
+		public boolean isNonLinear() {
+			return nonLinear;
+		}
+	}
+}
@@ -0,0 +1,338 @@
+package eecalcs.distribution;
+
+import eecalcs.loads.Load;
+import eecalcs.loads.PowerFactorType;
+import eecalcs.shortcircuit.ConductorRun;
+import eecalcs.systems.VoltageAC;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ This class solves the power flow of a radial distribution system using the backward/forward sweep method. Unlike
+ the voltage drop of IEEE Std 141, which is calculated circuit by circuit at the nominal voltage, the load flow
+ accounts for the voltage sag of the upstream circuits and for the interaction between the loads.
+ <p>The system is a tree of nodes. Node {@link #SOURCE} is the source, at the nominal voltage; every other node is
+ fed from its parent through a {@link ConductorRun}, whose resistance and reactance are taken from NEC Chapter 9
+ Table 9. Each node can have a constant power load (P + jQ). All the nodes are at the voltage system of the source;
+ 3Ø systems are solved as balanced, using the per-phase equivalent circuit, and 1Ø systems using the impedance of
+ the outgoing and the return conductors.
+ <p>Each iteration of the solver has two passes over the nodes, in the order they were added (a parent is always
+ added before its children):
+ <ul>
+ <li>Backward sweep: from the last node to the source, the current of each branch is the current of the load of
+ its node, I = conj(S/V), plus the currents of the branches of its children.</li>
+ <li>Forward sweep: from the source to the last node, the voltage of each node is the voltage of its parent minus
+ the voltage drop of its branch, Z·I.</li>
+ </ul>
+ The iterations stop when no node voltage changes more than the tolerance. The complex values are kept as pairs of
+ primitive arrays (real and imaginary parts) and no object is created while solving, so trees of tens of thousands
+ of nodes are solved in a few milliseconds.
+ <p>Usage:
+ <pre>
+ LoadFlow flow = new LoadFlow(VoltageAC.v480_3ph_4w);
+ int panel = flow.addNode(LoadFlow.SOURCE, new ConductorRun(Size.KCMIL_250, ConductiveMetal.COPPER,
+         OuterMaterial.STEEL, 200, 1));
+ flow.setLoad(panel, 100_000, 30_000);
+ if(flow.solve()) {
+     double voltage = flow.getVoltage(panel);
+     double losses = flow.getLosses();
+ }
+ </pre>
+ Objects of this class are not thread safe.
+ */
+public class LoadFlow {
+	/**The index of the source node.*/
+	public static final int SOURCE = 0;
+	/**The default tolerance, as a fraction of the voltage of the source.*/
+	public static final double DEFAULT_TOLERANCE = 1e-9;
+	/**The default maximum number of iterations.*/
+	public static final int DEFAULT_MAX_ITERATIONS = 100;
+	private final VoltageAC voltageAC;
+	/*Per-phase source voltage, ratio of the phase power to the total power and of the loop to the one-way impedance.*/
+	private final double sourceVoltage;
+	private final double phases;
+	private final double loopFactor;
+	private double tolerance = DEFAULT_TOLERANCE;
+	private int maxIterations = DEFAULT_MAX_ITERATIONS;
+	private int size = 1;
+	private int[] parents = new int[16];
+	/*Loop impedance of the branch feeding each node, in ohms.*/
+	private double[] R = new double[16];
+	private double[] X = new double[16];
+	/*Per-phase load of each node, in watts and vars.*/
+	private double[] P = new double[16];
+	private double[] Q = new double[16];
+	/*Per-phase voltage of each node and current of the branch feeding each node.*/
+	private double[] Vr = new double[16];
+	private double[] Vi = new double[16];
+	private double[] Ir = new double[16];
+	private double[] Ii = new double[16];
+	private int iterations;
+	private boolean converged;
+	private boolean solved;
+
+	/**
+	 Creates a load flow with only the source node.
+	 @param voltageAC The voltage system of the source. Cannot be null.
+	 */
+	public LoadFlow(@NotNull VoltageAC voltageAC) {
+		if(voltageAC == null)
+			throw new IllegalArgumentException("Voltage system cannot be null.");
+		this.voltageAC = voltageAC;
+		boolean threePhase = voltageAC.getPhases() == 3;
+		sourceVoltage = voltageAC.getVoltage() / (threePhase ? Math.sqrt(3) : 1);
+		phases = threePhase ? 3 : 1;
+		loopFactor = threePhase ? 1 : 2;
+		parents[SOURCE] = -1;
+	}
+
+	/**
+	 Adds a node fed from the given node.
+	 @param parent The index of the node feeding the new node. Must be an existing node.
+	 @param run The conductors feeding the new node. Cannot be null.
+	 @return The index of the new node.
+	 */
+	public int addNode(int parent, @NotNull ConductorRun run) {
+		checkNode(parent);
+		if(run == null)
+			throw new IllegalArgumentException("Conductor run cannot be null.");
+		if(size == parents.length) {
+			int capacity = size * 2;
+			parents = Arrays.copyOf(parents, capacity);
+			R = Arrays.copyOf(R, capacity);
+			X = Arrays.copyOf(X, capacity);
+			P = Arrays.copyOf(P, capacity);
+			Q = Arrays.copyOf(Q, capacity);
+			Vr = Arrays.copyOf(Vr, capacity);
+			Vi = Arrays.copyOf(Vi, capacity);
+			Ir = Arrays.copyOf(Ir, capacity);
+			Ii = Arrays.copyOf(Ii, capacity);
+		}
+		parents[size] = parent;
+		R[size] = run.getResistance() * loopFactor;
+		X[size] = run.getReactance() * loopFactor;
+		solved = false;
+		return size++;
+	}
+
+	/**
+	 Sets the load of the given node.
+	 @param node The index of the node. Must be an existing node.
+	 @param realPower The real power of the load, in watts. Must be >= 0.
+	 @param reactivePower The reactive power of the load, in vars. Positive for lagging loads, negative for leading
+	 loads.
+	 @return This load flow.
+	 */
+	public LoadFlow setLoad(int node, double realPower, double reactivePower) {
+		checkNode(node);
+		if(realPower < 0)
+			throw new IllegalArgumentException("Real power must be >= 0.");
+		P[node] = realPower / phases;
+		Q[node] = reactivePower / phases;
+		solved = false;
+		return this;
+	}
+
+	/**
+	 Sets the load of the given node from the real and apparent power of the given load.
+	 @param node The index of the node. Must be an existing node.
+	 @param load The load. Cannot be null.
+	 @return This load flow.
+	 */
+	public LoadFlow setLoad(int node, @NotNull Load load) {
+		if(load == null)
+			throw new IllegalArgumentException("Load cannot be null.");
+		double apparent = load.getApparentPower();
+		double real = load.getRealPower();
+		double reactive = Math.sqrt(Math.max(0, apparent * apparent - real * real));
+		return setLoad(node, real, load.getPowerFactorType() == PowerFactorType.LEADING ? -reactive : reactive);
+	}
+
+	/**
+	 @param tolerance The maximum change of the voltage of any node between two iterations, as a fraction of the
+	 voltage of the source, for the solution to be considered converged. Must be > 0.
+	 @return This load flow.
+	 */
+	public LoadFlow setTolerance(double tolerance) {
+		if(!(tolerance > 0))
+			throw new IllegalArgumentException("Tolerance must be > 0.");
+		this.tolerance = tolerance;
+		solved = false;
+		return this;
+	}
+
+	/**
+	 @param maxIterations The maximum number of iterations. Must be > 0.
+	 @return This load flow.
+	 */
+	public LoadFlow setMaxIterations(int maxIterations) {
+		if(maxIterations <= 0)
+			throw new IllegalArgumentException("Maximum number of iterations must be > 0.");
+		this.maxIterations = maxIterations;
+		solved = false;
+		return this;
+	}
+
+	/**
+	 Solves the load flow.
+	 @return True if the solution converged, false otherwise (usually, because the loads are too big for the
+	 impedances of the system and the voltage collapses).
+	 */
+	public boolean solve() {
+		double maxChange = tolerance * sourceVoltage;
+		Arrays.fill(Vr, 0, size, sourceVoltage);
+		Arrays.fill(Vi, 0, size, 0);
+		converged = false;
+		for(iterations = 1; iterations <= maxIterations && !converged; iterations++) {
+			//backward sweep: branch currents
+			Arrays.fill(Ir, 0, size, 0);
+			Arrays.fill(Ii, 0, size, 0);
+			for(int n = size - 1; n >= SOURCE; n--) {
+				double vr = Vr[n];
+				double vi = Vi[n];
+				double v2 = vr * vr + vi * vi;
+				//I = conj(S / V) = (P·vr + Q·vi + j(P·vi - Q·vr)) / |V|²
+				Ir[n] += (P[n] * vr + Q[n] * vi) / v2;
+				Ii[n] += (P[n] * vi - Q[n] * vr) / v2;
+				if(n == SOURCE)
+					break;
+				int parent = parents[n];
+				Ir[parent] += Ir[n];
+				Ii[parent] += Ii[n];
+			}
+			//forward sweep: node voltages
+			converged = true;
+			for(int n = SOURCE + 1; n < size; n++) {
+				int parent = parents[n];
+				double vr = Vr[parent] - (R[n] * Ir[n] - X[n] * Ii[n]);
+				double vi = Vi[parent] - (R[n] * Ii[n] + X[n] * Ir[n]);
+				if(Math.abs(vr - Vr[n]) > maxChange || Math.abs(vi - Vi[n]) > maxChange || Double.isNaN(vr))
+					converged = false;
+				Vr[n] = vr;
+				Vi[n] = vi;
+			}
+		}
+		iterations--;
+		solved = true;
+		return converged;
+	}
+
+	/**
+	 @return The number of nodes, including the source.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 @return The voltage system of the source.
+	 */
+	public VoltageAC getVoltageAC() {
+		return voltageAC;
+	}
+
+	/**
+	 @return The number of iterations of the last solution.
+	 */
+	public int getIterations() {
+		checkSolved();
+		return iterations;
+	}
+
+	/**
+	 @return True if the last solution converged, false otherwise.
+	 */
+	public boolean isConverged() {
+		checkSolved();
+		return converged;
+	}
+
+	/**
+	 @return The magnitude of the voltage at the given node, in volts, in the same terms as the voltage of the voltage
+	 system (line-to-line, except for 1Ø 2W systems with a neutral).
+	 @param node The index of the node. Must be an existing node.
+	 */
+	public double getVoltage(int node) {
+		checkNode(node);
+		checkSolved();
+		return Math.hypot(Vr[node], Vi[node]) * voltageAC.getVoltage() / sourceVoltage;
+	}
+
+	/**
+	 @return The angle of the voltage at the given node relative to the voltage of the source, in degrees.
+	 @param node The index of the node. Must be an existing node.
+	 */
+	public double getVoltageAngle(int node) {
+		checkNode(node);
+		checkSolved();
+		return Math.toDegrees(Math.atan2(Vi[node], Vr[node]));
+	}
+
+	/**
+	 @return The voltage drop from the source to the given node, in percent of the voltage of the source.
+	 @param node The index of the node. Must be an existing node.
+	 */
+	public double getVoltageDropPercent(int node) {
+		return (1 - getVoltage(node) / voltageAC.getVoltage()) * 100;
+	}
+
+	/**
+	 @return The magnitude of the line current of the branch feeding the given node, in amperes. For the source, it's
+	 the current delivered by the source.
+	 @param node The index of the node. Must be an existing node.
+	 */
+	public double getBranchCurrent(int node) {
+		checkNode(node);
+		checkSolved();
+		return Math.hypot(Ir[node], Ii[node]);
+	}
+
+	/**
+	 @return The real power lost in the conductors of the branch feeding the given node, in watts. It's zero for the
+	 source.
+	 @param node The index of the node. Must be an existing node.
+	 */
+	public double getBranchLosses(int node) {
+		checkNode(node);
+		checkSolved();
+		return phases * (Ir[node] * Ir[node] + Ii[node] * Ii[node]) * R[node];
+	}
+
+	/**
+	 @return The real power lost in the conductors of all the branches, in watts.
+	 */
+	public double getLosses() {
+		checkSolved();
+		double losses = 0;
+		for(int n = SOURCE + 1; n < size; n++)
+			losses += (Ir[n] * Ir[n] + Ii[n] * Ii[n]) * R[n];
+		return phases * losses;
+	}
+
+	/**
+	 @return The real power delivered by the source, in watts: the loads plus the losses.
+	 */
+	public double getSourceRealPower() {
+		checkSolved();
+		return phases * sourceVoltage * Ir[SOURCE];
+	}
+
+	/**
+	 @return The reactive power delivered by the source, in vars.
+	 */
+	public double getSourceReactivePower() {
+		checkSolved();
+		return -phases * sourceVoltage * Ii[SOURCE];
+	}
+
+	private void checkNode(int node) {
+		if(node < 0 || node >= size)
+			throw new IllegalArgumentException("Node " + node + " does not exist.");
+	}
+
+	private void checkSolved() {
+		if(!solved)
+			throw new IllegalStateException("The load flow must be solved after it's modified.");
+	}
+}
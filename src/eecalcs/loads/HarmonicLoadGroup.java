@@ -0,0 +1,333 @@
+package eecalcs.loads;
+
+import eecalcs.circuits.CircuitType;
+import eecalcs.systems.VoltageAC;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ <p>This class represents a group of loads fed by a single feeder with a neutral conductor, like the loads of a
+ lighting and receptacle panelboard, where single-phase line-to-neutral loads are distributed over the lines of the
+ system. It's a load that can be used to size the feeder circuit, including its neutral, as follows:
+ <ul>
+ <li>Nominal current: the RMS current of the most loaded line.</li>
+ <li>Neutral current: the RMS value of the phasor sum of the harmonic currents of all the lines. For 3Ø 4W systems
+ the fundamental and the non triplen harmonics of balanced lines cancel in the neutral, but the triplen harmonics of
+ the line-to-neutral loads add, so the neutral current can be well above the line current.</li>
+ <li>MCA: the largest of the nominal current and the arithmetic sum of the MCA of the loads of any line.</li>
+ </ul>
+ <p>Line-to-neutral loads (whose voltage is the voltage to neutral of the group) are added to a given line with
+ {@link #add(Load, Phase)}; loads fed from the same voltage system of the group are added to all its lines with
+ {@link #add(Load)}. The harmonic content of each load is taken from its {@link HarmonicSpectrum} when the load is a
+ {@link NonLinearLoad}; other loads are considered linear. The fundamental of each load lags (or leads, according to
+ its power factor type) the voltage of its line by the angle of its power factor.
+ <p>Adding, removing or updating a load does not rescan the group: the phasors of each harmonic of each line are
+ kept as running sums in primitive arrays, so each change costs one pass over the harmonic orders of the load. The
+ neutral current is computed on demand and cached until the next change.
+ <p>The load objects are not copied, so if a load is modified, {@link #update(Load)} must be called for the group to
+ account for the change.
+ */
+public class HarmonicLoadGroup extends BaseLoad {
+	/**The lines of the voltage system a load can be connected to. Only A and B exist in 1Ø 3W systems.*/
+	public enum Phase {A, B, C}
+
+	private final int lineSystem;
+	private final int lineCount;
+	/*Running phasor sums of each line, indexed by line and harmonic order.*/
+	private final double[][] re;
+	private final double[][] im;
+	private final double[] mcaSums;
+	private final Map<Load, Entry> entries = new LinkedHashMap<>();
+	private int nonLinearCount;
+	private double neutralCurrent;
+	private boolean neutralCurrentValid = true;
+
+	/**
+	 Creates an empty group of loads fed from the given voltage system.
+	 @param voltageSource The voltage system feeding the group. Cannot be null. It must have a neutral and two or three
+	 hots; high-leg delta systems are not supported.
+	 */
+	public HarmonicLoadGroup(@NotNull VoltageAC voltageSource) {
+		if(voltageSource == null)
+			throw new IllegalArgumentException("HarmonicLoadGroup: voltage source cannot be null.");
+		if(!voltageSource.hasNeutral() || voltageSource.getHots() < 2)
+			throw new IllegalArgumentException("HarmonicLoadGroup: the voltage source " + voltageSource.getName() +
+					" must have a neutral and two or three hots.");
+		if(voltageSource.getPhases() == 3 && voltageSource.getWindingType() != VoltageAC.WindingType.Y)
+			throw new IllegalArgumentException("HarmonicLoadGroup: high-leg delta voltage sources are not supported.");
+		this.voltageSource = voltageSource;
+		lineSystem = HarmonicSpectrum.Rotations.systemOf(voltageSource);
+		lineCount = voltageSource.getHots();
+		re = new double[lineCount][HarmonicSpectrum.LENGTH];
+		im = new double[lineCount][HarmonicSpectrum.LENGTH];
+		mcaSums = new double[lineCount];
+		nominalCurrent = 0;
+		MCA = 0;
+	}
+
+	/**
+	 Adds the given line-to-neutral load to the given line of this group. Adding a load that already belongs to the
+	 group has no effect.
+	 @param load The load to add. Cannot be null. It must be a 1Ø 2W load whose voltage is the voltage to neutral of
+	 the group.
+	 @param phase The line the load is connected to. Cannot be null. Phase C is not valid for 1Ø 3W groups.
+	 @return This group.
+	 */
+	public HarmonicLoadGroup add(@NotNull Load load, @NotNull Phase phase) {
+		if(load == null)
+			throw new IllegalArgumentException("HarmonicLoadGroup: load cannot be null.");
+		if(phase == null || phase.ordinal() >= lineCount)
+			throw new IllegalArgumentException("HarmonicLoadGroup: phase " + phase + " does not exist in " +
+					voltageSource.getName() + ".");
+		VoltageAC loadVoltage = load.getVoltageSource();
+		if(!loadVoltage.hasHotAndNeutralOnly() ||
+				Math.abs(loadVoltage.getVoltage() - voltageSource.getVoltageToNeutral()) > 1)
+			throw new IllegalArgumentException("HarmonicLoadGroup: the load voltage source " + loadVoltage.getName() +
+					" is not line-to-neutral for the voltage source of the group.");
+		return add(load, phase.ordinal());
+	}
+
+	/**
+	 Adds the given load to all the lines of this group. Adding a load that already belongs to the group has no
+	 effect.
+	 @param load The load to add. Cannot be null. Its voltage source must be the same as the one of this group.
+	 @return This group.
+	 */
+	public HarmonicLoadGroup add(@NotNull Load load) {
+		if(load == null)
+			throw new IllegalArgumentException("HarmonicLoadGroup: load cannot be null.");
+		if(!voltageSource.equals(load.getVoltageSource()))
+			throw new IllegalArgumentException("HarmonicLoadGroup: the load voltage source " +
+					load.getVoltageSource().getName() + " is not the voltage source of the group.");
+		return add(load, Entry.ALL_LINES);
+	}
+
+	private HarmonicLoadGroup add(Load load, int line) {
+		if(entries.containsKey(load))
+			return this;
+		Entry entry = new Entry(load, line);
+		entries.put(load, entry);
+		apply(entry, 1);
+		return this;
+	}
+
+	/**
+	 Removes the given load from this group.
+	 @param load The load to remove.
+	 @return True if the load was part of this group, false otherwise.
+	 */
+	public boolean remove(Load load) {
+		Entry entry = entries.remove(load);
+		if(entry == null)
+			return false;
+		apply(entry, -1);
+		return true;
+	}
+
+	/**
+	 Refreshes the values this group keeps for the given load. Call this method after changing its current, power
+	 factor, MCA or harmonic spectrum.
+	 @param load The load that was modified.
+	 @return True if the load is part of this group, false otherwise.
+	 */
+	public boolean update(Load load) {
+		Entry entry = entries.get(load);
+		if(entry == null)
+			return false;
+		apply(entry, -1);
+		entry.refresh();
+		apply(entry, 1);
+		return true;
+	}
+
+	/**
+	 @return True if the given load is part of this group, false otherwise.
+	 @param load The load to look for.
+	 */
+	public boolean contains(Load load) {
+		return entries.containsKey(load);
+	}
+
+	/**
+	 @return The number of loads in this group.
+	 */
+	public int getLoadCount() {
+		return entries.size();
+	}
+
+	/**
+	 @return A copy of the list of loads of this group, in the order they were added.
+	 */
+	public List<Load> getLoads() {
+		return new ArrayList<>(entries.keySet());
+	}
+
+	/**
+	 @return The RMS current of the given line, in amperes.
+	 @param phase The line. Cannot be null. Phase C is not valid for 1Ø 3W groups.
+	 */
+	public double getLineCurrent(@NotNull Phase phase) {
+		if(phase == null || phase.ordinal() >= lineCount)
+			throw new IllegalArgumentException("HarmonicLoadGroup: phase " + phase + " does not exist in " +
+					voltageSource.getName() + ".");
+		return rms(re[phase.ordinal()], im[phase.ordinal()]);
+	}
+
+	/**
+	 @return The RMS current of the given harmonic order in the neutral, in amperes.
+	 @param order The harmonic order, in the range [1, {@link HarmonicSpectrum#MAX_ORDER}].
+	 */
+	public double getNeutralHarmonicCurrent(int order) {
+		if(order < 1 || order > HarmonicSpectrum.MAX_ORDER)
+			throw new IllegalArgumentException("Harmonic order must be in the [1," + HarmonicSpectrum.MAX_ORDER +
+					"] range.");
+		double x = 0;
+		double y = 0;
+		for(int line = 0; line < lineCount; line++) {
+			x += re[line][order];
+			y += im[line][order];
+		}
+		return Math.hypot(x, y);
+	}
+
+	/**
+	 @return The RMS current of the neutral, in amperes, as the RMS value of the phasor sum of the harmonic currents
+	 of all the lines.
+	 */
+	@Override
+	public double getNeutralCurrent() {
+		if(!neutralCurrentValid) {
+			double sumSquared = 0;
+			for(int h = 1; h < HarmonicSpectrum.LENGTH; h++) {
+				double x = 0;
+				double y = 0;
+				for(int line = 0; line < lineCount; line++) {
+					x += re[line][h];
+					y += im[line][h];
+				}
+				sumSquared += x * x + y * y;
+			}
+			neutralCurrent = Math.sqrt(sumSquared);
+			neutralCurrentValid = true;
+		}
+		return neutralCurrent;
+	}
+
+	/*
+	 Adds (sign = 1) or subtracts (sign = -1) the contribution of the given entry to the running sums, and
+	 recalculates the nominal current and the MCA.
+	 */
+	private void apply(Entry entry, int sign) {
+		int from = entry.line == Entry.ALL_LINES ? 0 : entry.line;
+		int to = entry.line == Entry.ALL_LINES ? lineCount : entry.line + 1;
+		for(int line = from; line < to; line++) {
+			entry.spectrum.accumulate(re[line], im[line], sign * entry.current, entry.angle, lineSystem, line);
+			mcaSums[line] += sign * entry.mca;
+		}
+		nonLinearCount += sign * (entry.nonLinear ? 1 : 0);
+		if(entries.isEmpty()) {
+			/*discard the rounding errors accumulated by adding and subtracting*/
+			for(int line = 0; line < lineCount; line++) {
+				Arrays.fill(re[line], 0);
+				Arrays.fill(im[line], 0);
+				mcaSums[line] = 0;
+			}
+		}
+		neutralCurrentValid = false;
+		nominalCurrent = 0;
+		double mcaSum = 0;
+		for(int line = 0; line < lineCount; line++) {
+			nominalCurrent = Math.max(nominalCurrent, rms(re[line], im[line]));
+			mcaSum = Math.max(mcaSum, mcaSums[line]);
+		}
+		MCA = Math.max(nominalCurrent, mcaSum);
+	}
+
+	private static double rms(double[] re, double[] im) {
+		double sumSquared = 0;
+		for(int h = 1; h < HarmonicSpectrum.LENGTH; h++)
+			sumSquared += re[h] * re[h] + im[h] * im[h];
+		return Math.sqrt(sumSquared);
+	}
+
+	/**
+	 @return A copy of this group. The copy shares the load objects with this group.
+	 */
+	@Override
+	public Load getACopy() {
+		HarmonicLoadGroup copy = new HarmonicLoadGroup(voltageSource);
+		copy.description = description;
+		copy.powerFactor = powerFactor;
+		for(Entry entry : entries.values())
+			copy.add(entry.load, entry.line);
+		return copy;
+	}
+
+	@Override
+	public CircuitType getRequiredCircuitType() {
+		return CircuitType.FEEDER;
+	}
+
+	@Override
+	public double getMaxOCPDRating() {
+		return 0;
+	}
+
+	@Override
+	public double getMinDSRating() {
+		return 0;
+	}
+
+	@Override
+	public boolean NHSRRuleApplies() {
+		return true;
+	}
+
+	@Override
+	public double getMaxOLPDRating() {
+		return 0;
+	}
+
+	/**
+	 @return True if any load of this group is non-linear, false otherwise.
+	 */
+	@Override
+	public boolean isNonLinear() {
+		return nonLinearCount > 0;
+	}
+
+	/*
+	 The values this group keeps for each of its loads.
+	 */
+	private static final class Entry {
+		private static final int ALL_LINES = -1;
+		private final Load load;
+		private final int line;
+		private HarmonicSpectrum spectrum;
+		private double current;
+		private double angle;
+		private double mca;
+		private boolean nonLinear;
+
+		private Entry(Load load, int line) {
+			this.load = load;
+			this.line = line;
+			refresh();
+		}
+
+		private void refresh() {
+			nonLinear = load.isNonLinear();
+			spectrum = load instanceof NonLinearLoad ? ((NonLinearLoad) load).getSpectrum() : HarmonicSpectrum.LINEAR;
+			current = load.getNominalCurrent();
+			mca = load.getMCA();
+			angle = Math.acos(load.getPowerFactor());
+			if(load.getPowerFactorType() == PowerFactorType.LAGGING)
+				angle = -angle;
+		}
+	}
+}
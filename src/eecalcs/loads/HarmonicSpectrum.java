@@ -0,0 +1,238 @@
+package eecalcs.loads;
+
+import eecalcs.systems.VoltageAC;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ This class represents the harmonic spectrum of the current of a non-linear load: the magnitude of each harmonic in
+ percent of the fundamental and its phase angle, in degrees, at the harmonic frequency, referred to the fundamental
+ voltage of the phase the load is connected to. Orders from 2 up to {@link #MAX_ORDER} are supported.
+ <p>Objects of this class are immutable. All the values derived from the spectrum (the per-unit phasors, the ratio
+ of the RMS current to the fundamental, the THD and the neutral current ratios) are computed once, when the spectrum
+ is created, and stored in primitive arrays indexed by harmonic order, so that combining hundreds of spectra (as
+ in {@link HarmonicLoadGroup}) is a matter of tight loops over arrays.
+ <p>The predefined spectra contain typical values found in the literature for each type of equipment; the data
+ provided by the manufacturer should be preferred when available.
+ */
+public final class HarmonicSpectrum {
+	/**Highest harmonic order considered.*/
+	public static final int MAX_ORDER = 49;
+	/**Number of elements of the arrays indexed by harmonic order (index 0 is not used).*/
+	static final int LENGTH = MAX_ORDER + 1;
+
+	/**The spectrum of a linear load: fundamental only.*/
+	public static final HarmonicSpectrum LINEAR = of(new int[0], new double[0]);
+	/**Typical single-phase switch-mode power supply without power factor correction (computers, printers,
+	 servers).*/
+	public static final HarmonicSpectrum SMPS = of(
+			new int[]{3, 5, 7, 9, 11, 13, 15},
+			new double[]{81, 61, 37, 13, 7, 8, 4});
+	/**Typical electronic ballast or LED driver.*/
+	public static final HarmonicSpectrum ELECTRONIC_BALLAST = of(
+			new int[]{3, 5, 7, 9, 11},
+			new double[]{19, 9, 5, 3, 2});
+	/**Typical six-pulse variable frequency drive without line reactor. It has no triplen harmonics.*/
+	public static final HarmonicSpectrum VFD_6_PULSE = of(
+			new int[]{5, 7, 11, 13, 17, 19},
+			new double[]{32, 15, 7, 5, 3, 2});
+
+	/*Per-unit (of the fundamental) phasors, indexed by order. The fundamental is 1∠0°.*/
+	private final double[] re = new double[LENGTH];
+	private final double[] im = new double[LENGTH];
+	private final double rmsFactor;
+	private final double thd;
+	/*Neutral RMS current over line RMS current for balanced loads, indexed by line system and number of lines - 1.*/
+	private final double[][] neutralRatios = new double[2][3];
+
+	private HarmonicSpectrum(double[] magnitudes, double[] anglesDegrees) {
+		re[1] = 1;
+		double harmonicsSquared = 0;
+		for(int h = 2; h < LENGTH; h++) {
+			double angle = Math.toRadians(anglesDegrees[h]);
+			re[h] = magnitudes[h] * Math.cos(angle);
+			im[h] = magnitudes[h] * Math.sin(angle);
+			harmonicsSquared += magnitudes[h] * magnitudes[h];
+		}
+		rmsFactor = Math.sqrt(1 + harmonicsSquared);
+		thd = Math.sqrt(harmonicsSquared);
+		for(int system = 0; system < 2; system++) {
+			for(int lines = 1; lines <= Rotations.COS[system].length; lines++) {
+				double neutralSquared = 0;
+				for(int h = 1; h < LENGTH; h++) {
+					double factorSquared = Rotations.neutralFactorSquared(system, lines, h);
+					neutralSquared += factorSquared * (re[h] * re[h] + im[h] * im[h]);
+				}
+				neutralRatios[system][lines - 1] = Math.sqrt(neutralSquared) / rmsFactor;
+			}
+		}
+	}
+
+	/**
+	 Creates a spectrum whose harmonics are all in phase with the fundamental (angle 0°).
+	 @param orders The harmonic orders, in the range [2, {@link #MAX_ORDER}]. Cannot be null.
+	 @param percents The magnitude of each harmonic in percent of the fundamental. Must be >= 0 and of the same
+	 length as orders.
+	 @return The new spectrum.
+	 */
+	public static HarmonicSpectrum of(@NotNull int[] orders, @NotNull double[] percents) {
+		return of(orders, percents, new double[orders.length]);
+	}
+
+	/**
+	 Creates a spectrum.
+	 @param orders The harmonic orders, in the range [2, {@link #MAX_ORDER}]. Cannot be null.
+	 @param percents The magnitude of each harmonic in percent of the fundamental. Must be >= 0 and of the same
+	 length as orders.
+	 @param anglesDegrees The phase angle of each harmonic in degrees. Must be of the same length as orders.
+	 @return The new spectrum.
+	 */
+	public static HarmonicSpectrum of(@NotNull int[] orders, @NotNull double[] percents,
+	                                  @NotNull double[] anglesDegrees) {
+		if(orders.length != percents.length || orders.length != anglesDegrees.length)
+			throw new IllegalArgumentException("Harmonic orders, magnitudes and angles must have the same length.");
+		double[] magnitudes = new double[LENGTH];
+		double[] angles = new double[LENGTH];
+		for(int i = 0; i < orders.length; i++) {
+			int h = orders[i];
+			if(h < 2 || h > MAX_ORDER)
+				throw new IllegalArgumentException("Harmonic order must be in the [2," + MAX_ORDER + "] range.");
+			if(percents[i] < 0)
+				throw new IllegalArgumentException("Harmonic magnitude must be >= 0.");
+			magnitudes[h] = percents[i] / 100;
+			angles[h] = anglesDegrees[i];
+		}
+		return new HarmonicSpectrum(magnitudes, angles);
+	}
+
+	/**
+	 @return The magnitude of the given harmonic in percent of the fundamental.
+	 @param order The harmonic order, in the range [1, {@link #MAX_ORDER}].
+	 */
+	public double getPercent(int order) {
+		if(order < 1 || order > MAX_ORDER)
+			throw new IllegalArgumentException("Harmonic order must be in the [1," + MAX_ORDER + "] range.");
+		return 100 * Math.hypot(re[order], im[order]);
+	}
+
+	/**
+	 @return The total harmonic distortion of the current, in percent of the fundamental.
+	 */
+	public double getTHDPercent() {
+		return 100 * thd;
+	}
+
+	/**
+	 @return The ratio of the RMS current to the RMS value of its fundamental component.
+	 */
+	public double getRMSFactor() {
+		return rmsFactor;
+	}
+
+	/**
+	 @return The ratio of the neutral current to the line current of a balanced load with this spectrum fed from the
+	 given voltage system. The neutral carries the line current for 1Ø 2W loads; only the even harmonics add in the
+	 neutral for 1Ø 3W loads fed from a center tapped winding (lines 180° apart); the triplen harmonics add in the
+	 neutral for 3Ø 4W loads, and also, along with the vector sum of the other harmonics, for 1Ø 3W loads fed from two
+	 phases of a wye (lines 120° apart). Zero is returned for voltage systems without a neutral.
+	 @param voltageSource The voltage system feeding the load. Cannot be null.
+	 */
+	public double getNeutralRatio(@NotNull VoltageAC voltageSource) {
+		if(voltageSource == null)
+			throw new IllegalArgumentException("Voltage source cannot be null.");
+		if(!voltageSource.hasNeutral())
+			return 0;
+		return neutralRatios[Rotations.systemOf(voltageSource)][voltageSource.getHots() - 1];
+	}
+
+	/*
+	 Adds to the given phasor arrays the harmonic currents of a load with this spectrum, for the given RMS current,
+	 fundamental angle (radians) and line. Use a negative current to subtract.
+	 */
+	void accumulate(double[] targetRe, double[] targetIm, double rmsCurrent, double fundamentalAngle,
+	                int lineSystem, int line) {
+		double fundamental = rmsCurrent / rmsFactor;
+		double cos1 = Math.cos(fundamentalAngle);
+		double sin1 = Math.sin(fundamentalAngle);
+		double[] rotationCos = Rotations.COS[lineSystem][line];
+		double[] rotationSin = Rotations.SIN[lineSystem][line];
+		for(int h = 1; h < LENGTH; h++) {
+			/*the fundamental angle of the load only applies to the fundamental*/
+			double x = h == 1 ? cos1 : re[h];
+			double y = h == 1 ? sin1 : im[h];
+			double c = rotationCos[h];
+			double s = rotationSin[h];
+			targetRe[h] += fundamental * (x * c - y * s);
+			targetIm[h] += fundamental * (x * s + y * c);
+		}
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if(this == o)
+			return true;
+		if(!(o instanceof HarmonicSpectrum))
+			return false;
+		HarmonicSpectrum that = (HarmonicSpectrum) o;
+		return Arrays.equals(re, that.re) && Arrays.equals(im, that.im);
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * Arrays.hashCode(re) + Arrays.hashCode(im);
+	}
+
+	/*
+	 Rotations of each harmonic order for each line of a system: the h-th harmonic of a line displaced θ degrees is
+	 rotated by -h·θ.
+	 */
+	static final class Rotations {
+		/**Index of the system of lines 120° apart (3Ø 4W).*/
+		static final int THREE_PHASE = 0;
+		/**Index of the system of lines 180° apart (1Ø 3W).*/
+		static final int SPLIT_PHASE = 1;
+		private static final double[][] DISPLACEMENTS = {{0, 120, 240}, {0, 180}};
+		static final double[][][] COS = new double[2][][];
+		static final double[][][] SIN = new double[2][][];
+
+		static {
+			for(int system = 0; system < 2; system++) {
+				int lines = DISPLACEMENTS[system].length;
+				COS[system] = new double[lines][LENGTH];
+				SIN[system] = new double[lines][LENGTH];
+				for(int line = 0; line < lines; line++) {
+					for(int h = 1; h < LENGTH; h++) {
+						/*exact multiples of 120° or 180°, so that cancellation in the neutral is exact*/
+						int degrees = (int) ((-h * DISPLACEMENTS[system][line]) % 360 + 360) % 360;
+						COS[system][line][h] = degrees == 0 ? 1 : degrees == 180 ? -1 : -0.5;
+						SIN[system][line][h] = degrees == 120 ? Math.sqrt(3) / 2 :
+								degrees == 240 ? -Math.sqrt(3) / 2 : 0;
+					}
+				}
+			}
+		}
+
+		/*
+		 The line system the hots of the given voltage system belong to.
+		 */
+		static int systemOf(VoltageAC voltageSource) {
+			if(voltageSource.getPhases() == 3 || voltageSource.getWindingType() == VoltageAC.WindingType.Y)
+				return THREE_PHASE;
+			return SPLIT_PHASE;
+		}
+
+		/*
+		 Squared magnitude of the sum of the rotations of the given harmonic over the first lines of a system.
+		 */
+		static double neutralFactorSquared(int system, int lines, int h) {
+			double x = 0;
+			double y = 0;
+			for(int line = 0; line < lines; line++) {
+				x += COS[system][line][h];
+				y += SIN[system][line][h];
+			}
+			return x * x + y * y;
+		}
+	}
+}
@@ -0,0 +1,331 @@
+package eecalcs.loads;
+
+import eecalcs.circuits.CircuitType;
+import eecalcs.circuits.DSProperties;
+import eecalcs.circuits.OCPD;
+import eecalcs.systems.VoltageAC;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ <p>This class represents a group of motors fed by a single feeder, like the motors of a motor control center (MCC).
+ It's a load that can be used to size the feeder circuit, as follows:
+ <ul>
+ <li>MCA: 125% of the FLC of the largest motor plus the sum of the FLC of all the other motors, NEC 430.24.</li>
+ <li>Maximum OCPD rating: the largest rating of the branch-circuit short-circuit and ground-fault protective
+ device of any motor of the group plus the sum of the FLC of all the other motors, NEC 430.62(A). The result is
+ rounded down to the next lower standard rating; the next higher standard rating rule does not apply.</li>
+ <li>Nominal current: the sum of the FLC of all the motors.</li>
+ </ul>
+ <p>When two or more motors have the same largest FLC (or are tied as the motor with the largest OCPD), only one of
+ them is considered the largest motor, NEC 430.17; ties are broken in favor of the motor that was added first.
+ <p>Adding, removing or updating a motor does not rescan the group: the largest motors are tracked with two
+ indexed max-heaps, one over the FLC and another one over the excess of the branch OCPD rating above the FLC, along
+ with a running sum of the FLC.
+ <p>All motors of the group must be fed from the voltage system of the group. The motor objects are not copied,
+ so if a motor property that affects its OCPD rating is modified (like its OCPD type or design letter),
+ {@link #update(ACMotor)} must be called for the group to account for the change.
+ */
+public class MotorGroup extends BaseLoad {
+	/**The sum of the FLC of all the motors, in tenths of amperes. FLC values in the NEC tables have a single
+	 decimal, so keeping the sum as an integer number avoids accumulating rounding errors when motors are added and
+	 removed repeatedly.*/
+	private long flcSumTenths;
+	private long sequence;
+	private final Map<ACMotor, Entry> entries = new LinkedHashMap<>();
+	private final Heap byFlc = new Heap(Heap.FLC);
+	private final Heap byOCPDExcess = new Heap(Heap.OCPD_EXCESS);
+
+	/**
+	 Creates an empty group of motors fed from the given voltage system.
+	 @param voltageSource The voltage system feeding the group. Cannot be null.
+	 */
+	public MotorGroup(@NotNull VoltageAC voltageSource) {
+		if(voltageSource == null)
+			throw new IllegalArgumentException("MotorGroup: voltage source cannot be null.");
+		this.voltageSource = voltageSource;
+		type = LoadType.CONTINUOUS;
+		powerFactor = 0.8;
+		nominalCurrent = 0;
+		MCA = 0;
+	}
+
+	/**
+	 Adds the given motor to this group. Adding a motor that already belongs to the group has no effect.
+	 @param motor The motor to add. Cannot be null. Its voltage source must be the same as the one of this group.
+	 @return This motor group.
+	 */
+	public MotorGroup add(@NotNull ACMotor motor) {
+		if(motor == null)
+			throw new IllegalArgumentException("MotorGroup: motor cannot be null.");
+		if(!voltageSource.equals(motor.getVoltageSource()))
+			throw new IllegalArgumentException("MotorGroup: the motor voltage source " +
+					motor.getVoltageSource().getName() + " is not the voltage source of the group.");
+		if(entries.containsKey(motor))
+			return this;
+		Entry entry = new Entry(motor, sequence++);
+		entries.put(motor, entry);
+		flcSumTenths += entry.flcTenths;
+		byFlc.add(entry);
+		byOCPDExcess.add(entry);
+		updateCurrents();
+		return this;
+	}
+
+	/**
+	 Removes the given motor from this group.
+	 @param motor The motor to remove.
+	 @return True if the motor was part of this group, false otherwise.
+	 */
+	public boolean remove(ACMotor motor) {
+		Entry entry = entries.remove(motor);
+		if(entry == null)
+			return false;
+		flcSumTenths -= entry.flcTenths;
+		byFlc.remove(entry);
+		byOCPDExcess.remove(entry);
+		updateCurrents();
+		return true;
+	}
+
+	/**
+	 Refreshes the values this group keeps for the given motor. Call this method after changing a property of the
+	 motor that affects its FLC or its maximum OCPD rating.
+	 @param motor The motor that was modified.
+	 @return True if the motor is part of this group, false otherwise.
+	 */
+	public boolean update(ACMotor motor) {
+		Entry entry = entries.get(motor);
+		if(entry == null)
+			return false;
+		flcSumTenths -= entry.flcTenths;
+		entry.refresh();
+		flcSumTenths += entry.flcTenths;
+		byFlc.update(entry);
+		byOCPDExcess.update(entry);
+		updateCurrents();
+		return true;
+	}
+
+	/**
+	 @return True if the given motor is part of this group, false otherwise.
+	 @param motor The motor to look for.
+	 */
+	public boolean contains(ACMotor motor) {
+		return entries.containsKey(motor);
+	}
+
+	/**
+	 @return The number of motors in this group.
+	 */
+	public int getMotorCount() {
+		return entries.size();
+	}
+
+	/**
+	 @return A copy of the list of motors of this group, in the order they were added.
+	 */
+	public List<ACMotor> getMotors() {
+		return new ArrayList<>(entries.keySet());
+	}
+
+	/**
+	 @return The motor with the largest FLC (NEC 430.17), or null if the group is empty.
+	 */
+	public @Nullable ACMotor getLargestMotor() {
+		Entry entry = byFlc.peek();
+		return entry == null ? null : entry.motor;
+	}
+
+	/**
+	 @return The motor having the largest branch-circuit short-circuit and ground-fault protective device rating,
+	 as used for NEC 430.62(A), or null if the group is empty.
+	 */
+	public @Nullable ACMotor getLargestOCPDMotor() {
+		Entry entry = byOCPDExcess.peek();
+		return entry == null ? null : entry.motor;
+	}
+
+	/*
+	 Recalculates the nominal current and the MCA from the running sum and the largest motor.
+	 */
+	private void updateCurrents() {
+		nominalCurrent = flcSumTenths / 10.0;
+		Entry largest = byFlc.peek();
+		MCA = largest == null ? 0 : (flcSumTenths + 0.25 * largest.flcTenths) / 10.0;
+	}
+
+	/**
+	 @return A copy of this motor group. The copy shares the motor objects with this group.
+	 */
+	@Override
+	public Load getACopy() {
+		MotorGroup copy = new MotorGroup(voltageSource);
+		copy.description = description;
+		copy.powerFactor = powerFactor;
+		for(ACMotor motor : entries.keySet())
+			copy.add(motor);
+		return copy;
+	}
+
+	@Override
+	public CircuitType getRequiredCircuitType() {
+		return CircuitType.FEEDER;
+	}
+
+	/**
+	 @return The maximum rating of the feeder OCPD as per NEC 430.62(A), or zero if the group is empty.
+	 */
+	@Override
+	public double getMaxOCPDRating() {
+		Entry largest = byOCPDExcess.peek();
+		if(largest == null)
+			return 0;
+		return OCPD.getNextLowerRating((flcSumTenths - largest.flcTenths) / 10.0 + largest.maxOCPDRating);
+	}
+
+	/**
+	 @return The minimum rating of the disconnect switch for the group, as 115% of the sum of the FLC of all the
+	 motors, NEC 430.110(C)(2).
+	 */
+	@Override
+	public double getMinDSRating() {
+		return DSProperties.getRating(1.15 * nominalCurrent);
+	}
+
+	@Override
+	public boolean NHSRRuleApplies() {
+		return false;
+	}
+
+	@Override
+	public double getMaxOLPDRating() {
+		return 0;
+	}
+
+	@Override
+	public boolean isNonLinear() {
+		return false;
+	}
+
+	/*
+	 The values this group keeps for each of its motors.
+	 */
+	private static final class Entry {
+		private final ACMotor motor;
+		private final long sequence;
+		private long flcTenths;
+		private double maxOCPDRating;
+		/*Position of this entry in each heap, indexed by the heap key.*/
+		private final int[] heapIndex = new int[2];
+
+		private Entry(ACMotor motor, long sequence) {
+			this.motor = motor;
+			this.sequence = sequence;
+			refresh();
+		}
+
+		private void refresh() {
+			flcTenths = Math.round(motor.getNominalCurrent() * 10);
+			maxOCPDRating = motor.getMaxOCPDRating();
+		}
+
+		private double key(int keyType) {
+			if(keyType == Heap.FLC)
+				return flcTenths;
+			return maxOCPDRating - flcTenths / 10.0;
+		}
+	}
+
+	/*
+	 Indexed binary max-heap of entries supporting removal and re-keying of any entry in O(log n).
+	 */
+	private static final class Heap {
+		private static final int FLC = 0;
+		private static final int OCPD_EXCESS = 1;
+		private final int keyType;
+		private Entry[] items = new Entry[16];
+		private int size;
+
+		private Heap(int keyType) {
+			this.keyType = keyType;
+		}
+
+		private @Nullable Entry peek() {
+			return size == 0 ? null : items[0];
+		}
+
+		private void add(Entry entry) {
+			if(size == items.length)
+				items = Arrays.copyOf(items, size * 2);
+			place(entry, size++);
+			siftUp(entry.heapIndex[keyType]);
+		}
+
+		private void remove(Entry entry) {
+			int index = entry.heapIndex[keyType];
+			Entry last = items[--size];
+			items[size] = null;
+			if(last == entry)
+				return;
+			place(last, index);
+			update(last);
+		}
+
+		private void update(Entry entry) {
+			int index = entry.heapIndex[keyType];
+			siftUp(index);
+			siftDown(entry.heapIndex[keyType]);
+		}
+
+		/*
+		 True if entry a must be closer to the top than entry b. Ties go to the entry added first.
+		 */
+		private boolean above(Entry a, Entry b) {
+			double keyA = a.key(keyType);
+			double keyB = b.key(keyType);
+			if(keyA != keyB)
+				return keyA > keyB;
+			return a.sequence < b.sequence;
+		}
+
+		private void siftUp(int index) {
+			Entry entry = items[index];
+			while(index > 0) {
+				int parent = (index - 1) / 2;
+				if(!above(entry, items[parent]))
+					break;
+				place(items[parent], index);
+				index = parent;
+			}
+			place(entry, index);
+		}
+
+		private void siftDown(int index) {
+			Entry entry = items[index];
+			while(true) {
+				int child = 2 * index + 1;
+				if(child >= size)
+					break;
+				if(child + 1 < size && above(items[child + 1], items[child]))
+					child++;
+				if(!above(items[child], entry))
+					break;
+				place(items[child], index);
+				index = child;
+			}
+			place(entry, index);
+		}
+
+		private void place(Entry entry, int index) {
+			items[index] = entry;
+			entry.heapIndex[keyType] = index;
+		}
+	}
+}
@@ -3,6 +3,7 @@ package eecalcs.loads;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import eecalcs.systems.VoltageAC;
+import org.jetbrains.annotations.NotNull;
 
 /**
  This class represents a nonlinear load.
@@ -68,44 +69,79 @@ import eecalcs.systems.VoltageAC;
  Percentage = 57.7%
  Ineutral=37*0.577*3=64.05amperes, that is 64.05/37=173%
 
- So, the value of the neutral current for this type of load will be
- calculated based on these steps using as an input the percentage of 3rd
- harmonic present in the line current.
- This method is valid for single (non-composite) load fed from a 3φ-4W system.
- So there must be a method to assign these percentages, so the neutral
- current can be calculated.
-
- For combined loads (single phase and three phase) the method must be
- different since the percentage of triple harmonics is unpredictable. 120
- volt single loads can inject a lot of other order harmonics that are in
- phase and then do not cancel in the neutral but instead increase the neutral
- current. (Run simulation demonstrating this)
- ***************
- The solution is provide a method that accepts one parameter. In that method,
- the parameter is stored or used later to determine if the load is linear and
- even to calculate the neutral current. Examples of this method name would be
- setNonlinearPercentage() or setTHD() or whatever is the best in accordance
- with the proper method. I need to investigate more about this, so for now, I
- will just a method setLinear(boolean flag) to the abstract load base class.
-
- But, how the user determine this value? Is it provided by the load tag?
- Todo learn about THD interpretation.
-
-
+ That method is only valid for a single balanced load fed from a 3φ-4W system, and only accounts for the 3rd
+ harmonic. This class computes the neutral current from the full {@link HarmonicSpectrum} of the load instead (the
+ nameplate or the specification of the load should provide it; typical spectra are predefined in that class):
+ <ul>
+ <li>1φ-2W loads: the neutral carries the line current.</li>
+ <li>3φ-4W balanced loads: the triplen harmonics of the three lines add in the neutral, so the neutral current is
+ 3·√(Σ I<sub>3k</sub>²).</li>
+ <li>1φ-3W loads fed from a center tapped winding: the even harmonics add in the neutral, the odd ones cancel.</li>
+ <li>1φ-3W loads fed from two phases of a wye: the triplen harmonics add in the neutral and the other ones combine
+ at 120°.</li>
+ </ul>
+ <p>For combined loads (several single-phase loads distributed over the phases of a 3φ-4W system, or mixed with
+ 3φ loads) the harmonics do not simply add or cancel: the phase angle of each harmonic of each load matters. Use
+ {@link HarmonicLoadGroup} for those, and use the group as the load of the feeder.
  */
 public class NonLinearLoad extends GeneralLoad{
-	//private boolean _isNonlinear = false;
+	private HarmonicSpectrum spectrum;
 
-	public NonLinearLoad(VoltageAC voltageSystem, double nominalCurrent) {
+	/**
+	 Creates a non-linear load with the given harmonic spectrum.
+	 @param voltageSystem The voltage system of the load, as for {@link GeneralLoad#GeneralLoad(VoltageAC, double)}.
+	 @param nominalCurrent The RMS current of the load, including its harmonics, in amperes, as for
+	 {@link GeneralLoad#GeneralLoad(VoltageAC, double)}.
+	 @param spectrum The harmonic spectrum of the load current. Cannot be null.
+	 */
+	public NonLinearLoad(VoltageAC voltageSystem, double nominalCurrent, @NotNull HarmonicSpectrum spectrum) {
 		super(voltageSystem, nominalCurrent);
+		setSpectrum(spectrum);
+	}
+
+	/**
+	 Creates a non-linear load with the spectrum of a typical switch-mode power supply, see
+	 {@link HarmonicSpectrum#SMPS}.
+	 @param voltageSystem The voltage system of the load, as for {@link GeneralLoad#GeneralLoad(VoltageAC, double)}.
+	 @param nominalCurrent The RMS current of the load, including its harmonics, in amperes, as for
+	 {@link GeneralLoad#GeneralLoad(VoltageAC, double)}.
+	 */
+	public NonLinearLoad(VoltageAC voltageSystem, double nominalCurrent) {
+		this(voltageSystem, nominalCurrent, HarmonicSpectrum.SMPS);
+	}
+
+	/**
+	 Sets the harmonic spectrum of the current of this load.
+	 @param spectrum The new spectrum. Cannot be null.
+	 @return This load.
+	 */
+	public NonLinearLoad setSpectrum(@NotNull HarmonicSpectrum spectrum) {
+		if(spectrum == null)
+			throw new IllegalArgumentException("Harmonic spectrum cannot be null.");
+		this.spectrum = spectrum;
+		return this;
 	}
 
+	/**
+	 @return The harmonic spectrum of the current of this load.
+	 */
+	public HarmonicSpectrum getSpectrum() {
+		return spectrum;
+	}
+
+	/**
+	 @return The RMS current of the neutral conductor as determined by the harmonic spectrum of this load and the
+	 voltage system feeding it, or zero if the voltage system has no neutral.
+	 */
+	@Override
+	public double getNeutralCurrent() {
+		return nominalCurrent * spectrum.getNeutralRatio(voltageSource);
+	}
 
 	@Override
 	@JsonIgnore
 	public Load getACopy() {
-		NonLinearLoad nonLinearLoad = new NonLinearLoad(voltageSystem,
-				nominalCurrent);
+		NonLinearLoad nonLinearLoad = new NonLinearLoad(voltageSource, nominalCurrent, spectrum);
 		nonLinearLoad.type = type;
 		nonLinearLoad.powerFactor = powerFactor;
 		nonLinearLoad.MCA = MCA;
@@ -114,8 +150,8 @@ public class NonLinearLoad extends GeneralLoad{
 	}
 
 	@Override
-	@JsonProperty("isNonlinear")
-	public boolean isNonlinear(){
+	@JsonProperty("isNonLinear")
+	public boolean isNonLinear(){
 		return true;
 	}
 }
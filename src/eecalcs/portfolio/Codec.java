@@ -0,0 +1,207 @@
+package eecalcs.portfolio;
+
+import eecalcs.conductors.Size;
+import eecalcs.systems.VoltageAC;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ The binary encoding of the messages exchanged by the coordinator and a worker process, over the standard input and
+ output of the worker. Counts and indexes are written as variable-length integers (7 bits per byte).
+ <p>A work unit is: id, number of circuits, and for each circuit: voltage reference, current, power factor, flags
+ (bit 0: continuous, bit 1: has a length), length (if present) and number of sets. A voltage reference is the index of
+ the voltage in the dictionary of the stream; the first time a voltage is sent, its index is followed by its
+ definition (name, voltage, phases, hots, neutrals and winding type), and the receiver adds it to its dictionary.
+ <p>A result is: id, number of circuits, and for each circuit a tag: 0 followed by the size ordinal plus one (zero
+ for null), the OCPD rating and the ampacity; or 1 followed by the error message.
+ <p>Each side of a stream keeps its own dictionary, so an encoder and a decoder must be used for one stream only.
+ */
+final class Codec {
+	private Codec() {}
+
+	/*
+	 A work unit: a range of circuits of one project.
+	 */
+	static final class Unit {
+		final int id;
+		final List<Project.Circuit> circuits;
+
+		Unit(int id, List<Project.Circuit> circuits) {
+			this.id = id;
+			this.circuits = circuits;
+		}
+	}
+
+	/*
+	 The results of a unit.
+	 */
+	static final class Results {
+		final int id;
+		final List<ProjectResult.Circuit> circuits;
+
+		Results(int id, List<ProjectResult.Circuit> circuits) {
+			this.id = id;
+			this.circuits = circuits;
+		}
+	}
+
+	static final class Encoder {
+		private final DataOutputStream out;
+		private final Map<VoltageAC, Integer> voltages = new HashMap<>();
+
+		Encoder(OutputStream out) {
+			this.out = new DataOutputStream(out);
+		}
+
+		void writeUnit(Unit unit) throws IOException {
+			writeVarInt(out, unit.id);
+			writeVarInt(out, unit.circuits.size());
+			for(Project.Circuit circuit : unit.circuits) {
+				writeVoltage(circuit.getVoltage());
+				out.writeDouble(circuit.getCurrent());
+				out.writeDouble(circuit.getPowerFactor());
+				boolean hasLength = !Double.isNaN(circuit.getLength());
+				out.writeByte((circuit.isContinuous() ? 1 : 0) | (hasLength ? 2 : 0));
+				if(hasLength)
+					out.writeDouble(circuit.getLength());
+				out.writeByte(circuit.getSets());
+			}
+			out.flush();
+		}
+
+		void writeResults(Results results) throws IOException {
+			writeVarInt(out, results.id);
+			writeVarInt(out, results.circuits.size());
+			for(ProjectResult.Circuit circuit : results.circuits) {
+				if(circuit.getError() != null) {
+					out.writeByte(1);
+					out.writeUTF(circuit.getError());
+					continue;
+				}
+				out.writeByte(0);
+				writeVarInt(out, circuit.getSize() == null ? 0 : circuit.getSize().ordinal() + 1);
+				writeVarInt(out, circuit.getOCPDRating());
+				out.writeDouble(circuit.getAmpacity());
+			}
+			out.flush();
+		}
+
+		private void writeVoltage(VoltageAC voltage) throws IOException {
+			Integer index = voltages.get(voltage);
+			if(index != null) {
+				writeVarInt(out, index);
+				return;
+			}
+			index = voltages.size();
+			voltages.put(voltage, index);
+			writeVarInt(out, index);
+			out.writeUTF(voltage.getName());
+			writeVarInt(out, voltage.getVoltage());
+			out.writeByte(voltage.getPhases());
+			out.writeByte(voltage.getHots());
+			out.writeByte(voltage.getWires() - voltage.getHots());
+			out.writeByte(voltage.getWindingType().ordinal());
+		}
+	}
+
+	static final class Decoder {
+		private static final Size[] sizes = Size.values();
+		private static final VoltageAC.WindingType[] windingTypes = VoltageAC.WindingType.values();
+		private final DataInputStream in;
+		private final List<VoltageAC> voltages = new ArrayList<>();
+
+		Decoder(InputStream in) {
+			this.in = new DataInputStream(in);
+		}
+
+		/*
+		 Returns the next unit, or null at the end of the stream.
+		 */
+		Unit readUnit() throws IOException {
+			int first = in.read();
+			if(first == -1)
+				return null;
+			int id = readVarInt(in, first);
+			int count = readVarInt(in, in.readUnsignedByte());
+			List<Project.Circuit> circuits = new ArrayList<>(count);
+			for(int i = 0; i < count; i++) {
+				VoltageAC voltage = readVoltage();
+				Project.Circuit circuit = new Project.Circuit(voltage, in.readDouble())
+						.setPowerFactor(in.readDouble());
+				int flags = in.readUnsignedByte();
+				if((flags & 1) != 0)
+					circuit.setContinuous();
+				if((flags & 2) != 0)
+					circuit.setLength(in.readDouble());
+				circuits.add(circuit.setSets(in.readUnsignedByte()));
+			}
+			return new Unit(id, circuits);
+		}
+
+		Results readResults() throws IOException {
+			int id = readVarInt(in, in.readUnsignedByte());
+			int count = readVarInt(in, in.readUnsignedByte());
+			List<ProjectResult.Circuit> circuits = new ArrayList<>(count);
+			for(int i = 0; i < count; i++) {
+				if(in.readUnsignedByte() == 1) {
+					circuits.add(new ProjectResult.Circuit(in.readUTF()));
+					continue;
+				}
+				int size = readVarInt(in, in.readUnsignedByte());
+				int rating = readVarInt(in, in.readUnsignedByte());
+				circuits.add(new ProjectResult.Circuit(size == 0 ? null : sizes[size - 1], rating, in.readDouble()));
+			}
+			return new Results(id, circuits);
+		}
+
+		private VoltageAC readVoltage() throws IOException {
+			int index = readVarInt(in, in.readUnsignedByte());
+			if(index < voltages.size())
+				return voltages.get(index);
+			if(index != voltages.size())
+				throw new IOException("Unknown voltage reference " + index);
+			String name = in.readUTF();
+			int voltage = readVarInt(in, in.readUnsignedByte());
+			int phases = in.readUnsignedByte();
+			int hots = in.readUnsignedByte();
+			int neutrals = in.readUnsignedByte();
+			VoltageAC voltageAC = VoltageAC.custom(name, voltage, phases, hots, neutrals,
+					windingTypes[in.readUnsignedByte()]);
+			voltages.add(voltageAC);
+			return voltageAC;
+		}
+	}
+
+	private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+		while((value & ~0x7F) != 0) {
+			out.writeByte((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		out.writeByte(value);
+	}
+
+	/*
+	 Reads a variable-length integer whose first byte was already read.
+	 */
+	private static int readVarInt(DataInputStream in, int first) throws IOException {
+		int value = first & 0x7F;
+		int shift = 7;
+		int b = first;
+		while((b & 0x80) != 0) {
+			if(shift > 28)
+				throw new IOException("Malformed variable-length integer");
+			b = in.readUnsignedByte();
+			value |= (b & 0x7F) << shift;
+			shift += 7;
+		}
+		return value;
+	}
+}
@@ -0,0 +1,324 @@
+package eecalcs.portfolio;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ This class sizes the circuits of a portfolio of projects in several worker processes on this machine, so the
+ calculation of a large portfolio is not limited by the heap of one Java virtual machine.
+ <p>The projects are partitioned into work units of up to {@link #setUnitSize(int) unit size} circuits, each unit
+ holding circuits of one project only. The units are distributed among the workers, largest projects first, and each
+ worker is fed its units one at a time over its standard input, in a compact binary encoding. A worker that runs out
+ of units steals from the end of the queue of the busiest worker, so the workers finish at about the same time.
+ <p>When a worker process exits or fails, it is replaced by a new one and only the unit it was sizing is sent
+ again. A unit that fails {@link #setMaxAttempts(int) max attempts} times makes its project fail (see
+ {@link ProjectResult#isFailed()}); the other projects are not affected.
+ <p>The results are merged in the order of the projects and of their circuits, so they do not depend on which
+ worker sized each unit. The workers are launched with the same Java executable and class path as this process,
+ using {@link ProcessBuilder}, and end when the run ends.
+ */
+public class Coordinator {
+	private final int workers;
+	private final List<String> jvmOptions;
+	private int unitSize = 1000;
+	private int maxAttempts = 3;
+	private final LongAdder completedUnits = new LongAdder();
+	private final LongAdder stolenUnits = new LongAdder();
+	private final LongAdder retries = new LongAdder();
+	private final LongAdder restarts = new LongAdder();
+
+	/*
+	 A unit being distributed, with the project it belongs to and the number of attempts made.
+	 */
+	private static final class Work {
+		final Codec.Unit unit;
+		final int project;
+		int attempts;
+
+		Work(Codec.Unit unit, int project) {
+			this.unit = unit;
+			this.project = project;
+		}
+	}
+
+	/*
+	 The state of one run, shared by the threads feeding the workers.
+	 */
+	private final class Run {
+		final List<LinkedBlockingDeque<Work>> queues = new ArrayList<>();
+		final List<List<ProjectResult.Circuit>> results = new ArrayList<>();
+		final String[] failures;
+
+		Run(int units, int projects) {
+			for(int i = 0; i < workers; i++)
+				queues.add(new LinkedBlockingDeque<>());
+			for(int i = 0; i < units; i++)
+				results.add(null);
+			failures = new String[projects];
+		}
+
+		/*
+		 Returns the next unit of the given worker, from its own queue or stolen from the busiest one, or null if there
+		 is no unit left.
+		 */
+		Work next(int worker) {
+			Work work = queues.get(worker).pollFirst();
+			while(work == null) {
+				LinkedBlockingDeque<Work> busiest = null;
+				for(LinkedBlockingDeque<Work> queue : queues)
+					if(queue.size() > 0 && (busiest == null || queue.size() > busiest.size()))
+						busiest = queue;
+				if(busiest == null)
+					return null;
+				work = busiest.pollLast();
+				if(work != null)
+					stolenUnits.increment();
+			}
+			return work;
+		}
+	}
+
+	/**
+	 Creates a coordinator with the given number of worker processes.
+	 @param workers The number of worker processes. Must be > 0.
+	 */
+	public Coordinator(int workers) {
+		this(workers, Collections.emptyList());
+	}
+
+	/**
+	 Creates a coordinator with the given number of worker processes.
+	 @param workers The number of worker processes. Must be > 0.
+	 @param jvmOptions The options of the Java virtual machine of the workers, like "-Xmx512m". Cannot be null.
+	 */
+	public Coordinator(int workers, @NotNull List<String> jvmOptions) {
+		if(workers <= 0)
+			throw new IllegalArgumentException("Number of workers must be > 0.");
+		if(jvmOptions == null)
+			throw new IllegalArgumentException("JVM options cannot be null.");
+		this.workers = workers;
+		this.jvmOptions = new ArrayList<>(jvmOptions);
+	}
+
+	/**
+	 @param unitSize The maximum number of circuits in a work unit. Must be > 0. The default is 1000.
+	 @return This coordinator.
+	 */
+	public Coordinator setUnitSize(int unitSize) {
+		if(unitSize <= 0)
+			throw new IllegalArgumentException("Unit size must be > 0.");
+		this.unitSize = unitSize;
+		return this;
+	}
+
+	/**
+	 @param maxAttempts The number of times a unit is sent to a worker before its project fails. Must be > 0. The
+	 default is 3.
+	 @return This coordinator.
+	 */
+	public Coordinator setMaxAttempts(int maxAttempts) {
+		if(maxAttempts <= 0)
+			throw new IllegalArgumentException("Max attempts must be > 0.");
+		this.maxAttempts = maxAttempts;
+		return this;
+	}
+
+	/**
+	 Sizes all the circuits of the given projects.
+	 @param projects The projects. Cannot be null. They must not be modified during the run.
+	 @return The results of the projects, in the same order.
+	 @throws InterruptedException If the calling thread is interrupted; the workers stop after their unit in progress.
+	 */
+	public List<ProjectResult> run(@NotNull List<Project> projects) throws InterruptedException {
+		if(projects == null)
+			throw new IllegalArgumentException("Projects cannot be null.");
+		/*units of each project, in order; the unit ids are their positions in this list*/
+		List<Work> works = new ArrayList<>();
+		List<int[]> projectUnits = new ArrayList<>();
+		for(int p = 0; p < projects.size(); p++) {
+			List<Project.Circuit> circuits = projects.get(p).getCircuits();
+			int first = works.size();
+			for(int from = 0; from < circuits.size(); from += unitSize) {
+				List<Project.Circuit> range = circuits.subList(from, Math.min(circuits.size(), from + unitSize));
+				works.add(new Work(new Codec.Unit(works.size(), range), p));
+			}
+			projectUnits.add(new int[]{first, works.size()});
+		}
+		Run run = new Run(works.size(), projects.size());
+		distribute(run, works, projects);
+
+		List<Thread> threads = new ArrayList<>();
+		for(int w = 0; w < workers; w++) {
+			int worker = w;
+			Thread thread = new Thread(() -> feed(run, worker), "eecalcs-coordinator-" + w);
+			thread.setDaemon(true);
+			threads.add(thread);
+			thread.start();
+		}
+		try {
+			for(Thread thread : threads)
+				thread.join();
+		}
+		catch(InterruptedException e) {
+			threads.forEach(Thread::interrupt);
+			throw e;
+		}
+
+		List<ProjectResult> projectResults = new ArrayList<>(projects.size());
+		for(int p = 0; p < projects.size(); p++) {
+			String name = projects.get(p).getName();
+			if(run.failures[p] != null) {
+				projectResults.add(new ProjectResult(name, Collections.emptyList(), run.failures[p]));
+				continue;
+			}
+			List<ProjectResult.Circuit> circuits = new ArrayList<>(projects.get(p).getCircuits().size());
+			for(int u = projectUnits.get(p)[0]; u < projectUnits.get(p)[1]; u++)
+				circuits.addAll(run.results.get(u));
+			projectResults.add(new ProjectResult(name, circuits, null));
+		}
+		return projectResults;
+	}
+
+	/*
+	 Queues the units of the largest projects first, each project to the worker with the fewest circuits queued, so
+	 the units of a project stay together.
+	 */
+	private void distribute(Run run, List<Work> works, List<Project> projects) {
+		List<Integer> order = new ArrayList<>();
+		for(int p = 0; p < projects.size(); p++)
+			order.add(p);
+		order.sort((a, b) -> Integer.compare(projects.get(b).getCircuits().size(),
+				projects.get(a).getCircuits().size()));
+		long[] load = new long[workers];
+		int[] target = new int[projects.size()];
+		for(int p : order) {
+			int lightest = 0;
+			for(int w = 1; w < workers; w++)
+				if(load[w] < load[lightest])
+					lightest = w;
+			target[p] = lightest;
+			load[lightest] += projects.get(p).getCircuits().size();
+		}
+		for(Work work : works)
+			run.queues.get(target[work.project]).addLast(work);
+	}
+
+	/*
+	 Feeds the units of the given worker to its process, replacing the process when it fails.
+	 */
+	private void feed(Run run, int worker) {
+		Process process = null;
+		Codec.Encoder encoder = null;
+		Codec.Decoder decoder = null;
+		Work work = null;
+		try {
+			while(!Thread.currentThread().isInterrupted()) {
+				if(work == null && (work = run.next(worker)) == null)
+					break;
+				work.attempts++;
+				try {
+					if(process == null) {
+						process = launch();
+						encoder = new Codec.Encoder(new BufferedOutputStream(process.getOutputStream(), 1 << 16));
+						decoder = new Codec.Decoder(new BufferedInputStream(process.getInputStream(), 1 << 16));
+					}
+					encoder.writeUnit(work.unit);
+					Codec.Results results = decoder.readResults();
+					if(results.id != work.unit.id || results.circuits.size() != work.unit.circuits.size())
+						throw new IOException("Unexpected results for unit " + work.unit.id);
+					run.results.set(results.id, results.circuits);
+					completedUnits.increment();
+					work = null;
+				}
+				catch(IOException e) {
+					if(process != null) {
+						process.destroyForcibly();
+						process = null;
+						restarts.increment();
+					}
+					if(work.attempts >= maxAttempts) {
+						synchronized(run.failures) {
+							run.failures[work.project] = "Unit " + work.unit.id + " failed " + work.attempts +
+									" times: " + e.getMessage();
+						}
+						work = null;
+					}
+					else
+						retries.increment();
+				}
+			}
+		}
+		finally {
+			if(process != null)
+				stop(process);
+		}
+	}
+
+	private Process launch() throws IOException {
+		List<String> command = new ArrayList<>();
+		command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+		command.addAll(jvmOptions);
+		command.add("-cp");
+		command.add(System.getProperty("java.class.path"));
+		command.add(Worker.class.getName());
+		return new ProcessBuilder(command).redirectError(ProcessBuilder.Redirect.INHERIT).start();
+	}
+
+	/*
+	 Closes the input of the worker, so it ends, and kills it if it does not end in a few seconds.
+	 */
+	private static void stop(Process process) {
+		try(OutputStream in = process.getOutputStream()) {
+			in.flush();
+		}
+		catch(IOException ignored) {
+		}
+		try {
+			if(!process.waitFor(5, TimeUnit.SECONDS))
+				process.destroyForcibly();
+		}
+		catch(InterruptedException e) {
+			process.destroyForcibly();
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 @return The number of units sized since this object was created.
+	 */
+	public long getCompletedUnitCount() {
+		return completedUnits.sum();
+	}
+
+	/**
+	 @return The number of units taken by a worker from the queue of another worker since this object was created.
+	 */
+	public long getStolenUnitCount() {
+		return stolenUnits.sum();
+	}
+
+	/**
+	 @return The number of units sent again after their worker failed, since this object was created.
+	 */
+	public long getRetryCount() {
+		return retries.sum();
+	}
+
+	/**
+	 @return The number of worker processes replaced after failing, since this object was created.
+	 */
+	public long getRestartCount() {
+		return restarts.sum();
+	}
+}
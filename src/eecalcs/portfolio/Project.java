@@ -0,0 +1,161 @@
+package eecalcs.portfolio;
+
+import eecalcs.circuits.CircuitAll;
+import eecalcs.loads.GeneralLoad;
+import eecalcs.systems.VoltageAC;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ This class represents a project of a portfolio: a named list of circuits to be sized by a {@link Coordinator}. The
+ circuits are given by the properties of their load and of their installation, so they can be sent to another
+ process.
+ */
+public class Project {
+	private final String name;
+	private final List<Circuit> circuits = new ArrayList<>();
+
+	/**
+	 A circuit definition: a general load and the properties of the circuit that feeds it.
+	 */
+	public static class Circuit {
+		private final VoltageAC voltage;
+		private final double current;
+		private double powerFactor = 1.0;
+		private boolean continuous = false;
+		private double length = Double.NaN;
+		private int sets = 1;
+
+		/**
+		 Creates a circuit for a non-continuous load with a power factor of 1, the default length and one set of
+		 conductors.
+		 @param voltage The voltage of the load. Cannot be null.
+		 @param current The nominal current of the load. Must be > 0.
+		 */
+		public Circuit(@NotNull VoltageAC voltage, double current) {
+			if(voltage == null)
+				throw new IllegalArgumentException("Voltage cannot be null.");
+			if(current <= 0)
+				throw new IllegalArgumentException("Current must be > 0.");
+			this.voltage = voltage;
+			this.current = current;
+		}
+
+		/**
+		 @param powerFactor The power factor of the load, in the range (0, 1].
+		 @return This circuit.
+		 */
+		public Circuit setPowerFactor(double powerFactor) {
+			if(powerFactor <= 0 || powerFactor > 1)
+				throw new IllegalArgumentException("Power factor must be in the range (0, 1].");
+			this.powerFactor = powerFactor;
+			return this;
+		}
+
+		/**
+		 Makes the load a continuous load.
+		 @return This circuit.
+		 */
+		public Circuit setContinuous() {
+			continuous = true;
+			return this;
+		}
+
+		/**
+		 @param length The length of the circuit in feet. Must be > 0.
+		 @return This circuit.
+		 */
+		public Circuit setLength(double length) {
+			if(length <= 0)
+				throw new IllegalArgumentException("Length must be > 0.");
+			this.length = length;
+			return this;
+		}
+
+		/**
+		 @param sets The number of sets of conductors in parallel, between 1 and 10.
+		 @return This circuit.
+		 */
+		public Circuit setSets(int sets) {
+			if(sets <= 0 || sets > 10)
+				throw new IllegalArgumentException("Number of sets must be between 1 and 10.");
+			this.sets = sets;
+			return this;
+		}
+
+		public VoltageAC getVoltage() {
+			return voltage;
+		}
+
+		public double getCurrent() {
+			return current;
+		}
+
+		public double getPowerFactor() {
+			return powerFactor;
+		}
+
+		public boolean isContinuous() {
+			return continuous;
+		}
+
+		/**
+		 @return The length of the circuit in feet, or NaN for the default length of {@link CircuitAll}.
+		 */
+		public double getLength() {
+			return length;
+		}
+
+		public int getSets() {
+			return sets;
+		}
+
+		/**
+		 @return A new builder of the {@link CircuitAll} defined by this circuit. The length is not part of the
+		 builder (see {@link CircuitAll#setLength(double)}).
+		 */
+		public CircuitAll.Builder toBuilder() {
+			GeneralLoad load = new GeneralLoad(voltage, current);
+			load.setPowerFactor(powerFactor);
+			if(continuous)
+				load.setContinuous();
+			return new CircuitAll.Builder(load).numberOfSets(sets);
+		}
+	}
+
+	/**
+	 Creates an empty project.
+	 @param name The name of the project. Cannot be null.
+	 */
+	public Project(@NotNull String name) {
+		if(name == null)
+			throw new IllegalArgumentException("Name cannot be null.");
+		this.name = name;
+	}
+
+	/**
+	 Adds a circuit to this project.
+	 @param circuit The circuit. Cannot be null. It must not be modified after being added.
+	 @return This project.
+	 */
+	public Project add(@NotNull Circuit circuit) {
+		if(circuit == null)
+			throw new IllegalArgumentException("Circuit cannot be null.");
+		circuits.add(circuit);
+		return this;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 @return A read-only view of the circuits of this project, in the order they were added.
+	 */
+	public List<Circuit> getCircuits() {
+		return Collections.unmodifiableList(circuits);
+	}
+}
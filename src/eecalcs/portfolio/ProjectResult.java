@@ -0,0 +1,98 @@
+package eecalcs.portfolio;
+
+import eecalcs.conductors.Size;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ The results of the circuits of a {@link Project}, in the order of its circuits.
+ @Immutable
+ */
+public final class ProjectResult {
+	private final String name;
+	private final List<Circuit> circuits;
+	private final String failure;
+
+	/**
+	 The results of a circuit.
+	 @Immutable
+	 */
+	public static final class Circuit {
+		private final Size size;
+		private final int OCPDRating;
+		private final double ampacity;
+		private final String error;
+
+		Circuit(@Nullable Size size, int OCPDRating, double ampacity) {
+			this.size = size;
+			this.OCPDRating = OCPDRating;
+			this.ampacity = ampacity;
+			this.error = null;
+		}
+
+		Circuit(String error) {
+			this.size = null;
+			this.OCPDRating = 0;
+			this.ampacity = 0;
+			this.error = error;
+		}
+
+		/**
+		 @return The size of the phase conductors, or null if the circuit could not be calculated.
+		 */
+		public @Nullable Size getSize() {
+			return size;
+		}
+
+		public int getOCPDRating() {
+			return OCPDRating;
+		}
+
+		public double getAmpacity() {
+			return ampacity;
+		}
+
+		/**
+		 @return The message of the exception thrown while sizing this circuit, or null if there was none.
+		 */
+		public @Nullable String getError() {
+			return error;
+		}
+	}
+
+	ProjectResult(String name, List<Circuit> circuits, String failure) {
+		this.name = name;
+		this.circuits = Collections.unmodifiableList(circuits);
+		this.failure = failure;
+	}
+
+	/**
+	 @return The name of the project.
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 @return The results of the circuits of the project, in the same order, or an empty list if the project failed.
+	 */
+	public List<Circuit> getCircuits() {
+		return circuits;
+	}
+
+	/**
+	 @return True if part of the project could not be sized because its worker process failed too many times.
+	 */
+	public boolean isFailed() {
+		return failure != null;
+	}
+
+	/**
+	 @return The reason the project failed, or null if it did not fail.
+	 */
+	public @Nullable String getFailure() {
+		return failure;
+	}
+}
@@ -0,0 +1,56 @@
+package eecalcs.portfolio;
+
+import eecalcs.circuits.CircuitSizing;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.FileDescriptor;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ This class is the main class of the worker processes launched by a {@link Coordinator}. A worker reads work units
+ from its standard input, sizes their circuits and writes the results to its standard output, until its standard
+ input is closed. It is not meant to be run directly.
+ <p>The standard output is reserved for the results: anything printed to {@link System#out} by this process goes to
+ the standard error instead.
+ */
+public final class Worker {
+	private Worker() {}
+
+	/**
+	 Runs the worker until its standard input is closed.
+	 @param args Not used.
+	 @throws IOException If the standard input or output fails, in which case the coordinator retries the unit in
+	 progress in a new worker.
+	 */
+	public static void main(String[] args) throws IOException {
+		Codec.Decoder decoder = new Codec.Decoder(new BufferedInputStream(new FileInputStream(FileDescriptor.in),
+				1 << 16));
+		Codec.Encoder encoder = new Codec.Encoder(new BufferedOutputStream(new FileOutputStream(FileDescriptor.out),
+				1 << 16));
+		System.setOut(System.err);
+		CircuitSizing circuitSizing = new CircuitSizing();
+		Codec.Unit unit;
+		while((unit = decoder.readUnit()) != null)
+			encoder.writeResults(new Codec.Results(unit.id, size(circuitSizing, unit.circuits)));
+	}
+
+	private static List<ProjectResult.Circuit> size(CircuitSizing circuitSizing, List<Project.Circuit> circuits) {
+		List<ProjectResult.Circuit> results = new ArrayList<>(circuits.size());
+		for(Project.Circuit circuit : circuits) {
+			try {
+				CircuitSizing.Result result = circuitSizing.size(circuit.toBuilder(), circuit.getLength());
+				results.add(new ProjectResult.Circuit(result.getSize(), result.getOCPDRating(),
+						result.getAmpacity()));
+			}
+			catch(RuntimeException e) {
+				results.add(new ProjectResult.Circuit(String.valueOf(e.getMessage())));
+			}
+		}
+		return results;
+	}
+}
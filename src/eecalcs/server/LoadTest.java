@@ -0,0 +1,170 @@
+package eecalcs.server;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ This class is a load-test harness for {@link SizingServer}. It starts a server in this process on a free port,
+ sends requests to each endpoint from several client threads, and reports the throughput and the 50th and 99th
+ percentiles of the latency. It does not need any external service.
+ <p>Usage: <code>java eecalcs.server.LoadTest [clients] [requestsPerClient] [serverThreads]</code>. The defaults
+ are 8 clients, 2000 requests per client and one server thread per available processor.
+ */
+public final class LoadTest {
+	/*Sample request of each endpoint.*/
+	private static final Map<String, String> samples = new LinkedHashMap<>();
+
+	static {
+		samples.put("circuit", "{\"voltage\": \"v480_3ph_4w\", \"current\": 100, \"powerFactor\": 0.9, " +
+				"\"continuous\": true, \"length\": 150}");
+		samples.put("voltage-drop", "{\"voltage\": \"v208_3ph_4w\", \"current\": 60, \"size\": \"AWG_4\", " +
+				"\"length\": 200, \"conduitMaterial\": \"STEEL\"}");
+		samples.put("conduit-fill", "{\"type\": \"EMT\", \"conductors\": [{\"size\": \"AWG_12\", " +
+				"\"insulation\": \"THHN\", \"count\": 9}, {\"size\": \"AWG_10\", \"count\": 1}]}");
+		samples.put("motor-flc", "{\"type\": \"AC3P\", \"voltage\": 460, \"horsepower\": \"HP_10\"}");
+		StringBuilder batch = new StringBuilder("[");
+		for(int i = 0; i < 100; i++)
+			batch.append(i == 0 ? "" : ",").append("{\"type\": \"AC3P\", \"voltage\": 460, \"horsepower\": \"HP_10\"}");
+		samples.put("batch/motor-flc", batch.append("]").toString());
+	}
+
+	private LoadTest() {}
+
+	/**
+	 The result of a load test.
+	 @Immutable
+	 */
+	public static final class Report {
+		private final String endpoint;
+		private final long[] latencies;
+		private final long errors;
+		private final long elapsedNanos;
+
+		private Report(String endpoint, long[] latencies, long errors, long elapsedNanos) {
+			this.endpoint = endpoint;
+			this.latencies = latencies;
+			this.errors = errors;
+			this.elapsedNanos = elapsedNanos;
+			Arrays.sort(this.latencies);
+		}
+
+		/**
+		 @return The number of requests sent.
+		 */
+		public int getRequests() {
+			return latencies.length;
+		}
+
+		/**
+		 @return The number of requests that failed or did not return the status 200.
+		 */
+		public long getErrors() {
+			return errors;
+		}
+
+		/**
+		 @return The number of requests answered per second.
+		 */
+		public double getThroughput() {
+			return latencies.length / (elapsedNanos * 1e-9);
+		}
+
+		/**
+		 @param percentile The percentile, in the range (0, 100].
+		 @return The given percentile of the latency, in milliseconds, or zero if no request was sent.
+		 */
+		public double getLatencyMillis(double percentile) {
+			if(percentile <= 0 || percentile > 100)
+				throw new IllegalArgumentException("Percentile must be in the range (0, 100]");
+			if(latencies.length == 0)
+				return 0;
+			int index = (int) Math.ceil(latencies.length * percentile / 100) - 1;
+			return latencies[Math.max(0, index)] * 1e-6;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("%-16s %8d requests %6d errors %10.0f req/s   p50 %8.3f ms   p99 %8.3f ms",
+					endpoint, getRequests(), errors, getThroughput(), getLatencyMillis(50), getLatencyMillis(99));
+		}
+	}
+
+	/**
+	 Sends the given request to the given endpoint from several client threads, each one sending its requests one
+	 after the other.
+	 @param port The port of a {@link SizingServer} running on this host.
+	 @param endpoint The endpoint, like "circuit" or "batch/motor-flc".
+	 @param body The JSON body of the requests. Cannot be null.
+	 @param clients The number of client threads. Must be > 0.
+	 @param requestsPerClient The number of requests sent by each client. Must be > 0.
+	 @return The report of the test.
+	 @throws InterruptedException If the calling thread is interrupted while waiting for the clients.
+	 */
+	public static Report run(int port, @NotNull String endpoint, @NotNull String body, int clients,
+	                         int requestsPerClient) throws InterruptedException {
+		if(clients <= 0 || requestsPerClient <= 0)
+			throw new IllegalArgumentException("Clients and requests per client must be > 0.");
+		HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+		HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/" + endpoint))
+				.header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofString(body, StandardCharsets.UTF_8))
+				.build();
+		long[] latencies = new long[clients * requestsPerClient];
+		AtomicLong errors = new AtomicLong();
+		List<Thread> threads = new ArrayList<>();
+		long start = System.nanoTime();
+		for(int c = 0; c < clients; c++) {
+			int offset = c * requestsPerClient;
+			Thread thread = new Thread(() -> {
+				for(int i = 0; i < requestsPerClient; i++) {
+					long sent = System.nanoTime();
+					try {
+						HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+						if(response.statusCode() != 200)
+							errors.incrementAndGet();
+					}
+					catch(IOException | InterruptedException e) {
+						errors.incrementAndGet();
+					}
+					latencies[offset + i] = System.nanoTime() - sent;
+				}
+			}, "load-test-client-" + c);
+			threads.add(thread);
+			thread.start();
+		}
+		for(Thread thread : threads)
+			thread.join();
+		return new Report(endpoint, latencies, errors.get(), System.nanoTime() - start);
+	}
+
+	/**
+	 Runs a load test of every endpoint and prints the reports.
+	 @param args The number of clients, of requests per client and of server threads, optionally.
+	 @throws Exception If the server cannot be started.
+	 */
+	public static void main(String[] args) throws Exception {
+		int clients = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+		int requests = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+		int serverThreads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+		SizingServer.setNoDelay();
+		try(SizingServer server = new SizingServer(0, serverThreads).start()) {
+			for(Map.Entry<String, String> sample : samples.entrySet()) {
+				/*warm up*/
+				run(server.getPort(), sample.getKey(), sample.getValue(), clients, Math.max(1, requests / 10));
+				System.out.println(run(server.getPort(), sample.getKey(), sample.getValue(), clients, requests));
+			}
+		}
+	}
+}
@@ -0,0 +1,232 @@
+package eecalcs.server;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import eecalcs.circuits.CircuitSizing;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ This class is a command line tool that sizes circuits in batch. It reads one circuit definition per line as
+ newline-delimited JSON (NDJSON), from a file or from the standard input, and writes one result per line, in the same
+ order, to the standard output. The definitions and the results are those of the <code>/circuit</code> endpoint of
+ {@link SizingServer}; a line that fails returns <code>{"error": "message"}</code> and does not stop the batch. Blank
+ lines are ignored.
+ <p>The lines are parsed, sized and serialized in a pool of threads, while the calling thread reads the input and
+ writes the results. The number of lines read but not written yet is bounded, so the memory used does not depend on
+ the size of the input. Identical concurrent circuits are calculated once (see {@link CircuitSizing}). The
+ throughput is reported on the standard error every few seconds and at the end.
+ <p>Usage: <code>java eecalcs.server.NdjsonBatch [--threads n] [--in-flight n] [file]</code>. The defaults are one
+ thread per available processor, sixteen lines in flight per thread and the standard input.
+ */
+public final class NdjsonBatch {
+	private static final ObjectMapper mapper = new ObjectMapper();
+	private static final JsonFactory factory = mapper.getFactory();
+	private static final long PROGRESS_NANOS = 5_000_000_000L;
+
+	private NdjsonBatch() {}
+
+	/**
+	 The result of a batch run.
+	 @Immutable
+	 */
+	public static final class Summary {
+		private final long lines;
+		private final long errors;
+		private final long elapsedNanos;
+		private final double coalescingRatio;
+
+		private Summary(long lines, long errors, long elapsedNanos, double coalescingRatio) {
+			this.lines = lines;
+			this.errors = errors;
+			this.elapsedNanos = elapsedNanos;
+			this.coalescingRatio = coalescingRatio;
+		}
+
+		/**
+		 @return The number of lines sized, including the ones that failed.
+		 */
+		public long getLines() {
+			return lines;
+		}
+
+		/**
+		 @return The number of lines that returned an error.
+		 */
+		public long getErrors() {
+			return errors;
+		}
+
+		/**
+		 @return The number of lines sized per second.
+		 */
+		public double getThroughput() {
+			return elapsedNanos == 0 ? 0 : lines / (elapsedNanos * 1e-9);
+		}
+
+		/**
+		 @return The fraction of the lines that shared the calculation of an identical line.
+		 @see CircuitSizing#getCoalescingRatio()
+		 */
+		public double getCoalescingRatio() {
+			return coalescingRatio;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("%d lines, %d errors, %.1f s, %.0f lines/s, %.1f%% coalesced", lines, errors,
+					elapsedNanos * 1e-9, getThroughput(), coalescingRatio * 100);
+		}
+	}
+
+	/**
+	 Sizes the circuits read from the given reader and writes the results to the given writer.
+	 @param in The NDJSON input. Cannot be null. It is not closed.
+	 @param out The NDJSON output. Cannot be null. It is flushed but not closed.
+	 @param threads The number of threads sizing the circuits. Must be > 0.
+	 @param maxInFlight The maximum number of lines read but not written yet. Must be >= threads.
+	 @param progress The stream where the progress is reported every few seconds, or null for no report.
+	 @return The summary of the run.
+	 @throws IOException If the input cannot be read or the output cannot be written.
+	 */
+	public static Summary run(@NotNull Reader in, @NotNull Writer out, int threads, int maxInFlight,
+	                          @Nullable PrintStream progress) throws IOException {
+		if(in == null || out == null)
+			throw new IllegalArgumentException("Input and output cannot be null.");
+		if(threads <= 0)
+			throw new IllegalArgumentException("Number of threads must be > 0.");
+		if(maxInFlight < threads)
+			throw new IllegalArgumentException("Lines in flight must be >= the number of threads.");
+		BufferedReader reader = in instanceof BufferedReader ? (BufferedReader) in : new BufferedReader(in);
+		CircuitSizing circuitSizing = new CircuitSizing();
+		LongAdder errors = new LongAdder();
+		AtomicInteger threadCount = new AtomicInteger();
+		ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+			Thread thread = new Thread(runnable, "eecalcs-ndjson-" + threadCount.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+		/*the results in input order; the head is written as soon as the window is full*/
+		ArrayDeque<CompletableFuture<String>> window = new ArrayDeque<>(maxInFlight);
+		long start = System.nanoTime();
+		long nextProgress = start + PROGRESS_NANOS;
+		long lines = 0;
+		try {
+			String line;
+			while((line = reader.readLine()) != null) {
+				if(line.isBlank())
+					continue;
+				if(window.size() == maxInFlight)
+					out.write(window.poll().join());
+				String request = line;
+				window.add(CompletableFuture.supplyAsync(() -> size(circuitSizing, request, errors), executor));
+				lines++;
+				if(progress != null && System.nanoTime() >= nextProgress) {
+					long now = System.nanoTime();
+					progress.println(new Summary(lines, errors.sum(), now - start,
+							circuitSizing.getCoalescingRatio()));
+					nextProgress = now + PROGRESS_NANOS;
+				}
+			}
+			while(!window.isEmpty())
+				out.write(window.poll().join());
+			out.flush();
+		}
+		finally {
+			window.forEach(result -> result.cancel(false));
+			executor.shutdown();
+		}
+		return new Summary(lines, errors.sum(), System.nanoTime() - start, circuitSizing.getCoalescingRatio());
+	}
+
+	/*
+	 Returns the result of one line, followed by a line feed.
+	 */
+	private static String size(CircuitSizing circuitSizing, String line, LongAdder errors) {
+		StringWriter result = new StringWriter(96);
+		try(JsonGenerator out = factory.createGenerator(result)) {
+			JsonNode request = mapper.readTree(line);
+			if(request == null || !request.isObject())
+				throw new IllegalArgumentException("Each line must be a JSON object");
+			SizingServer.circuit(circuitSizing, request, out);
+		}
+		catch(JsonProcessingException e) {
+			return error(e.getOriginalMessage(), errors);
+		}
+		catch(IllegalArgumentException e) {
+			return error(e.getMessage(), errors);
+		}
+		catch(IOException | RuntimeException e) {
+			return error(String.valueOf(e), errors);
+		}
+		return result.append('\n').toString();
+	}
+
+	private static String error(String message, LongAdder errors) {
+		errors.increment();
+		StringWriter result = new StringWriter(64);
+		try(JsonGenerator out = factory.createGenerator(result)) {
+			out.writeStartObject();
+			out.writeStringField("error", message);
+			out.writeEndObject();
+		}
+		catch(IOException e) {
+			throw new IllegalStateException(e);
+		}
+		return result.append('\n').toString();
+	}
+
+	/**
+	 Sizes the circuits of the given file, or of the standard input, and writes the results to the standard output.
+	 @param args The options and the file name, optionally; see the description of this class.
+	 @throws IOException If the input cannot be read or the output cannot be written.
+	 */
+	public static void main(String[] args) throws IOException {
+		int threads = Runtime.getRuntime().availableProcessors();
+		int maxInFlight = 0;
+		String file = null;
+		for(int i = 0; i < args.length; i++) {
+			if(args[i].equals("--threads") && i + 1 < args.length)
+				threads = Integer.parseInt(args[++i]);
+			else if(args[i].equals("--in-flight") && i + 1 < args.length)
+				maxInFlight = Integer.parseInt(args[++i]);
+			else if(file == null && !args[i].startsWith("--"))
+				file = args[i];
+			else {
+				System.err.println("Usage: java eecalcs.server.NdjsonBatch [--threads n] [--in-flight n] [file]");
+				System.exit(2);
+			}
+		}
+		if(maxInFlight == 0)
+			maxInFlight = 16 * threads;
+		Reader in = file == null || file.equals("-")
+				? new InputStreamReader(System.in, StandardCharsets.UTF_8)
+				: Files.newBufferedReader(Paths.get(file), StandardCharsets.UTF_8);
+		Writer out = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), 1 << 16);
+		try(in) {
+			System.err.println(run(new BufferedReader(in, 1 << 16), out, threads, maxInFlight, System.err));
+		}
+	}
+}
@@ -0,0 +1,406 @@
+package eecalcs.server;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import eecalcs.circuits.CircuitAll;
+import eecalcs.circuits.CircuitSizing;
+import eecalcs.conductors.ConductiveMetal;
+import eecalcs.conductors.Conductor;
+import eecalcs.conductors.Insulation;
+import eecalcs.conductors.Size;
+import eecalcs.conduits.Conduit;
+import eecalcs.conduits.OuterMaterial;
+import eecalcs.conduits.TradeSize;
+import eecalcs.conduits.Type;
+import eecalcs.loads.GeneralLoad;
+import eecalcs.loads.Horsepower;
+import eecalcs.loads.MotorProperties;
+import eecalcs.systems.VoltageAC;
+import eecalcs.voltagedrop.VoltageDropAC;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.net.InetSocketAddress;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ This class exposes the sizing calculations of this library as JSON endpoints over HTTP, using the HTTP server
+ included in the JDK (module jdk.httpserver). It does not depend on any other server or framework, and nothing in
+ the library depends on it.
+ <p>All the endpoints accept POST requests only. The single endpoints receive one JSON object and return one JSON
+ object; the batch endpoints, under <code>/batch/</code>, receive a JSON array of the same objects and return a
+ JSON array with one result per element, in the same order. Batch requests are parsed and answered element by
+ element as they are read, so their size is not limited by memory; an element that fails returns
+ <code>{"error": "message"}</code> in its position and does not stop the batch. A single request that fails returns
+ the status 400 (bad request) with the same error object.
+ <ul>
+ <li><b>/circuit</b>: <code>{"voltage": "v480_3ph_4w", "current": 100, "powerFactor": 0.9, "continuous": true,
+ "length": 150, "sets": 1}</code> returns <code>{"size", "ocpdRating", "ampacity"}</code>.</li>
+ <li><b>/voltage-drop</b>: <code>{"voltage", "current", "powerFactor", "size": "AWG_12", "length": 90, "sets",
+ "metal": "COPPER", "conduitMaterial": "PVC", "maxPercent": 3}</code> returns <code>{"percent", "minSize",
+ "maxLength"}</code>.</li>
+ <li><b>/conduit-fill</b>: <code>{"type": "EMT", "minimumTradeSize": "T1$2", "conductors": [{"size", "insulation",
+ "metal", "count"}]}</code> returns <code>{"tradeSize", "fillPercent", "maxFillPercent"}</code>. The request can
+ have up to 1300 conductors in total.</li>
+ <li><b>/motor-flc</b>: <code>{"type": "AC3P", "voltage": 460, "horsepower": "HP_10"}</code> returns
+ <code>{"flc"}</code>.</li>
+ </ul>
+ <p>Voltages are given by the name of the constant in {@link VoltageAC} (like "v480_3ph_4w") or by their name (like
+ "480V 3Ø 4W"); sizes, metals, insulations, materials and types by the name of their enum constant. Omitted fields
+ take the default values of the corresponding calculation classes.
+ */
+public class SizingServer implements AutoCloseable {
+	private static final ObjectMapper mapper = new ObjectMapper();
+	private static final JsonFactory factory = mapper.getFactory();
+	private static final Map<String, VoltageAC> voltages = new HashMap<>();
+	/*About the number of 14 AWG THWN conductors that fit at 40% fill in the largest conduit (6" PVC EB); no conduit
+	 fill request needs more.*/
+	private static final int MAX_CONDUCTORS = 1300;
+	private final HttpServer server;
+	private final ExecutorService executor;
+	private final Map<String, Endpoint> endpoints = new HashMap<>();
+	private final CircuitSizing circuitSizing = new CircuitSizing();
+
+	static {
+		for(VoltageAC voltage : VoltageAC.values())
+			voltages.putIfAbsent(voltage.getName(), voltage);
+		for(Field field : VoltageAC.class.getFields()) {
+			if(field.getType() != VoltageAC.class || !Modifier.isStatic(field.getModifiers()))
+				continue;
+			try {
+				voltages.put(field.getName(), (VoltageAC) field.get(null));
+			}
+			catch(IllegalAccessException e) {
+				throw new IllegalStateException(e);
+			}
+		}
+	}
+
+	/*
+	 Calculates the result of one request object and writes it as one JSON object.
+	 */
+	private interface Endpoint {
+		void handle(JsonNode request, JsonGenerator out) throws IOException;
+	}
+
+	/**
+	 Creates a server that is not started yet.
+	 @param port The TCP port to listen on, or zero for any free port (see {@link #getPort()}).
+	 @param threads The number of threads handling the requests. Must be > 0. The threads are daemon threads.
+	 @throws IOException If the port cannot be bound.
+	 */
+	public SizingServer(int port, int threads) throws IOException {
+		if(threads <= 0)
+			throw new IllegalArgumentException("Number of threads must be > 0.");
+		server = HttpServer.create(new InetSocketAddress(port), 0);
+		AtomicInteger threadCount = new AtomicInteger();
+		executor = Executors.newFixedThreadPool(threads, runnable -> {
+			Thread thread = new Thread(runnable, "eecalcs-http-" + threadCount.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+		server.setExecutor(executor);
+		endpoints.put("circuit", (request, out) -> circuit(circuitSizing, request, out));
+		endpoints.put("voltage-drop", SizingServer::voltageDrop);
+		endpoints.put("conduit-fill", SizingServer::conduitFill);
+		endpoints.put("motor-flc", SizingServer::motorFlc);
+		server.createContext("/", this::dispatch);
+	}
+
+	/**
+	 Starts a server on the given port, or 8080, with one thread per available processor.
+	 <p>Unless it is given in the command line, the system property <code>sun.net.httpserver.nodelay</code> is set to
+	 true first, so small responses are not delayed by Nagle's algorithm. Since that property applies to every HTTP
+	 server of the JDK in the process, creating a server with the constructor does not set it.
+	 @param args The port, optionally.
+	 @throws IOException If the port cannot be bound.
+	 */
+	public static void main(String[] args) throws IOException {
+		setNoDelay();
+		int port = args.length > 0 ? Integer.parseInt(args[0]) : 8080;
+		SizingServer server = new SizingServer(port, Runtime.getRuntime().availableProcessors()).start();
+		System.out.println("Listening on port " + server.getPort());
+	}
+
+	/*
+	 Sets the system property sun.net.httpserver.nodelay to true, unless it is already set, so small responses do not
+	 wait for the acknowledgement of the previous segment (Nagle's algorithm). The property is read once, when the
+	 first HTTP server of the JDK is created, and applies to every HTTP server of the process; that's why only the
+	 command line entry points set it. Applications embedding this server can set it themselves before creating
+	 their first server.
+	 */
+	static void setNoDelay() {
+		if(System.getProperty("sun.net.httpserver.nodelay") == null)
+			System.setProperty("sun.net.httpserver.nodelay", "true");
+	}
+
+	/**
+	 Starts serving requests.
+	 @return This server.
+	 */
+	public SizingServer start() {
+		server.start();
+		return this;
+	}
+
+	/**
+	 @return The TCP port this server listens on.
+	 */
+	public int getPort() {
+		return server.getAddress().getPort();
+	}
+
+	/**
+	 @return The object that sizes the circuits of the /circuit endpoints, which coalesces identical concurrent
+	 requests; its counters give the coalescing ratio of the traffic.
+	 */
+	public CircuitSizing getCircuitSizing() {
+		return circuitSizing;
+	}
+
+	/**
+	 Stops this server, waiting up to one second for the exchanges in progress to finish.
+	 */
+	@Override
+	public void close() {
+		server.stop(1);
+		executor.shutdown();
+		try {
+			executor.awaitTermination(1, TimeUnit.SECONDS);
+		}
+		catch(InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void dispatch(HttpExchange exchange) throws IOException {
+		try(exchange) {
+			String path = exchange.getRequestURI().getPath();
+			boolean batch = path.startsWith("/batch/");
+			Endpoint endpoint = endpoints.get(path.substring(batch ? 7 : 1));
+			if(endpoint == null) {
+				sendError(exchange, 404, "Unknown endpoint " + path);
+				return;
+			}
+			if(!exchange.getRequestMethod().equals("POST")) {
+				exchange.getResponseHeaders().set("Allow", "POST");
+				sendError(exchange, 405, "Only POST is allowed");
+				return;
+			}
+			if(batch)
+				handleBatch(exchange, endpoint);
+			else
+				handleSingle(exchange, endpoint);
+		}
+	}
+
+	private static void handleSingle(HttpExchange exchange, Endpoint endpoint) throws IOException {
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream(256);
+		try(InputStream in = exchange.getRequestBody();
+		    JsonParser parser = factory.createParser(in);
+		    JsonGenerator out = factory.createGenerator(buffer, JsonEncoding.UTF8)) {
+			if(parser.nextToken() != JsonToken.START_OBJECT)
+				throw new IllegalArgumentException("The request must be a JSON object");
+			endpoint.handle(parser.readValueAsTree(), out);
+		}
+		catch(IllegalArgumentException | JsonProcessingException e) {
+			sendError(exchange, 400, e.getMessage());
+			return;
+		}
+		catch(RuntimeException e) {
+			sendError(exchange, 500, String.valueOf(e));
+			return;
+		}
+		exchange.getResponseHeaders().set("Content-Type", "application/json");
+		exchange.sendResponseHeaders(200, buffer.size());
+		try(OutputStream body = exchange.getResponseBody()) {
+			buffer.writeTo(body);
+		}
+	}
+
+	private static void handleBatch(HttpExchange exchange, Endpoint endpoint) throws IOException {
+		try(InputStream in = exchange.getRequestBody(); JsonParser parser = factory.createParser(in)) {
+			if(parser.nextToken() != JsonToken.START_ARRAY) {
+				sendError(exchange, 400, "The request must be a JSON array");
+				return;
+			}
+			exchange.getResponseHeaders().set("Content-Type", "application/json");
+			exchange.sendResponseHeaders(200, 0);
+			try(OutputStream body = exchange.getResponseBody();
+			    JsonGenerator out = factory.createGenerator(body, JsonEncoding.UTF8)) {
+				out.writeStartArray();
+				JsonToken token;
+				while((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+					if(token == null)
+						throw new IOException("Unexpected end of the request");
+					if(token != JsonToken.START_OBJECT) {
+						parser.skipChildren();
+						writeError(out, "Each element must be a JSON object");
+						continue;
+					}
+					JsonNode request = parser.readValueAsTree();
+					/*each result is written into a buffer first, so a failure does not leave half an object*/
+					ByteArrayOutputStream buffer = new ByteArrayOutputStream(256);
+					try(JsonGenerator element = factory.createGenerator(buffer, JsonEncoding.UTF8)) {
+						endpoint.handle(request, element);
+					}
+					catch(RuntimeException e) {
+						writeError(out, e instanceof IllegalArgumentException ? e.getMessage() : String.valueOf(e));
+						continue;
+					}
+					out.writeRawValue(buffer.toString("UTF-8"));
+				}
+				out.writeEndArray();
+			}
+		}
+	}
+
+	private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream(128);
+		try(JsonGenerator out = factory.createGenerator(buffer, JsonEncoding.UTF8)) {
+			writeError(out, message);
+		}
+		exchange.getResponseHeaders().set("Content-Type", "application/json");
+		exchange.sendResponseHeaders(status, buffer.size());
+		try(OutputStream body = exchange.getResponseBody()) {
+			buffer.writeTo(body);
+		}
+	}
+
+	private static void writeError(JsonGenerator out, String message) throws IOException {
+		out.writeStartObject();
+		out.writeStringField("error", message);
+		out.writeEndObject();
+	}
+
+	/*
+	 Also used by NdjsonBatch.
+	 */
+	static void circuit(CircuitSizing circuitSizing, JsonNode request, JsonGenerator out) throws IOException {
+		GeneralLoad load = new GeneralLoad(voltage(request), number(request, "current"));
+		if(request.has("powerFactor"))
+			load.setPowerFactor(number(request, "powerFactor"));
+		if(request.path("continuous").asBoolean(false))
+			load.setContinuous();
+		CircuitAll.Builder builder = new CircuitAll.Builder(load).numberOfSets(request.path("sets").asInt(1));
+		CircuitSizing.Result result = circuitSizing.size(builder,
+				request.has("length") ? number(request, "length") : Double.NaN);
+		Size size = result.getSize();
+		out.writeStartObject();
+		out.writeStringField("size", size == null ? null : size.name());
+		out.writeNumberField("ocpdRating", result.getOCPDRating());
+		out.writeNumberField("ampacity", result.getAmpacity());
+		out.writeEndObject();
+	}
+
+	private static void voltageDrop(JsonNode request, JsonGenerator out) throws IOException {
+		VoltageDropAC voltageDrop = new VoltageDropAC()
+				.setVoltageAC(voltage(request))
+				.setLoadCurrent(number(request, "current"));
+		if(request.has("powerFactor"))
+			voltageDrop.setPowerFactor(number(request, "powerFactor"));
+		if(request.has("size"))
+			voltageDrop.setConductorSize(Size.valueOf(text(request, "size")));
+		if(request.has("length"))
+			voltageDrop.setConductorLength(number(request, "length"));
+		if(request.has("sets"))
+			voltageDrop.setNumberOfSets(request.get("sets").asInt());
+		if(request.has("metal"))
+			voltageDrop.setConductorMetal(ConductiveMetal.valueOf(text(request, "metal")));
+		if(request.has("conduitMaterial"))
+			voltageDrop.setConduitMaterial(OuterMaterial.valueOf(text(request, "conduitMaterial")));
+		if(request.has("maxPercent"))
+			voltageDrop.setMaxVDropPercent(number(request, "maxPercent"));
+		Size minSize = voltageDrop.getMinSizeForMaxVD();
+		out.writeStartObject();
+		out.writeNumberField("percent", voltageDrop.getVoltageDropPercent());
+		out.writeStringField("minSize", minSize == null ? null : minSize.name());
+		out.writeNumberField("maxLength", voltageDrop.getMaxLengthForVD());
+		out.writeEndObject();
+	}
+
+	private static void conduitFill(JsonNode request, JsonGenerator out) throws IOException {
+		Conduit conduit = new Conduit();
+		if(request.has("type"))
+			conduit.setType(Type.valueOf(text(request, "type")));
+		if(request.has("minimumTradeSize"))
+			conduit.setMinimumTradeSize(TradeSize.valueOf(text(request, "minimumTradeSize")));
+		JsonNode conductors = request.path("conductors");
+		if(!conductors.isArray() || conductors.size() == 0)
+			throw new IllegalArgumentException("Field conductors must be a non empty array");
+		int total = 0;
+		for(JsonNode group : conductors) {
+			int count = group.path("count").asInt(1);
+			if(count <= 0)
+				throw new IllegalArgumentException("Field count must be > 0");
+			total += count;
+			if(count > MAX_CONDUCTORS || total > MAX_CONDUCTORS)
+				throw new IllegalArgumentException("The number of conductors cannot be more than " + MAX_CONDUCTORS);
+			for(int i = 0; i < count; i++) {
+				Conductor conductor = new Conductor();
+				if(group.has("size"))
+					conductor.setSize(Size.valueOf(text(group, "size")));
+				if(group.has("insulation"))
+					conductor.setInsulation(Insulation.valueOf(text(group, "insulation")));
+				if(group.has("metal"))
+					conductor.setMetal(ConductiveMetal.valueOf(text(group, "metal")));
+				conduit.add(conductor);
+			}
+		}
+		TradeSize tradeSize = conduit.getTradeSize();
+		out.writeStartObject();
+		out.writeStringField("tradeSize", tradeSize == null ? null : tradeSize.name());
+		out.writeNumberField("fillPercent", conduit.getFillPercentage());
+		out.writeNumberField("maxFillPercent", conduit.getMaxAllowedFillPercentage());
+		out.writeEndObject();
+	}
+
+	private static void motorFlc(JsonNode request, JsonGenerator out) throws IOException {
+		MotorProperties.Type type = MotorProperties.Type.valueOf(text(request, "type"));
+		int voltage = (int) number(request, "voltage");
+		Horsepower horsepower = Horsepower.valueOf(text(request, "horsepower"));
+		out.writeStartObject();
+		out.writeNumberField("flc", MotorProperties.getFlc(type, voltage, horsepower));
+		out.writeEndObject();
+	}
+
+	private static @NotNull VoltageAC voltage(JsonNode request) {
+		String name = text(request, "voltage");
+		VoltageAC voltage = voltages.get(name);
+		if(voltage == null)
+			throw new IllegalArgumentException("Unknown voltage " + name);
+		return voltage;
+	}
+
+	private static @NotNull String text(JsonNode request, String field) {
+		JsonNode node = request.get(field);
+		if(node == null || !node.isTextual())
+			throw new IllegalArgumentException("Field " + field + " must be a string");
+		return node.asText();
+	}
+
+	private static double number(JsonNode request, String field) {
+		JsonNode node = request.get(field);
+		if(node == null || !node.isNumber())
+			throw new IllegalArgumentException("Field " + field + " must be a number");
+		return node.asDouble();
+	}
+}
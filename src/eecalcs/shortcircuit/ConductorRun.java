@@ -0,0 +1,128 @@
+package eecalcs.shortcircuit;
+
+import eecalcs.conductors.ConductiveMetal;
+import eecalcs.conductors.ConductorProperties;
+import eecalcs.conductors.Size;
+import eecalcs.conduits.OuterMaterial;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ This class represents the conductors of a feeder or branch circuit for the purpose of the short-circuit and load
+ flow calculations: the size, metal, length and number of sets of the phase conductors and the material of the
+ conduit they run in. Objects of this class are immutable.
+ <p>The resistance, reactance and impedance of the run are calculated once, when the object is created, from the AC
+ resistance and the reactance of NEC Chapter 9 Table 9 as given by {@link ConductorProperties}.
+ */
+public final class ConductorRun {
+	private final Size size;
+	private final ConductiveMetal metal;
+	private final OuterMaterial conduitMaterial;
+	private final double length;
+	private final int sets;
+	private final double resistance;
+	private final double reactance;
+	private final double impedance;
+
+	/**
+	 Creates a conductor run.
+	 @param size The size of the phase conductors. Cannot be null.
+	 @param metal The metal of the phase conductors. Cannot be null.
+	 @param conduitMaterial The material of the conduit, or null if the conductors are in free air.
+	 @param length The one-way length of the run, in feet. Must be >= 0.
+	 @param sets The number of conductors in parallel per phase. Must be > 0.
+	 */
+	public ConductorRun(@NotNull Size size, @NotNull ConductiveMetal metal, @Nullable OuterMaterial conduitMaterial,
+	                    double length, int sets) {
+		if(size == null)
+			throw new IllegalArgumentException("Conductor size cannot be null.");
+		if(metal == null)
+			throw new IllegalArgumentException("Conductor metal cannot be null.");
+		if(length < 0)
+			throw new IllegalArgumentException("Length must be >= 0.");
+		if(sets <= 0)
+			throw new IllegalArgumentException("Sets must be an integer > 0.");
+		this.size = size;
+		this.metal = metal;
+		this.conduitMaterial = conduitMaterial;
+		this.length = length;
+		this.sets = sets;
+		resistance = ConductorProperties.getACResistance(size, metal, conduitMaterial) * 0.001 * length / sets;
+		reactance = ConductorProperties.getReactance(size, conduitMaterial != null && conduitMaterial.isMagnetic())
+				* 0.001 * length / sets;
+		impedance = Math.hypot(resistance, reactance);
+	}
+
+	/**
+	 @return The size of the phase conductors.
+	 */
+	public Size getSize() {
+		return size;
+	}
+
+	/**
+	 @return The metal of the phase conductors.
+	 */
+	public ConductiveMetal getMetal() {
+		return metal;
+	}
+
+	/**
+	 @return The material of the conduit, or null if the conductors are in free air.
+	 */
+	public @Nullable OuterMaterial getConduitMaterial() {
+		return conduitMaterial;
+	}
+
+	/**
+	 @return The one-way length of the run, in feet.
+	 */
+	public double getLength() {
+		return length;
+	}
+
+	/**
+	 @return The number of conductors in parallel per phase.
+	 */
+	public int getSets() {
+		return sets;
+	}
+
+	/**
+	 @return The magnitude of the impedance of one conductor of this run, in ohms per 1000 feet.
+	 */
+	public double getImpedancePer1000Ft() {
+		double R = ConductorProperties.getACResistance(size, metal, conduitMaterial);
+		double X = ConductorProperties.getReactance(size, conduitMaterial != null && conduitMaterial.isMagnetic());
+		return Math.hypot(R, X);
+	}
+
+	/**
+	 @return The conductor constant "C" of the point-to-point method for this run, that is, the inverse of the
+	 impedance of one conductor per foot.
+	 */
+	public double getConductorConstant() {
+		return 1000 / getImpedancePer1000Ft();
+	}
+
+	/**
+	 @return The one-way AC resistance of a phase of this run (its sets in parallel), in ohms.
+	 */
+	public double getResistance() {
+		return resistance;
+	}
+
+	/**
+	 @return The one-way reactance of a phase of this run (its sets in parallel), in ohms.
+	 */
+	public double getReactance() {
+		return reactance;
+	}
+
+	/**
+	 @return The magnitude of the one-way impedance of a phase of this run (its sets in parallel), in ohms.
+	 */
+	public double getImpedance() {
+		return impedance;
+	}
+}
@@ -0,0 +1,104 @@
+package eecalcs.shortcircuit;
+
+import eecalcs.systems.VoltageAC;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ This class represents the source of the fault current of a distribution system (like the utility service or the
+ secondary of a transformer), as the available bolted fault currents at its terminals. Objects of this class are
+ immutable.
+ <p>The bolted fault current is the three-phase fault current for 3Ø systems and the line-to-line fault current for
+ 1Ø systems. The line-to-ground fault current is the line-to-neutral fault current; it is zero for systems without a
+ neutral.
+ */
+public final class FaultSource {
+	/**The ratio of the line-to-neutral to the line-to-line fault current at the terminals of a single-phase
+	 transformer with a center-tapped (1Ø 3W) secondary.*/
+	public static final double LINE_TO_NEUTRAL_MULTIPLIER = 1.5;
+	private final VoltageAC voltage;
+	private final double boltedFaultCurrent;
+	private final double lineToGroundFaultCurrent;
+
+	private FaultSource(VoltageAC voltage, double boltedFaultCurrent, double lineToGroundFaultCurrent) {
+		this.voltage = voltage;
+		this.boltedFaultCurrent = boltedFaultCurrent;
+		this.lineToGroundFaultCurrent = voltage.hasNeutral() ? lineToGroundFaultCurrent : 0;
+	}
+
+	/**
+	 Creates a source with the given available fault currents.
+	 @param voltage The voltage system of the source. Cannot be null.
+	 @param boltedFaultCurrent The available bolted fault current, in amperes. Must be > 0.
+	 @param lineToGroundFaultCurrent The available line-to-ground fault current, in amperes. Must be >= 0. It's
+	 ignored if the voltage system has no neutral.
+	 @return The source.
+	 */
+	public static FaultSource of(@NotNull VoltageAC voltage, double boltedFaultCurrent,
+	                             double lineToGroundFaultCurrent) {
+		if(voltage == null)
+			throw new IllegalArgumentException("Fault source voltage cannot be null.");
+		if(boltedFaultCurrent <= 0)
+			throw new IllegalArgumentException("Bolted fault current must be > 0.");
+		if(lineToGroundFaultCurrent < 0)
+			throw new IllegalArgumentException("Line-to-ground fault current must be >= 0.");
+		return new FaultSource(voltage, boltedFaultCurrent, lineToGroundFaultCurrent);
+	}
+
+	/**
+	 Creates a utility source whose available line-to-ground fault current is taken as equal to the bolted fault
+	 current.
+	 @param voltage The voltage system of the service. Cannot be null.
+	 @param boltedFaultCurrent The available bolted fault current informed by the utility, in amperes. Must be > 0.
+	 @return The source.
+	 */
+	public static FaultSource utility(@NotNull VoltageAC voltage, double boltedFaultCurrent) {
+		return of(voltage, boltedFaultCurrent, boltedFaultCurrent);
+	}
+
+	/**
+	 Creates a source for the secondary of a transformer with an infinite primary, whose bolted fault current is the
+	 full load current times 100/%Z. The line-to-neutral fault current is {@link #LINE_TO_NEUTRAL_MULTIPLIER} times
+	 the bolted fault current for center-tapped 1Ø 3W secondaries, and equal to the bolted fault current for any other
+	 secondary (like 3Ø 4W wye).
+	 @param secondary The voltage system of the secondary. Cannot be null.
+	 @param kVA The rating of the transformer, in kVA. Must be > 0.
+	 @param percentZ The impedance of the transformer, in percent. Must be > 0.
+	 @return The source.
+	 */
+	public static FaultSource transformer(@NotNull VoltageAC secondary, double kVA, double percentZ) {
+		if(secondary == null)
+			throw new IllegalArgumentException("Fault source voltage cannot be null.");
+		if(kVA <= 0)
+			throw new IllegalArgumentException("Transformer kVA must be > 0.");
+		if(percentZ <= 0)
+			throw new IllegalArgumentException("Transformer impedance must be > 0.");
+		double fullLoadCurrent = kVA * 1000 / (secondary.getVoltage() * (secondary.getPhases() == 3 ?
+				Math.sqrt(3) : 1));
+		double boltedFaultCurrent = fullLoadCurrent * 100 / percentZ;
+		double multiplier = secondary.getPhases() == 1 && secondary.has2HotsAndNeutralOnly() ?
+				LINE_TO_NEUTRAL_MULTIPLIER : 1;
+		return new FaultSource(secondary, boltedFaultCurrent, boltedFaultCurrent * multiplier);
+	}
+
+	/**
+	 @return The voltage system of this source.
+	 */
+	public VoltageAC getVoltage() {
+		return voltage;
+	}
+
+	/**
+	 @return The available bolted (three-phase or line-to-line) fault current, in amperes.
+	 */
+	public double getBoltedFaultCurrent() {
+		return boltedFaultCurrent;
+	}
+
+	/**
+	 @return The available line-to-ground fault current, in amperes, or zero if the voltage system of this source
+	 has no neutral.
+	 */
+	public double getLineToGroundFaultCurrent() {
+		return lineToGroundFaultCurrent;
+	}
+}
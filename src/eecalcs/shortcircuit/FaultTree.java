@@ -0,0 +1,279 @@
+package eecalcs.shortcircuit;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ This class calculates the available fault current at every node of a radial distribution system (like
+ switchboards, panels and loads) using the point-to-point method. The root of the tree is the {@link FaultSource};
+ every other node is fed from its parent through a {@link ConductorRun}.
+ <p>At each node, the fault current at the parent is reduced by the multiplier <code>M = 1 / (1 + f)</code>, where
+ <ul>
+ <li>for the bolted fault of 3Ø systems, <code>f = 1.732·L·I / (C·n·E<sub>L-L</sub>)</code></li>
+ <li>for the bolted fault of 1Ø systems, <code>f = 2·L·I / (C·n·E<sub>L-L</sub>)</code></li>
+ <li>for the line-to-ground fault, <code>f = 2·L·I<sub>L-N</sub> / (C·n·E<sub>L-N</sub>)</code></li>
+ </ul>
+ and <code>L/(C·n)</code> is the impedance of the run, calculated once per run (see {@link ConductorRun}). All the
+ nodes are at the voltage of the source, and the contribution of motors is not accounted for.
+ <p>The results are calculated on demand, the first time a result is requested after the tree is modified. For
+ trees of thousands of nodes, {@link #calculateInParallel()} evaluates large subtrees in parallel using the common
+ fork-join pool. Objects of this class are not thread safe.
+ */
+public class FaultTree {
+	/*Subtrees smaller than this are calculated in the thread of their parent.*/
+	private static final int PARALLEL_THRESHOLD = 512;
+	private final Node root;
+	private FaultSource source;
+	private double boltedFactor;
+	private double groundFactor;
+	private boolean calculated;
+
+	/**
+	 Creates a tree whose root is the given source.
+	 @param source The source of the fault current. Cannot be null.
+	 @param name The name of the root node, like "Service" or "MSB".
+	 */
+	public FaultTree(@NotNull FaultSource source, String name) {
+		root = new Node(this, null, name, null);
+		setSource(source);
+	}
+
+	/**
+	 Sets the source of the fault current of this tree.
+	 @param source The source. Cannot be null.
+	 @return This tree.
+	 */
+	public FaultTree setSource(@NotNull FaultSource source) {
+		if(source == null)
+			throw new IllegalArgumentException("Fault source cannot be null.");
+		this.source = source;
+		int voltage = source.getVoltage().getVoltage();
+		boltedFactor = (source.getVoltage().getPhases() == 3 ? Math.sqrt(3) : 2) / voltage;
+		groundFactor = source.getVoltage().hasNeutral() ? 2.0 / source.getVoltage().getVoltageToNeutral() : 0;
+		calculated = false;
+		return this;
+	}
+
+	/**
+	 @return The source of the fault current of this tree.
+	 */
+	public FaultSource getSource() {
+		return source;
+	}
+
+	/**
+	 @return The root node of this tree, which represents the terminals of the source.
+	 */
+	public Node getRoot() {
+		return root;
+	}
+
+	/**
+	 @return The number of nodes of this tree, including the root.
+	 */
+	public int size() {
+		return root.subtreeSize;
+	}
+
+	/**
+	 Calculates the fault currents of all the nodes of this tree in the calling thread.
+	 */
+	public void calculate() {
+		root.calculateSubtree();
+		calculated = true;
+	}
+
+	/**
+	 Calculates the fault currents of all the nodes of this tree, evaluating large subtrees in parallel.
+	 */
+	public void calculateInParallel() {
+		ForkJoinPool.commonPool().invoke(new SubtreeTask(root));
+		calculated = true;
+	}
+
+	private void calculateIfNeeded() {
+		if(!calculated)
+			calculate();
+	}
+
+	/*
+	 Calculates a subtree iteratively. A child subtree is forked only where a node has two or more large children, so
+	 the nesting of tasks is bounded by the branching of the tree and not by its depth.
+	 */
+	@SuppressWarnings("serial")
+	private static final class SubtreeTask extends RecursiveAction {
+		private final Node node;
+
+		private SubtreeTask(Node node) {
+			this.node = node;
+		}
+
+		@Override
+		protected void compute() {
+			List<SubtreeTask> forked = new ArrayList<>();
+			ArrayDeque<Node> pending = new ArrayDeque<>();
+			pending.push(node);
+			while(!pending.isEmpty()) {
+				Node next = pending.pop();
+				next.calculateNode();
+				int large = 0;
+				for(Node child : next.children)
+					if(child.subtreeSize >= PARALLEL_THRESHOLD)
+						large++;
+				for(Node child : next.children) {
+					if(large > 1 && child.subtreeSize >= PARALLEL_THRESHOLD) {
+						SubtreeTask task = new SubtreeTask(child);
+						task.fork();
+						forked.add(task);
+					}
+					else
+						pending.push(child);
+				}
+			}
+			for(SubtreeTask task : forked)
+				task.join();
+		}
+	}
+
+	/**
+	 A node of a {@link FaultTree}: a point of the distribution system where the fault current is calculated.
+	 */
+	public static final class Node {
+		private final FaultTree tree;
+		private final String name;
+		private final List<Node> children = new ArrayList<>();
+		private Node parent;
+		private ConductorRun run;
+		private int subtreeSize = 1;
+		private double boltedFaultCurrent;
+		private double lineToGroundFaultCurrent;
+
+		private Node(FaultTree tree, Node parent, String name, ConductorRun run) {
+			this.tree = tree;
+			this.parent = parent;
+			this.name = name;
+			this.run = run;
+		}
+
+		/**
+		 Adds a node fed from this node.
+		 @param name The name of the new node.
+		 @param run The conductors feeding the new node from this node. Cannot be null.
+		 @return The new node.
+		 */
+		public Node addChild(String name, @NotNull ConductorRun run) {
+			if(run == null)
+				throw new IllegalArgumentException("Conductor run cannot be null.");
+			Node child = new Node(tree, this, name, run);
+			children.add(child);
+			for(Node node = this; node != null; node = node.parent)
+				node.subtreeSize++;
+			tree.calculated = false;
+			return child;
+		}
+
+		/**
+		 Removes this node and its subtree from the tree. The root node cannot be removed.
+		 */
+		public void remove() {
+			if(parent == null)
+				throw new IllegalArgumentException("The root node cannot be removed.");
+			parent.children.remove(this);
+			for(Node node = parent; node != null; node = node.parent)
+				node.subtreeSize -= subtreeSize;
+			parent = null;
+			tree.calculated = false;
+		}
+
+		/**
+		 Sets the conductors feeding this node from its parent.
+		 @param run The conductor run. Cannot be null.
+		 @return This node.
+		 */
+		public Node setRun(@NotNull ConductorRun run) {
+			if(parent == null)
+				throw new IllegalArgumentException("The root node is not fed by a conductor run.");
+			if(run == null)
+				throw new IllegalArgumentException("Conductor run cannot be null.");
+			this.run = run;
+			tree.calculated = false;
+			return this;
+		}
+
+		/**
+		 @return The name of this node.
+		 */
+		public String getName() {
+			return name;
+		}
+
+		/**
+		 @return The conductors feeding this node from its parent, or null for the root node.
+		 */
+		public ConductorRun getRun() {
+			return run;
+		}
+
+		/**
+		 @return The node feeding this node, or null for the root node or for a removed node.
+		 */
+		public Node getParent() {
+			return parent;
+		}
+
+		/**
+		 @return An unmodifiable view of the nodes fed from this node.
+		 */
+		public List<Node> getChildren() {
+			return Collections.unmodifiableList(children);
+		}
+
+		/**
+		 @return The available bolted (three-phase or line-to-line) fault current at this node, in amperes.
+		 */
+		public double getBoltedFaultCurrent() {
+			tree.calculateIfNeeded();
+			return boltedFaultCurrent;
+		}
+
+		/**
+		 @return The available line-to-ground fault current at this node, in amperes, or zero if the source has no
+		 neutral.
+		 */
+		public double getLineToGroundFaultCurrent() {
+			tree.calculateIfNeeded();
+			return lineToGroundFaultCurrent;
+		}
+
+		private void calculateNode() {
+			if(parent == null) {
+				boltedFaultCurrent = tree.source.getBoltedFaultCurrent();
+				lineToGroundFaultCurrent = tree.source.getLineToGroundFaultCurrent();
+				return;
+			}
+			double Z = run.getImpedance();
+			double I = parent.boltedFaultCurrent;
+			boltedFaultCurrent = I / (1 + tree.boltedFactor * I * Z);
+			I = parent.lineToGroundFaultCurrent;
+			lineToGroundFaultCurrent = I / (1 + tree.groundFactor * I * Z);
+		}
+
+		/*Iterative, so that long chains of nodes do not overflow the stack.*/
+		private void calculateSubtree() {
+			ArrayDeque<Node> pending = new ArrayDeque<>();
+			pending.push(this);
+			while(!pending.isEmpty()) {
+				Node node = pending.pop();
+				node.calculateNode();
+				for(Node child : node.children)
+					pending.push(child);
+			}
+		}
+	}
+}
@@ -0,0 +1,140 @@
+package eecalcs.snapshot;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+/**
+ This class holds the current {@link ProjectSnapshot} of a project being edited, with the snapshots that can be
+ restored by undo and redo. Since snapshots are immutable and share their unchanged parts, undo and redo only keep
+ the previous snapshots; nothing is copied.
+ <p>Objects of this class are thread safe and lock-free: any thread can read the current snapshot at any time and
+ size it while other threads edit the project; it keeps seeing the snapshot it read.
+ */
+public class ProjectHistory {
+	private final AtomicReference<State> state;
+
+	/*
+	 An immutable stack of snapshots.
+	 */
+	private static final class Stack {
+		final ProjectSnapshot snapshot;
+		final Stack next;
+		final int depth;
+
+		Stack(ProjectSnapshot snapshot, Stack next) {
+			this.snapshot = snapshot;
+			this.next = next;
+			this.depth = next == null ? 1 : next.depth + 1;
+		}
+	}
+
+	/*
+	 The current snapshot with its undo and redo stacks, replaced as a whole by each operation.
+	 */
+	private static final class State {
+		final ProjectSnapshot current;
+		final Stack undo;
+		final Stack redo;
+
+		State(ProjectSnapshot current, Stack undo, Stack redo) {
+			this.current = current;
+			this.undo = undo;
+			this.redo = redo;
+		}
+	}
+
+	/**
+	 Creates the history of an empty project.
+	 */
+	public ProjectHistory() {
+		this(ProjectSnapshot.empty());
+	}
+
+	/**
+	 Creates the history of a project starting at the given snapshot.
+	 @param initial The initial snapshot. Cannot be null.
+	 */
+	public ProjectHistory(@NotNull ProjectSnapshot initial) {
+		if(initial == null)
+			throw new IllegalArgumentException("Initial snapshot cannot be null.");
+		state = new AtomicReference<>(new State(initial, null, null));
+	}
+
+	/**
+	 @return The current snapshot.
+	 */
+	public ProjectSnapshot getSnapshot() {
+		return state.get().current;
+	}
+
+	/**
+	 Applies an edit to the current snapshot and makes the result the current snapshot. The previous snapshot can be
+	 restored by {@link #undo()}; the snapshots that could be restored by {@link #redo()} are discarded.
+	 <p>If another thread changes the current snapshot while the edit is applied, the edit is applied again to the
+	 new current snapshot, so it must not have side effects.
+	 @param edit The edit. Cannot be null. It must return a snapshot.
+	 @return The new current snapshot.
+	 */
+	public ProjectSnapshot edit(@NotNull UnaryOperator<ProjectSnapshot> edit) {
+		if(edit == null)
+			throw new IllegalArgumentException("Edit cannot be null.");
+		while(true) {
+			State current = state.get();
+			ProjectSnapshot edited = edit.apply(current.current);
+			if(edited == null)
+				throw new IllegalArgumentException("The edit returned a null snapshot.");
+			if(edited == current.current)
+				return edited;
+			if(state.compareAndSet(current, new State(edited, new Stack(current.current, current.undo), null)))
+				return edited;
+		}
+	}
+
+	/**
+	 Restores the snapshot that was current before the last edit.
+	 @return True if there was an edit to undo, false otherwise.
+	 */
+	public boolean undo() {
+		while(true) {
+			State current = state.get();
+			if(current.undo == null)
+				return false;
+			if(state.compareAndSet(current, new State(current.undo.snapshot, current.undo.next,
+					new Stack(current.current, current.redo))))
+				return true;
+		}
+	}
+
+	/**
+	 Restores the snapshot that was current before the last undo.
+	 @return True if there was an undo to redo, false otherwise.
+	 */
+	public boolean redo() {
+		while(true) {
+			State current = state.get();
+			if(current.redo == null)
+				return false;
+			if(state.compareAndSet(current, new State(current.redo.snapshot, new Stack(current.current,
+					current.undo), current.redo.next)))
+				return true;
+		}
+	}
+
+	/**
+	 @return The number of edits that can be undone.
+	 */
+	public int getUndoCount() {
+		Stack undo = state.get().undo;
+		return undo == null ? 0 : undo.depth;
+	}
+
+	/**
+	 @return The number of undone edits that can be redone.
+	 */
+	public int getRedoCount() {
+		Stack redo = state.get().redo;
+		return redo == null ? 0 : redo.depth;
+	}
+}
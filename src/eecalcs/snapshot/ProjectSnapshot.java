@@ -0,0 +1,441 @@
+package eecalcs.snapshot;
+
+import eecalcs.circuits.CircuitAll;
+import eecalcs.circuits.CircuitSizing;
+import eecalcs.conduits.Type;
+import eecalcs.loads.GeneralLoad;
+import eecalcs.systems.VoltageAC;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import tools.PersistentMap;
+import tools.PersistentVector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ This class is an immutable version of a project: its loads and raceways, identified by name, and its circuits, in
+ order (like the positions of a panel schedule). Unlike the mutable calculation objects ({@link GeneralLoad},
+ {@link eecalcs.conduits.Conduit}, {@link CircuitAll}), a snapshot never changes: each edit returns a new snapshot,
+ so a thread sizing a snapshot never sees a half-made edit, and an older snapshot is still valid after an edit.
+ <p>The snapshots are built on {@link PersistentMap} and {@link PersistentVector}: each edit takes O(log n) time and
+ shares with the previous snapshot everything it does not change, so keeping old snapshots (for undo, see
+ {@link ProjectHistory}) costs little memory.
+ <p>A circuit refers to its load and to its raceway by name. A snapshot can have circuits whose load or raceway was
+ removed; sizing those circuits throws an exception.
+ @Immutable
+ */
+public final class ProjectSnapshot {
+	private static final ProjectSnapshot EMPTY = new ProjectSnapshot(PersistentMap.empty(), PersistentMap.empty(),
+			PersistentVector.empty(), 0);
+	private final PersistentMap<String, LoadDef> loads;
+	private final PersistentMap<String, RacewayDef> raceways;
+	private final PersistentVector<CircuitDef> circuits;
+	private final long version;
+
+	/**
+	 The definition of a general load.
+	 @Immutable
+	 */
+	public static final class LoadDef {
+		private final VoltageAC voltage;
+		private final double current;
+		private final double powerFactor;
+		private final boolean continuous;
+
+		/**
+		 Creates a non-continuous load with a power factor of 1.
+		 @param voltage The voltage of the load. Cannot be null.
+		 @param current The nominal current of the load. Must be > 0.
+		 */
+		public LoadDef(@NotNull VoltageAC voltage, double current) {
+			this(voltage, current, 1.0, false);
+		}
+
+		private LoadDef(VoltageAC voltage, double current, double powerFactor, boolean continuous) {
+			if(voltage == null)
+				throw new IllegalArgumentException("Voltage cannot be null.");
+			if(current <= 0)
+				throw new IllegalArgumentException("Current must be > 0.");
+			if(powerFactor <= 0 || powerFactor > 1)
+				throw new IllegalArgumentException("Power factor must be in the range (0, 1].");
+			this.voltage = voltage;
+			this.current = current;
+			this.powerFactor = powerFactor;
+			this.continuous = continuous;
+		}
+
+		/**
+		 @param current The nominal current of the load. Must be > 0.
+		 @return A copy of this load with the given current.
+		 */
+		public LoadDef withCurrent(double current) {
+			return new LoadDef(voltage, current, powerFactor, continuous);
+		}
+
+		/**
+		 @param powerFactor The power factor of the load, in the range (0, 1].
+		 @return A copy of this load with the given power factor.
+		 */
+		public LoadDef withPowerFactor(double powerFactor) {
+			return new LoadDef(voltage, current, powerFactor, continuous);
+		}
+
+		/**
+		 @param continuous True for a continuous load.
+		 @return A copy of this load with the given continuousness.
+		 */
+		public LoadDef withContinuous(boolean continuous) {
+			return new LoadDef(voltage, current, powerFactor, continuous);
+		}
+
+		public VoltageAC getVoltage() {
+			return voltage;
+		}
+
+		public double getCurrent() {
+			return current;
+		}
+
+		public double getPowerFactor() {
+			return powerFactor;
+		}
+
+		public boolean isContinuous() {
+			return continuous;
+		}
+
+		/**
+		 @return A new mutable load object with the properties of this definition.
+		 */
+		public GeneralLoad toLoad() {
+			GeneralLoad load = new GeneralLoad(voltage, current);
+			load.setPowerFactor(powerFactor);
+			if(continuous)
+				load.setContinuous();
+			return load;
+		}
+	}
+
+	/**
+	 The definition of a raceway: the type of the conduits and the ambient temperature along their route.
+	 @Immutable
+	 */
+	public static final class RacewayDef {
+		private final Type type;
+		private final int ambientTemperatureF;
+
+		/**
+		 Creates a raceway at the default ambient temperature of 86°F.
+		 @param type The type of the conduits. Cannot be null.
+		 */
+		public RacewayDef(@NotNull Type type) {
+			this(type, 86);
+		}
+
+		private RacewayDef(Type type, int ambientTemperatureF) {
+			if(type == null)
+				throw new IllegalArgumentException("Type cannot be null.");
+			this.type = type;
+			this.ambientTemperatureF = ambientTemperatureF;
+		}
+
+		/**
+		 @param ambientTemperatureF The ambient temperature in degrees Fahrenheit.
+		 @return A copy of this raceway with the given ambient temperature.
+		 */
+		public RacewayDef withAmbientTemperatureF(int ambientTemperatureF) {
+			return new RacewayDef(type, ambientTemperatureF);
+		}
+
+		public Type getType() {
+			return type;
+		}
+
+		public int getAmbientTemperatureF() {
+			return ambientTemperatureF;
+		}
+	}
+
+	/**
+	 The definition of a circuit: the name of its load, the name of its raceway, its length and its number of sets.
+	 @Immutable
+	 */
+	public static final class CircuitDef {
+		private final String load;
+		private final String raceway;
+		private final double length;
+		private final int sets;
+
+		/**
+		 Creates a circuit in a conduit of the default type, with the default length and one set of conductors.
+		 @param load The name of the load. Cannot be null.
+		 */
+		public CircuitDef(@NotNull String load) {
+			this(load, null, Double.NaN, 1);
+		}
+
+		private CircuitDef(String load, String raceway, double length, int sets) {
+			if(load == null)
+				throw new IllegalArgumentException("Load name cannot be null.");
+			if(length <= 0)
+				throw new IllegalArgumentException("Length must be > 0.");
+			if(sets <= 0 || sets > 10)
+				throw new IllegalArgumentException("Number of sets must be between 1 and 10.");
+			this.load = load;
+			this.raceway = raceway;
+			this.length = length;
+			this.sets = sets;
+		}
+
+		/**
+		 @param raceway The name of the raceway, or null for a conduit of the default type.
+		 @return A copy of this circuit in the given raceway.
+		 */
+		public CircuitDef withRaceway(@Nullable String raceway) {
+			return new CircuitDef(load, raceway, length, sets);
+		}
+
+		/**
+		 @param length The length of the circuit in feet. Must be > 0.
+		 @return A copy of this circuit with the given length.
+		 */
+		public CircuitDef withLength(double length) {
+			return new CircuitDef(load, raceway, length, sets);
+		}
+
+		/**
+		 @param sets The number of sets of conductors in parallel, between 1 and 10.
+		 @return A copy of this circuit with the given number of sets.
+		 */
+		public CircuitDef withSets(int sets) {
+			return new CircuitDef(load, raceway, length, sets);
+		}
+
+		public String getLoad() {
+			return load;
+		}
+
+		public @Nullable String getRaceway() {
+			return raceway;
+		}
+
+		/**
+		 @return The length of the circuit in feet, or NaN for the default length of {@link CircuitAll}.
+		 */
+		public double getLength() {
+			return length;
+		}
+
+		public int getSets() {
+			return sets;
+		}
+	}
+
+	private ProjectSnapshot(PersistentMap<String, LoadDef> loads, PersistentMap<String, RacewayDef> raceways,
+	                        PersistentVector<CircuitDef> circuits, long version) {
+		this.loads = loads;
+		this.raceways = raceways;
+		this.circuits = circuits;
+		this.version = version;
+	}
+
+	/*
+	 Returns a snapshot with the given collections, or this snapshot if the edit did not change any of them, so edits
+	 that change nothing are not counted as versions nor recorded by ProjectHistory.
+	 */
+	private ProjectSnapshot with(PersistentMap<String, LoadDef> loads, PersistentMap<String, RacewayDef> raceways,
+	                             PersistentVector<CircuitDef> circuits) {
+		if(loads == this.loads && raceways == this.raceways && circuits == this.circuits)
+			return this;
+		return new ProjectSnapshot(loads, raceways, circuits, version + 1);
+	}
+
+	/**
+	 @return The snapshot of an empty project.
+	 */
+	public static ProjectSnapshot empty() {
+		return EMPTY;
+	}
+
+	/**
+	 @return The number of edits that led to this snapshot from the empty one.
+	 */
+	public long getVersion() {
+		return version;
+	}
+
+	/**
+	 @param name The name of the load. Cannot be null.
+	 @param load The load. Cannot be null.
+	 @return A snapshot with the given load added, or replaced if one with the same name exists, or this snapshot if
+	 it already has that load object with that name.
+	 */
+	public ProjectSnapshot putLoad(@NotNull String name, @NotNull LoadDef load) {
+		return with(loads.put(name, load), raceways, circuits);
+	}
+
+	/**
+	 @param name The name of the load. Cannot be null.
+	 @return A snapshot without the given load, or this snapshot if it has no load with that name.
+	 */
+	public ProjectSnapshot removeLoad(@NotNull String name) {
+		return with(loads.remove(name), raceways, circuits);
+	}
+
+	/**
+	 @param name The name of the raceway. Cannot be null.
+	 @param raceway The raceway. Cannot be null.
+	 @return A snapshot with the given raceway added, or replaced if one with the same name exists, or this snapshot
+	 if it already has that raceway object with that name.
+	 */
+	public ProjectSnapshot putRaceway(@NotNull String name, @NotNull RacewayDef raceway) {
+		return with(loads, raceways.put(name, raceway), circuits);
+	}
+
+	/**
+	 @param name The name of the raceway. Cannot be null.
+	 @return A snapshot without the given raceway, or this snapshot if it has no raceway with that name.
+	 */
+	public ProjectSnapshot removeRaceway(@NotNull String name) {
+		return with(loads, raceways.remove(name), circuits);
+	}
+
+	/**
+	 @param circuit The circuit. Cannot be null.
+	 @return A snapshot with the given circuit added after the last one.
+	 */
+	public ProjectSnapshot addCircuit(@NotNull CircuitDef circuit) {
+		if(circuit == null)
+			throw new IllegalArgumentException("Circuit cannot be null.");
+		return with(loads, raceways, circuits.append(circuit));
+	}
+
+	/**
+	 @param index The index of the circuit, in the range [0, circuit count).
+	 @param circuit The new circuit. Cannot be null.
+	 @return A snapshot with the circuit at the given index replaced, or this snapshot if that circuit object is
+	 already at the given index.
+	 */
+	public ProjectSnapshot setCircuit(int index, @NotNull CircuitDef circuit) {
+		if(circuit == null)
+			throw new IllegalArgumentException("Circuit cannot be null.");
+		if(circuits.get(index) == circuit)
+			return this;
+		return with(loads, raceways, circuits.set(index, circuit));
+	}
+
+	/**
+	 @return A snapshot without the last circuit.
+	 @throws IllegalStateException If there are no circuits.
+	 */
+	public ProjectSnapshot removeLastCircuit() {
+		return with(loads, raceways, circuits.removeLast());
+	}
+
+	/**
+	 Removes a circuit, moving the next ones one position back. Unlike the other edits, this one takes O(n) time,
+	 where n is the number of circuits after the given one.
+	 @param index The index of the circuit, in the range [0, circuit count).
+	 @return A snapshot without the circuit at the given index.
+	 */
+	public ProjectSnapshot removeCircuit(int index) {
+		if(index < 0 || index >= circuits.size())
+			throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + circuits.size());
+		PersistentVector<CircuitDef> result = circuits;
+		for(int i = index; i < circuits.size() - 1; i++)
+			result = result.set(i, circuits.get(i + 1));
+		return with(loads, raceways, result.removeLast());
+	}
+
+	/**
+	 @param name The name of the load. Cannot be null.
+	 @return The load with the given name, or null if there is none.
+	 */
+	public @Nullable LoadDef getLoad(@NotNull String name) {
+		return loads.get(name);
+	}
+
+	/**
+	 @param name The name of the raceway. Cannot be null.
+	 @return The raceway with the given name, or null if there is none.
+	 */
+	public @Nullable RacewayDef getRaceway(@NotNull String name) {
+		return raceways.get(name);
+	}
+
+	/**
+	 @param index The index of the circuit, in the range [0, circuit count).
+	 @return The circuit at the given index.
+	 */
+	public CircuitDef getCircuit(int index) {
+		return circuits.get(index);
+	}
+
+	public int getCircuitCount() {
+		return circuits.size();
+	}
+
+	/**
+	 @return A new list with the names of the loads, in no particular order.
+	 */
+	public List<String> getLoadNames() {
+		return loads.keys();
+	}
+
+	/**
+	 @return A new list with the names of the raceways, in no particular order.
+	 */
+	public List<String> getRacewayNames() {
+		return raceways.keys();
+	}
+
+	/**
+	 @param index The index of the circuit, in the range [0, circuit count).
+	 @return A new builder of the {@link CircuitAll} defined by the circuit at the given index. Its length is not
+	 part of the builder (see {@link CircuitAll#setLength(double)}).
+	 @throws IllegalArgumentException If the load or the raceway of the circuit are not in this snapshot.
+	 */
+	public CircuitAll.Builder toBuilder(int index) {
+		CircuitDef circuit = circuits.get(index);
+		LoadDef load = loads.get(circuit.load);
+		if(load == null)
+			throw new IllegalArgumentException("Unknown load " + circuit.load + " in circuit " + index + ".");
+		CircuitAll.Builder builder = new CircuitAll.Builder(load.toLoad()).numberOfSets(circuit.sets);
+		if(circuit.raceway != null) {
+			RacewayDef raceway = raceways.get(circuit.raceway);
+			if(raceway == null)
+				throw new IllegalArgumentException("Unknown raceway " + circuit.raceway + " in circuit " + index +
+						".");
+			builder.privateConduitType(raceway.type).ambientTemperatureF(raceway.ambientTemperatureF);
+		}
+		return builder;
+	}
+
+	/**
+	 Sizes the circuit at the given index. This snapshot is not modified, so it can be sized by several threads at
+	 the same time while the project is edited.
+	 @param index The index of the circuit, in the range [0, circuit count).
+	 @param circuitSizing The object sizing the circuit. Cannot be null.
+	 @return The results of the circuit.
+	 @throws IllegalArgumentException If the load or the raceway of the circuit are not in this snapshot.
+	 */
+	public CircuitSizing.Result size(int index, @NotNull CircuitSizing circuitSizing) {
+		if(circuitSizing == null)
+			throw new IllegalArgumentException("Circuit sizing cannot be null.");
+		return circuitSizing.size(toBuilder(index), circuits.get(index).length);
+	}
+
+	/**
+	 Sizes all the circuits of this snapshot.
+	 @param circuitSizing The object sizing the circuits. Cannot be null.
+	 @return The results of the circuits, in order.
+	 @throws IllegalArgumentException If the load or the raceway of a circuit are not in this snapshot.
+	 */
+	public List<CircuitSizing.Result> sizeAll(@NotNull CircuitSizing circuitSizing) {
+		List<CircuitSizing.Result> results = new ArrayList<>(circuits.size());
+		for(int i = 0; i < circuits.size(); i++)
+			results.add(size(i, circuitSizing));
+		return results;
+	}
+}
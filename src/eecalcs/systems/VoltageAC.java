@@ -2,9 +2,8 @@ package eecalcs.systems;
 
 import org.jetbrains.annotations.NotNull;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Objects;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  Class to represent standards source voltages. Each voltageAC object consist of two voltages: the standalone voltage,
@@ -74,56 +73,56 @@ public class VoltageAC {
 
 	private static final double k3 = Math.sqrt(3);
 
-	private static String[] names;
-	private static VoltageAC[] values;
-	private static final List<VoltageAC> voltACList = new ArrayList<>();
+	/**The registry of all the instances of this class. It's replaced as a whole (copy-on-write) every time a new
+	 instance is registered, so it can be read without locking.*/
+	private static final AtomicReference<Registry> registry = new AtomicReference<>(Registry.EMPTY);
 
 	//Classic voltages defined in NEC 220.5(A)																			//neutral is CCC
-	public static final VoltageAC v120_1ph_2w = new VoltageAC("120V 1Ø 2W", 120, 1, 1, 1, WindingType.C);//yes
+	public static final VoltageAC v120_1ph_2w = register(new VoltageAC("120V 1Ø 2W", 120, 1, 1, 1, WindingType.C));//yes
 
-	public static final VoltageAC v208_1ph_2w = new VoltageAC("208V 1Ø 2W", 208, 1, 2,0, WindingType.D);//no neutral
-	public static final VoltageAC v208_1ph_2wN = new VoltageAC("208V 1Ø 2W High leg", 208, 1, 1, 1, WindingType.C);//yes
-	public static final VoltageAC v208_1ph_3w = new VoltageAC("208/120V 1Ø 3W", 208, 1, 2,1, WindingType.Y);//yes
-	public static final VoltageAC v208_3ph_3w = new VoltageAC("208V 3Ø 3W", 208, 3, 3,0, WindingType.D);//no neutral
-	public static final VoltageAC v208_3ph_4w = new VoltageAC("208/120V 3Ø 4W", 208, 3, 3,1, WindingType.Y);
+	public static final VoltageAC v208_1ph_2w = register(new VoltageAC("208V 1Ø 2W", 208, 1, 2,0, WindingType.D));//no neutral
+	public static final VoltageAC v208_1ph_2wN = register(new VoltageAC("208V 1Ø 2W High leg", 208, 1, 1, 1, WindingType.C));//yes
+	public static final VoltageAC v208_1ph_3w = register(new VoltageAC("208/120V 1Ø 3W", 208, 1, 2,1, WindingType.Y));//yes
+	public static final VoltageAC v208_3ph_3w = register(new VoltageAC("208V 3Ø 3W", 208, 3, 3,0, WindingType.D));//no neutral
+	public static final VoltageAC v208_3ph_4w = register(new VoltageAC("208/120V 3Ø 4W", 208, 3, 3,1, WindingType.Y));
 	//no, except load's harmonics>50%
 
-	public static final VoltageAC v240_1ph_2w = new VoltageAC("240V 1Ø 2W", 240, 1, 2,0, WindingType.D);//no neutral
-	public static final VoltageAC v240_1ph_3w = new VoltageAC("240/120V 1Ø 3W", 240, 1, 2,1, WindingType.E);//no,
+	public static final VoltageAC v240_1ph_2w = register(new VoltageAC("240V 1Ø 2W", 240, 1, 2,0, WindingType.D));//no neutral
+	public static final VoltageAC v240_1ph_3w = register(new VoltageAC("240/120V 1Ø 3W", 240, 1, 2,1, WindingType.E));//no,
 	// except harmonics >50%
-	public static final VoltageAC v240_3ph_3w = new VoltageAC("240V 3Ø 3W", 240, 3, 3,0, WindingType.D);//no neutral
-	public static final VoltageAC v240_3ph_4w = new VoltageAC("240/120V 3Ø 4W", 240, 3, 3,1, WindingType.D);
+	public static final VoltageAC v240_3ph_3w = register(new VoltageAC("240V 3Ø 3W", 240, 3, 3,0, WindingType.D));//no neutral
+	public static final VoltageAC v240_3ph_4w = register(new VoltageAC("240/120V 3Ø 4W", 240, 3, 3,1, WindingType.D));
 	//no, except load's harmonics>50%
 
-	public static final VoltageAC v277_1ph_2w = new VoltageAC("277V 1Ø 2W", 277, 1, 1,1,WindingType.Y);//yes
-	public static final VoltageAC v480_1ph_2w = new VoltageAC("480V 1Ø 2W", 480, 1, 2,0, WindingType.D);//no neutral
-	public static final VoltageAC v480_1ph_3w = new VoltageAC("480V 1Ø 3W", 480, 1, 2,1, WindingType.Y);//yes
-	public static final VoltageAC v480_3ph_3w = new VoltageAC("480V 3Ø 3W", 480, 3, 3,0, WindingType.D);//no neutral
-	public static final VoltageAC v480_3ph_4w = new VoltageAC("480V 3Ø 4W", 480, 3, 3,1, WindingType.Y);
+	public static final VoltageAC v277_1ph_2w = register(new VoltageAC("277V 1Ø 2W", 277, 1, 1,1,WindingType.Y));//yes
+	public static final VoltageAC v480_1ph_2w = register(new VoltageAC("480V 1Ø 2W", 480, 1, 2,0, WindingType.D));//no neutral
+	public static final VoltageAC v480_1ph_3w = register(new VoltageAC("480V 1Ø 3W", 480, 1, 2,1, WindingType.Y));//yes
+	public static final VoltageAC v480_3ph_3w = register(new VoltageAC("480V 3Ø 3W", 480, 3, 3,0, WindingType.D));//no neutral
+	public static final VoltageAC v480_3ph_4w = register(new VoltageAC("480V 3Ø 4W", 480, 3, 3,1, WindingType.Y));
 	//no, except load's harmonics>50%
 
-	public static final VoltageAC v347_1ph_2w = new VoltageAC("347V 1Ø 2W", 347, 1, 1,1, WindingType.Y);//yes
-	public static final VoltageAC v600_1ph_2w = new VoltageAC("600V 1Ø 2W", 600, 1, 2,0, WindingType.D);//no neutral
-	public static final VoltageAC v600_1ph_3w = new VoltageAC("600V 1Ø 3W", 600, 1, 2,1, WindingType.Y);//yes
-	public static final VoltageAC v600_3ph_3w = new VoltageAC("600V 3Ø 3W", 600, 3, 3,0, WindingType.D);//no neutral
-	public static final VoltageAC v600_3ph_4w = new VoltageAC("600V 3Ø 4W", 600, 3, 3,1, WindingType.Y);
+	public static final VoltageAC v347_1ph_2w = register(new VoltageAC("347V 1Ø 2W", 347, 1, 1,1, WindingType.Y));//yes
+	public static final VoltageAC v600_1ph_2w = register(new VoltageAC("600V 1Ø 2W", 600, 1, 2,0, WindingType.D));//no neutral
+	public static final VoltageAC v600_1ph_3w = register(new VoltageAC("600V 1Ø 3W", 600, 1, 2,1, WindingType.Y));//yes
+	public static final VoltageAC v600_3ph_3w = register(new VoltageAC("600V 3Ø 3W", 600, 3, 3,0, WindingType.D));//no neutral
+	public static final VoltageAC v600_3ph_4w = register(new VoltageAC("600V 3Ø 4W", 600, 3, 3,1, WindingType.Y));
 	//no, except load's harmonics>50%
 
 	//other voltages, used for motors
-	public static final VoltageAC v115_1ph_2w = new VoltageAC("115V 1Ø 2W", 115, 1, 1, 1, WindingType.C);//yes
-	public static final VoltageAC v115_3ph_3w = new VoltageAC("115V 1Ø 2W", 115, 3, 3, 0, WindingType.D);//no neutral
+	public static final VoltageAC v115_1ph_2w = register(new VoltageAC("115V 1Ø 2W", 115, 1, 1, 1, WindingType.C));//yes
+	public static final VoltageAC v115_3ph_3w = register(new VoltageAC("115V 1Ø 2W", 115, 3, 3, 0, WindingType.D));//no neutral
 
-	public static final VoltageAC v200_1ph_2w = new VoltageAC("200V 1Ø 2W", 200, 1, 2,0, WindingType.D);//no neutral
-	public static final VoltageAC v200_3ph_3w = new VoltageAC("200V 3Ø 3W", 200, 3, 3,0, WindingType.D);//no neutral
+	public static final VoltageAC v200_1ph_2w = register(new VoltageAC("200V 1Ø 2W", 200, 1, 2,0, WindingType.D));//no neutral
+	public static final VoltageAC v200_3ph_3w = register(new VoltageAC("200V 3Ø 3W", 200, 3, 3,0, WindingType.D));//no neutral
 
-	public static final VoltageAC v230_1ph_2w = new VoltageAC("230V 1Ø 2W", 230, 1, 2,0, WindingType.D);//no neutral
-	public static final VoltageAC v230_3ph_3w = new VoltageAC("230V 3Ø 3W", 230, 3, 3,0, WindingType.D);//no neutral
+	public static final VoltageAC v230_1ph_2w = register(new VoltageAC("230V 1Ø 2W", 230, 1, 2,0, WindingType.D));//no neutral
+	public static final VoltageAC v230_3ph_3w = register(new VoltageAC("230V 3Ø 3W", 230, 3, 3,0, WindingType.D));//no neutral
 
-	public static final VoltageAC v460_1ph_2w = new VoltageAC("460V 1Ø 2W", 460, 1, 2,0, WindingType.D);//no neutral
-	public static final VoltageAC v460_3ph_3w = new VoltageAC("460V 3Ø 3W", 460, 3, 3,0, WindingType.D);//no neutral
-	public static final VoltageAC v575_3ph_3w = new VoltageAC("575V 3Ø 3W", 575, 3, 3,0, WindingType.D);//no neutral
+	public static final VoltageAC v460_1ph_2w = register(new VoltageAC("460V 1Ø 2W", 460, 1, 2,0, WindingType.D));//no neutral
+	public static final VoltageAC v460_3ph_3w = register(new VoltageAC("460V 3Ø 3W", 460, 3, 3,0, WindingType.D));//no neutral
+	public static final VoltageAC v575_3ph_3w = register(new VoltageAC("575V 3Ø 3W", 575, 3, 3,0, WindingType.D));//no neutral
 
-	VoltageAC(String name, int voltage, int phases, int hots, int neutrals, WindingType windingType) {
+	private VoltageAC(String name, int voltage, int phases, int hots, int neutrals, WindingType windingType) {
 		this.name = name;
 		this.voltage = voltage;
 		this.phases = phases;
@@ -131,7 +130,30 @@ public class VoltageAC {
 		this.hots = hots;
 		this.neutrals = neutrals;
 		this.windingType = windingType;
-		voltACList.add(this);
+	}
+
+	/**
+	 Registers the given voltage source, unless an instance with the same voltage, phases, hots and neutrals is
+	 already registered.
+	 @return The registered instance, which is the given one or the existing one.
+	 */
+	private static VoltageAC register(VoltageAC candidate) {
+		long key = key(candidate.voltage, candidate.phases, candidate.hots, candidate.neutrals);
+		while (true) {
+			Registry current = registry.get();
+			VoltageAC existing = current.find(key);
+			if (existing != null)
+				return existing;
+			if (registry.compareAndSet(current, current.with(key, candidate)))
+				return candidate;
+		}
+	}
+
+	/**
+	 Returns the key identifying a voltage source in the registry.
+	 */
+	private static long key(int voltage, int phases, int hots, int neutrals) {
+		return ((long) voltage << 32) | (phases << 16) | (hots << 8) | neutrals;
 	}
 
 	/**
@@ -149,21 +171,18 @@ public class VoltageAC {
 	                                        @NotNull WindingType windingType){
 		if(name == null || voltage <= 0 || !(phases == 1 || phases == 3) || (hots < 1 || hots > 3) || !(neutrals == 0 || neutrals == 1))
 			throw new IllegalArgumentException();
-		for(VoltageAC vac: voltACList) {
-			if (vac.voltage == voltage && vac.phases == phases && vac.hots == hots && vac.neutrals == neutrals)
-				return vac;
-		}
-		return new VoltageAC(name, voltage, phases, hots, neutrals, windingType);
+		VoltageAC existing = registry.get().find(key(voltage, phases, hots, neutrals));
+		if (existing != null)
+			return existing;
+		return register(new VoltageAC(name, voltage, phases, hots, neutrals, windingType));
 	}
 
 	/**
 	 * @return An array of instances created for this class. It includes the standard voltages created statically and
-	 * the ones created dynamically.
+	 * the ones created dynamically, in the order they were created.
 	 */
 	public static VoltageAC[] values(){
-		if (values.length != voltACList.size())
-			values = voltACList.toArray(new VoltageAC[0]);
-		return values;
+		return registry.get().values.clone();
 	}
 
 	/**
@@ -179,15 +198,7 @@ public class VoltageAC {
 	 @return An array of strings
 	 */
 	public static String[] getNames() {
-		if (names == null || names.length != voltACList.size()) {
-			names = new String[voltACList.size()];
-			int i = 0;
-			for (VoltageAC vac: voltACList) {
-				names[i] = vac.name;
-				i++;
-			}
-		}
-		return names;
+		return registry.get().names.clone();
 	}
 
 	/**
@@ -286,6 +297,13 @@ public class VoltageAC {
 		return !nonCC;
 	}
 
+	/**
+	 @return The type of winding sourcing this voltage. See {@link WindingType}.
+	 */
+	public WindingType getWindingType() {
+		return windingType;
+	}
+
 	public int getVoltageToNeutral() {
 		if (!hasNeutral())
 			throw new IllegalStateException(DOES_NOT_HAVE_A_NEUTRAL_CONDUCTOR);
@@ -304,28 +322,75 @@ public class VoltageAC {
 		return "VoltAC{" + "name='" + name + '\'' + ", voltage=" + voltage + ", phases=" + phases + ", wires=" + wires + ", hots=" + hots + ", neutrals=" + neutrals + '}';
 	}
 
+	/**
+	 Instances of this class are interned: there is only one instance for each combination of voltage, phases, hots
+	 and neutrals (see {@link #custom(String, int, int, int, int, WindingType)}). Hence, two voltage sources are
+	 equal only if they are the same object.
+	 */
 	@Override
 	public boolean equals(Object o) {
-		if (this == o)
-			return true;
-		if (o == null || getClass() != o.getClass())
-			return false;
-
-		VoltageAC voltAC = (VoltageAC) o;
-
-		if (voltage != voltAC.voltage)
-			return false;
-		if (phases != voltAC.phases)
-			return false;
-		if (wires != voltAC.wires)
-			return false;
-		if (hots != voltAC.hots)
-			return false;
-		if (neutrals != voltAC.neutrals)
-			return false;
-		if (windingType != voltAC.windingType)
-			return false;
-		return Objects.equals(name, voltAC.name);
+		return this == o;
+	}
+
+	@Override
+	public int hashCode() {
+		return Long.hashCode(key(voltage, phases, hots, neutrals));
 	}
 
+	/*
+	 Immutable snapshot of the registered instances, with an open addressing hash index over their keys.
+	 */
+	private static final class Registry {
+		private static final Registry EMPTY = new Registry(new VoltageAC[0], new String[0], new long[16],
+				new VoltageAC[16]);
+		private final VoltageAC[] values;
+		private final String[] names;
+		private final long[] keys;
+		private final VoltageAC[] slots;
+
+		private Registry(VoltageAC[] values, String[] names, long[] keys, VoltageAC[] slots) {
+			this.values = values;
+			this.names = names;
+			this.keys = keys;
+			this.slots = slots;
+		}
+
+		private VoltageAC find(long key) {
+			int mask = slots.length - 1;
+			for (int i = slot(key, mask); slots[i] != null; i = (i + 1) & mask)
+				if (keys[i] == key)
+					return slots[i];
+			return null;
+		}
+
+		/*
+		 Returns a new registry containing the instances of this one plus the given one.
+		 */
+		private Registry with(long key, VoltageAC voltageAC) {
+			int count = values.length + 1;
+			VoltageAC[] newValues = Arrays.copyOf(values, count);
+			newValues[count - 1] = voltageAC;
+			String[] newNames = Arrays.copyOf(names, count);
+			newNames[count - 1] = voltageAC.name;
+			int capacity = slots.length;
+			while (capacity < 2 * count)
+				capacity *= 2;
+			long[] newKeys = new long[capacity];
+			VoltageAC[] newSlots = new VoltageAC[capacity];
+			for (VoltageAC vac : newValues) {
+				long k = key(vac.voltage, vac.phases, vac.hots, vac.neutrals);
+				int i = slot(k, capacity - 1);
+				while (newSlots[i] != null)
+					i = (i + 1) & (capacity - 1);
+				newKeys[i] = k;
+				newSlots[i] = vac;
+			}
+			return new Registry(newValues, newNames, newKeys, newSlots);
+		}
+
+		private static int slot(long key, int mask) {
+			long h = key * 0x9E3779B97F4A7C15L;
+			return (int) (h ^ (h >>> 32)) & mask;
+		}
+	}
 }
@@ -3,6 +3,7 @@ package eecalcs.voltagedrop;
 import eecalcs.conductors.ConductiveMetal;
 import eecalcs.conductors.ConductorProperties;
 import eecalcs.conductors.Size;
+import eecalcs.conductors.TempRating;
 import eecalcs.conduits.OuterMaterial;
 import eecalcs.loads.Load;
 import eecalcs.loads.PowerFactorType;
@@ -11,6 +12,8 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import tools.Helper;
 
+import java.util.function.ToDoubleFunction;
+
 /**
  Class that provides methods for several calculations related to the line-to-line voltage drop as defined by IEEE
  Std 141. It assumes the internal impedance of the voltage source is zero. The default parameters for this class are
@@ -26,7 +29,11 @@ import tools.Helper;
  <li>Conductor metal: ConductiveMetal.COPPER</li>
  <li>Conduit material: OuterMaterial.PVC</li>
  <li>Maximum voltage drop percentage: 3%</li>
+ <li>Conductor temperature: 75°C, the temperature of the resistances of NEC Chapter 9 Table 9</li>
 </ul>
+ <p>The resistance of the conductors can be corrected to a fixed operating temperature, or to the temperature
+ estimated from the load current and the ampacity of the conductors, as explained in
+ {@link ConductorProperties#estimateOperatingTemperature(double, TempRating, double, double)}.
  */
 public class VoltageDropAC implements ROVoltageDropAC {
 	public static final int DECIMAL_PRECISION = 1;
@@ -42,6 +49,12 @@ public class VoltageDropAC implements ROVoltageDropAC {
 	private OuterMaterial conduitMaterial = OuterMaterial.PVC;
 	private int numberOfSets = 1;
 	private double maxVDropPercent = 3.0;
+	/*NaN means the table resistance (75°C) is used.*/
+	private double conductorTemperature = Double.NaN;
+	/*When not null, the conductor temperature is estimated from the load current.*/
+	private TempRating estimatedTempRating = null;
+	private double ambientTemperature;
+	private double ampacityCorrectionFactor;
 
 	@Override
 	public VoltageAC getVoltageAC() {
@@ -223,22 +236,111 @@ public class VoltageDropAC implements ROVoltageDropAC {
 		return this;
 	}
 
+	/**
+	 Sets a fixed operating temperature for the conductors of this voltage drop object. The resistance of the
+	 conductors is corrected from the table temperature (75°C) to this temperature.
+	 * @param conductorTemperatureC the temperature of the conductors in degrees Celsius.
+	 * @return This VoltageDropAC object.
+	 */
+	public @NotNull VoltageDropAC setConductorTemperature(double conductorTemperatureC) {
+		this.conductorTemperature = conductorTemperatureC;
+		this.estimatedTempRating = null;
+		return this;
+	}
+
+	/**
+	 Makes this voltage drop object estimate the operating temperature of the conductors from the load current and
+	 the ampacity of each conductor size, and correct their resistance to that temperature. The ampacity is the
+	 standard ampacity for the given temperature rating multiplied by the given correction factor. This is more
+	 accurate than using the table resistance for conductors that are lightly loaded.
+	 * @param ambientTemperatureC the ambient temperature in degrees Celsius.
+	 * @param temperatureRating the temperature rating used to determine the ampacity. Cannot be null or UNKNOWN.
+	 * @param ampacityCorrectionFactor the combined ambient temperature correction and adjustment factor applied to
+	 * the standard ampacity. Must be > 0.
+	 * @return This VoltageDropAC object.
+	 */
+	public @NotNull VoltageDropAC setEstimatedConductorTemperature(double ambientTemperatureC,
+	                                                               @NotNull TempRating temperatureRating,
+	                                                               double ampacityCorrectionFactor) {
+		if(temperatureRating == null || temperatureRating == TempRating.UNKNOWN)
+			throw new IllegalArgumentException("Temperature rating cannot be null or UNKNOWN.");
+		if(ampacityCorrectionFactor <= 0)
+			throw new IllegalArgumentException("Ampacity correction factor must be > 0.");
+		if(ambientTemperatureC >= temperatureRating.getValue())
+			throw new IllegalArgumentException("Ambient temperature must be lower than the temperature rating.");
+		this.ambientTemperature = ambientTemperatureC;
+		this.estimatedTempRating = temperatureRating;
+		this.ampacityCorrectionFactor = ampacityCorrectionFactor;
+		this.conductorTemperature = Double.NaN;
+		return this;
+	}
+
+	/**
+	 Makes this voltage drop object use the resistance of NEC Chapter 9 Table 9 (75°C) without temperature
+	 correction. This is the default.
+	 * @return This VoltageDropAC object.
+	 */
+	public @NotNull VoltageDropAC useTableResistance() {
+		this.conductorTemperature = Double.NaN;
+		this.estimatedTempRating = null;
+		return this;
+	}
+
+	/**
+	 @return The temperature in degrees Celsius of the conductors of the actual size of this voltage drop object,
+	 used to correct their resistance.
+	 */
+	public double getConductorTemperature() {
+		if(estimatedTempRating != null)
+			return getEstimatedTemperature(conductorSize);
+		if(Double.isNaN(conductorTemperature))
+			return ConductorProperties.TABLE_RESISTANCE_TEMPERATURE;
+		return conductorTemperature;
+	}
+
+	/*
+	 Estimated temperature of the given conductor size. If the size has no ampacity for the rating, the conductors
+	 are assumed to run at the rating temperature.
+	 */
+	private double getEstimatedTemperature(@NotNull Size size) {
+		double ampacity = ConductorProperties.getStandardAmpacity(size, conductiveMetal, estimatedTempRating)
+				* ampacityCorrectionFactor;
+		if(ampacity <= 0)
+			return estimatedTempRating.getValue();
+		return ConductorProperties.estimateOperatingTemperature(ambientTemperature, estimatedTempRating,
+				loadCurrent / numberOfSets, ampacity);
+	}
+
+	/*
+	 Factor by which the table resistance of the given size must be multiplied.
+	 */
+	private double getResistanceFactor(@NotNull Size size) {
+		if(estimatedTempRating != null)
+			return ConductorProperties.getResistanceTemperatureFactor(conductiveMetal, getEstimatedTemperature(size));
+		if(Double.isNaN(conductorTemperature))
+			return 1;
+		return ConductorProperties.getResistanceTemperatureFactor(conductiveMetal, conductorTemperature);
+	}
+
 	@Override
 	public double getVoltageDropPercent(){
-		return getVoltageDropPercent(voltageAC.getVoltage(), voltageAC.getPhases(), loadCurrent, powerFactor,
-				powerFactorType == PowerFactorType.LAGGING, conductorSize, conductorLength, numberOfSets, conductiveMetal, conduitMaterial);
+		return voltageDropPercent(voltageAC.getVoltage(), voltageAC.getPhases(), loadCurrent, powerFactor,
+				powerFactorType == PowerFactorType.LAGGING, conductorSize, conductorLength, numberOfSets, conductiveMetal,
+				conduitMaterial, getResistanceFactor(conductorSize));
 	}
 
 	@Override
 	public @Nullable Size getMinSizeForMaxVD(){
-		return getMinSizeForMaxVD(voltageAC.getVoltage(), voltageAC.getPhases(), loadCurrent, powerFactor,
-				powerFactorType == PowerFactorType.LAGGING, maxVDropPercent, conductorLength, numberOfSets, conductiveMetal, conduitMaterial);
+		return minSizeForMaxVD(voltageAC.getVoltage(), voltageAC.getPhases(), loadCurrent, powerFactor,
+				powerFactorType == PowerFactorType.LAGGING, maxVDropPercent, conductorLength, numberOfSets, conductiveMetal,
+				conduitMaterial, this::getResistanceFactor);
 	}
 
 	@Override
 	public double getMaxLengthForVD(){
-		return getMaxLengthForVD(voltageAC.getVoltage(), voltageAC.getPhases(), loadCurrent, powerFactor,
-				powerFactorType == PowerFactorType.LAGGING, conductorSize, maxVDropPercent, numberOfSets, conductiveMetal, conduitMaterial);
+		return maxLengthForVD(voltageAC.getVoltage(), voltageAC.getPhases(), loadCurrent, powerFactor,
+				powerFactorType == PowerFactorType.LAGGING, conductorSize, maxVDropPercent, numberOfSets, conductiveMetal,
+				conduitMaterial, getResistanceFactor(conductorSize));
 	}
 
 	public VoltageDropAC increaseNumberOfSets() {
@@ -280,6 +382,51 @@ public class VoltageDropAC implements ROVoltageDropAC {
 	public static double getVoltageDropPercent(double voltage, int phases, double current, double pf,
 	                                           boolean lagging, @NotNull Size size, double length, int sets,
 	                                           @NotNull ConductiveMetal conductiveMetal, @Nullable OuterMaterial conduitMaterial) {
+		return voltageDropPercent(voltage, phases, current, pf, lagging, size, length, sets, conductiveMetal,
+				conduitMaterial, 1);
+	}
+
+	/**
+	 Calculates the line-to-line voltage drop as defined by IEEE Std 141, with the resistance of the conductors
+	 corrected to the given temperature. It assumes the internal impedance of the voltage source is zero.
+	 * @param voltage The source voltage in volts. Must be > 0.
+	 * @param phases Number of phases of the voltage. Must be either 1 or 3.
+	 * @param current The load current in amperes. Must be >= 0.
+	 * @param pf The power factor of the load. Must be in the range of [0, 1].
+	 * @param lagging True: indicates that the power factor is lagging. False: indicates that the power factor is
+	 * leading.
+	 * @param size The size of the conductor as defined in {@link Size}. Cannot be null.
+	 * @param length The oneway length of the circuit measured from the source of voltage to the load terminals, in
+	 * feet. Must be > 0.
+	 * @param sets the number of sets. Must be an integer > 0.
+	 * @param conductiveMetal The conductive conductiveMetal of the conductor, as defined in {@link ConductiveMetal}. Cannot be null.
+	 * @param conduitMaterial The conduitMaterial of the conduit containing the conductor, as defined in {@link OuterMaterial}. Use
+	 * null if the conductor is in free air or bundled.
+	 * @param conductorTemperatureC The operating temperature of the conductors, in degrees Celsius. See
+	 * {@link ConductorProperties#getResistanceTemperatureFactor(ConductiveMetal, double)}.
+	 * @return The AC voltage drop expressed in percent of the voltage source. The current is always assumed to flow
+	 * from the positive terminal of voltage source towards the load. The voltage at the load is assumed to be positive
+	 * at the point where the current enters.
+	 * If the given current is too high, or if the given length too large (resulting in a high impedance), or both,
+	 * it is possible to obtain a condition where the load behaves as a source of voltage with reversed polarity. In
+	 * such a case, the result is CURRENT_OR_IMPEDANCE_TOO_HIGH (-1.0), indicating that the given parameters are
+	 * ill-conditioned, hence the calculation is not possible.
+	 */
+	public static double getVoltageDropPercent(double voltage, int phases, double current, double pf,
+	                                           boolean lagging, @NotNull Size size, double length, int sets,
+	                                           @NotNull ConductiveMetal conductiveMetal, @Nullable OuterMaterial conduitMaterial,
+	                                           double conductorTemperatureC) {
+		return voltageDropPercent(voltage, phases, current, pf, lagging, size, length, sets, conductiveMetal,
+				conduitMaterial, ConductorProperties.getResistanceTemperatureFactor(conductiveMetal, conductorTemperatureC));
+	}
+
+	/*
+	 The voltage drop with the resistance of the conductors multiplied by the given factor.
+	 */
+	private static double voltageDropPercent(double voltage, int phases, double current, double pf,
+	                                         boolean lagging, @NotNull Size size, double length, int sets,
+	                                         @NotNull ConductiveMetal conductiveMetal, @Nullable OuterMaterial conduitMaterial,
+	                                         double resistanceFactor) {
 		if(voltage <=0)
 			throw new IllegalArgumentException("Voltage must be > 0");
 		if( phases != 1 && phases != 3 )
@@ -296,7 +443,8 @@ public class VoltageDropAC implements ROVoltageDropAC {
 		double k = phases == 1? 2 : SQRT3;
 		if (conduitMaterial == null)
 			conduitMaterial = OuterMaterial.PVC;
-		double totalR = ConductorProperties.getACResistance(size, conductiveMetal, conduitMaterial, length, sets);
+		double totalR = ConductorProperties.getACResistance(size, conductiveMetal, conduitMaterial, length, sets) *
+				resistanceFactor;
 		double totalX = ConductorProperties.getReactance(size, conduitMaterial.isMagnetic(), length,
 				sets);
 		double currentAngleBeta = lagging? - Math.acos(pf) : Math.acos(pf);
@@ -336,10 +484,56 @@ public class VoltageDropAC implements ROVoltageDropAC {
 	public static @Nullable Size getMinSizeForMaxVD(double voltage, int phases, double current, double pf,
 	                                                boolean lagging, double maxVDropPercent, double length, int sets,
 	                                                @NotNull ConductiveMetal conductiveMetal, @Nullable OuterMaterial conduitMaterial) {
+		return minSizeForMaxVD(voltage, phases, current, pf, lagging, maxVDropPercent, length, sets, conductiveMetal,
+				conduitMaterial, size -> 1);
+	}
+
+	/**
+	 Calculates the minimum conductor size having the given characteristics and used under the given conditions,
+	 whose voltage drop, with the resistance of the conductors corrected to the given temperature, is equal or less
+	 than the given line-to-line voltage drop percentage.
+	 * @param voltage The source voltage in volts. Must be > 0.
+	 * @param phases Number of phases of the voltage. Must be either 1 or 3.
+	 * @param current The load current in amperes. Must be >= 0.
+	 * @param pf The power factor of the load. Must be in the range of [0, 1].
+	 * @param lagging True: indicates that the power factor is lagging. False: indicates that the power factor is
+	 * leading.
+	 * @param maxVDropPercent The maximum line-to-line voltage drop percent permitted. Must be in the range of (0,100].
+	 * @param length The oneway length of the circuit measured from the source of voltage to the load terminals, in
+	 * feet. Must be > 0.
+	 * @param sets the number of sets. Must be an integer > 0.
+	 * @param conductiveMetal The conductive conductiveMetal of the conductor, as defined in {@link ConductiveMetal}. Cannot be null.
+	 * @param conduitMaterial The conduitMaterial of the conduit containing the conductor, as defined in {@link OuterMaterial}. Use
+	 * null if the conductor is in free air or bundled.
+	 * @param conductorTemperatureC The operating temperature of the conductors, in degrees Celsius. See
+	 * {@link ConductorProperties#getResistanceTemperatureFactor(ConductiveMetal, double)}.
+	 * @return The minimum conductor size under the given conditions. If the given current is too high, or the
+	 * given length too large, or both, it is possible that not even the biggest conductor size can achieve a
+	 * line-to-line voltage drop percent that is equal or less than the given one. In such a case, the result is null,
+	 * indicating that the given parameters are ill-conditioned, hence the calculation is not valid.
+	 */
+	public static @Nullable Size getMinSizeForMaxVD(double voltage, int phases, double current, double pf,
+	                                                boolean lagging, double maxVDropPercent, double length, int sets,
+	                                                @NotNull ConductiveMetal conductiveMetal, @Nullable OuterMaterial conduitMaterial,
+	                                                double conductorTemperatureC) {
+		double resistanceFactor = ConductorProperties.getResistanceTemperatureFactor(conductiveMetal,
+				conductorTemperatureC);
+		return minSizeForMaxVD(voltage, phases, current, pf, lagging, maxVDropPercent, length, sets, conductiveMetal,
+				conduitMaterial, size -> resistanceFactor);
+	}
+
+	/*
+	 The minimum size with the resistance of each size multiplied by the given factor.
+	 */
+	private static @Nullable Size minSizeForMaxVD(double voltage, int phases, double current, double pf,
+	                                              boolean lagging, double maxVDropPercent, double length, int sets,
+	                                              @NotNull ConductiveMetal conductiveMetal, @Nullable OuterMaterial conduitMaterial,
+	                                              ToDoubleFunction<Size> resistanceFactor) {
 		if(maxVDropPercent <= 0 || maxVDropPercent > 100)
 			throw new IllegalArgumentException("Maximum voltage drop percent must be in the range of (0, 100]");
 		for (Size size : Size.values()) {
-			double vDrop = getVoltageDropPercent(voltage, phases, current, pf, lagging, size, length, sets, conductiveMetal, conduitMaterial);
+			double vDrop = voltageDropPercent(voltage, phases, current, pf, lagging, size, length, sets, conductiveMetal,
+					conduitMaterial, resistanceFactor.applyAsDouble(size));
 			if (vDrop == CURRENT_OR_IMPEDANCE_TOO_HIGH)
 				continue;
 			vDrop = Helper.round(vDrop, DECIMAL_PRECISION);
@@ -370,6 +564,45 @@ public class VoltageDropAC implements ROVoltageDropAC {
 	public static double getMaxLengthForVD(double voltage, int phases, double current, double pf,
 	                                       boolean lagging, @NotNull Size size, double maxVDropPercent, int sets,
 	                                       @NotNull ConductiveMetal conductiveMetal, @Nullable OuterMaterial conduitMaterial) {
+		return maxLengthForVD(voltage, phases, current, pf, lagging, size, maxVDropPercent, sets, conductiveMetal,
+				conduitMaterial, 1);
+	}
+
+	/**
+	 Calculates the maximum length of the given conductor size, conduitMaterial and conditions, for the given voltage
+	 drop percentage, with the resistance of the conductors corrected to the given temperature.
+	 * @param voltage The source voltage in volts. Must be > 0.
+	 * @param phases Number of phases of the voltage. Must be either 1 or 3.
+	 * @param current The load current in amperes. Must be >= 0.
+	 * @param pf The power factor of the load. Must be in the range of [0, 1].
+	 * @param lagging True: indicates that the power factor is lagging. False: indicates that the power factor is
+	 * leading.
+	 * @param size The size of the conductor as defined in {@link Size}. Cannot be null.
+	 * @param maxVDropPercent The maximum line-to-line voltage drop percent permitted. Must be in the range of (0,100].
+	 * @param sets the number of sets. Must be an integer > 0.
+	 * @param conductiveMetal The conductive conductiveMetal of the conductor, as defined in {@link ConductiveMetal}. Cannot be null.
+	 * @param conduitMaterial The conduitMaterial of the conduit containing the conductor, as defined in {@link OuterMaterial}. Use
+	 * null if the conductor is in free air or bundled.
+	 * @param conductorTemperatureC The operating temperature of the conductors, in degrees Celsius. See
+	 * {@link ConductorProperties#getResistanceTemperatureFactor(ConductiveMetal, double)}.
+	 * @return The maximum one-way length in feet of the given conductor that would have a line-to-line voltage drop as
+	 * the given one.
+	 */
+	public static double getMaxLengthForVD(double voltage, int phases, double current, double pf,
+	                                       boolean lagging, @NotNull Size size, double maxVDropPercent, int sets,
+	                                       @NotNull ConductiveMetal conductiveMetal, @Nullable OuterMaterial conduitMaterial,
+	                                       double conductorTemperatureC) {
+		return maxLengthForVD(voltage, phases, current, pf, lagging, size, maxVDropPercent, sets, conductiveMetal,
+				conduitMaterial, ConductorProperties.getResistanceTemperatureFactor(conductiveMetal, conductorTemperatureC));
+	}
+
+	/*
+	 The maximum length with the resistance of the conductors multiplied by the given factor.
+	 */
+	private static double maxLengthForVD(double voltage, int phases, double current, double pf,
+	                                     boolean lagging, @NotNull Size size, double maxVDropPercent, int sets,
+	                                     @NotNull ConductiveMetal conductiveMetal, @Nullable OuterMaterial conduitMaterial,
+	                                     double resistanceFactor) {
 		if(voltage <=0)
 			throw new IllegalArgumentException("Voltage must be > 0");
 		if( phases != 1 && phases != 3 )
@@ -386,7 +619,8 @@ public class VoltageDropAC implements ROVoltageDropAC {
 		double k = phases == 1? 2 : SQRT3;
 		double VDropLN = maxVDropPercent / (k * 100);
 		double VLL = voltage * (1-VDropLN);
-		double R_per1000FT = ConductorProperties.getACResistance(size, conductiveMetal, conduitMaterial)/sets;
+		double R_per1000FT = ConductorProperties.getACResistance(size, conductiveMetal, conduitMaterial) *
+				resistanceFactor / sets;
 		double X_per1000FT = ConductorProperties.getReactance(size, conduitMaterial.isMagnetic())/sets;
 		double currentAngleBeta = lagging? - Math.acos(pf) : Math.acos(pf);
 		double A = current * current * (R_per1000FT * R_per1000FT + X_per1000FT * X_per1000FT);
@@ -39,6 +39,27 @@ public abstract class VoltageDropDC {
 		return 100 * current * totalR / voltage;
 	}
 
+	/**
+	 Calculates the DC voltage drop for a circuit, with the resistance of the conductors corrected to the given
+	 temperature. It assumes the internal impedance of the DC voltage source is zero.
+	 * @param voltage The source voltage in volts. Must be > 0.
+	 * @param current The load current in amperes. Must be >= 0.
+	 * @param size The size of the conductor as defined in {@link Size}. Cannot be null.
+	 * @param length The oneway length of the circuit measured from the source of voltage to the load terminals, in
+	 * feet. Must be > 0.
+	 * @param sets the number of sets. Must be an integer > 0.
+	 * @param conductiveMetal The conductive conductiveMetal of the conductor, as defined in {@link ConductiveMetal}. Cannot be null.
+	 * @param conductorTemperatureC The operating temperature of the conductors, in degrees Celsius. See
+	 * {@link ConductorProperties#estimateOperatingTemperature}.
+	 * @return The DC voltage drop expressed in percent of the voltage source, as explained in
+	 * {@link #getVoltageDropPercent(double, double, Size, double, int, ConductiveMetal)}.
+	 */
+	public static double getVoltageDropPercent(double voltage, double current, @NotNull Size size, double length, int sets,
+	                                           @NotNull ConductiveMetal conductiveMetal, double conductorTemperatureC) {
+		return getVoltageDropPercent(voltage, current, size, length, sets, conductiveMetal) *
+				ConductorProperties.getResistanceTemperatureFactor(conductiveMetal, conductorTemperatureC);
+	}
+
 	/**
 	 Calculates the minimum conductor size having the given characteristics and used under the given conditions,
 	 whose voltage drop is equal or less than the given voltage drop percentage.
@@ -91,4 +112,24 @@ public abstract class VoltageDropDC {
 		double R_per1000FT = ConductorProperties.getDCResistance(size, conductiveMetal);
 		return 1000 * sets * (voltage - VLoad) / (2 * current * R_per1000FT);
 	}
+
+	/**
+	 Calculates the maximum length of the given conductor size, material and conditions, for the given voltage
+	 drop percentage, with the resistance of the conductors corrected to the given temperature.
+	 * @param voltage The source voltage in volts. Must be > 0.
+	 * @param current The load current in amperes. Must be >= 0.
+	 * @param size The size of the conductor as defined in {@link Size}. Cannot be null.
+	 * @param maxVDropPercent The maximum voltage drop percent permitted. Must be in the range of (0,100].
+	 * @param sets the number of sets. Must be an integer > 0.
+	 * @param conductiveMetal The conductive conductiveMetal of the conductor, as defined in {@link ConductiveMetal}. Cannot be null.
+	 * @param conductorTemperatureC The operating temperature of the conductors, in degrees Celsius.
+	 * @return The maximum one-way length in feet of the given conductor that would have a voltage drop as
+	 * the given one.
+	 */
+	public static double getMaxLengthForVD(double voltage, double current, @NotNull Size size, double maxVDropPercent,
+	                                       int sets, @NotNull ConductiveMetal conductiveMetal,
+	                                       double conductorTemperatureC) {
+		return getMaxLengthForVD(voltage, current, size, maxVDropPercent, sets, conductiveMetal) /
+				ConductorProperties.getResistanceTemperatureFactor(conductiveMetal, conductorTemperatureC);
+	}
 }
@@ -0,0 +1,163 @@
+package tools;
+
+/**
+ This class propagates the change notifications of {@link NotifierDelegate}
+ objects. Outside a transaction, a notification is delivered right away to
+ the listeners, as it always was. Inside a transaction (see {@link #begin()}
+ and {@link #commit()}), notifications are only recorded: a delegate that
+ notifies several times is delivered once when the outermost transaction is
+ committed, and the field changes it recorded in its
+ {@link FieldInfoChangeEvent} are coalesced by field name (the oldest old
+ value and the newest new value are kept).
+ <p>At commit, the pending delegates are delivered in dependency order: a
+ delegate whose owner listens to another delegate (registered with
+ {@link NotifierDelegate#addListener(Listener, NotifierDelegate)}) is
+ delivered after that other delegate. Notifications raised by the listeners
+ during the delivery are delivered in the same commit, after the ones
+ already pending.
+ <p>There is one bus per thread (see {@link #current()}), so transactions
+ opened in one thread do not hold the notifications of other threads. Like
+ the objects it serves, a bus is not meant to be shared among threads.
+ <p>Recording and delivering notifications does not allocate objects, except
+ when the internal pending array has to grow.
+ <p>Usage:
+ <pre>
+ ChangeBus.current().begin();
+ try {
+     conductor.setSize(...);
+     conductor.setLength(...);
+ } finally {
+     ChangeBus.current().commit(); //listeners are notified once
+ }
+ </pre>
+ */
+public class ChangeBus {
+	private static final ThreadLocal<ChangeBus> buses = ThreadLocal.withInitial(ChangeBus::new);
+	private NotifierDelegate[] pending = new NotifierDelegate[16];
+	private int pendingCount;
+	private int depth;
+	private boolean delivering;
+
+	private ChangeBus() {
+	}
+
+	/**
+	 @return The change bus of the current thread.
+	 */
+	public static ChangeBus current() {
+		return buses.get();
+	}
+
+	/**
+	 Opens a transaction. Transactions can be nested; notifications are
+	 delivered when the outermost one is committed.
+	 */
+	public void begin() {
+		depth++;
+	}
+
+	/**
+	 Closes the transaction opened by the last call to {@link #begin()}. If it
+	 is the outermost transaction, all pending notifications are delivered.
+	 */
+	public void commit() {
+		if (depth == 0)
+			throw new IllegalStateException("There is no transaction to commit.");
+		if (--depth == 0)
+			flush();
+	}
+
+	/**
+	 Runs the given task inside a transaction.
+	 @param task The task making the changes.
+	 */
+	public void runInTransaction(Runnable task) {
+		begin();
+		try {
+			task.run();
+		} finally {
+			commit();
+		}
+	}
+
+	/**
+	 @return True if a transaction is open in this bus, false otherwise.
+	 */
+	public boolean inTransaction() {
+		return depth > 0;
+	}
+
+	/**
+	 @return The number of delegates waiting for their notifications to be
+	 delivered.
+	 */
+	public int getPendingCount() {
+		return pendingCount;
+	}
+
+	/**
+	 Delivers the notification of the given delegate right away, or records
+	 it if a transaction is open or a delivery is in progress.
+	 */
+	void post(NotifierDelegate delegate) {
+		if (depth == 0 && !delivering) {
+			delegate.deliver();
+			return;
+		}
+		if (delegate.pending)
+			return;
+		delegate.pending = true;
+		if (pendingCount == pending.length) {
+			NotifierDelegate[] grown = new NotifierDelegate[pendingCount * 2];
+			System.arraycopy(pending, 0, grown, 0, pendingCount);
+			pending = grown;
+		}
+		pending[pendingCount++] = delegate;
+	}
+
+	/*
+	 Delivers all the pending notifications in dependency order. Delegates
+	 posted while delivering are appended and delivered in a later round.
+	 */
+	private void flush() {
+		if (delivering)
+			return;
+		delivering = true;
+		try {
+			int start = 0;
+			while (start < pendingCount) {
+				int end = pendingCount;
+				sortByLevel(start, end);
+				for (int i = start; i < end; i++) {
+					NotifierDelegate delegate = pending[i];
+					delegate.pending = false;
+					delegate.deliver();
+				}
+				start = end;
+			}
+		} finally {
+			for (int i = 0; i < pendingCount; i++) {
+				pending[i].pending = false;
+				pending[i] = null;
+			}
+			pendingCount = 0;
+			delivering = false;
+		}
+	}
+
+	/*
+	 Insertion sort of the pending delegates in the range [from, to) by their
+	 dependency level. It's stable and the ranges are small.
+	 */
+	private void sortByLevel(int from, int to) {
+		for (int i = from + 1; i < to; i++) {
+			NotifierDelegate delegate = pending[i];
+			int j = i - 1;
+			while (j >= from && pending[j].level > delegate.level) {
+				pending[j + 1] = pending[j];
+				j--;
+			}
+			pending[j + 1] = delegate;
+		}
+	}
+}
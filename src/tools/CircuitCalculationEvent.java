@@ -0,0 +1,32 @@
+package tools;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ Java Flight Recorder event emitted for each circuit calculation.
+ */
+@Name("eecalcs.CircuitCalculation")
+@Label("Circuit Calculation")
+@Category({"EECalcs", "Circuits"})
+@Description("Calculation of the conductors, OCPD and EGC of a circuit")
+public class CircuitCalculationEvent extends jdk.jfr.Event {
+	@Label("Circuit Mode")
+	public String circuitMode;
+
+	@Label("Load Current")
+	@Description("Nominal current of the load, in amperes")
+	public double loadCurrent;
+
+	@Label("Number Of Sets")
+	public int numberOfSets;
+
+	@Label("Circuit Size")
+	@Description("Size of the phase conductors, if the calculation succeeded")
+	public String circuitSize;
+
+	@Label("Succeeded")
+	public boolean succeeded;
+}
@@ -1,11 +1,17 @@
 package tools;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.List;
 
 /**
  This class represents the information about changing in field values. It
- contains the name of the field that changed, its old and new values. */
+ contains the name of the field that changed, its old and new values.
+ <p>Changes are coalesced by field name: if a field changes several times
+ before the listeners are notified, only one entry is kept, with the value
+ the field had before the first change and the value after the last one.
+ The entries are reused after {@link #clearFields()}, so recording changes
+ does not allocate objects once the event has seen that many fields. */
 public class FieldInfoChangeEvent {
 	public static class Fields {
 		public String fieldName;
@@ -19,7 +25,34 @@ public class FieldInfoChangeEvent {
 		}
 	}
 
-	public List<Fields> fields = new ArrayList<>();
+	/*Entries in the range [0, count) are in use; the rest are kept for reuse.*/
+	private final List<Fields> entries = new ArrayList<>();
+	private int count;
+
+	/**
+	 A read-only view of the fields that changed, in the order they first
+	 changed. Its {@link List#clear()} method is the same as
+	 {@link #clearFields()}.
+	 @deprecated Use {@link #getFieldCount()} and {@link #getField(int)},
+	 which do not allocate an iterator.
+	 */
+	@Deprecated
+	public final List<Fields> fields = new AbstractList<>() {
+		@Override
+		public Fields get(int index) {
+			return getField(index);
+		}
+
+		@Override
+		public int size() {
+			return count;
+		}
+
+		@Override
+		public void clear() {
+			clearFields();
+		}
+	};
 
 	/**
 	 Sets all the data at once, about the field whose value changed.
@@ -29,13 +62,62 @@ public class FieldInfoChangeEvent {
 	 */
 	public void addFieldChange(String fieldName, Object oldValue,
                                Object newValue) {
-		fields.add(new Fields(fieldName, oldValue, newValue));
+		for (int i = 0; i < count; i++) {
+			Fields field = entries.get(i);
+			if (field.fieldName.equals(fieldName)) {
+				field.newValue = newValue;
+				return;
+			}
+		}
+		if (count < entries.size()) {
+			Fields field = entries.get(count);
+			field.fieldName = fieldName;
+			field.oldValue = oldValue;
+			field.newValue = newValue;
+		}
+		else
+			entries.add(new Fields(fieldName, oldValue, newValue));
+		count++;
+	}
+
+	/**
+	 @return The number of fields that changed.
+	 */
+	public int getFieldCount() {
+		return count;
+	}
+
+	/**
+	 @return The information about the field change at the given index.
+	 @param index A value in the range [0, {@link #getFieldCount()}).
+	 */
+	public Fields getField(int index) {
+		if (index < 0 || index >= count)
+			throw new IndexOutOfBoundsException(index);
+		return entries.get(index);
+	}
+
+	/**
+	 @return The information about the change of the given field, or null if
+	 that field did not change.
+	 @param fieldName The name of the field.
+	 */
+	public Fields getField(String fieldName) {
+		for (int i = 0; i < count; i++)
+			if (entries.get(i).fieldName.equals(fieldName))
+				return entries.get(i);
+		return null;
 	}
 
 	/**
 	 Clear the data stored in this class (field name, old and new values).
 	 */
 	public void clearFields() {
-		fields.clear();
+		for (int i = 0; i < count; i++) {
+			Fields field = entries.get(i);
+			field.oldValue = null;
+			field.newValue = null;
+		}
+		count = 0;
 	}
 }
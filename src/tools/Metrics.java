@@ -0,0 +1,318 @@
+package tools;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ This class provides the instrumentation surface of the calculation classes.
+ It records, for each calculation {@link Stage}, the number of executions and
+ a latency histogram, and for each {@link Table} family, the number of
+ lookups. It also emits the Java Flight Recorder events
+ {@link CircuitCalculationEvent} and {@link TableLookupEvent}.
+ <p>The metrics are disabled by default. While disabled, {@link #start()}
+ returns zero and {@link #stop(Stage, long)} and {@link #lookup(Table)}
+ return right away, so the instrumented code pays only for reading a
+ boolean flag. The flight recorder events are independent of this flag; they
+ are committed only when enabled in a running recording.
+ <p>Usage:
+ <pre>
+ long start = Metrics.start();
+ //... the stage code
+ Metrics.stop(Metrics.Stage.OCPD_RULES, start);
+ </pre>
+ The recorded values are exported by calling {@link #snapshot()}.
+ */
+public class Metrics {
+	/**
+	 The calculation stages that are timed.
+	 */
+	public enum Stage {
+		/**A complete circuit calculation.*/
+		CIRCUIT,
+		/**Determination of a conductor size per ampacity.*/
+		AMPACITY_SIZING,
+		/**Determination of a conductor size per voltage drop.*/
+		VOLTAGE_DROP_SIZING,
+		/**Application of the OCPD rating rules.*/
+		OCPD_RULES,
+		/**Determination of the EGC size.*/
+		EGC,
+		/**Determination of a conduit trade size.*/
+		CONDUIT_TRADE_SIZE,
+		/**Time an asynchronous request waited for a thread, see {@link eecalcs.async.AsyncSizing}.*/
+		ASYNC_WAIT,
+		/**Time from the submission to the completion of an asynchronous request.*/
+		ASYNC_REQUEST
+	}
+
+	/**
+	 The families of NEC table lookups that are counted.
+	 */
+	public enum Table {
+		/**Ampacity tables, NEC 310.15(B)(16) / 310.16.*/
+		AMPACITY,
+		/**Conductor dimensions, NEC chapter 9 tables 5 and 5A.*/
+		CONDUCTOR_AREA,
+		/**Conduit dimensions, NEC chapter 9 table 4.*/
+		CONDUIT_AREA,
+		/**Temperature correction factors.*/
+		TEMPERATURE_CORRECTION,
+		/**EGC sizes, NEC 250.122.*/
+		EGC,
+		/**Motor full load currents, NEC 430.247 to 430.250.*/
+		MOTOR_FLC
+	}
+
+	/*Histogram buckets: bucket i counts the durations d in nanoseconds with
+	 2^(i-1) <= d < 2^i; bucket 0 counts durations of zero.*/
+	private static final int BUCKETS = 64;
+	private static volatile boolean enabled = false;
+	private static final StageData[] stages = new StageData[Stage.values().length];
+	private static final LongAdder[] lookups = new LongAdder[Table.values().length];
+
+	static {
+		for (int i = 0; i < stages.length; i++)
+			stages[i] = new StageData();
+		for (int i = 0; i < lookups.length; i++)
+			lookups[i] = new LongAdder();
+	}
+
+	/**
+	 @return True if the metrics are being recorded, false otherwise.
+	 */
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 Enables or disables the recording of metrics. Disabling the metrics does
+	 not clear the recorded values; see {@link #reset()}.
+	 @param enabled True to enable the recording, false to disable it.
+	 */
+	public static void setEnabled(boolean enabled) {
+		Metrics.enabled = enabled;
+	}
+
+	/**
+	 Clears all the recorded values.
+	 */
+	public static void reset() {
+		for (StageData stage : stages)
+			stage.reset();
+		for (LongAdder lookup : lookups)
+			lookup.reset();
+	}
+
+	/**
+	 @return The start time of a stage, in nanoseconds, to be passed to
+	 {@link #stop(Stage, long)}, or zero if the metrics are disabled.
+	 */
+	public static long start() {
+		return enabled ? System.nanoTime() : 0;
+	}
+
+	/**
+	 Records the execution of the given stage.
+	 @param stage The stage that was executed.
+	 @param start The value returned by {@link #start()} when the stage
+	 began. If zero, nothing is recorded.
+	 */
+	public static void stop(Stage stage, long start) {
+		if (start == 0 || !enabled)
+			return;
+		stages[stage.ordinal()].record(System.nanoTime() - start);
+	}
+
+	/**
+	 Records a lookup in the given table family and emits the corresponding
+	 {@link TableLookupEvent}, if enabled in the flight recorder.
+	 @param table The table family that was looked up.
+	 */
+	public static void lookup(Table table) {
+		if (enabled)
+			lookups[table.ordinal()].increment();
+		if (TableLookupEvent.TYPE.isEnabled()) {
+			TableLookupEvent event = new TableLookupEvent();
+			event.table = table.name();
+			event.commit();
+		}
+	}
+
+	/**
+	 @return A snapshot of the values recorded so far.
+	 */
+	public static Snapshot snapshot() {
+		Map<Stage, StageSnapshot> stageSnapshots = new EnumMap<>(Stage.class);
+		for (Stage stage : Stage.values())
+			stageSnapshots.put(stage, stages[stage.ordinal()].snapshot());
+		Map<Table, Long> lookupCounts = new EnumMap<>(Table.class);
+		for (Table table : Table.values())
+			lookupCounts.put(table, lookups[table.ordinal()].sum());
+		return new Snapshot(stageSnapshots, lookupCounts);
+	}
+
+	/*
+	 The recorded values of a stage.
+	 */
+	private static class StageData {
+		private final LongAdder count = new LongAdder();
+		private final LongAdder totalNanos = new LongAdder();
+		private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+		private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+
+		private void record(long nanos) {
+			if (nanos < 0)
+				nanos = 0;
+			count.increment();
+			totalNanos.add(nanos);
+			maxNanos.accumulate(nanos);
+			histogram.incrementAndGet(Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(nanos)));
+		}
+
+		private void reset() {
+			count.reset();
+			totalNanos.reset();
+			maxNanos.reset();
+			for (int i = 0; i < BUCKETS; i++)
+				histogram.set(i, 0);
+		}
+
+		private StageSnapshot snapshot() {
+			long[] buckets = new long[BUCKETS];
+			for (int i = 0; i < BUCKETS; i++)
+				buckets[i] = histogram.get(i);
+			return new StageSnapshot(count.sum(), totalNanos.sum(), maxNanos.get(), buckets);
+		}
+	}
+
+	/**
+	 The values recorded for a stage at the time a snapshot was taken.
+	 @Immutable
+	 */
+	public static class StageSnapshot {
+		private final long count;
+		private final long totalNanos;
+		private final long maxNanos;
+		private final long[] histogram;
+
+		private StageSnapshot(long count, long totalNanos, long maxNanos, long[] histogram) {
+			this.count = count;
+			this.totalNanos = totalNanos;
+			this.maxNanos = maxNanos;
+			this.histogram = histogram;
+		}
+
+		/**
+		 @return The number of executions of the stage.
+		 */
+		public long getCount() {
+			return count;
+		}
+
+		/**
+		 @return The total time spent in the stage, in nanoseconds.
+		 */
+		public long getTotalNanos() {
+			return totalNanos;
+		}
+
+		/**
+		 @return The longest execution of the stage, in nanoseconds.
+		 */
+		public long getMaxNanos() {
+			return maxNanos;
+		}
+
+		/**
+		 @return The mean execution time of the stage, in nanoseconds, or zero
+		 if the stage was not executed.
+		 */
+		public double getMeanNanos() {
+			return count == 0 ? 0 : (double) totalNanos / count;
+		}
+
+		/**
+		 @return A copy of the latency histogram. The element i is the number
+		 of executions that lasted d nanoseconds, with 2^(i-1) <= d < 2^i.
+		 */
+		public long[] getHistogram() {
+			return histogram.clone();
+		}
+
+		/**
+		 @return An upper bound of the given percentile of the execution time,
+		 in nanoseconds, as resolved by the histogram buckets. Zero if the stage
+		 was not executed.
+		 @param percentile The percentile, in the range (0, 100].
+		 */
+		public long getPercentileNanos(double percentile) {
+			if (percentile <= 0 || percentile > 100)
+				throw new IllegalArgumentException("Percentile must be in the range (0, 100]");
+			if (count == 0)
+				return 0;
+			long target = (long) Math.ceil(count * percentile / 100);
+			long accumulated = 0;
+			for (int i = 0; i < histogram.length; i++) {
+				accumulated += histogram[i];
+				if (accumulated >= target)
+					return i == 0 ? 0 : Math.min(maxNanos, (1L << i) - 1);
+			}
+			return maxNanos;
+		}
+	}
+
+	/**
+	 The values recorded for all the stages and table families at the time the
+	 snapshot was taken.
+	 @Immutable
+	 */
+	public static class Snapshot {
+		private final Map<Stage, StageSnapshot> stages;
+		private final Map<Table, Long> lookups;
+
+		private Snapshot(Map<Stage, StageSnapshot> stages, Map<Table, Long> lookups) {
+			this.stages = stages;
+			this.lookups = lookups;
+		}
+
+		/**
+		 @return The values recorded for the given stage.
+		 @param stage The stage.
+		 */
+		public StageSnapshot getStage(Stage stage) {
+			return stages.get(stage);
+		}
+
+		/**
+		 @return The values recorded for all the stages.
+		 */
+		public Map<Stage, StageSnapshot> getStages() {
+			return new EnumMap<>(stages);
+		}
+
+		/**
+		 @return The number of lookups in the given table family.
+		 @param table The table family.
+		 */
+		public long getLookupCount(Table table) {
+			return lookups.get(table);
+		}
+
+		/**
+		 @return The number of lookups for all the table families.
+		 */
+		public Map<Table, Long> getLookups() {
+			return new EnumMap<>(lookups);
+		}
+
+		/**
+		 @return A JSON string of this class.
+		 */
+		public String toJSON() {
+			return JSONTools.toJSON(this);
+		}
+	}
+}
@@ -1,7 +1,7 @@
 package tools;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.IdentityHashMap;
+import java.util.Map;
 
 /**
  This class represents a delegate whose role is forecasting notifications about
@@ -9,13 +9,26 @@ import java.util.List;
  All objects using a delegate should declare it private and provide a common
  name for the getter as<br><br>
  <code>public NotifierDelegate getNotifier()</code>
+ <p>Notifications go through the {@link ChangeBus} of the current thread, so
+ several notifications made inside a transaction are coalesced and
+ delivered once. Listeners are kept in an identity set: a listener is
+ registered only once, no matter its equals method.
  @see Listener
  */
 public class NotifierDelegate {
-    private final List<Listener> listeners = new ArrayList<>();
+    private static final Listener[] NO_LISTENERS = new Listener[0];
+    /*The listeners, copied on write so they can be iterated while being
+     notified without allocating.*/
+    private Listener[] listeners = NO_LISTENERS;
+    private final Map<Listener, NotifierDelegate> listenerIndex = new IdentityHashMap<>();
     private final Object sender;
 
     private boolean enable = true;
+    /*Dependency level: 0, or 1 + the level of the deepest delegate this one
+     depends on. Used by the ChangeBus to deliver in dependency order.*/
+    int level;
+    /*True while this delegate is waiting in the ChangeBus.*/
+    boolean pending;
     /**
      See {@link FieldInfoChangeEvent} for details.
      */
@@ -32,14 +45,24 @@ public class NotifierDelegate {
 
     /**
      Sends the FieldInfoChangeEvent message to all registered listeners if this
-     NotifierDelegate is enable to do so. Refer to {@link #enable(boolean)}
-     and {@link Listener} for details.
+     NotifierDelegate is enable to do so. If a {@link ChangeBus} transaction
+     is open, the message is sent once when the transaction is committed.
+     Refer to {@link #enable(boolean)} and {@link Listener} for details.
      */
     public void notifyAllListeners() {
-        if(enable)
-            for(Listener listener: listeners)
+        ChangeBus.current().post(this);
+    }
+
+    /*
+     Sends the message to the listeners and clears the field changes.
+     */
+    void deliver() {
+        if(enable) {
+            Listener[] snapshot = listeners;
+            for (Listener listener : snapshot)
                 listener.notify(sender);
-            info.clearFields();
+        }
+        info.clearFields();
     }
 
     /**
@@ -49,9 +72,46 @@ public class NotifierDelegate {
      @param listener the Listener object.
      */
     public void addListener(Listener listener) {
-        if(listeners.contains(listener))
+        addListener(listener, null);
+    }
+
+    /**
+     Adds a Listener object that is also the owner of the given delegate. The
+     {@link ChangeBus} will always deliver the notifications of this delegate
+     before the ones of the listener delegate, so the listener sees the
+     changes of this object before forwarding its own.
+     @param listener the Listener object.
+     @param listenerNotifier The NotifierDelegate of the listener, or null if
+     the listener does not notify other objects.
+     @throws IllegalArgumentException if the dependency would be cyclic.
+     */
+    public void addListener(Listener listener, NotifierDelegate listenerNotifier) {
+        if(listener == null)
+            throw new IllegalArgumentException("Listener cannot be null.");
+        if(listenerIndex.containsKey(listener))
             return;
-        listeners.add(listener);
+        if(listenerNotifier != null)
+            listenerNotifier.raiseLevel(level + 1, this);
+        listenerIndex.put(listener, listenerNotifier);
+        Listener[] grown = new Listener[listeners.length + 1];
+        System.arraycopy(listeners, 0, grown, 0, listeners.length);
+        grown[listeners.length] = listener;
+        listeners = grown;
+    }
+
+    /*
+     Raises the level of this delegate and of the delegates depending on it.
+     */
+    private void raiseLevel(int minimumLevel, NotifierDelegate origin) {
+        if(this == origin)
+            throw new IllegalArgumentException("Cyclic dependency between " +
+                    "notifier delegates.");
+        if(level >= minimumLevel)
+            return;
+        level = minimumLevel;
+        for(NotifierDelegate downstream : listenerIndex.values())
+            if(downstream != null)
+                downstream.raiseLevel(level + 1, origin);
     }
 
     /**
@@ -59,7 +119,22 @@ public class NotifierDelegate {
      @param listener The listener object to be removed.
      */
     public void removeListener(Listener listener) {
-        listeners.remove(listener);
+        if(!listenerIndex.containsKey(listener))
+            return;
+        listenerIndex.remove(listener);
+        Listener[] shrunk = new Listener[listeners.length - 1];
+        int i = 0;
+        for(Listener registered : listeners)
+            if(registered != listener)
+                shrunk[i++] = registered;
+        listeners = shrunk;
+    }
+
+    /**
+     @return The number of listeners registered with this delegate.
+     */
+    public int getListenerCount() {
+        return listeners.length;
     }
 
     /**
@@ -0,0 +1,309 @@
+package tools;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ An immutable map stored in a hash array mapped trie (HAMT). Looking up, putting and removing a key take
+ O(log<sub>32</sub> n) time; the edits return a new map that shares all the nodes not on the path to the edited key
+ with this one, so old versions are kept for free and can be read by any thread without locks.
+ <p>Keys and values cannot be null. The order of iteration is not defined, but it is the same for equal maps built
+ with the same sequence of edits.
+ @param <K> The type of the keys, which must implement {@link Object#hashCode()} and {@link Object#equals(Object)}.
+ @param <V> The type of the values.
+ @Immutable
+ */
+public final class PersistentMap<K, V> {
+	private static final int BITS = 5;
+	private static final int MASK = (1 << BITS) - 1;
+	private static final PersistentMap<?, ?> EMPTY = new PersistentMap<>(BitmapNode.EMPTY, 0);
+	private final Node root;
+	private final int size;
+
+	private PersistentMap(Node root, int size) {
+		this.root = root;
+		this.size = size;
+	}
+
+	/**
+	 @param <K> The type of the keys.
+	 @param <V> The type of the values.
+	 @return The empty map.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <K, V> PersistentMap<K, V> empty() {
+		return (PersistentMap<K, V>) EMPTY;
+	}
+
+	/**
+	 @return The number of keys of this map.
+	 */
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 @param key The key. Cannot be null.
+	 @return The value of the given key, or null if this map does not contain the key.
+	 */
+	@SuppressWarnings("unchecked")
+	public @Nullable V get(@NotNull K key) {
+		if(key == null)
+			throw new IllegalArgumentException("Key cannot be null.");
+		return (V) root.find(0, hash(key), key);
+	}
+
+	public boolean containsKey(@NotNull K key) {
+		return get(key) != null;
+	}
+
+	/**
+	 @param key The key. Cannot be null.
+	 @param value The value. Cannot be null.
+	 @return A map with the given value for the given key, or this map if it already has that value.
+	 */
+	public PersistentMap<K, V> put(@NotNull K key, @NotNull V value) {
+		if(key == null || value == null)
+			throw new IllegalArgumentException("Key and value cannot be null.");
+		boolean[] added = new boolean[1];
+		Node newRoot = root.put(0, hash(key), key, value, added);
+		if(newRoot == root)
+			return this;
+		return new PersistentMap<>(newRoot, added[0] ? size + 1 : size);
+	}
+
+	/**
+	 @param key The key. Cannot be null.
+	 @return A map without the given key, or this map if it does not contain the key.
+	 */
+	public PersistentMap<K, V> remove(@NotNull K key) {
+		if(key == null)
+			throw new IllegalArgumentException("Key cannot be null.");
+		Node newRoot = root.remove(0, hash(key), key);
+		if(newRoot == root)
+			return this;
+		return new PersistentMap<>(newRoot == null ? BitmapNode.EMPTY : newRoot, size - 1);
+	}
+
+	/**
+	 Calls the given action for each key and value of this map.
+	 @param action The action. Cannot be null.
+	 */
+	@SuppressWarnings("unchecked")
+	public void forEach(@NotNull BiConsumer<? super K, ? super V> action) {
+		root.forEach((BiConsumer<Object, Object>) action);
+	}
+
+	/**
+	 @return A new list with the keys of this map.
+	 */
+	public List<K> keys() {
+		List<K> keys = new ArrayList<>(size);
+		forEach((key, value) -> keys.add(key));
+		return keys;
+	}
+
+	/*
+	 Spreads the high bits of the hash code, so keys whose hash codes differ only in their high bits are not
+	 collisions at the first levels.
+	 */
+	private static int hash(Object key) {
+		int h = key.hashCode();
+		return h ^ (h >>> 16);
+	}
+
+	private interface Node {
+		Object find(int shift, int hash, Object key);
+
+		Node put(int shift, int hash, Object key, Object value, boolean[] added);
+
+		/*returns null when the node becomes empty*/
+		Node remove(int shift, int hash, Object key);
+
+		void forEach(BiConsumer<Object, Object> action);
+	}
+
+	/*
+	 A node with up to 32 entries, one for each value of the 5 bits of the hash at its level. The bitmap tells which
+	 entries are present; array holds two slots per present entry: a key and its value, or null and a child node.
+	 */
+	private static final class BitmapNode implements Node {
+		static final BitmapNode EMPTY = new BitmapNode(0, new Object[0]);
+		final int bitmap;
+		final Object[] array;
+
+		BitmapNode(int bitmap, Object[] array) {
+			this.bitmap = bitmap;
+			this.array = array;
+		}
+
+		@Override
+		public Object find(int shift, int hash, Object key) {
+			int bit = 1 << ((hash >>> shift) & MASK);
+			if((bitmap & bit) == 0)
+				return null;
+			int index = 2 * Integer.bitCount(bitmap & (bit - 1));
+			Object k = array[index];
+			if(k == null)
+				return ((Node) array[index + 1]).find(shift + BITS, hash, key);
+			return key.equals(k) ? array[index + 1] : null;
+		}
+
+		@Override
+		public Node put(int shift, int hash, Object key, Object value, boolean[] added) {
+			int bit = 1 << ((hash >>> shift) & MASK);
+			int index = 2 * Integer.bitCount(bitmap & (bit - 1));
+			if((bitmap & bit) == 0) {
+				added[0] = true;
+				Object[] newArray = new Object[array.length + 2];
+				System.arraycopy(array, 0, newArray, 0, index);
+				newArray[index] = key;
+				newArray[index + 1] = value;
+				System.arraycopy(array, index, newArray, index + 2, array.length - index);
+				return new BitmapNode(bitmap | bit, newArray);
+			}
+			Object k = array[index];
+			Object v = array[index + 1];
+			if(k == null) {
+				Node child = ((Node) v).put(shift + BITS, hash, key, value, added);
+				return child == v ? this : with(index + 1, null, child);
+			}
+			if(key.equals(k))
+				return value == v ? this : with(index + 1, k, value);
+			added[0] = true;
+			return with(index + 1, null, pair(shift + BITS, k, v, hash, key, value));
+		}
+
+		@Override
+		public Node remove(int shift, int hash, Object key) {
+			int bit = 1 << ((hash >>> shift) & MASK);
+			if((bitmap & bit) == 0)
+				return this;
+			int index = 2 * Integer.bitCount(bitmap & (bit - 1));
+			Object k = array[index];
+			if(k == null) {
+				Node child = (Node) array[index + 1];
+				Node newChild = child.remove(shift + BITS, hash, key);
+				if(newChild == child)
+					return this;
+				if(newChild != null)
+					return with(index + 1, null, newChild);
+			}
+			else if(!key.equals(k))
+				return this;
+			if(bitmap == bit)
+				return null;
+			Object[] newArray = new Object[array.length - 2];
+			System.arraycopy(array, 0, newArray, 0, index);
+			System.arraycopy(array, index + 2, newArray, index, array.length - index - 2);
+			return new BitmapNode(bitmap ^ bit, newArray);
+		}
+
+		@Override
+		public void forEach(BiConsumer<Object, Object> action) {
+			for(int i = 0; i < array.length; i += 2) {
+				if(array[i] == null)
+					((Node) array[i + 1]).forEach(action);
+				else
+					action.accept(array[i], array[i + 1]);
+			}
+		}
+
+		/*
+		 Returns a copy of this node with the given key (or null) and value at the entry whose value slot is given.
+		 */
+		private BitmapNode with(int valueIndex, Object key, Object value) {
+			Object[] newArray = array.clone();
+			newArray[valueIndex - 1] = key;
+			newArray[valueIndex] = value;
+			return new BitmapNode(bitmap, newArray);
+		}
+
+		/*
+		 Returns a node holding two keys, at the given level.
+		 */
+		private static Node pair(int shift, Object key1, Object value1, int hash2, Object key2, Object value2) {
+			int hash1 = hash(key1);
+			if(hash1 == hash2)
+				return new CollisionNode(hash1, new Object[]{key1, value1, key2, value2});
+			boolean[] added = new boolean[1];
+			return EMPTY.put(shift, hash1, key1, value1, added).put(shift, hash2, key2, value2, added);
+		}
+	}
+
+	/*
+	 A node with the keys whose hashes are all equal, as key and value pairs.
+	 */
+	private static final class CollisionNode implements Node {
+		final int hash;
+		final Object[] array;
+
+		CollisionNode(int hash, Object[] array) {
+			this.hash = hash;
+			this.array = array;
+		}
+
+		private int indexOf(Object key) {
+			for(int i = 0; i < array.length; i += 2)
+				if(key.equals(array[i]))
+					return i;
+			return -1;
+		}
+
+		@Override
+		public Object find(int shift, int hash, Object key) {
+			int index = hash == this.hash ? indexOf(key) : -1;
+			return index < 0 ? null : array[index + 1];
+		}
+
+		@Override
+		public Node put(int shift, int hash, Object key, Object value, boolean[] added) {
+			if(hash != this.hash) {
+				/*the new key is on another path: this node goes one level down*/
+				int bit = 1 << ((this.hash >>> shift) & MASK);
+				return new BitmapNode(bit, new Object[]{null, this}).put(shift, hash, key, value, added);
+			}
+			int index = indexOf(key);
+			if(index >= 0) {
+				if(array[index + 1] == value)
+					return this;
+				Object[] newArray = array.clone();
+				newArray[index + 1] = value;
+				return new CollisionNode(hash, newArray);
+			}
+			added[0] = true;
+			Object[] newArray = new Object[array.length + 2];
+			System.arraycopy(array, 0, newArray, 0, array.length);
+			newArray[array.length] = key;
+			newArray[array.length + 1] = value;
+			return new CollisionNode(hash, newArray);
+		}
+
+		@Override
+		public Node remove(int shift, int hash, Object key) {
+			int index = hash == this.hash ? indexOf(key) : -1;
+			if(index < 0)
+				return this;
+			if(array.length == 2)
+				return null;
+			Object[] newArray = new Object[array.length - 2];
+			System.arraycopy(array, 0, newArray, 0, index);
+			System.arraycopy(array, index + 2, newArray, index, array.length - index - 2);
+			return new CollisionNode(hash, newArray);
+		}
+
+		@Override
+		public void forEach(BiConsumer<Object, Object> action) {
+			for(int i = 0; i < array.length; i += 2)
+				action.accept(array[i], array[i + 1]);
+		}
+	}
+}
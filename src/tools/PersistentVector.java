@@ -0,0 +1,192 @@
+package tools;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ An immutable list of elements stored in a trie of 32-way nodes (a "vector trie"). Reading, replacing, appending and
+ removing the last element take O(log<sub>32</sub> n) time; the edits return a new vector that shares all the nodes
+ not on the path to the edited element with this one, so old versions are kept for free and can be read by any
+ thread without locks.
+ <p>Null elements are allowed.
+ @param <E> The type of the elements.
+ @Immutable
+ */
+public final class PersistentVector<E> implements Iterable<E> {
+	private static final int BITS = 5;
+	private static final int WIDTH = 1 << BITS;
+	private static final int MASK = WIDTH - 1;
+	private static final PersistentVector<?> EMPTY = new PersistentVector<>(0, 0, new Object[0]);
+	private final int size;
+	/*the number of index bits below the root level; the leaves are at level zero*/
+	private final int shift;
+	private final Object[] root;
+
+	private PersistentVector(int size, int shift, Object[] root) {
+		this.size = size;
+		this.shift = shift;
+		this.root = root;
+	}
+
+	/**
+	 @param <E> The type of the elements.
+	 @return The empty vector.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <E> PersistentVector<E> empty() {
+		return (PersistentVector<E>) EMPTY;
+	}
+
+	/**
+	 @return The number of elements of this vector.
+	 */
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 @param index The index of the element, in the range [0, size).
+	 @return The element at the given index.
+	 */
+	@SuppressWarnings("unchecked")
+	public E get(int index) {
+		checkIndex(index);
+		Object[] node = root;
+		for(int level = shift; level > 0; level -= BITS)
+			node = (Object[]) node[(index >>> level) & MASK];
+		return (E) node[index & MASK];
+	}
+
+	/**
+	 @param index The index of the element, in the range [0, size).
+	 @param element The new element.
+	 @return A vector with the given element at the given index.
+	 */
+	public PersistentVector<E> set(int index, E element) {
+		checkIndex(index);
+		return new PersistentVector<>(size, shift, set(shift, root, index, element));
+	}
+
+	private static Object[] set(int level, Object[] node, int index, Object element) {
+		Object[] copy = node.clone();
+		if(level == 0)
+			copy[index & MASK] = element;
+		else {
+			int child = (index >>> level) & MASK;
+			copy[child] = set(level - BITS, (Object[]) node[child], index, element);
+		}
+		return copy;
+	}
+
+	/**
+	 @param element The element to append.
+	 @return A vector with the given element appended at the end.
+	 */
+	public PersistentVector<E> append(E element) {
+		if(size == 1 << (shift + BITS))
+			return new PersistentVector<>(size + 1, shift + BITS, new Object[]{root, path(shift, element)});
+		return new PersistentVector<>(size + 1, shift, append(shift, root, size, element));
+	}
+
+	private static Object[] append(int level, Object[] node, int index, Object element) {
+		if(level == 0)
+			return copyOf(node, node.length + 1, element);
+		int child = (index >>> level) & MASK;
+		if(child < node.length) {
+			Object[] copy = node.clone();
+			copy[child] = append(level - BITS, (Object[]) node[child], index, element);
+			return copy;
+		}
+		return copyOf(node, node.length + 1, path(level - BITS, element));
+	}
+
+	/*
+	 Returns a new branch holding only the given element, from the given level down to a leaf.
+	 */
+	private static Object[] path(int level, Object element) {
+		return level == 0 ? new Object[]{element} : new Object[]{path(level - BITS, element)};
+	}
+
+	/**
+	 @return A vector without the last element of this one.
+	 @throws IllegalStateException If this vector is empty.
+	 */
+	public PersistentVector<E> removeLast() {
+		if(size == 0)
+			throw new IllegalStateException("The vector is empty.");
+		if(size == 1)
+			return empty();
+		Object[] newRoot = removeLast(shift, root, size - 1);
+		/*the root is left with only one child: its child becomes the root*/
+		if(shift > 0 && newRoot.length == 1)
+			return new PersistentVector<>(size - 1, shift - BITS, (Object[]) newRoot[0]);
+		return new PersistentVector<>(size - 1, shift, newRoot);
+	}
+
+	/*
+	 Returns the given node without the element at the given index, which is the last one, or null if the node
+	 becomes empty.
+	 */
+	private static Object[] removeLast(int level, Object[] node, int index) {
+		int child = level == 0 ? index & MASK : (index >>> level) & MASK;
+		if(level == 0)
+			return child == 0 ? null : copyOf(node, child, null);
+		Object[] newChild = removeLast(level - BITS, (Object[]) node[child], index);
+		if(newChild == null)
+			return child == 0 ? null : copyOf(node, child, null);
+		Object[] copy = node.clone();
+		copy[child] = newChild;
+		return copy;
+	}
+
+	/*
+	 Returns a copy of the given array with the given length; when longer, the last element is the given one.
+	 */
+	private static Object[] copyOf(Object[] array, int length, Object last) {
+		Object[] copy = new Object[length];
+		System.arraycopy(array, 0, copy, 0, Math.min(array.length, length));
+		if(length > array.length)
+			copy[length - 1] = last;
+		return copy;
+	}
+
+	private void checkIndex(int index) {
+		if(index < 0 || index >= size)
+			throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+	}
+
+	/**
+	 @return An iterator over the elements of this vector, in order. It reads one leaf at a time.
+	 */
+	@Override
+	public @NotNull Iterator<E> iterator() {
+		return new Iterator<>() {
+			private int index = 0;
+			private Object[] leaf;
+
+			@Override
+			public boolean hasNext() {
+				return index < size;
+			}
+
+			@Override
+			@SuppressWarnings("unchecked")
+			public E next() {
+				if(index >= size)
+					throw new NoSuchElementException();
+				if((index & MASK) == 0) {
+					leaf = root;
+					for(int level = shift; level > 0; level -= BITS)
+						leaf = (Object[]) leaf[(index >>> level) & MASK];
+				}
+				return (E) leaf[index++ & MASK];
+			}
+		};
+	}
+}
@@ -21,33 +21,74 @@ import java.util.List;
  150->199: Bundle class
  200->299: CircuitAll class
 
+ The container holds at most one message per number. Registered numbers are
+ kept in a bit mask over the range [-{@link #MAX_NUMBER},
+ {@link #MAX_NUMBER}], so adding, checking, removing and counting messages
+ do not allocate objects nor scan lists. Additional information for a
+ message can be given as a format and a parameter that are only formatted
+ when the message text is requested.
  */
 public class ResultMessages implements ROResultMessages{
-	private final List<ResultMessage> resultMessages = new ArrayList<>();
+	/**The maximum absolute value of a message number, as per the numbers
+	 schedule.*/
+	public static final int MAX_NUMBER = 299;
+	private static final int SLOTS = 2 * MAX_NUMBER + 1;
+	private final long[] mask = new long[(SLOTS + 63) / 64];
+	private final ResultMessage[] messages = new ResultMessage[SLOTS];
+	private final String[] detailFormats = new String[SLOTS];
+	private final Object[] detailParameters = new Object[SLOTS];
 
 	/**
-	 Adds a message object to this result message container.
+	 Adds a message object to this result message container. If a message
+	 with the same number is already registered, nothing is added.
 	 @param msg The existing message object to be added to this result message
 	 container.
 	 @see ResultMessage
 	 */
 	public void add(ResultMessage msg){
-		if(resultMessages.contains(msg))
+		add(msg, null, null);
+	}
+
+	/**
+	 Adds a message object to this result message container, along with
+	 additional information that is appended to the message text. The
+	 additional information is formatted only when the message text is
+	 requested, as in {@code String.format(detailFormat, detailParameter)}.
+	 If a message with the same number is already registered, nothing is
+	 added.
+	 @param msg The existing message object to be added to this result message
+	 container.
+	 @param detailFormat The format of the additional information. If null,
+	 no additional information is appended.
+	 @param detailParameter The parameter referenced by the format.
+	 @see ResultMessage
+	 */
+	public void add(ResultMessage msg, String detailFormat,
+	                Object detailParameter){
+		int slot = slotOf(msg.getNumber());
+		if(isSet(slot))
 			return;
-		resultMessages.add(msg);
+		mask[slot >>> 6] |= 1L << slot;
+		messages[slot] = msg;
+		detailFormats[slot] = detailFormat;
+		detailParameters[slot] = detailParameter;
 	}
 
 	@Override
 	public String getMessage(int number) {
-		return resultMessages.stream()
-				.filter(msg -> msg.getNumber() == number)
-				.map(ResultMessage::getMessage)
-				.findFirst().orElse("");
+		if(number < -MAX_NUMBER || number > MAX_NUMBER)
+			return "";
+		int slot = slotOf(number);
+		if(!isSet(slot))
+			return "";
+		return getText(slot);
 	}
 
 	@Override
 	public boolean containsMessage(int number){
-		return !getMessage(number).equals("");
+		if(number < -MAX_NUMBER || number > MAX_NUMBER)
+			return false;
+		return isSet(slotOf(number));
 	}
 
 	@Override
@@ -61,7 +102,10 @@ public class ResultMessages implements ROResultMessages{
 
 	@Override
 	public boolean hasMessages() {
-		return resultMessages.size() > 0;
+		for(long bits : mask)
+			if(bits != 0)
+				return true;
+		return false;
 	}
 
 	@Override
@@ -76,21 +120,26 @@ public class ResultMessages implements ROResultMessages{
 
 	@Override
 	public int errorCount() {
-		return (int) resultMessages.stream()
-				.filter(msg -> msg.getNumber() < 0)
-				.count();
+		return countSlots(0, MAX_NUMBER);
 	}
 
 	@Override
 	public int warningCount() {
-		return (int) resultMessages.stream()
-				.filter(msg -> msg.getNumber() > 0)
-				.count();
+		return countSlots(MAX_NUMBER + 1, SLOTS);
 	}
 
 	@Override
 	public List<ResultMessage> getMessages() {
-		return new ArrayList<>(resultMessages);
+		List<ResultMessage> list = new ArrayList<>();
+		for(int slot = 0; slot < SLOTS; slot++) {
+			if(!isSet(slot))
+				continue;
+			if(detailFormats[slot] == null)
+				list.add(messages[slot]);
+			else
+				list.add(messages[slot].append(getDetail(slot)));
+		}
+		return list;
 	}
 
 	/**
@@ -99,12 +148,13 @@ public class ResultMessages implements ROResultMessages{
 	 @param number The number of the message to be removed from this container.
 	 */
 	public void remove(int number){
-		for(ResultMessage msg : resultMessages){
-			if(msg.getNumber() == number) {
-				resultMessages.remove(msg);
-				break;
-			}
-		}
+		if(number < -MAX_NUMBER || number > MAX_NUMBER)
+			return;
+		int slot = slotOf(number);
+		mask[slot >>> 6] &= ~(1L << slot);
+		messages[slot] = null;
+		detailFormats[slot] = null;
+		detailParameters[slot] = null;
 	}
 
 	/**
@@ -116,14 +166,17 @@ public class ResultMessages implements ROResultMessages{
 	 */
 	public void remove(ResultMessage...msg){
 		for (ResultMessage message : msg)
-			resultMessages.remove(message);
+			remove(message.getNumber());
 	}
 
 	/**
 	 Clear all the registered resultMessages in this container.
 	 */
 	public void clearMessages(){
-		resultMessages.clear();
+		Arrays.fill(mask, 0);
+		Arrays.fill(messages, null);
+		Arrays.fill(detailFormats, null);
+		Arrays.fill(detailParameters, null);
 	}
 
 	/**
@@ -135,8 +188,49 @@ public class ResultMessages implements ROResultMessages{
 
 	@Override
 	public String toString() {
-		return "ResultMessages{" + "resultMessages=" + resultMessages + '}';
+		return "ResultMessages{" + "resultMessages=" + getMessages() + '}';
 	}
-}
 
+	/*
+	 Returns the slot of the given message number. Throws an exception if
+	 the number is out of the schedule range.
+	 */
+	private static int slotOf(int number){
+		if(number < -MAX_NUMBER || number > MAX_NUMBER)
+			throw new IllegalArgumentException("Message number must be in " +
+					"the range [-" + MAX_NUMBER + ", " + MAX_NUMBER + "].");
+		return number + MAX_NUMBER;
+	}
+
+	private boolean isSet(int slot){
+		return (mask[slot >>> 6] & (1L << slot)) != 0;
+	}
+
+	/*
+	 Counts the registered messages whose slots are in the range [from, to).
+	 */
+	private int countSlots(int from, int to){
+		int count = 0;
+		int firstWord = from >>> 6;
+		int lastWord = (to - 1) >>> 6;
+		for(int word = firstWord; word <= lastWord; word++) {
+			long bits = mask[word];
+			if(word == firstWord)
+				bits &= -1L << from;
+			if(word == lastWord)
+				bits &= -1L >>> (63 - ((to - 1) & 63));
+			count += Long.bitCount(bits);
+		}
+		return count;
+	}
+
+	private String getText(int slot){
+		if(detailFormats[slot] == null)
+			return messages[slot].getMessage();
+		return messages[slot].getMessage() + "\n" + getDetail(slot);
+	}
 
+	private String getDetail(int slot){
+		return String.format(detailFormats[slot], detailParameters[slot]);
+	}
+}
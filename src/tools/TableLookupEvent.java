@@ -0,0 +1,27 @@
+package tools;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ Java Flight Recorder event emitted for each lookup in a NEC table family (see
+ {@link Metrics.Table}). Lookups are very frequent, so this event is disabled
+ by default and must be enabled explicitly in the recording settings.
+ */
+@Name("eecalcs.TableLookup")
+@Label("Table Lookup")
+@Category({"EECalcs", "Tables"})
+@Description("Lookup in a NEC table")
+@Enabled(false)
+@StackTrace(false)
+public class TableLookupEvent extends jdk.jfr.Event {
+	static final EventType TYPE = EventType.getEventType(TableLookupEvent.class);
+
+	@Label("Table")
+	public String table;
+}
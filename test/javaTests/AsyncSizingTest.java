@@ -0,0 +1,106 @@
+package javaTests;
+
+import eecalcs.async.AsyncSizing;
+import eecalcs.circuits.CircuitAll;
+import eecalcs.conductors.Conductor;
+import eecalcs.conductors.Size;
+import eecalcs.conduits.Conduit;
+import eecalcs.loads.GeneralLoad;
+import eecalcs.systems.VoltageAC;
+import eecalcs.voltagedrop.VoltageDropAC;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncSizingTest {
+	@Test
+	void sameResultsAsSynchronousCalls() throws Exception {
+		try(AsyncSizing sizing = new AsyncSizing(2, 8)) {
+			CircuitAll circuit = new CircuitAll.Builder(new GeneralLoad(VoltageAC.v480_3ph_4w, 100)).build();
+			Size expected = new CircuitAll.Builder(new GeneralLoad(VoltageAC.v480_3ph_4w, 100)).build().getCircuitSize();
+			assertEquals(expected, sizing.getCircuitSize(circuit, null).get(5, TimeUnit.SECONDS));
+			assertSame(circuit, sizing.calculate(circuit, Duration.ofSeconds(5)).get(5, TimeUnit.SECONDS));
+
+			VoltageDropAC voltageDrop = new VoltageDropAC().setConductorLength(150);
+			assertEquals(voltageDrop.getVoltageDropPercent(),
+					sizing.getVoltageDropPercent(voltageDrop, null).get(5, TimeUnit.SECONDS));
+			assertEquals(voltageDrop.getMinSizeForMaxVD(),
+					sizing.getMinSizeForMaxVD(voltageDrop, null).get(5, TimeUnit.SECONDS));
+
+			Conduit conduit = new Conduit();
+			for(int i = 0; i < 6; i++)
+				conduit.add(new Conductor());
+			assertEquals(conduit.getTradeSize(), sizing.getTradeSize(conduit, null).get(5, TimeUnit.SECONDS));
+			assertEquals(5, sizing.getCompletedCount());
+			assertEquals(0, sizing.getAdmittedCount());
+		}
+	}
+
+	@Test
+	void admissionBound() throws Exception {
+		try(AsyncSizing sizing = new AsyncSizing(1, 2)) {
+			CountDownLatch release = new CountDownLatch(1);
+			CompletableFuture<Boolean> first = sizing.submit(() -> release.await(5, TimeUnit.SECONDS), null);
+			CompletableFuture<Integer> second = sizing.submit(() -> 2, null);
+			CompletableFuture<Integer> third = sizing.submit(() -> 3, null);
+			assertTrue(third.isCompletedExceptionally());
+			ExecutionException e = assertThrows(ExecutionException.class, third::get);
+			assertTrue(e.getCause() instanceof RejectedExecutionException);
+			assertEquals(1, sizing.getRejectedCount());
+			assertEquals(2, sizing.getAdmittedCount());
+			release.countDown();
+			assertTrue(first.get(5, TimeUnit.SECONDS));
+			assertEquals(2, second.get(5, TimeUnit.SECONDS));
+			assertEquals(3, sizing.submit(() -> 3, null).get(5, TimeUnit.SECONDS));
+		}
+		assertThrows(IllegalArgumentException.class, () -> new AsyncSizing(2, 1));
+	}
+
+	@Test
+	void deadlineInterruptsTheCalculation() throws Exception {
+		try(AsyncSizing sizing = new AsyncSizing(1, 4)) {
+			CountDownLatch interrupted = new CountDownLatch(1);
+			CompletableFuture<Object> slow = sizing.submit(() -> {
+				try {
+					Thread.sleep(10_000);
+				}
+				catch(InterruptedException e) {
+					interrupted.countDown();
+				}
+				return null;
+			}, Duration.ofMillis(50));
+			ExecutionException e = assertThrows(ExecutionException.class, slow::get);
+			assertTrue(e.getCause() instanceof TimeoutException);
+			assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+			assertEquals(1, sizing.getTimedOutCount());
+			assertEquals(7, sizing.submit(() -> 7, null).get(5, TimeUnit.SECONDS));
+		}
+	}
+
+	@Test
+	void cancelledRequestIsSkipped() throws Exception {
+		try(AsyncSizing sizing = new AsyncSizing(1, 4)) {
+			CountDownLatch release = new CountDownLatch(1);
+			AtomicBoolean ran = new AtomicBoolean();
+			CompletableFuture<Boolean> first = sizing.submit(() -> release.await(5, TimeUnit.SECONDS), null);
+			CompletableFuture<Boolean> queued = sizing.submit(() -> ran.getAndSet(true), null);
+			while(sizing.getQueueDepth() != 1)
+				Thread.onSpinWait();
+			assertTrue(queued.cancel(true));
+			assertEquals(1, sizing.getCancelledCount());
+			release.countDown();
+			first.get(5, TimeUnit.SECONDS);
+			assertEquals(1, sizing.submit(() -> 1, null).get(5, TimeUnit.SECONDS));
+			assertFalse(ran.get());
+		}
+	}
+}
@@ -386,5 +386,34 @@ class BundleTest {
 
         assertEquals(4, readOnlyBundle.getConductorCount());
     }
-}
 
+    @Test
+    void edit() {
+        Bundle bundle = new Bundle(86).add(new Conductor());
+        bundle.edit(e -> e.setAmbientTemperatureF(104)
+                .setBundlingLength(36)
+                .add(new Cable(VoltageAC.v208_3ph_4w)));
+        assertEquals(104, bundle.getAmbientTemperatureF());
+        assertEquals(36, bundle.getBundlingLength());
+        assertEquals(2, bundle.getConductorCount());
+        for (Conduitable conduitable : bundle.getConduitables())
+            assertEquals(104, conduitable.getAmbientTemperatureF());
+
+        assertThrows(IllegalArgumentException.class, () -> bundle.edit(e -> e.setBundlingLength(-1)
+                .setAmbientTemperatureF(95)
+                .add(new Conductor())));
+        assertEquals(104, bundle.getAmbientTemperatureF());
+        assertEquals(36, bundle.getBundlingLength());
+        assertEquals(2, bundle.getConductorCount());
+    }
+
+    @Test
+    void getMembers() {
+        Bundle bundle = new Bundle(86);
+        ROBundle readOnlyBundle = bundle;
+        bundle.add(new Cable(VoltageAC.v120_1ph_2w)).add(new Cable(VoltageAC.v208_3ph_4w));
+        assertEquals(2, readOnlyBundle.getMembers().size());
+        assertEquals(bundle.getConductorCount(), readOnlyBundle.getMembers().stream().count());
+        assertThrows(UnsupportedOperationException.class, () -> readOnlyBundle.getMembers().clear());
+    }
+}
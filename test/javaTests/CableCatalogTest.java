@@ -0,0 +1,104 @@
+package javaTests;
+
+import eecalcs.conductors.Cable;
+import eecalcs.conductors.CableCatalog;
+import eecalcs.conductors.CableType;
+import eecalcs.conductors.ConductiveMetal;
+import eecalcs.conductors.Insulation;
+import eecalcs.conductors.Size;
+import eecalcs.systems.VoltageAC;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CableCatalogTest {
+	@Test
+	void defaultCatalog() {
+		CableCatalog catalog = CableCatalog.getDefault();
+		assertTrue(catalog.size() > 0);
+		int row = catalog.find(CableType.MC, ConductiveMetal.COPPER, Size.AWG_8, 3);
+		assertNotEquals(CableCatalog.NOT_FOUND, row);
+		assertEquals(0.813, catalog.getOuterDiameter(row));
+		assertEquals(Size.AWG_8, catalog.getNeutralSize(row));
+		assertEquals(Size.AWG_10, catalog.getGroundSize(row));
+		assertEquals(3, catalog.getConductorCount(row));
+		assertEquals(Insulation.THHN, catalog.getInsulation(row));
+
+		assertEquals(row, catalog.find(CableType.MC, ConductiveMetal.COPPER, Size.AWG_8, 3, Size.AWG_8,
+				Size.AWG_10));
+		assertEquals(row, catalog.find(CableType.MC, ConductiveMetal.COPPER, Size.AWG_8, 3, null, Size.AWG_10));
+		assertEquals(CableCatalog.NOT_FOUND, catalog.find(CableType.MC, ConductiveMetal.COPPER, Size.AWG_8, 3,
+				Size.AWG_8, Size.AWG_8));
+		assertEquals(CableCatalog.NOT_FOUND, catalog.find(CableType.NM, ConductiveMetal.COPPER, Size.AWG_8, 3));
+		assertEquals(CableCatalog.NOT_FOUND, catalog.find(CableType.MC, ConductiveMetal.COPPER, Size.AWG_8, 5));
+		assertThrows(IllegalArgumentException.class, () -> catalog.getOuterDiameter(catalog.size()));
+	}
+
+	@Test
+	void createCable() {
+		CableCatalog catalog = CableCatalog.getDefault();
+		Cable cable = catalog.createCable(CableType.MC, ConductiveMetal.COPPER, Size.AWG_6, VoltageAC.v208_3ph_4w);
+		assertEquals(1.026, cable.getOuterDiameter());
+		assertEquals(Size.AWG_6, cable.getPhaseConductor().getSize());
+		assertEquals(Size.AWG_6, cable.getNeutralConductor().getSize());
+		assertEquals(Size.AWG_8, cable.getGroundingConductor().getSize());
+		assertEquals(Insulation.THHN, cable.getPhaseConductor().getInsulation());
+
+		int row = catalog.find(CableType.MC, ConductiveMetal.COPPER, Size.AWG_6, 4);
+		assertThrows(IllegalArgumentException.class, () -> catalog.createCable(row, VoltageAC.v120_1ph_2w));
+		assertThrows(IllegalArgumentException.class,
+				() -> catalog.createCable(CableType.MC, ConductiveMetal.ALUMINUM, Size.AWG_6, VoltageAC.v208_3ph_4w));
+
+		assertEquals(0.848, Cable.MC_8_4.getOuterDiameter());
+		assertEquals(Size.AWG_10, Cable.MC_8_4.getGroundingConductor().getSize());
+	}
+
+	@Test
+	void outerDiameterFromCatalog() {
+		Cable cable = new Cable(VoltageAC.v120_1ph_2w);
+		assertFalse(cable.isOuterDiameterFromCatalog());
+		cable.setPhaseConductorSize(Size.AWG_10);
+		assertEquals(Cable.MINIMUM_OUTER_DIAMETER, cable.getOuterDiameter());
+
+		cable.setMetalForPhaseAndNeutral(ConductiveMetal.COPPER).setOuterDiameterFromCatalog(true);
+		assertEquals(0.581, cable.getOuterDiameter());
+		//the grounding conductor does not match any row: the first row for the phase size is used
+		cable.setPhaseConductorSize(Size.AWG_8);
+		assertEquals(0.677, cable.getOuterDiameter());
+		cable.edit(e -> e.setPhaseConductorSize(Size.AWG_6).setGroundingConductorSize(Size.AWG_8));
+		assertEquals(0.816, cable.getOuterDiameter());
+		//no row for this size: unchanged
+		cable.setPhaseConductorSize(Size.AWG_14);
+		assertEquals(0.816, cable.getOuterDiameter());
+
+		assertTrue(cable.copy().isOuterDiameterFromCatalog());
+		cable.setOuterDiameter(0.9);
+		assertFalse(cable.isOuterDiameterFromCatalog());
+		cable.setPhaseConductorSize(Size.AWG_10);
+		assertEquals(0.9, cable.getOuterDiameter());
+	}
+
+	@Test
+	void load() throws IOException {
+		String csv = "# comment\n" +
+				"type,metal,phase,conductors,neutral,ground,insulation,outer_diameter\n" +
+				"\n" +
+				"NM,COPPER,AWG_12,2,AWG_12,AWG_12,THHN,0.5\n" +
+				"NM,COPPER,AWG_12,2,AWG_12,AWG_12,THHN,0.6\n";
+		CableCatalog catalog = CableCatalog.load(new StringReader(csv));
+		assertEquals(2, catalog.size());
+		//the first row of a key wins
+		assertEquals(0, catalog.find(CableType.NM, ConductiveMetal.COPPER, Size.AWG_12, 2));
+
+		IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> CableCatalog.load(
+				new StringReader("header\nNM,COPPER,AWG_12,2,AWG_12,AWG_12,THHN\n")));
+		assertTrue(e.getMessage().contains("line 2"));
+		assertThrows(IllegalArgumentException.class, () -> CableCatalog.load(
+				new StringReader("header\nNM,COPPER,AWG_99,2,AWG_12,AWG_12,THHN,0.5\n")));
+		assertThrows(IllegalArgumentException.class, () -> CableCatalog.load(
+				new StringReader("header\nNM,COPPER,AWG_12,2,AWG_12,AWG_12,THHN,-1\n")));
+	}
+}
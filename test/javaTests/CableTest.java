@@ -826,4 +826,35 @@ class CableTest {
         Cable cable1 = new Cable(VoltageAC.v240_1ph_3w);
         assertThrows(IllegalCallerException.class, () -> cable1.copy(bundle));
     }
-}
\ No newline at end of file
+
+    @Test
+    void edit() {
+        Cable cable = new Cable(VoltageAC.v120_1ph_2w);
+        cable.edit(e -> e.setPhaseConductorSize(Size.AWG_8)
+                .setMetalForPhaseAndNeutral(ConductiveMetal.ALUMINUM)
+                .setInsulation(Insulation.XHHW2)
+                .setLength(150)
+                .setAmbientTemperatureF(104)
+                .setOuterDiameter(0.7)
+                .setType(CableType.AC));
+        assertEquals(Size.AWG_8, cable.getSize());
+        assertEquals(Size.AWG_8, cable.getNeutralConductor().getSize());
+        assertEquals(ConductiveMetal.ALUMINUM, cable.getNeutralConductor().getMetal());
+        assertEquals(Insulation.XHHW2, cable.getGroundingConductor().getInsulation());
+        assertEquals(150, cable.getGroundingConductor().getLength());
+        assertEquals(104, cable.getNeutralConductor().getAmbientTemperatureF());
+        assertEquals(0.7, cable.getOuterDiameter());
+        assertEquals(CableType.AC, cable.getType());
+    }
+
+    @Test
+    void edit_rollback() {
+        Cable cable = new Cable(VoltageAC.v240_1ph_2w);
+        assertThrows(IllegalArgumentException.class, () -> cable.edit(e -> e.setPhaseConductorSize(Size.AWG_6)
+                .setNeutralConductorSize(Size.AWG_6)));
+        assertEquals(Size.AWG_12, cable.getSize());
+        assertThrows(IllegalArgumentException.class, () -> cable.edit(e -> e.setPhaseConductorSize(Size.AWG_6)
+                .setLength(0)));
+        assertEquals(Size.AWG_12, cable.getSize());
+    }
+}
@@ -0,0 +1,133 @@
+package javaTests;
+
+import org.junit.jupiter.api.Test;
+import tools.ChangeBus;
+import tools.FieldInfoChangeEvent;
+import tools.Listener;
+import tools.NotifierDelegate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChangeBusTest {
+
+	@Test
+	void notifyOutsideTransaction() {
+		NotifierDelegate notifier = new NotifierDelegate("sender");
+		int[] calls = new int[1];
+		notifier.addListener(sender -> calls[0]++);
+		notifier.notifyAllListeners();
+		notifier.notifyAllListeners();
+		assertEquals(2, calls[0]);
+	}
+
+	@Test
+	void coalesceInsideTransaction() {
+		NotifierDelegate notifier = new NotifierDelegate("sender");
+		int[] calls = new int[1];
+		Object[] values = new Object[2];
+		notifier.addListener(sender -> {
+			calls[0]++;
+			FieldInfoChangeEvent.Fields field = notifier.info.getField("size");
+			values[0] = field.oldValue;
+			values[1] = field.newValue;
+		});
+		ChangeBus.current().runInTransaction(() -> {
+			notifier.info.addFieldChange("size", 1, 2);
+			notifier.notifyAllListeners();
+			notifier.info.addFieldChange("size", 2, 3);
+			notifier.notifyAllListeners();
+			assertEquals(1, notifier.info.getFieldCount());
+			assertEquals(0, calls[0]);
+		});
+		assertEquals(1, calls[0]);
+		assertEquals(1, values[0]);
+		assertEquals(3, values[1]);
+		assertEquals(0, notifier.info.getFieldCount());
+		assertFalse(ChangeBus.current().inTransaction());
+	}
+
+	@Test
+	@SuppressWarnings("deprecation")
+	void fieldsView() {
+		FieldInfoChangeEvent event = new FieldInfoChangeEvent();
+		event.addFieldChange("size", 1, 2);
+		event.addFieldChange("length", 10, 20);
+		event.addFieldChange("size", 2, 3);
+		assertEquals(2, event.fields.size());
+		assertSame(event.getField(0), event.fields.get(0));
+		int n = 0;
+		for(FieldInfoChangeEvent.Fields field : event.fields)
+			assertSame(event.getField(n++), field);
+		assertEquals(3, event.fields.get(0).newValue);
+		assertThrows(UnsupportedOperationException.class,
+				() -> event.fields.add(new FieldInfoChangeEvent.Fields("x", 1, 2)));
+		event.fields.clear();
+		assertEquals(0, event.getFieldCount());
+		assertTrue(event.fields.isEmpty());
+	}
+
+	@Test
+	void nestedTransactions() {
+		NotifierDelegate notifier = new NotifierDelegate("sender");
+		int[] calls = new int[1];
+		notifier.addListener(sender -> calls[0]++);
+		ChangeBus bus = ChangeBus.current();
+		bus.begin();
+		bus.begin();
+		notifier.notifyAllListeners();
+		bus.commit();
+		assertEquals(0, calls[0]);
+		assertEquals(1, bus.getPendingCount());
+		bus.commit();
+		assertEquals(1, calls[0]);
+		assertThrows(IllegalStateException.class, bus::commit);
+	}
+
+	@Test
+	void dependencyOrder() {
+		NotifierDelegate upstream = new NotifierDelegate("upstream");
+		NotifierDelegate downstream = new NotifierDelegate("downstream");
+		StringBuilder log = new StringBuilder();
+		upstream.addListener(sender -> {
+			log.append("downstream sees ").append(sender).append(';');
+			downstream.notifyAllListeners();
+		}, downstream);
+		downstream.addListener(sender -> log.append("end sees ").append(sender).append(';'));
+
+		ChangeBus.current().runInTransaction(() -> {
+			downstream.notifyAllListeners();
+			upstream.notifyAllListeners();
+		});
+		assertEquals("downstream sees upstream;end sees downstream;", log.toString());
+		assertThrows(IllegalArgumentException.class,
+				() -> downstream.addListener(sender -> {}, upstream));
+	}
+
+	@Test
+	void identityListenerSet() {
+		NotifierDelegate notifier = new NotifierDelegate("sender");
+		int[] calls = new int[1];
+		Listener listener = sender -> calls[0]++;
+		notifier.addListener(listener);
+		notifier.addListener(listener);
+		assertEquals(1, notifier.getListenerCount());
+		notifier.notifyAllListeners();
+		assertEquals(1, calls[0]);
+		notifier.removeListener(listener);
+		assertEquals(0, notifier.getListenerCount());
+		notifier.notifyAllListeners();
+		assertEquals(1, calls[0]);
+	}
+
+	@Test
+	void disabledNotifierClearsFields() {
+		NotifierDelegate notifier = new NotifierDelegate("sender");
+		int[] calls = new int[1];
+		notifier.addListener(sender -> calls[0]++);
+		notifier.enable(false);
+		notifier.info.addFieldChange("length", 10, 20);
+		notifier.notifyAllListeners();
+		assertEquals(0, calls[0]);
+		assertEquals(0, notifier.info.getFieldCount());
+	}
+}
@@ -0,0 +1,97 @@
+package javaTests;
+
+import eecalcs.circuits.CircuitAll;
+import eecalcs.circuits.CircuitSizing;
+import eecalcs.conduits.Conduit;
+import eecalcs.loads.GeneralLoad;
+import eecalcs.systems.VoltageAC;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitSizingTest {
+	private static CircuitAll.Builder receptacleCircuit() {
+		return new CircuitAll.Builder(new GeneralLoad(VoltageAC.v120_1ph_2w, 16).setContinuous());
+	}
+
+	@Test
+	void sameResultsAsCircuitAll() {
+		CircuitSizing sizing = new CircuitSizing();
+		CircuitAll circuit = new CircuitAll.Builder(new GeneralLoad(VoltageAC.v480_3ph_4w, 100)).build();
+		circuit.setLength(150);
+		CircuitSizing.Result result = sizing.size(new CircuitAll.Builder(new GeneralLoad(VoltageAC.v480_3ph_4w,
+				100)), 150);
+		assertEquals(circuit.getCircuitSize(), result.getSize());
+		assertEquals(circuit.getOCPDRating(), result.getOCPDRating());
+		assertEquals(circuit.getCircuitAmpacity(), result.getAmpacity());
+		assertEquals(circuit.getNeutralConductor().getSize(), result.getNeutralSize());
+		assertEquals(circuit.getGroundingConductor().getSize(), result.getGroundingSize());
+		assertEquals(circuit.getPrivateConduit().getTradeSize(), result.getTradeSize());
+
+		//sequential requests are not coalesced: results are not cached
+		sizing.size(receptacleCircuit());
+		sizing.size(receptacleCircuit());
+		assertEquals(3, sizing.getRequestCount());
+		assertEquals(3, sizing.getCalculationCount());
+		assertEquals(0, sizing.getCoalescingRatio());
+		assertEquals(0, sizing.getInFlightCount());
+	}
+
+	@Test
+	void concurrentIdenticalRequests() throws Exception {
+		CircuitSizing sizing = new CircuitSizing();
+		CircuitSizing.Result expected = new CircuitSizing().size(receptacleCircuit());
+		int threads = 16;
+		int requestsPerThread = 25;
+		CyclicBarrier barrier = new CyclicBarrier(threads);
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<List<CircuitSizing.Result>>> futures = new ArrayList<>();
+			for(int t = 0; t < threads; t++)
+				futures.add(executor.submit(() -> {
+					List<CircuitSizing.Result> results = new ArrayList<>();
+					barrier.await();
+					for(int i = 0; i < requestsPerThread; i++)
+						results.add(sizing.size(receptacleCircuit()));
+					return results;
+				}));
+			for(Future<List<CircuitSizing.Result>> future : futures)
+				for(CircuitSizing.Result result : future.get(30, TimeUnit.SECONDS)) {
+					assertEquals(expected.getSize(), result.getSize());
+					assertEquals(expected.getOCPDRating(), result.getOCPDRating());
+					assertEquals(expected.getGroundingSize(), result.getGroundingSize());
+				}
+		}
+		finally {
+			executor.shutdown();
+		}
+		assertEquals(threads * requestsPerThread, sizing.getRequestCount());
+		assertEquals(sizing.getRequestCount(), sizing.getCalculationCount() + sizing.getCoalescedCount());
+		assertTrue(sizing.getCalculationCount() >= 1);
+		assertEquals(0, sizing.getInFlightCount());
+		sizing.resetCounters();
+		assertEquals(0, sizing.getRequestCount());
+	}
+
+	@Test
+	void sharedConduitAndErrors() {
+		CircuitSizing sizing = new CircuitSizing();
+		Conduit conduit = new Conduit();
+		assertNotNull(sizing.size(receptacleCircuit().sharedConduit(conduit)).getSize());
+		assertEquals(1, sizing.getCalculationCount());
+
+		CircuitAll.Builder invalid = new CircuitAll.Builder(new GeneralLoad(VoltageAC.v480_3ph_4w, 500))
+				.numberOfSets(3).numberOfPrivateConduits(2);
+		assertThrows(IllegalArgumentException.class, () -> sizing.size(invalid));
+		assertEquals(0, sizing.getInFlightCount());
+		assertThrows(IllegalArgumentException.class, () -> sizing.size(null));
+	}
+}
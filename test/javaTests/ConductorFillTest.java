@@ -0,0 +1,65 @@
+package javaTests;
+
+import eecalcs.conductors.ConductorProperties;
+import eecalcs.conductors.Insulation;
+import eecalcs.conductors.Size;
+import eecalcs.conduits.ConductorFill;
+import eecalcs.conduits.ConduitProperties;
+import eecalcs.conduits.TradeSize;
+import eecalcs.conduits.Type;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConductorFillTest {
+	@Test
+	void annexC() {
+		//values from NEC Annex C Table C.1
+		assertEquals(12, ConductorFill.getMaxConductorCount(Type.EMT, TradeSize.T1$2, Insulation.THHN, Size.AWG_14));
+		assertEquals(9, ConductorFill.getMaxConductorCount(Type.EMT, TradeSize.T1$2, Insulation.THHN, Size.AWG_12));
+		assertEquals(5, ConductorFill.getMaxConductorCount(Type.EMT, TradeSize.T1$2, Insulation.THHN, Size.AWG_10));
+		assertEquals(10, ConductorFill.getMaxConductorCount(Type.EMT, TradeSize.T3$4, Insulation.THHN, Size.AWG_10));
+		assertEquals(4, ConductorFill.getMaxConductorCount(Type.EMT, TradeSize.T1, Insulation.THHN, Size.AWG_4));
+	}
+
+	@Test
+	void fillRules() {
+		//one conductor: 53%, two conductors: 31%
+		assertEquals(0, ConductorFill.getMaxConductorCount(Type.EMT, TradeSize.T1$2, Insulation.THHN, Size.KCMIL_500));
+		for(Type type : Type.values()) {
+			for(TradeSize tradeSize : TradeSize.values()) {
+				double conduitArea = ConduitProperties.getArea(type, tradeSize);
+				for(Size size : Size.values()) {
+					double conductorArea = ConductorProperties.getInsulatedConductorAreaIn2(size, Insulation.THW);
+					int count = ConductorFill.getMaxConductorCount(type, tradeSize, Insulation.THW, size);
+					if(conduitArea == 0 || conductorArea == 0) {
+						assertEquals(0, count);
+						continue;
+					}
+					int expected = conductorArea > 0.53 * conduitArea ? 0 :
+							2 * conductorArea > 0.31 * conduitArea ? 1 :
+							Math.max(2, (int) (0.40 * conduitArea / conductorArea + 0.2));
+					assertEquals(expected, count, type + " " + tradeSize + " " + size);
+				}
+			}
+		}
+	}
+
+	@Test
+	void nippleAndCompact() {
+		int regular = ConductorFill.getMaxConductorCount(Type.EMT, TradeSize.T1$2, Insulation.THHN, Size.AWG_12);
+		int nipple = ConductorFill.getMaxConductorCount(Type.EMT, TradeSize.T1$2, Insulation.THHN, Size.AWG_12,
+				false, true);
+		assertEquals(13, nipple);
+		assertTrue(nipple > regular);
+		//there are no compact conductors smaller than 8 AWG
+		assertEquals(0, ConductorFill.getMaxConductorCount(Type.EMT, TradeSize.T1, Insulation.THHN, Size.AWG_12,
+				true, false));
+		assertTrue(ConductorFill.getMaxConductorCount(Type.EMT, TradeSize.T1, Insulation.THHN, Size.AWG_4, true, false)
+				>= ConductorFill.getMaxConductorCount(Type.EMT, TradeSize.T1, Insulation.THHN, Size.AWG_4));
+		assertThrows(IllegalArgumentException.class,
+				() -> ConductorFill.getMaxConductorCount(null, TradeSize.T1, Insulation.THHN, Size.AWG_4));
+		assertThrows(IllegalArgumentException.class,
+				() -> ConductorFill.getMaxConductorCount(Type.EMT, TradeSize.T1, null, Size.AWG_4, true, true));
+	}
+}
@@ -283,4 +283,26 @@ class ConductorPropertiesTest {
         assertEquals(Size.KCMIL_250, ConductorProperties.getSizePerCurrent(181, ConductiveMetal.ALUMINUM, TempRating.T75));
         assertEquals(Size.KCMIL_900, ConductorProperties.getSizePerCurrent(450, ConductiveMetal.ALUMINUM, TempRating.T90));
     }
-}
\ No newline at end of file
+
+    @Test
+    void resistanceTemperatureCorrection() {
+        assertEquals(1.0, ConductorProperties.getResistanceTemperatureFactor(ConductiveMetal.COPPER, 75));
+        assertEquals(1 - 0.00323 * 55, ConductorProperties.getResistanceTemperatureFactor(ConductiveMetal.COPPER, 20), 1e-12);
+        assertEquals(1 + 0.00330 * 15, ConductorProperties.getResistanceTemperatureFactor(ConductiveMetal.ALUMINUM, 90), 1e-12);
+        assertEquals(1 + 0.00323 * 0.5, ConductorProperties.getResistanceTemperatureFactor(ConductiveMetal.COPPER, 75.5), 1e-12);
+        assertEquals(1 + 0.00323 * 225, ConductorProperties.getResistanceTemperatureFactor(ConductiveMetal.COPPER, 300), 1e-12);
+
+        assertEquals(ConductorProperties.getDCResistance(Size.AWG_12, ConductiveMetal.COPPER) * (1 - 0.00323 * 55),
+                ConductorProperties.getDCResistanceAt(Size.AWG_12, ConductiveMetal.COPPER, 20), 1e-9);
+        assertEquals(ConductorProperties.getACResistance(Size.KCMIL_250, ConductiveMetal.ALUMINUM, OuterMaterial.PVC),
+                ConductorProperties.getACResistanceAt(Size.KCMIL_250, ConductiveMetal.ALUMINUM, OuterMaterial.PVC, 75), 1e-12);
+
+        assertEquals(30, ConductorProperties.estimateOperatingTemperature(30, TempRating.T75, 0, 20), 1e-12);
+        assertEquals(75, ConductorProperties.estimateOperatingTemperature(30, TempRating.T75, 20, 20), 1e-12);
+        assertEquals(30 + 45 * 0.25, ConductorProperties.estimateOperatingTemperature(30, TempRating.T75, 10, 20), 1e-12);
+        assertThrows(IllegalArgumentException.class,
+                () -> ConductorProperties.estimateOperatingTemperature(30, TempRating.UNKNOWN, 10, 20));
+        assertThrows(IllegalArgumentException.class,
+                () -> ConductorProperties.estimateOperatingTemperature(30, TempRating.T75, 10, 0));
+    }
+}
@@ -10,6 +10,8 @@ import eecalcs.conduits.Type;
 import eecalcs.systems.VoltageAC;
 import org.junit.jupiter.api.Test;
 
+import java.util.Spliterator;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class ConduitTest {
@@ -324,4 +326,53 @@ class ConduitTest {
         assertFalse(cond2.hasBundle());
         assertFalse(cond3.hasBundle());
     }
-}
\ No newline at end of file
+
+    @Test
+    void edit() {
+        Conduit conduit = new Conduit(86).add(new Conductor());
+        conduit.edit(e -> e.setAmbientTemperatureF(100)
+                .setType(Type.PVC40)
+                .setNipple(true)
+                .add(new Cable(VoltageAC.v120_1ph_2w)));
+        assertEquals(100, conduit.getAmbientTemperatureF());
+        assertEquals(Type.PVC40, conduit.getType());
+        assertTrue(conduit.isNipple());
+        assertEquals(2, conduit.getFillingConductorCount());
+        for (Conduitable conduitable : conduit.getConduitables())
+            assertEquals(100, conduitable.getAmbientTemperatureF());
+    }
+
+    @Test
+    void edit_rollback() {
+        Conduit conduit = new Conduit(86).add(new Conductor());
+        assertThrows(IllegalArgumentException.class, () -> conduit.edit(e -> e.setType(Type.PVC40)
+                .add(new Conductor())
+                .setAmbientTemperatureF(500)));
+        assertEquals(86, conduit.getAmbientTemperatureF());
+        assertEquals(Type.EMT, conduit.getType());
+        assertEquals(1, conduit.getFillingConductorCount());
+    }
+
+    @Test
+    void getMembers() {
+        Conduit conduit = new Conduit(86);
+        ConduitableView members = conduit.getMembers();
+        assertTrue(members.isEmpty());
+        conduit.add(new Conductor()).add(new Cable(VoltageAC.v208_3ph_4w)).add(new Conductor().setRole(Conductor.Role.GND));
+        assertSame(members, conduit.getMembers());
+        assertEquals(3, members.size());
+        assertTrue(members.get(1) instanceof Cable);
+        assertThrows(UnsupportedOperationException.class, () -> members.add(new Conductor()));
+        assertThrows(UnsupportedOperationException.class, () -> members.remove(0));
+
+        Spliterator<Conduitable> spliterator = members.spliterator();
+        assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.IMMUTABLE));
+        assertEquals(3, spliterator.getExactSizeIfKnown());
+        Spliterator<Conduitable> prefix = spliterator.trySplit();
+        assertNotNull(prefix);
+        assertEquals(3, prefix.estimateSize() + spliterator.estimateSize());
+
+        int ccc = members.parallelStream().mapToInt(Conduitable::getCurrentCarryingCount).sum();
+        assertEquals(conduit.getCurrentCarryingCount(), ccc);
+    }
+}
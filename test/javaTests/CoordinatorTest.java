@@ -0,0 +1,115 @@
+package javaTests;
+
+import eecalcs.circuits.CircuitSizing;
+import eecalcs.portfolio.Coordinator;
+import eecalcs.portfolio.Project;
+import eecalcs.portfolio.ProjectResult;
+import eecalcs.systems.VoltageAC;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CoordinatorTest {
+	private static final VoltageAC[] voltages = {VoltageAC.v120_1ph_2w, VoltageAC.v208_3ph_4w, VoltageAC.v480_3ph_4w,
+			VoltageAC.custom("400V 3Ø 4W", 400, 3, 3, 1, VoltageAC.WindingType.Y)};
+
+	private static List<Project> portfolio(int projects, int circuitsPerProject) {
+		List<Project> portfolio = new ArrayList<>();
+		for(int p = 0; p < projects; p++) {
+			Project project = new Project("Building " + p);
+			/*projects of different sizes, so the workers run out of units at different times*/
+			for(int c = 0; c < circuitsPerProject * (1 + p % 3); c++) {
+				Project.Circuit circuit = new Project.Circuit(voltages[(p + c) % voltages.length], 5 + (c * 7) % 190)
+						.setPowerFactor(c % 2 == 0 ? 1 : 0.85).setLength(50 + c % 150);
+				if(c % 3 == 0)
+					circuit.setContinuous();
+				project.add(circuit);
+			}
+			portfolio.add(project);
+		}
+		return portfolio;
+	}
+
+	private static void assertSameAsInProcess(List<Project> portfolio, List<ProjectResult> results) {
+		CircuitSizing sizing = new CircuitSizing();
+		assertEquals(portfolio.size(), results.size());
+		for(int p = 0; p < portfolio.size(); p++) {
+			ProjectResult result = results.get(p);
+			assertEquals(portfolio.get(p).getName(), result.getName());
+			assertFalse(result.isFailed());
+			List<Project.Circuit> circuits = portfolio.get(p).getCircuits();
+			assertEquals(circuits.size(), result.getCircuits().size());
+			for(int c = 0; c < circuits.size(); c++) {
+				CircuitSizing.Result expected = sizing.size(circuits.get(c).toBuilder(), circuits.get(c).getLength());
+				ProjectResult.Circuit actual = result.getCircuits().get(c);
+				assertNull(actual.getError());
+				assertEquals(expected.getSize(), actual.getSize());
+				assertEquals(expected.getOCPDRating(), actual.getOCPDRating());
+				assertEquals(expected.getAmpacity(), actual.getAmpacity());
+			}
+		}
+	}
+
+	@Test
+	void resultsAreMergedInProjectOrder() throws Exception {
+		List<Project> portfolio = portfolio(7, 40);
+		portfolio.add(new Project("Empty"));
+		Coordinator coordinator = new Coordinator(3).setUnitSize(25);
+		List<ProjectResult> results = coordinator.run(portfolio);
+		assertSameAsInProcess(portfolio, results);
+		assertTrue(results.get(7).getCircuits().isEmpty());
+		assertEquals(0, coordinator.getRetryCount());
+		assertTrue(coordinator.getCompletedUnitCount() > 7);
+	}
+
+	@Test
+	void crashedWorkerRetriesOnlyItsUnit() throws Exception {
+		List<Project> portfolio = portfolio(6, 500);
+		Coordinator coordinator = new Coordinator(2).setUnitSize(20);
+		AtomicReference<List<ProjectResult>> results = new AtomicReference<>();
+		AtomicReference<Exception> failure = new AtomicReference<>();
+		Thread run = new Thread(() -> {
+			try {
+				results.set(coordinator.run(portfolio));
+			}
+			catch(Exception e) {
+				failure.set(e);
+			}
+		});
+		run.start();
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+		while(coordinator.getCompletedUnitCount() < 5) {
+			if(!run.isAlive())
+				fail("The run finished before a worker could be killed: " + failure.get());
+			if(System.nanoTime() > deadline)
+				fail("The workers did not complete 5 units in 60 s.");
+			Thread.sleep(1);
+		}
+		assertTrue(ProcessHandle.current().children().findFirst().orElseThrow().destroyForcibly());
+		run.join(60_000);
+		assertFalse(run.isAlive(), "The run did not finish in 60 s after a worker was killed.");
+		assertNull(failure.get());
+		assertSameAsInProcess(portfolio, results.get());
+		assertTrue(coordinator.getRestartCount() >= 1);
+		assertTrue(coordinator.getRetryCount() >= 1);
+	}
+
+	@Test
+	void projectFailsAfterMaxAttempts() throws Exception {
+		Coordinator coordinator = new Coordinator(1, Collections.singletonList("-XX:+NoSuchOptionForTesting"))
+				.setMaxAttempts(2);
+		List<ProjectResult> results = coordinator.run(portfolio(2, 1));
+		assertTrue(results.get(0).isFailed());
+		assertTrue(results.get(1).isFailed());
+		assertTrue(results.get(0).getCircuits().isEmpty());
+		assertEquals(2, coordinator.getRetryCount());
+		assertThrows(IllegalArgumentException.class, () -> new Coordinator(0));
+		assertThrows(IllegalArgumentException.class, () -> new Project.Circuit(VoltageAC.v120_1ph_2w, 0));
+	}
+}
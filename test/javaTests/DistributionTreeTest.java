@@ -0,0 +1,243 @@
+package javaTests;
+
+import eecalcs.circuits.CircuitAll;
+import eecalcs.conductors.ConductiveMetal;
+import eecalcs.conductors.Size;
+import eecalcs.distribution.DistributionTree;
+import eecalcs.loads.GeneralLoad;
+import eecalcs.loads.NonLinearLoad;
+import eecalcs.loads.PowerFactorType;
+import eecalcs.systems.VoltageAC;
+import eecalcs.voltagedrop.VoltageDropAC;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DistributionTreeTest {
+	@Test
+	void rollUp() {
+		DistributionTree tree = new DistributionTree("MSB", VoltageAC.v480_3ph_4w);
+		DistributionTree.Node panel = tree.getRoot().addPanel("LP1", VoltageAC.v208_3ph_4w);
+		for(int i = 0; i < 30; i++)
+			panel.addLoad("L" + i, new GeneralLoad(VoltageAC.v120_1ph_2w, 16));
+		assertEquals(32, tree.size());
+		assertEquals(30, tree.getRoot().getLoadCount());
+		assertEquals(30 * 120 * 16 / (208 * Math.sqrt(3)), panel.getLoad().getNominalCurrent(), 1e-9);
+		assertEquals(30 * 120 * 16 / (480 * Math.sqrt(3)), tree.getRoot().getLoad().getNominalCurrent(), 1e-9);
+		assertEquals(1, panel.getLoad().getPowerFactor(), 1e-12);
+
+		tree.resize();
+		assertEquals(Size.AWG_2$0, panel.getCircuitSize());
+		assertEquals(175, panel.getOCPDRating());
+		assertEquals(Size.AWG_10, panel.getChildren().get(0).getCircuitSize());
+		assertFalse(tree.getRoot().isResizingNeeded());
+
+		//a change at a leaf marks only the path to the root
+		GeneralLoad load = (GeneralLoad) panel.getChildren().get(0).getLoad();
+		load.setContinuous();
+		panel.getChildren().get(0).update();
+		assertTrue(panel.getChildren().get(0).isResizingNeeded());
+		assertTrue(panel.isResizingNeeded());
+		assertTrue(tree.getRoot().isResizingNeeded());
+		assertFalse(panel.getChildren().get(1).isResizingNeeded());
+		assertEquals(30 * 120 * 16 / (208 * Math.sqrt(3)), panel.getLoad().getNominalCurrent(), 1e-9);
+		assertEquals(29 * 120 * 16 / (208 * Math.sqrt(3)) + 120 * 20 / (208 * Math.sqrt(3)),
+				panel.getLoad().getMCA(), 1e-9);
+
+		//a change in a circuit marks only its node
+		tree.resize();
+		panel.getChildren().get(1).getCircuit().setLength(200);
+		panel.getChildren().get(1).update();
+		assertTrue(panel.getChildren().get(1).isResizingNeeded());
+		assertFalse(panel.isResizingNeeded());
+		assertEquals(Size.AWG_10, panel.getChildren().get(1).getCircuitSize());
+		assertFalse(panel.getChildren().get(1).isResizingNeeded());
+
+		//removing all the loads resets the sums
+		for(DistributionTree.Node node : new ArrayList<>(panel.getChildren()))
+			node.remove();
+		assertEquals(2, tree.size());
+		assertEquals(0, tree.getRoot().getLoadCount());
+		assertEquals(0, tree.getRoot().getLoad().getNominalCurrent());
+		assertNull(panel.getCircuitSize());
+		assertEquals(0, panel.getOCPDRating());
+	}
+
+	@Test
+	void incrementalResize() {
+		DistributionTree tree = new DistributionTree("MSB", VoltageAC.v480_3ph_4w);
+		DistributionTree.Node panel = tree.getRoot().addPanel("LP1", VoltageAC.v208_3ph_4w);
+		DistributionTree.Node first = panel.addLoad("L0", new GeneralLoad(VoltageAC.v120_1ph_2w, 16));
+		tree.resize();
+		assertEquals(Size.AWG_14, panel.getCircuitSize());
+		assertEquals(15, panel.getOCPDRating());
+
+		//the panel circuit is sized for the new aggregated load, not for the load it was created with
+		for(int i = 1; i < 30; i++)
+			panel.addLoad("L" + i, new GeneralLoad(VoltageAC.v120_1ph_2w, 16));
+		tree.resize();
+		assertEquals(panel.getLoad().getNominalCurrent(), panel.getCircuit().getLoad().getNominalCurrent(), 1e-9);
+		assertEquals(Size.AWG_2$0, panel.getCircuitSize());
+		assertEquals(175, panel.getOCPDRating());
+
+		//same for a leaf whose load is edited
+		assertEquals(Size.AWG_10, first.getCircuitSize());
+		assertEquals(30, first.getOCPDRating());
+		((GeneralLoad) first.getLoad()).setMixed(40);
+		first.update();
+		assertEquals(Size.AWG_8, first.getCircuitSize());
+		assertEquals(40, first.getOCPDRating());
+	}
+
+	@Test
+	void powerFactorAndNonLinearLoads() {
+		DistributionTree tree = new DistributionTree("MSB", VoltageAC.v208_3ph_4w);
+		GeneralLoad lagging = new GeneralLoad(VoltageAC.v208_3ph_4w, 10);
+		lagging.setPowerFactor(0.8);
+		tree.getRoot().addLoad("Motor", lagging);
+		assertEquals(0.8, tree.getRoot().getLoad().getPowerFactor(), 1e-12);
+		assertEquals(PowerFactorType.LAGGING, tree.getRoot().getLoad().getPowerFactorType());
+		assertFalse(tree.getRoot().getLoad().isNonLinear());
+
+		DistributionTree.Node node = tree.getRoot().addLoad("Computers", new NonLinearLoad(VoltageAC.v208_3ph_4w,
+				10));
+		assertTrue(tree.getRoot().getLoad().isNonLinear());
+		//vector sum of 8 + j6 and 10 + j0
+		assertEquals(Math.hypot(18, 6), tree.getRoot().getLoad().getNominalCurrent(), 1e-9);
+		node.remove();
+		assertFalse(tree.getRoot().getLoad().isNonLinear());
+		assertThrows(IllegalArgumentException.class, () -> tree.getRoot().remove());
+		assertThrows(IllegalArgumentException.class, () -> node.addLoad("X", new GeneralLoad()));
+		assertThrows(IllegalArgumentException.class, () -> tree.getRoot().addLoad("X", null));
+	}
+
+	@Test
+	void cumulativeVoltageDrop() {
+		DistributionTree tree = new DistributionTree("MSB", VoltageAC.v480_3ph_4w);
+		DistributionTree.Node panel = tree.getRoot().addPanel("LP1", VoltageAC.v208_3ph_4w);
+		DistributionTree.Node near = panel.addLoad("Near", new GeneralLoad(VoltageAC.v120_1ph_2w, 16));
+		DistributionTree.Node far = panel.addLoad("Far", new GeneralLoad(VoltageAC.v120_1ph_2w, 16));
+		far.getCircuit().setLength(150);
+		far.update();
+		tree.getRoot().getCircuit().setLength(300);
+		tree.getRoot().update();
+
+		CircuitAll circuit = far.getCircuit();
+		double expected = VoltageDropAC.getVoltageDropPercent(120, 1, 16, 1, true, far.getCircuitSize(), 150, 1,
+				ConductiveMetal.COPPER, circuit.getVoltageDropConduitMaterial());
+		assertEquals(expected, far.getVoltageDropPercent(), 1e-9);
+		assertEquals(tree.getRoot().getVoltageDropPercent() + panel.getVoltageDropPercent() +
+				far.getVoltageDropPercent(), far.getCumulativeVoltageDropPercent(), 1e-9);
+		assertTrue(tree.getRoot().getVoltageDropPercent() > 0);
+		assertTrue(far.getCumulativeVoltageDropPercent() > near.getCumulativeVoltageDropPercent());
+
+		List<DistributionTree.Node> worst = tree.getWorstEndpoints(5);
+		assertEquals(2, worst.size());
+		assertSame(far, worst.get(0));
+		assertSame(near, worst.get(1));
+		assertEquals(1, tree.getWorstEndpoints(1).size());
+
+		//the memoized drops are recalculated after a change
+		near.getCircuit().setLength(400);
+		near.update();
+		assertSame(near, tree.getWorstEndpoints(1).get(0));
+		assertThrows(IllegalArgumentException.class, () -> tree.getWorstEndpoints(0));
+	}
+
+	@Test
+	void voltageDropAfterIncrementalChanges() {
+		DistributionTree tree = new DistributionTree("MSB", VoltageAC.v480_3ph_4w, load -> {
+			CircuitAll circuit = new CircuitAll.Builder(load).build();
+			circuit.setLength(100);
+			return circuit;
+		});
+		DistributionTree.Node panelA = tree.getRoot().addPanel("LPA", VoltageAC.v208_3ph_4w);
+		DistributionTree.Node panelB = tree.getRoot().addPanel("LPB", VoltageAC.v208_3ph_4w);
+		DistributionTree.Node loadA = panelA.addLoad("A0", new GeneralLoad(VoltageAC.v120_1ph_2w, 16));
+		DistributionTree.Node loadB = panelB.addLoad("B0", new GeneralLoad(VoltageAC.v120_1ph_2w, 16));
+		assertEquals(Size.AWG_14, panelA.getCircuitSize());
+		double before = panelA.getVoltageDropPercent();
+
+		//the drop of the panel feeder is calculated with the size of the feeder for the new load
+		for(int i = 1; i < 30; i++)
+			panelA.addLoad("A" + i, new GeneralLoad(VoltageAC.v120_1ph_2w, 16));
+		Size size = panelA.getCircuitSize();
+		assertEquals(Size.AWG_2$0, size);
+		double current = panelA.getLoad().getNominalCurrent();
+		double expected = VoltageDropAC.getVoltageDropPercent(208, 3, current, 1, true, size, 100, 1,
+				ConductiveMetal.COPPER, panelA.getCircuit().getVoltageDropConduitMaterial());
+		assertEquals(expected, panelA.getVoltageDropPercent(), 1e-9);
+		assertNotEquals(before, panelA.getVoltageDropPercent());
+		assertEquals(tree.getRoot().getVoltageDropPercent() + panelA.getVoltageDropPercent() +
+				loadA.getVoltageDropPercent(), loadA.getCumulativeVoltageDropPercent(), 1e-9);
+
+		//the endpoints are ranked with the drops of the resized circuits
+		List<DistributionTree.Node> worst = tree.getWorstEndpoints(31);
+		assertEquals(31, worst.size());
+		//the panel feeders are sized for their loads, so the small feeder of LPB is the one with the highest drop
+		assertSame(loadB, worst.get(0));
+		for(DistributionTree.Node node : worst.subList(1, 31)) {
+			assertSame(panelA, node.getParent());
+			assertEquals(loadA.getCumulativeVoltageDropPercent(), node.getCumulativeVoltageDropPercent(), 1e-9);
+		}
+	}
+
+	@Test
+	void parallelBuild() {
+		List<DistributionTree.Node> parallel = new ArrayList<>();
+		List<DistributionTree.Node> sequential = new ArrayList<>();
+		buildCampus(parallel).resizeInParallel();
+		buildCampus(sequential).resize();
+		for(int i = 0; i < parallel.size(); i++) {
+			assertFalse(parallel.get(i).isResizingNeeded());
+			assertNotNull(parallel.get(i).getCircuitSize());
+			assertEquals(sequential.get(i).getCircuitSize(), parallel.get(i).getCircuitSize());
+			assertEquals(sequential.get(i).getOCPDRating(), parallel.get(i).getOCPDRating());
+		}
+	}
+
+	@Test
+	void parallelDeepChains() {
+		DistributionTree tree = new DistributionTree("MSB", VoltageAC.v480_3ph_4w);
+		//a chain of 3000 panels, with two chains of 1500 panels fed from its middle
+		List<DistributionTree.Node> nodes = new ArrayList<>();
+		DistributionTree.Node panel = tree.getRoot();
+		for(int i = 0; i < 3000; i++) {
+			panel = panel.addPanel("C" + i, VoltageAC.v480_3ph_4w);
+			nodes.add(panel);
+		}
+		nodes.add(panel.addLoad("End", new GeneralLoad(VoltageAC.v480_3ph_4w, 10)));
+		for(int branch = 0; branch < 2; branch++) {
+			panel = nodes.get(1500);
+			for(int i = 0; i < 1500; i++) {
+				panel = panel.addPanel("B" + branch + "-" + i, VoltageAC.v480_3ph_4w);
+				nodes.add(panel);
+			}
+			nodes.add(panel.addLoad("End" + branch, new GeneralLoad(VoltageAC.v480_3ph_4w, 20)));
+		}
+		tree.resizeInParallel();
+		for(DistributionTree.Node node : nodes)
+			assertFalse(node.isResizingNeeded());
+		assertEquals(Size.AWG_6, nodes.get(1500).getCircuitSize());
+		assertEquals(nodes.get(1500).getCircuitSize(), tree.getRoot().getCircuitSize());
+		assertEquals(Size.AWG_14, nodes.get(2999).getCircuitSize());
+	}
+
+	private static DistributionTree buildCampus(List<DistributionTree.Node> nodes) {
+		DistributionTree tree = new DistributionTree("MSB", VoltageAC.v480_3ph_4w);
+		for(int b = 0; b < 4; b++) {
+			DistributionTree.Node building = tree.getRoot().addPanel("B" + b, VoltageAC.v480_3ph_4w);
+			nodes.add(building);
+			for(int p = 0; p < 5; p++) {
+				DistributionTree.Node panel = building.addPanel("B" + b + "P" + p, VoltageAC.v208_3ph_4w);
+				nodes.add(panel);
+				for(int l = 0; l < 20; l++)
+					nodes.add(panel.addLoad("L" + l, new GeneralLoad(VoltageAC.v120_1ph_2w, 1 + (l + p + b) % 15)));
+			}
+		}
+		return tree;
+	}
+}
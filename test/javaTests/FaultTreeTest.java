@@ -0,0 +1,137 @@
+package javaTests;
+
+import eecalcs.conductors.ConductiveMetal;
+import eecalcs.conductors.ConductorProperties;
+import eecalcs.conductors.Size;
+import eecalcs.conduits.OuterMaterial;
+import eecalcs.shortcircuit.ConductorRun;
+import eecalcs.shortcircuit.FaultSource;
+import eecalcs.shortcircuit.FaultTree;
+import eecalcs.systems.VoltageAC;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FaultTreeTest {
+	@Test
+	void source() {
+		FaultSource source = FaultSource.transformer(VoltageAC.v480_3ph_4w, 1500, 3.5);
+		assertEquals(1500000 / (480 * Math.sqrt(3)) * 100 / 3.5, source.getBoltedFaultCurrent(), 1e-6);
+		assertEquals(source.getBoltedFaultCurrent(), source.getLineToGroundFaultCurrent(), 1e-6);
+		source = FaultSource.transformer(VoltageAC.v208_3ph_4w, 75, 2);
+		assertEquals(source.getBoltedFaultCurrent(), source.getLineToGroundFaultCurrent(), 1e-6);
+		//center-tapped secondary
+		source = FaultSource.transformer(VoltageAC.v240_1ph_3w, 50, 2);
+		assertEquals(50000 / 240.0 * 100 / 2, source.getBoltedFaultCurrent(), 1e-6);
+		assertEquals(1.5 * source.getBoltedFaultCurrent(), source.getLineToGroundFaultCurrent(), 1e-6);
+		assertEquals(0, FaultSource.transformer(VoltageAC.v240_1ph_2w, 50, 2).getLineToGroundFaultCurrent());
+		assertEquals(0, FaultSource.utility(VoltageAC.v480_3ph_3w, 30000).getLineToGroundFaultCurrent());
+		assertThrows(IllegalArgumentException.class, () -> FaultSource.utility(VoltageAC.v480_3ph_3w, 0));
+		assertThrows(IllegalArgumentException.class, () -> FaultSource.transformer(null, 75, 2));
+	}
+
+	@Test
+	void run() {
+		ConductorRun run = new ConductorRun(Size.KCMIL_400, ConductiveMetal.COPPER, OuterMaterial.STEEL, 25, 6);
+		double z = Math.hypot(ConductorProperties.getACResistance(Size.KCMIL_400, ConductiveMetal.COPPER,
+				OuterMaterial.STEEL), ConductorProperties.getReactance(Size.KCMIL_400, true));
+		assertEquals(z, run.getImpedancePer1000Ft(), 1e-12);
+		assertEquals(1000 / z, run.getConductorConstant(), 1e-9);
+		assertEquals(25 / (run.getConductorConstant() * 6), run.getImpedance(), 1e-12);
+		assertThrows(IllegalArgumentException.class,
+				() -> new ConductorRun(Size.AWG_12, ConductiveMetal.COPPER, null, 10, 0));
+	}
+
+	@Test
+	void pointToPoint() {
+		FaultSource source = FaultSource.transformer(VoltageAC.v480_3ph_4w, 1500, 3.5);
+		FaultTree tree = new FaultTree(source, "MSB");
+		ConductorRun feeder = new ConductorRun(Size.KCMIL_400, ConductiveMetal.COPPER, OuterMaterial.STEEL, 25, 6);
+		FaultTree.Node panel = tree.getRoot().addChild("MDP", feeder);
+		ConductorRun branch = new ConductorRun(Size.AWG_12, ConductiveMetal.COPPER, OuterMaterial.PVC, 50, 1);
+		FaultTree.Node load = panel.addChild("Load", branch);
+		assertEquals(3, tree.size());
+
+		double I = source.getBoltedFaultCurrent();
+		double f = Math.sqrt(3) * 25 * I / (feeder.getConductorConstant() * 6 * 480);
+		assertEquals(I / (1 + f), panel.getBoltedFaultCurrent(), 1e-6);
+		double ILN = source.getLineToGroundFaultCurrent();
+		f = 2 * 25 * ILN / (feeder.getConductorConstant() * 6 * 277);
+		assertEquals(ILN / (1 + f), panel.getLineToGroundFaultCurrent(), 1e-6);
+		assertTrue(load.getBoltedFaultCurrent() < panel.getBoltedFaultCurrent());
+
+		//chaining the multipliers is the same as adding the impedances of the runs
+		double Z = feeder.getImpedance() + branch.getImpedance();
+		assertEquals(1 / (1 / I + Math.sqrt(3) * Z / 480), load.getBoltedFaultCurrent(), 1e-6);
+
+		//changes are picked up on the next query
+		double before = load.getBoltedFaultCurrent();
+		load.setRun(new ConductorRun(Size.AWG_12, ConductiveMetal.COPPER, OuterMaterial.PVC, 100, 1));
+		assertTrue(load.getBoltedFaultCurrent() < before);
+		tree.setSource(FaultSource.utility(VoltageAC.v480_3ph_4w, 2 * I));
+		assertTrue(panel.getBoltedFaultCurrent() > I / (1 + Math.sqrt(3) * I * feeder.getImpedance() / 480));
+
+		load.remove();
+		assertEquals(2, tree.size());
+		assertTrue(panel.getChildren().isEmpty());
+		assertThrows(IllegalArgumentException.class, () -> tree.getRoot().remove());
+		assertThrows(IllegalArgumentException.class, () -> tree.getRoot().setRun(branch));
+	}
+
+	@Test
+	void parallel() {
+		FaultTree tree = new FaultTree(FaultSource.utility(VoltageAC.v208_3ph_4w, 40000), "Service");
+		Random random = new Random(1);
+		List<FaultTree.Node> nodes = new ArrayList<>();
+		nodes.add(tree.getRoot());
+		Size[] sizes = {Size.AWG_12, Size.AWG_6, Size.AWG_1$0, Size.KCMIL_250};
+		for(int i = 1; i < 5000; i++) {
+			FaultTree.Node parent = nodes.get(random.nextInt(nodes.size()));
+			nodes.add(parent.addChild("N" + i, new ConductorRun(sizes[random.nextInt(sizes.length)],
+					ConductiveMetal.COPPER, OuterMaterial.PVC, 10 + random.nextInt(100), 1)));
+		}
+		assertEquals(5000, tree.size());
+		tree.calculate();
+		double[] expected = new double[nodes.size()];
+		for(int i = 0; i < expected.length; i++)
+			expected[i] = nodes.get(i).getBoltedFaultCurrent();
+		tree.setSource(FaultSource.utility(VoltageAC.v208_3ph_4w, 40000));
+		tree.calculateInParallel();
+		for(int i = 0; i < expected.length; i++)
+			assertEquals(expected[i], nodes.get(i).getBoltedFaultCurrent());
+	}
+
+	@Test
+	void deepChains() {
+		FaultTree tree = new FaultTree(FaultSource.utility(VoltageAC.v208_3ph_4w, 40000), "Service");
+		ConductorRun run = new ConductorRun(Size.KCMIL_250, ConductiveMetal.COPPER, OuterMaterial.PVC, 1, 1);
+		//one chain of 8000 nodes, and two chains of 4000 nodes fed from its middle
+		List<FaultTree.Node> nodes = new ArrayList<>();
+		FaultTree.Node node = tree.getRoot();
+		for(int i = 0; i < 8000; i++) {
+			node = node.addChild("C" + i, run);
+			nodes.add(node);
+		}
+		FaultTree.Node middle = nodes.get(4000);
+		for(int branch = 0; branch < 2; branch++) {
+			node = middle;
+			for(int i = 0; i < 4000; i++) {
+				node = node.addChild("B" + branch + "-" + i, run);
+				nodes.add(node);
+			}
+		}
+		assertEquals(16001, tree.size());
+		tree.calculate();
+		double[] expected = new double[nodes.size()];
+		for(int i = 0; i < expected.length; i++)
+			expected[i] = nodes.get(i).getBoltedFaultCurrent();
+		tree.setSource(FaultSource.utility(VoltageAC.v208_3ph_4w, 40000));
+		tree.calculateInParallel();
+		for(int i = 0; i < expected.length; i++)
+			assertEquals(expected[i], nodes.get(i).getBoltedFaultCurrent());
+	}
+}
@@ -0,0 +1,141 @@
+package javaTests;
+
+import eecalcs.circuits.CircuitType;
+import eecalcs.loads.GeneralLoad;
+import eecalcs.loads.HarmonicLoadGroup;
+import eecalcs.loads.HarmonicSpectrum;
+import eecalcs.loads.NonLinearLoad;
+import eecalcs.systems.VoltageAC;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HarmonicLoadGroupTest {
+	@Test
+	void spectrum() {
+		HarmonicSpectrum spectrum = HarmonicSpectrum.of(new int[]{3}, new double[]{50});
+		assertEquals(50, spectrum.getPercent(3), 1e-9);
+		assertEquals(100, spectrum.getPercent(1), 1e-9);
+		assertEquals(50, spectrum.getTHDPercent(), 1e-9);
+		assertEquals(Math.sqrt(1.25), spectrum.getRMSFactor(), 1e-9);
+		//triplen harmonics add in the neutral of 3Ø 4W loads: 3 x 0.5 / √1.25
+		assertEquals(1.5 / Math.sqrt(1.25), spectrum.getNeutralRatio(VoltageAC.v208_3ph_4w), 1e-9);
+		//odd harmonics cancel in the neutral of center tapped 1Ø 3W loads
+		assertEquals(0, spectrum.getNeutralRatio(VoltageAC.v240_1ph_3w), 1e-9);
+		assertEquals(1, spectrum.getNeutralRatio(VoltageAC.v120_1ph_2w), 1e-9);
+		assertEquals(0, spectrum.getNeutralRatio(VoltageAC.v480_3ph_3w));
+		assertEquals(0, HarmonicSpectrum.VFD_6_PULSE.getNeutralRatio(VoltageAC.v480_3ph_4w), 1e-9);
+
+		assertThrows(IllegalArgumentException.class, () -> HarmonicSpectrum.of(new int[]{1}, new double[]{10}));
+		assertThrows(IllegalArgumentException.class, () -> HarmonicSpectrum.of(new int[]{3}, new double[]{-1}));
+		assertThrows(IllegalArgumentException.class, () -> HarmonicSpectrum.of(new int[]{3, 5}, new double[]{1}));
+	}
+
+	@Test
+	void nonLinearLoad() {
+		NonLinearLoad load = new NonLinearLoad(VoltageAC.v208_3ph_4w, 100);
+		assertTrue(load.isNonLinear());
+		assertTrue(load.isNeutralCurrentCarrying());
+		assertEquals(100 * HarmonicSpectrum.SMPS.getNeutralRatio(VoltageAC.v208_3ph_4w), load.getNeutralCurrent(),
+				1e-9);
+		assertTrue(load.getNeutralCurrent() > load.getNominalCurrent());
+
+		NonLinearLoad copy = (NonLinearLoad) load.getACopy();
+		assertSame(HarmonicSpectrum.SMPS, copy.getSpectrum());
+		assertEquals(load.getNeutralCurrent(), copy.getNeutralCurrent());
+
+		load.setSpectrum(HarmonicSpectrum.LINEAR);
+		assertEquals(0, load.getNeutralCurrent(), 1e-9);
+		assertThrows(IllegalArgumentException.class, () -> load.setSpectrum(null));
+	}
+
+	@Test
+	void triplensAddInTheNeutral() {
+		HarmonicLoadGroup group = new HarmonicLoadGroup(VoltageAC.v208_3ph_4w);
+		assertEquals(CircuitType.FEEDER, group.getRequiredCircuitType());
+		assertFalse(group.isNonLinear());
+		NonLinearLoad[] loads = new NonLinearLoad[3];
+		for(int i = 0; i < 3; i++) {
+			loads[i] = new NonLinearLoad(VoltageAC.v120_1ph_2w, 10);
+			group.add(loads[i], HarmonicLoadGroup.Phase.values()[i]);
+		}
+		assertTrue(group.isNonLinear());
+		assertEquals(10, group.getNominalCurrent(), 1e-9);
+		assertEquals(10, group.getLineCurrent(HarmonicLoadGroup.Phase.B), 1e-9);
+		assertEquals(10 * HarmonicSpectrum.SMPS.getNeutralRatio(VoltageAC.v208_3ph_4w), group.getNeutralCurrent(),
+				1e-9);
+		assertEquals(0, group.getNeutralHarmonicCurrent(1), 1e-9);
+		assertEquals(0, group.getNeutralHarmonicCurrent(5), 1e-9);
+		assertTrue(group.getNeutralHarmonicCurrent(3) > 0);
+
+		//adding twice has no effect
+		group.add(loads[0], HarmonicLoadGroup.Phase.A);
+		assertEquals(3, group.getLoadCount());
+
+		assertTrue(group.remove(loads[2]));
+		assertFalse(group.remove(loads[2]));
+		assertEquals(0, group.getLineCurrent(HarmonicLoadGroup.Phase.C), 1e-9);
+		assertTrue(group.getNeutralCurrent() > 10);
+
+		loads[0].setSpectrum(HarmonicSpectrum.LINEAR);
+		loads[1].setSpectrum(HarmonicSpectrum.LINEAR);
+		group.update(loads[0]);
+		group.update(loads[1]);
+		//two linear loads 120° apart: the neutral carries the line current
+		assertEquals(10, group.getNeutralCurrent(), 1e-9);
+
+		group.remove(loads[0]);
+		group.remove(loads[1]);
+		assertEquals(0, group.getNeutralCurrent());
+		assertEquals(0, group.getNominalCurrent());
+		assertEquals(0, group.getMCA());
+	}
+
+	@Test
+	void linearLoadsCancelInTheNeutral() {
+		HarmonicLoadGroup group = new HarmonicLoadGroup(VoltageAC.v208_3ph_4w);
+		for(HarmonicLoadGroup.Phase phase : HarmonicLoadGroup.Phase.values()) {
+			GeneralLoad load = new GeneralLoad(VoltageAC.v120_1ph_2w, 20);
+			load.setPowerFactor(0.8);
+			group.add(load, phase);
+		}
+		group.add(new GeneralLoad(VoltageAC.v208_3ph_4w, 5));
+		assertEquals(0, group.getNeutralCurrent(), 1e-9);
+		assertFalse(group.isNonLinear());
+		assertEquals(group.getLineCurrent(HarmonicLoadGroup.Phase.A),
+				group.getLineCurrent(HarmonicLoadGroup.Phase.C), 1e-9);
+		//the arithmetic sum of the MCA is an upper bound of the line current
+		assertEquals(25, group.getMCA(), 1e-9);
+		assertTrue(group.getNominalCurrent() < 25);
+
+		HarmonicLoadGroup copy = (HarmonicLoadGroup) group.getACopy();
+		assertEquals(4, copy.getLoadCount());
+		assertEquals(group.getNominalCurrent(), copy.getNominalCurrent(), 1e-9);
+	}
+
+	@Test
+	void splitPhase() {
+		HarmonicLoadGroup group = new HarmonicLoadGroup(VoltageAC.v240_1ph_3w);
+		group.add(new NonLinearLoad(VoltageAC.v120_1ph_2w, 10), HarmonicLoadGroup.Phase.A);
+		group.add(new NonLinearLoad(VoltageAC.v120_1ph_2w, 10), HarmonicLoadGroup.Phase.B);
+		//odd harmonics of balanced lines 180° apart cancel in the neutral
+		assertEquals(0, group.getNeutralCurrent(), 1e-9);
+		assertThrows(IllegalArgumentException.class,
+				() -> group.add(new NonLinearLoad(VoltageAC.v120_1ph_2w, 10), HarmonicLoadGroup.Phase.C));
+	}
+
+	@Test
+	void invalidArguments() {
+		assertThrows(IllegalArgumentException.class, () -> new HarmonicLoadGroup(null));
+		assertThrows(IllegalArgumentException.class, () -> new HarmonicLoadGroup(VoltageAC.v480_3ph_3w));
+		assertThrows(IllegalArgumentException.class, () -> new HarmonicLoadGroup(VoltageAC.v120_1ph_2w));
+		assertThrows(IllegalArgumentException.class, () -> new HarmonicLoadGroup(VoltageAC.v240_3ph_4w));
+		HarmonicLoadGroup group = new HarmonicLoadGroup(VoltageAC.v480_3ph_4w);
+		assertThrows(IllegalArgumentException.class,
+				() -> group.add(new NonLinearLoad(VoltageAC.v120_1ph_2w, 10), HarmonicLoadGroup.Phase.A));
+		assertThrows(IllegalArgumentException.class, () -> group.add(new GeneralLoad(VoltageAC.v208_3ph_4w, 10)));
+		assertThrows(IllegalArgumentException.class, () -> group.add(null));
+		group.add(new NonLinearLoad(VoltageAC.v277_1ph_2w, 10), HarmonicLoadGroup.Phase.C);
+		assertEquals(10, group.getNeutralCurrent(), 1e-9);
+	}
+}
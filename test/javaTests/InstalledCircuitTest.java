@@ -0,0 +1,75 @@
+package javaTests;
+
+import eecalcs.circuits.InstalledCircuit;
+import eecalcs.conductors.ConductiveMetal;
+import eecalcs.conductors.Size;
+import eecalcs.conductors.TempRating;
+import eecalcs.conduits.OuterMaterial;
+import eecalcs.systems.VoltageAC;
+import eecalcs.voltagedrop.VoltageDropAC;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InstalledCircuitTest {
+	@Test
+	void getMaxCurrent() {
+		InstalledCircuit circuit = new InstalledCircuit().setSize(Size.AWG_6).setOCPDRating(60);
+		assertEquals(75, circuit.getAmpacity(), 0.001);
+		assertEquals(55, circuit.getTerminationAmpacity(), 0.001);
+		assertEquals(55, circuit.getMaxCurrent(false), 0.001);
+		assertEquals(44, circuit.getMaxCurrent(true), 0.001);
+
+		circuit.setTerminationTempRating(TempRating.T75);
+		assertEquals(60, circuit.getMaxCurrent(false), 0.001);
+		assertEquals(48, circuit.getMaxCurrent(true), 0.001);
+		circuit.setFullPercentRated(true);
+		assertEquals(60, circuit.getMaxCurrent(true), 0.001);
+
+		circuit.setCurrentCarryingCount(9).setAmbientTemperatureF(104);
+		assertEquals(75 * 0.91 * 0.7, circuit.getAmpacity(), 0.001);
+		assertEquals(75 * 0.91 * 0.7, circuit.getMaxCurrent(true), 0.001);
+	}
+
+	@Test
+	void getMaxCurrentForVD() {
+		InstalledCircuit circuit = new InstalledCircuit().setSize(Size.AWG_6).setLength(150);
+		double maxCurrent = circuit.getMaxCurrentForVD();
+		assertTrue(VoltageDropAC.getVoltageDropPercent(208, 3, maxCurrent, 1, true, Size.AWG_6, 150, 1,
+				ConductiveMetal.COPPER, OuterMaterial.PVC) <= 3);
+		assertTrue(VoltageDropAC.getVoltageDropPercent(208, 3, maxCurrent + 1, 1, true, Size.AWG_6, 150, 1,
+				ConductiveMetal.COPPER, OuterMaterial.PVC) > 3);
+	}
+
+	@Test
+	void getMaxLengthAndHeadroom() {
+		InstalledCircuit circuit = new InstalledCircuit().setVoltageAC(VoltageAC.v480_3ph_3w)
+				.setSize(Size.AWG_4).setOCPDRating(70);
+		assertEquals(0, circuit.getMaxLength(80, false));
+		assertTrue(circuit.getMaxLength(40, true) > 0);
+		assertEquals(Double.POSITIVE_INFINITY, circuit.getMaxLength(0, true));
+		assertEquals(100, circuit.getHeadroomPercent(0, false), 0.001);
+		assertTrue(circuit.getHeadroomPercent(80, false) < 0);
+		double limit = Math.min(circuit.getMaxCurrent(true), circuit.getMaxCurrentForVD());
+		assertEquals(50, circuit.getHeadroomPercent(limit / 2, true), 0.001);
+	}
+
+	@Test
+	void solve() {
+		InstalledCircuit[] circuits = {
+				new InstalledCircuit().setSize(Size.AWG_10).setOCPDRating(30),
+				new InstalledCircuit().setSize(Size.AWG_1$0).setNumberOfSets(2).setOCPDRating(300)
+		};
+		double[] loadCurrents = {20, 200};
+		boolean[] continuous = {true, false};
+		double[] maxCurrent = new double[2], maxLength = new double[2], headroom = new double[2];
+		InstalledCircuit.solve(circuits, loadCurrents, continuous, maxCurrent, maxLength, headroom);
+		for (int i = 0; i < 2; i++) {
+			assertEquals(circuits[i].getMaxCurrent(continuous[i]), maxCurrent[i]);
+			assertEquals(circuits[i].getMaxLength(loadCurrents[i], continuous[i]), maxLength[i]);
+			assertEquals(circuits[i].getHeadroomPercent(loadCurrents[i], continuous[i]), headroom[i]);
+		}
+		assertThrows(IllegalArgumentException.class, () -> InstalledCircuit.solve(circuits, new double[1],
+				continuous, maxCurrent, maxLength, headroom));
+	}
+}
@@ -0,0 +1,102 @@
+package javaTests;
+
+import eecalcs.conductors.ConductiveMetal;
+import eecalcs.conductors.Size;
+import eecalcs.conduits.OuterMaterial;
+import eecalcs.distribution.LoadFlow;
+import eecalcs.loads.GeneralLoad;
+import eecalcs.shortcircuit.ConductorRun;
+import eecalcs.systems.VoltageAC;
+import eecalcs.voltagedrop.VoltageDropAC;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadFlowTest {
+	@Test
+	void singleResistiveBranch() {
+		LoadFlow flow = new LoadFlow(VoltageAC.v480_3ph_3w);
+		ConductorRun run = new ConductorRun(Size.AWG_4, ConductiveMetal.COPPER, OuterMaterial.PVC, 500, 1);
+		int node = flow.addNode(LoadFlow.SOURCE, run);
+		flow.setLoad(node, 60000, 0);
+		assertTrue(flow.solve());
+		//the current of the resistive load is in phase with the voltage at the load: V0 = |V + (R + jX)·I|
+		double V0 = 480 / Math.sqrt(3);
+		double V = flow.getVoltage(node) / Math.sqrt(3);
+		double R = run.getResistance();
+		double X = run.getReactance();
+		double current = flow.getBranchCurrent(node);
+		assertEquals(V0, Math.hypot(V + R * current, X * current), 1e-6);
+		assertEquals(60000 / (Math.sqrt(3) * flow.getVoltage(node)), current, 1e-6);
+		assertEquals(3 * current * current * R, flow.getLosses(), 1e-6);
+		assertEquals(60000 + flow.getLosses(), flow.getSourceRealPower(), 1e-3);
+		assertEquals(3 * current * current * X, flow.getSourceReactivePower(), 1e-3);
+		assertEquals(current, flow.getBranchCurrent(LoadFlow.SOURCE), 1e-9);
+		assertEquals(0, flow.getVoltageDropPercent(LoadFlow.SOURCE), 1e-12);
+		assertTrue(flow.getVoltageAngle(node) < 0);
+	}
+
+	@Test
+	void agreesWithVoltageDropForLightLoads() {
+		LoadFlow flow = new LoadFlow(VoltageAC.v120_1ph_2w);
+		int node = flow.addNode(LoadFlow.SOURCE, new ConductorRun(Size.AWG_12, ConductiveMetal.COPPER,
+				OuterMaterial.STEEL, 50, 1));
+		GeneralLoad load = new GeneralLoad(VoltageAC.v120_1ph_2w, 5);
+		load.setPowerFactor(0.9);
+		flow.setLoad(node, load);
+		assertTrue(flow.solve());
+		double percent = VoltageDropAC.getVoltageDropPercent(120, 1, 5, 0.9, true, Size.AWG_12, 50, 1,
+				ConductiveMetal.COPPER, OuterMaterial.STEEL);
+		//the load flow accounts for the increase of current due to the lower voltage at the load
+		assertEquals(percent, flow.getVoltageDropPercent(node), 0.1);
+		assertTrue(flow.getVoltageDropPercent(node) > 0);
+	}
+
+	@Test
+	void largeTree() {
+		LoadFlow flow = new LoadFlow(VoltageAC.v480_3ph_4w);
+		Random random = new Random(7);
+		Size[] sizes = {Size.AWG_2, Size.AWG_1$0, Size.KCMIL_250, Size.KCMIL_500};
+		double totalLoad = 0;
+		for(int n = 1; n < 10000; n++) {
+			int parent = n < 10 ? LoadFlow.SOURCE : random.nextInt(n);
+			flow.addNode(parent, new ConductorRun(sizes[random.nextInt(sizes.length)], ConductiveMetal.COPPER,
+					OuterMaterial.STEEL, 1 + random.nextInt(10), 4));
+			double P = random.nextInt(200);
+			flow.setLoad(n, P, P * 0.3);
+			totalLoad += P;
+		}
+		assertEquals(10000, flow.size());
+		assertTrue(flow.solve());
+		assertTrue(flow.getIterations() > 1);
+		assertEquals(totalLoad + flow.getLosses(), flow.getSourceRealPower(), 1e-6 * totalLoad);
+		double losses = 0;
+		for(int n = 0; n < flow.size(); n++) {
+			losses += flow.getBranchLosses(n);
+			assertTrue(flow.getVoltage(n) <= 480 + 1e-9);
+		}
+		assertEquals(flow.getLosses(), losses, 1e-6);
+	}
+
+	@Test
+	void collapse() {
+		LoadFlow flow = new LoadFlow(VoltageAC.v208_3ph_3w);
+		int node = flow.addNode(LoadFlow.SOURCE, new ConductorRun(Size.AWG_14, ConductiveMetal.COPPER, null, 1000,
+				1));
+		flow.setLoad(node, 500000, 0);
+		assertFalse(flow.solve());
+		assertFalse(flow.isConverged());
+		assertEquals(LoadFlow.DEFAULT_MAX_ITERATIONS, flow.getIterations());
+	}
+
+	@Test
+	void invalidArguments() {
+		LoadFlow flow = new LoadFlow(VoltageAC.v208_3ph_3w);
+		assertThrows(IllegalArgumentException.class, () -> flow.addNode(1, null));
+		assertThrows(IllegalArgumentException.class, () -> flow.setLoad(0, -1, 0));
+		assertThrows(IllegalStateException.class, () -> flow.getVoltage(0));
+		assertThrows(IllegalArgumentException.class, () -> new LoadFlow(null));
+	}
+}
@@ -0,0 +1,40 @@
+package javaTests;
+
+import eecalcs.circuits.CircuitAll;
+import eecalcs.loads.GeneralLoad;
+import eecalcs.systems.VoltageAC;
+import org.junit.jupiter.api.Test;
+import tools.Metrics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricsTest {
+
+	@Test
+	void disabledByDefault() {
+		assertFalse(Metrics.isEnabled());
+		assertEquals(0, Metrics.start());
+	}
+
+	@Test
+	void recordsStagesAndLookups() {
+		Metrics.reset();
+		Metrics.setEnabled(true);
+		try {
+			CircuitAll circuitAll = new CircuitAll.Builder(new GeneralLoad(VoltageAC.v208_3ph_3w, 100)).build();
+			circuitAll.getCircuitSize();
+		} finally {
+			Metrics.setEnabled(false);
+		}
+		Metrics.Snapshot snapshot = Metrics.snapshot();
+		assertTrue(snapshot.getStage(Metrics.Stage.CIRCUIT).getCount() > 0);
+		assertTrue(snapshot.getStage(Metrics.Stage.AMPACITY_SIZING).getCount() > 0);
+		assertTrue(snapshot.getStage(Metrics.Stage.EGC).getCount() > 0);
+		assertTrue(snapshot.getLookupCount(Metrics.Table.AMPACITY) > 0);
+		Metrics.StageSnapshot circuit = snapshot.getStage(Metrics.Stage.CIRCUIT);
+		assertTrue(circuit.getPercentileNanos(50) <= circuit.getMaxNanos());
+
+		Metrics.reset();
+		assertEquals(0, Metrics.snapshot().getStage(Metrics.Stage.CIRCUIT).getCount());
+	}
+}
@@ -0,0 +1,72 @@
+package javaTests;
+
+import eecalcs.circuits.CircuitType;
+import eecalcs.circuits.OCPD;
+import eecalcs.loads.ACMotor;
+import eecalcs.loads.Horsepower;
+import eecalcs.loads.MotorGroup;
+import eecalcs.loads.MotorProperties;
+import eecalcs.systems.VoltageAC;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MotorGroupTest {
+	private ACMotor motor(Horsepower horsepower) {
+		return new ACMotor(MotorProperties.Type.AC3P, 460, horsepower, VoltageAC.v480_3ph_3w);
+	}
+
+	@Test
+	void feederSizing() {
+		MotorGroup group = new MotorGroup(VoltageAC.v480_3ph_3w);
+		assertEquals(0, group.getMCA());
+		assertEquals(0, group.getMaxOCPDRating());
+		assertNull(group.getLargestMotor());
+
+		ACMotor motor1 = motor(Horsepower.HP_50);
+		ACMotor motor2 = motor(Horsepower.HP_50);
+		ACMotor motor3 = motor(Horsepower.HP_10);
+		group.add(motor1).add(motor2).add(motor3);
+		assertEquals(3, group.getMotorCount());
+		assertEquals(144, group.getNominalCurrent());
+		assertEquals(160.25, group.getMCA());
+		//175 + 65 + 14 = 254
+		assertEquals(250, group.getMaxOCPDRating());
+		assertSame(motor1, group.getLargestMotor());
+		assertFalse(group.NHSRRuleApplies());
+		assertEquals(CircuitType.FEEDER, group.getRequiredCircuitType());
+
+		assertTrue(group.remove(motor1));
+		assertFalse(group.remove(motor1));
+		assertEquals(79, group.getNominalCurrent());
+		assertEquals(95.25, group.getMCA());
+		assertEquals(175, group.getMaxOCPDRating());
+		assertSame(motor2, group.getLargestMotor());
+	}
+
+	@Test
+	void update() {
+		MotorGroup group = new MotorGroup(VoltageAC.v480_3ph_3w);
+		ACMotor motor1 = motor(Horsepower.HP_15);
+		ACMotor motor2 = motor(Horsepower.HP_20);
+		group.add(motor1).add(motor2);
+		//70 + 21 = 91
+		assertEquals(90, group.getMaxOCPDRating());
+		assertSame(motor2, group.getLargestOCPDMotor());
+
+		motor1.setOcdpType(OCPD.Type.INSTANTANEOUS_TRIP_BREAKER);
+		assertTrue(group.update(motor1));
+		//175 + 27 = 202
+		assertEquals(200, group.getMaxOCPDRating());
+		assertSame(motor1, group.getLargestOCPDMotor());
+		assertSame(motor2, group.getLargestMotor());
+	}
+
+	@Test
+	void invalidMotor() {
+		MotorGroup group = new MotorGroup(VoltageAC.v480_3ph_3w);
+		assertThrows(IllegalArgumentException.class, () -> group.add(new ACMotor(MotorProperties.Type.AC3P, 208,
+				Horsepower.HP_10, VoltageAC.v208_3ph_3w)));
+		assertThrows(IllegalArgumentException.class, () -> group.add(null));
+	}
+}
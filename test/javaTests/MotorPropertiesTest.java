@@ -1,11 +1,13 @@
 package test.java;
 
 import eecalcs.circuits.OCPD;
+import eecalcs.loads.Horsepower;
 import eecalcs.loads.MotorProperties;
 import org.junit.jupiter.api.Test;
 
 import static eecalcs.loads.MotorProperties.DesignLetter.DESIGN_B;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class MotorPropertiesTest {
 
@@ -55,4 +57,42 @@ class MotorPropertiesTest {
 				MotorProperties.getMaxOCPDRatingFactorPerType(OCPD.Type.INVERSE_TIME_BREAKER,
 						MotorProperties.Type.AC3P_WR, null));
 	}
-}
\ No newline at end of file
+
+	@Test
+	void getFlc() {
+		assertEquals(12.2, MotorProperties.getFlc(MotorProperties.Type.DC, 90, Horsepower.HP_1));
+		assertEquals(0, MotorProperties.getFlc(MotorProperties.Type.DC, 115, Horsepower.HP_1));
+		assertEquals(16.0, MotorProperties.getFlc(MotorProperties.Type.AC1P, 120, Horsepower.HP_1));
+		assertEquals(65.0, MotorProperties.getFlc(MotorProperties.Type.AC3P, 480, Horsepower.HP_50));
+		assertEquals(0, MotorProperties.getFlc(MotorProperties.Type.AC3P_WR, 480, Horsepower.HP_50));
+		assertEquals(0, MotorProperties.getFlc(MotorProperties.Type.AC3PS, 208, Horsepower.HP_50));
+	}
+
+	@Test
+	void resolve() {
+		MotorProperties.Type[] types = {MotorProperties.Type.AC3P, MotorProperties.Type.AC1P,
+				MotorProperties.Type.AC3P_WR};
+		int[] voltages = {460, 230, 460};
+		Horsepower[] horsepowers = {Horsepower.HP_50, Horsepower.HP_2, Horsepower.HP_10};
+		OCPD.Type[] ocpdTypes = {OCPD.Type.INSTANTANEOUS_TRIP_BREAKER, OCPD.Type.DUAL_ELEMENT_TIME_DELAY_FUSE,
+				OCPD.Type.INVERSE_TIME_BREAKER};
+		MotorProperties.DesignLetter[] designLetters = {DESIGN_B, null, null};
+		double[] flc = new double[3];
+		double[] factor = new double[3];
+		double[] mca = new double[3];
+
+		MotorProperties.resolve(types, voltages, horsepowers, ocpdTypes, designLetters, flc, factor, mca);
+		assertEquals(65.0, flc[0]);
+		assertEquals(11.0, factor[0]);
+		assertEquals(81.25, mca[0]);
+		assertEquals(12.0, flc[1]);
+		assertEquals(1.75, factor[1]);
+		assertEquals(15.0, mca[1]);
+		assertEquals(0, flc[2]);
+		assertEquals(1.5, factor[2]);
+		assertEquals(0, mca[2]);
+
+		assertThrows(IllegalArgumentException.class, () -> MotorProperties.resolve(types, new int[2],
+				horsepowers, ocpdTypes, null, flc, factor, mca));
+	}
+}
@@ -0,0 +1,54 @@
+package javaTests;
+
+import eecalcs.server.NdjsonBatch;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NdjsonBatchTest {
+	@Test
+	void resultsInInputOrder() throws Exception {
+		StringBuilder input = new StringBuilder();
+		for(int i = 0; i < 500; i++)
+			input.append(i % 2 == 0
+					? "{\"voltage\": \"v480_3ph_4w\", \"current\": 100, \"powerFactor\": 0.9, \"continuous\": true, " +
+					  "\"length\": 150}\n"
+					: "{\"voltage\": \"v120_1ph_2w\", \"current\": 16, \"continuous\": true}\n");
+		StringWriter output = new StringWriter();
+		NdjsonBatch.Summary summary = NdjsonBatch.run(new StringReader(input.toString()), output, 4, 8, null);
+		String[] lines = output.toString().split("\n");
+		assertEquals(500, lines.length);
+		assertEquals(500, summary.getLines());
+		assertEquals(0, summary.getErrors());
+		for(int i = 0; i < 500; i++)
+			assertEquals(i % 2 == 0
+					? "{\"size\":\"AWG_1$0\",\"ocpdRating\":125,\"ampacity\":125.0}"
+					: "{\"size\":\"AWG_10\",\"ocpdRating\":30,\"ampacity\":30.0}", lines[i], "line " + i);
+	}
+
+	@Test
+	void errorsAndBlankLines() throws Exception {
+		String input = "{\"voltage\": \"v120_1ph_2w\", \"current\": 16}\n" +
+				"\n" +
+				"not json\n" +
+				"[1, 2]\n" +
+				"{\"voltage\": \"v999\", \"current\": 16}\n" +
+				"{\"voltage\": \"v120_1ph_2w\", \"current\": 16}";
+		StringWriter output = new StringWriter();
+		NdjsonBatch.Summary summary = NdjsonBatch.run(new StringReader(input), output, 2, 2, null);
+		String[] lines = output.toString().split("\n");
+		assertEquals(5, lines.length);
+		assertEquals(5, summary.getLines());
+		assertEquals(3, summary.getErrors());
+		assertEquals(lines[0], lines[4]);
+		assertTrue(lines[1].startsWith("{\"error\":"));
+		assertEquals("{\"error\":\"Each line must be a JSON object\"}", lines[2]);
+		assertEquals("{\"error\":\"Unknown voltage v999\"}", lines[3]);
+
+		assertThrows(IllegalArgumentException.class,
+				() -> NdjsonBatch.run(new StringReader(""), new StringWriter(), 4, 2, null));
+	}
+}
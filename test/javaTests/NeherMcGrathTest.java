@@ -0,0 +1,138 @@
+package javaTests;
+
+import eecalcs.ampacity.NeherMcGrath;
+import eecalcs.conductors.*;
+import eecalcs.conduits.Conduit;
+import eecalcs.conduits.Type;
+import eecalcs.systems.VoltageAC;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NeherMcGrathTest {
+	private static Conduit conduit(Size size, Type type, Insulation insulation, int conductors) {
+		Conduit conduit = new Conduit().setType(type);
+		for(int i = 0; i < conductors; i++)
+			conduit.add(new Conductor().setSize(size).setInsulation(insulation));
+		return conduit;
+	}
+
+	@Test
+	void inAirIsCloseToTheTables() {
+		NeherMcGrath engine = new NeherMcGrath().setInAir();
+		engine.addConduit(conduit(Size.AWG_12, Type.EMT, Insulation.THHN, 3), 0, 0);
+		engine.addConduit(conduit(Size.AWG_4$0, Type.RMC, Insulation.THW, 3), 0, 0);
+		engine.addConduit(conduit(Size.KCMIL_500, Type.PVC40, Insulation.THWN, 3), 0, 0);
+		assertEquals(30, engine.getAmpacity(0), 30 * 0.15);
+		assertEquals(230, engine.getAmpacity(1), 230 * 0.15);
+		assertEquals(380, engine.getAmpacity(2), 380 * 0.15);
+		assertThrows(IllegalArgumentException.class, () -> engine.getAmpacity(3));
+	}
+
+	@Test
+	void loadFactorAndMutualHeating() {
+		NeherMcGrath engine = new NeherMcGrath();
+		engine.addConduit(conduit(Size.AWG_4$0, Type.PVC40, Insulation.THW, 3), 0, 36);
+		double single = engine.getAmpacity(0);
+		double lowerLoadFactor = engine.setLoadFactor(0.5).getAmpacity(0);
+		assertTrue(lowerLoadFactor > single);
+
+		engine.setLoadFactor(1);
+		engine.addConduit(conduit(Size.AWG_4$0, Type.PVC40, Insulation.THW, 3), 12, 36);
+		engine.addConduit(conduit(Size.AWG_4$0, Type.PVC40, Insulation.THW, 3), -12, 36);
+		assertTrue(engine.getAmpacity(0) < single);
+		assertTrue(engine.getAmpacity(0) < engine.getAmpacity(1));
+		assertEquals(engine.getAmpacity(1), engine.getAmpacity(2), 1e-9);
+
+		double directBuried = engine.getAmpacity(0);
+		engine.setEarthThermalResistivity(120);
+		assertTrue(engine.getAmpacity(0) < directBuried);
+	}
+
+	@Test
+	void ductBankInParallel() {
+		NeherMcGrath engine = new NeherMcGrath().setDuctBank(120, 40, 60, 55);
+		for(int i = 0; i < 12; i++)
+			for(int j = 0; j < 4; j++)
+				engine.addConduit(conduit(Size.KCMIL_250, Type.PVC40, Insulation.THWN, 3), -55 + 10 * i, 45 + 10 * j);
+		assertEquals(48, engine.getConduitCount());
+		engine.calculate();
+		double[] sequential = new double[48];
+		for(int i = 0; i < 48; i++) {
+			sequential[i] = engine.getAmpacity(i);
+			assertTrue(sequential[i] > 0);
+		}
+		engine.calculateInParallel();
+		for(int i = 0; i < 48; i++)
+			assertEquals(sequential[i], engine.getAmpacity(i), 1e-9);
+		//the conduits at the corners are cooler than those at the center
+		assertTrue(engine.getAmpacity(0) > engine.getAmpacity(4 * 6 + 1));
+
+		engine.addConduit(conduit(Size.KCMIL_250, Type.PVC40, Insulation.THWN, 3), 70, 60);
+		assertThrows(IllegalArgumentException.class, engine::calculate);
+	}
+
+	@Test
+	void applyToConductors() {
+		Conduit conduit = conduit(Size.AWG_4$0, Type.PVC40, Insulation.THW, 3);
+		Conductor conductor = (Conductor) conduit.getMembers().get(0);
+		double tableAmpacity = conductor.getCorrectedAndAdjustedAmpacity();
+		assertFalse(conductor.hasCalculatedAmpacity());
+
+		NeherMcGrath engine = new NeherMcGrath();
+		engine.addConduit(conduit, 0, 36);
+		engine.apply();
+		assertTrue(conductor.hasCalculatedAmpacity());
+		assertEquals(engine.getAmpacity(0), conductor.getCorrectedAndAdjustedAmpacity());
+		for(Conduitable c : conduit.getMembers())
+			assertEquals(engine.getAmpacity(0), c.getCorrectedAndAdjustedAmpacity());
+
+		conductor.setCalculatedAmpacity(Double.NaN);
+		assertEquals(tableAmpacity, conductor.getCorrectedAndAdjustedAmpacity());
+		assertThrows(IllegalArgumentException.class, () -> conductor.setCalculatedAmpacity(0));
+	}
+
+	@Test
+	void calculatedAmpacityFollowsTheConfiguration() {
+		Conductor conductor = new Conductor().setSize(Size.AWG_4$0).setInsulation(Insulation.THW);
+		conductor.setCalculatedAmpacity(250);
+		//the copies keep it
+		assertEquals(250, conductor.copy().getCorrectedAndAdjustedAmpacity());
+		Conduit conduit = new Conduit().setType(Type.PVC40).add(conductor);
+		Conductor member = (Conductor) conduit.getMembers().get(0);
+		assertEquals(250, member.getCorrectedAndAdjustedAmpacity());
+		Cable cable = new Cable(VoltageAC.v208_3ph_4w).setPhaseConductorSize(Size.AWG_4$0);
+		cable.setCalculatedAmpacity(240);
+		assertEquals(240, cable.copy().getCorrectedAndAdjustedAmpacity());
+		conduit.add(cable);
+		Cable cableMember = (Cable) conduit.getMembers().get(1);
+		assertEquals(240, cableMember.getCorrectedAndAdjustedAmpacity());
+		//another heat source in the conduit
+		assertFalse(member.hasCalculatedAmpacity());
+
+		//the setters that change the configuration discard it
+		conductor.setSize(Size.AWG_4$0).setAmbientTemperatureF(86);
+		assertTrue(conductor.hasCalculatedAmpacity());
+		assertFalse(conductor.copy().setSize(Size.AWG_1$0).hasCalculatedAmpacity());
+		assertFalse(conductor.copy().setMetal(ConductiveMetal.ALUMINUM).hasCalculatedAmpacity());
+		assertFalse(conductor.copy().setInsulation(Insulation.THHN).hasCalculatedAmpacity());
+		assertFalse(conductor.copy().setAmbientTemperatureF(104).hasCalculatedAmpacity());
+		assertTrue(cableMember.hasCalculatedAmpacity());
+		conduit.setAmbientTemperatureF(104);
+		assertFalse(cableMember.hasCalculatedAmpacity());
+		assertFalse(cable.copy().setPhaseConductorSize(Size.AWG_1$0).hasCalculatedAmpacity());
+		assertFalse(cable.copy().setMetalForPhaseAndNeutral(ConductiveMetal.ALUMINUM).hasCalculatedAmpacity());
+		assertFalse(cable.copy().setInsulation(Insulation.THHN).hasCalculatedAmpacity());
+	}
+
+	@Test
+	void invalidConduits() {
+		NeherMcGrath engine = new NeherMcGrath();
+		Conduit mixed = conduit(Size.AWG_4$0, Type.PVC40, Insulation.THW, 2);
+		mixed.add(new Conductor().setSize(Size.AWG_2).setInsulation(Insulation.THW));
+		assertThrows(IllegalArgumentException.class, () -> engine.addConduit(mixed, 0, 36));
+		assertThrows(IllegalArgumentException.class, () -> engine.addConduit(new Conduit(), 0, 36));
+		assertThrows(IllegalArgumentException.class, () -> engine.setLoadFactor(0));
+		assertThrows(IllegalArgumentException.class, () -> engine.setDuctBank(30, 30, 10, 55));
+	}
+}
@@ -0,0 +1,116 @@
+package javaTests;
+
+import org.junit.jupiter.api.Test;
+import tools.PersistentMap;
+import tools.PersistentVector;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PersistentCollectionsTest {
+	/*A key whose hash code collides with other keys.*/
+	private static final class Colliding {
+		final int id;
+
+		Colliding(int id) {
+			this.id = id;
+		}
+
+		@Override
+		public int hashCode() {
+			return id % 4;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			return o instanceof Colliding && ((Colliding) o).id == id;
+		}
+	}
+
+	@Test
+	void vector() {
+		PersistentVector<Integer> vector = PersistentVector.empty();
+		List<PersistentVector<Integer>> versions = new ArrayList<>();
+		for(int i = 0; i < 40_000; i++) {
+			versions.add(vector);
+			vector = vector.append(i);
+		}
+		assertEquals(40_000, vector.size());
+		for(int i = 0; i < 40_000; i += 7)
+			assertEquals(i, vector.get(i));
+		//old versions are not changed
+		assertEquals(1056, versions.get(1056).size());
+		assertEquals(1055, versions.get(1056).get(1055));
+
+		PersistentVector<Integer> edited = vector.set(33_000, -1);
+		assertEquals(-1, edited.get(33_000));
+		assertEquals(33_000, vector.get(33_000));
+
+		int expected = 0;
+		for(int element : vector)
+			assertEquals(expected++, element);
+		assertEquals(40_000, expected);
+
+		PersistentVector<Integer> shrunk = vector;
+		for(int i = 40_000; i > 0; i--) {
+			shrunk = shrunk.removeLast();
+			assertEquals(i - 1, shrunk.size());
+			if(i % 997 == 0 && i > 1)
+				assertEquals(i - 2, shrunk.get(i - 2));
+		}
+		assertTrue(shrunk.isEmpty());
+		assertEquals(5, shrunk.append(5).get(0));
+		assertThrows(IllegalStateException.class, shrunk::removeLast);
+		PersistentVector<Integer> full = vector;
+		assertThrows(IndexOutOfBoundsException.class, () -> full.get(40_000));
+	}
+
+	@Test
+	void mapAgainstHashMap() {
+		Random random = new Random(7);
+		PersistentMap<Integer, Integer> map = PersistentMap.empty();
+		Map<Integer, Integer> reference = new HashMap<>();
+		for(int i = 0; i < 50_000; i++) {
+			int key = random.nextInt(20_000) - 10_000;
+			if(random.nextInt(3) == 0) {
+				map = map.remove(key);
+				reference.remove(key);
+			}
+			else {
+				map = map.put(key, i);
+				reference.put(key, i);
+			}
+		}
+		assertEquals(reference.size(), map.size());
+		for(int key = -10_000; key < 10_000; key++)
+			assertEquals(reference.get(key), map.get(key));
+		Map<Integer, Integer> iterated = new HashMap<>();
+		map.forEach(iterated::put);
+		assertEquals(reference, iterated);
+		assertSame(map, map.remove(123_456));
+		int anyKey = map.keys().get(0);
+		assertSame(map, map.put(anyKey, map.get(anyKey)));
+	}
+
+	@Test
+	void mapCollisions() {
+		PersistentMap<Colliding, String> map = PersistentMap.empty();
+		for(int i = 0; i < 100; i++)
+			map = map.put(new Colliding(i), "v" + i);
+		PersistentMap<Colliding, String> before = map;
+		assertEquals(100, map.size());
+		for(int i = 0; i < 100; i += 2)
+			map = map.remove(new Colliding(i));
+		assertEquals(50, map.size());
+		for(int i = 0; i < 100; i++) {
+			assertEquals(i % 2 == 0 ? null : "v" + i, map.get(new Colliding(i)));
+			assertEquals("v" + i, before.get(new Colliding(i)));
+		}
+		assertThrows(IllegalArgumentException.class, () -> PersistentMap.empty().put("a", null));
+	}
+}
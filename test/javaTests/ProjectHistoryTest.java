@@ -0,0 +1,138 @@
+package javaTests;
+
+import eecalcs.circuits.CircuitAll;
+import eecalcs.circuits.CircuitSizing;
+import eecalcs.conduits.Type;
+import eecalcs.loads.GeneralLoad;
+import eecalcs.snapshot.ProjectHistory;
+import eecalcs.snapshot.ProjectSnapshot;
+import eecalcs.snapshot.ProjectSnapshot.CircuitDef;
+import eecalcs.snapshot.ProjectSnapshot.LoadDef;
+import eecalcs.snapshot.ProjectSnapshot.RacewayDef;
+import eecalcs.systems.VoltageAC;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProjectHistoryTest {
+	@Test
+	void snapshotsAreNotChangedByEdits() {
+		ProjectSnapshot empty = ProjectSnapshot.empty();
+		ProjectSnapshot first = empty
+				.putLoad("AHU-1", new LoadDef(VoltageAC.v480_3ph_4w, 100).withPowerFactor(0.9).withContinuous(true))
+				.putRaceway("R1", new RacewayDef(Type.RMC).withAmbientTemperatureF(104))
+				.addCircuit(new CircuitDef("AHU-1").withRaceway("R1").withLength(150));
+		ProjectSnapshot second = first.putLoad("AHU-1", first.getLoad("AHU-1").withCurrent(50));
+		assertEquals(0, empty.getCircuitCount());
+		assertEquals(3, first.getVersion());
+		assertEquals(100, first.getLoad("AHU-1").getCurrent());
+		assertEquals(50, second.getLoad("AHU-1").getCurrent());
+		assertSame(first.getCircuit(0), second.getCircuit(0));
+		//edits that change nothing return the same snapshot
+		assertSame(first, first.removeLoad("missing"));
+		assertSame(first, first.putRaceway("R1", first.getRaceway("R1")));
+		assertSame(first, first.setCircuit(0, first.getCircuit(0)));
+
+		CircuitSizing sizing = new CircuitSizing();
+		GeneralLoad load = new GeneralLoad(VoltageAC.v480_3ph_4w, 100);
+		load.setPowerFactor(0.9);
+		load.setContinuous();
+		CircuitAll circuit = new CircuitAll.Builder(load).ambientTemperatureF(104).build();
+		circuit.setPrivateConduitType(Type.RMC);
+		circuit.setLength(150);
+		CircuitSizing.Result result = first.size(0, sizing);
+		assertEquals(circuit.getCircuitSize(), result.getSize());
+		assertEquals(circuit.getOCPDRating(), result.getOCPDRating());
+		assertEquals(circuit.getPrivateConduit().getTradeSize(), result.getTradeSize());
+		assertTrue(second.size(0, sizing).getOCPDRating() < result.getOCPDRating());
+
+		ProjectSnapshot removed = second.removeRaceway("R1");
+		assertThrows(IllegalArgumentException.class, () -> removed.size(0, sizing));
+		assertNotNull(second.size(0, sizing).getSize());
+	}
+
+	@Test
+	void circuitsKeepTheirOrder() {
+		ProjectSnapshot snapshot = ProjectSnapshot.empty().putLoad("L", new LoadDef(VoltageAC.v120_1ph_2w, 10));
+		for(int i = 0; i < 100; i++)
+			snapshot = snapshot.addCircuit(new CircuitDef("L").withLength(10 + i));
+		ProjectSnapshot removed = snapshot.removeCircuit(10);
+		assertEquals(99, removed.getCircuitCount());
+		assertEquals(21, removed.getCircuit(10).getLength());
+		assertEquals(20, snapshot.getCircuit(10).getLength());
+		assertEquals(98, removed.removeLastCircuit().getCircuitCount());
+		List<CircuitSizing.Result> results = removed.sizeAll(new CircuitSizing());
+		assertEquals(99, results.size());
+	}
+
+	@Test
+	void undoAndRedo() {
+		ProjectHistory history = new ProjectHistory();
+		ProjectSnapshot empty = history.getSnapshot();
+		assertFalse(history.undo());
+		history.edit(s -> s.putLoad("L1", new LoadDef(VoltageAC.v208_3ph_4w, 40)));
+		ProjectSnapshot one = history.getSnapshot();
+		history.edit(s -> s.addCircuit(new CircuitDef("L1")));
+		ProjectSnapshot two = history.getSnapshot();
+		assertEquals(2, history.getUndoCount());
+
+		assertTrue(history.undo());
+		assertSame(one, history.getSnapshot());
+		assertTrue(history.undo());
+		assertSame(empty, history.getSnapshot());
+		assertTrue(history.redo());
+		assertSame(one, history.getSnapshot());
+		assertEquals(1, history.getRedoCount());
+
+		history.edit(s -> s.putLoad("L2", new LoadDef(VoltageAC.v120_1ph_2w, 5)));
+		assertEquals(0, history.getRedoCount());
+		assertFalse(history.redo());
+		assertNotSame(two, history.getSnapshot());
+		assertEquals(2, history.getSnapshot().getLoadNames().size());
+		//an edit that changes nothing is not recorded
+		ProjectSnapshot current = history.getSnapshot();
+		history.edit(s -> s);
+		history.edit(s -> s.removeLoad("missing").removeRaceway("missing"));
+		history.edit(s -> s.putLoad("L2", s.getLoad("L2")));
+		assertSame(current, history.getSnapshot());
+		assertEquals(current.getVersion(), history.getSnapshot().getVersion());
+		assertEquals(2, history.getUndoCount());
+	}
+
+	@Test
+	void readersSeeStableSnapshots() throws Exception {
+		ProjectHistory history = new ProjectHistory(ProjectSnapshot.empty()
+				.putLoad("L", new LoadDef(VoltageAC.v208_3ph_4w, 20)));
+		AtomicBoolean done = new AtomicBoolean();
+		AtomicReference<Throwable> failure = new AtomicReference<>();
+		Thread reader = new Thread(() -> {
+			CircuitSizing sizing = new CircuitSizing();
+			try {
+				while(!done.get()) {
+					ProjectSnapshot snapshot = history.getSnapshot();
+					int count = snapshot.getCircuitCount();
+					//the loads and circuits of a snapshot are always consistent with each other
+					assertEquals(count, snapshot.sizeAll(sizing).size());
+					assertEquals(count, snapshot.getCircuitCount());
+				}
+			}
+			catch(Throwable t) {
+				failure.set(t);
+			}
+		});
+		reader.start();
+		for(int i = 0; i < 200; i++) {
+			int current = 20 + i % 50;
+			history.edit(s -> s.putLoad("L", s.getLoad("L").withCurrent(current)).addCircuit(new CircuitDef("L")));
+			if(i % 3 == 0)
+				history.undo();
+		}
+		done.set(true);
+		reader.join(30_000);
+		assertNull(failure.get());
+	}
+}
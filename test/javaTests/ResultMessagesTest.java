@@ -0,0 +1,52 @@
+package javaTests;
+
+import org.junit.jupiter.api.Test;
+import tools.ResultMessage;
+import tools.ResultMessages;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResultMessagesTest {
+	private static final ResultMessage ERROR270 = new ResultMessage("Error 270", -270);
+	private static final ResultMessage ERROR290 = new ResultMessage("Error 290", -290);
+	private static final ResultMessage WARNN200 = new ResultMessage("Warning 200", 200);
+
+	@Test
+	void addAndCount() {
+		ResultMessages resultMessages = new ResultMessages();
+		assertFalse(resultMessages.hasMessages());
+		resultMessages.add(ERROR290);
+		resultMessages.add(ERROR290);
+		resultMessages.add(WARNN200);
+		assertTrue(resultMessages.hasMessages());
+		assertEquals(1, resultMessages.errorCount());
+		assertEquals(1, resultMessages.warningCount());
+		assertTrue(resultMessages.containsMessage(-290));
+		assertTrue(resultMessages.containsMessage(ERROR270, WARNN200));
+		assertFalse(resultMessages.containsMessage(ERROR270));
+		assertEquals("", resultMessages.getMessage(-270));
+		assertEquals(2, resultMessages.getMessages().size());
+
+		resultMessages.remove(ERROR290);
+		assertFalse(resultMessages.hasErrors());
+		resultMessages.remove(200);
+		assertFalse(resultMessages.hasMessages());
+	}
+
+	@Test
+	void detail() {
+		ResultMessages resultMessages = new ResultMessages();
+		resultMessages.add(ERROR270, "Actual size is %s.", "#2");
+		assertEquals("Error 270\nActual size is #2.", resultMessages.getMessage(-270));
+		assertEquals("Error 270\nActual size is #2.", resultMessages.getMessages().get(0).getMessage());
+		resultMessages.clearMessages();
+		assertFalse(resultMessages.containsMessage(-270));
+	}
+
+	@Test
+	void outOfRange() {
+		ResultMessages resultMessages = new ResultMessages();
+		assertThrows(IllegalArgumentException.class, () -> resultMessages.add(new ResultMessage("", 300)));
+		assertFalse(resultMessages.containsMessage(-300));
+	}
+}
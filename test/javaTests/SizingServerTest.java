@@ -0,0 +1,96 @@
+package javaTests;
+
+import eecalcs.server.LoadTest;
+import eecalcs.server.SizingServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SizingServerTest {
+	private static SizingServer server;
+	private static final HttpClient client = HttpClient.newHttpClient();
+
+	@BeforeAll
+	static void start() throws Exception {
+		server = new SizingServer(0, 2).start();
+	}
+
+	@AfterAll
+	static void stop() {
+		server.close();
+	}
+
+	private static HttpResponse<String> post(String path, String body) throws Exception {
+		HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + server.getPort() + path))
+				.POST(HttpRequest.BodyPublishers.ofString(body)).build();
+		return client.send(request, HttpResponse.BodyHandlers.ofString());
+	}
+
+	@Test
+	void endpoints() throws Exception {
+		HttpResponse<String> response = post("/motor-flc", "{\"type\": \"AC3P\", \"voltage\": 460, " +
+				"\"horsepower\": \"HP_10\"}");
+		assertEquals(200, response.statusCode());
+		assertEquals("{\"flc\":14.0}", response.body());
+
+		response = post("/circuit", "{\"voltage\": \"v480_3ph_4w\", \"current\": 100, \"continuous\": true}");
+		assertEquals(200, response.statusCode());
+		assertEquals("{\"size\":\"AWG_1$0\",\"ocpdRating\":125,\"ampacity\":125.0}", response.body());
+
+		response = post("/voltage-drop", "{\"voltage\": \"208/120V 3Ø 4W\", \"current\": 60, \"size\": \"AWG_4\", " +
+				"\"length\": 200}");
+		assertEquals("{\"percent\":3.1,\"minSize\":\"AWG_3\",\"maxLength\":193.7}", response.body());
+
+		response = post("/conduit-fill", "{\"type\": \"EMT\", \"conductors\": [{\"size\": \"AWG_12\", " +
+				"\"insulation\": \"THHN\", \"count\": 9}]}");
+		assertTrue(response.body().startsWith("{\"tradeSize\":\"T1$2\","));
+	}
+
+	@Test
+	void batch() throws Exception {
+		HttpResponse<String> response = post("/batch/motor-flc", "[{\"type\": \"AC3P\", \"voltage\": 460, " +
+				"\"horsepower\": \"HP_10\"}, {\"type\": \"X\"}, 3, {\"type\": \"DC\", \"voltage\": 240, " +
+				"\"horsepower\": \"HP_1\"}]");
+		assertEquals(200, response.statusCode());
+		assertEquals("[{\"flc\":14.0},{\"error\":\"No enum constant eecalcs.loads.MotorProperties.Type.X\"}," +
+				"{\"error\":\"Each element must be a JSON object\"},{\"flc\":4.7}]", response.body());
+		assertEquals("[]", post("/batch/circuit", "[]").body());
+		assertEquals(400, post("/batch/circuit", "{}").statusCode());
+	}
+
+	@Test
+	void errors() throws Exception {
+		HttpResponse<String> response = post("/circuit", "{\"voltage\": \"bogus\", \"current\": 1}");
+		assertEquals(400, response.statusCode());
+		assertEquals("{\"error\":\"Unknown voltage bogus\"}", response.body());
+		assertEquals(400, post("/circuit", "{\"voltage\": \"v480_3ph_4w\"}").statusCode());
+		assertEquals(400, post("/circuit", "{not json").statusCode());
+		assertEquals(404, post("/nothing", "{}").statusCode());
+		response = post("/conduit-fill", "{\"conductors\": [{\"count\": 2000000000}]}");
+		assertEquals(400, response.statusCode());
+		assertEquals("{\"error\":\"The number of conductors cannot be more than 1300\"}", response.body());
+		assertEquals(400, post("/conduit-fill", "{\"conductors\": [{\"count\": 1000}, {\"count\": 301}]}")
+				.statusCode());
+		assertEquals(200, post("/conduit-fill", "{\"conductors\": [{\"count\": 1300}]}").statusCode());
+		HttpRequest get = HttpRequest.newBuilder(URI.create("http://localhost:" + server.getPort() + "/circuit"))
+				.GET().build();
+		assertEquals(405, client.send(get, HttpResponse.BodyHandlers.ofString()).statusCode());
+	}
+
+	@Test
+	void loadTest() throws Exception {
+		LoadTest.Report report = LoadTest.run(server.getPort(), "motor-flc",
+				"{\"type\": \"AC3P\", \"voltage\": 460, \"horsepower\": \"HP_10\"}", 2, 20);
+		assertEquals(40, report.getRequests());
+		assertEquals(0, report.getErrors());
+		assertTrue(report.getLatencyMillis(50) <= report.getLatencyMillis(99));
+		assertTrue(report.getThroughput() > 0);
+	}
+}
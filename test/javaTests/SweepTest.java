@@ -0,0 +1,78 @@
+package javaTests;
+
+import eecalcs.circuits.CircuitAll;
+import eecalcs.circuits.Sweep;
+import eecalcs.conductors.Size;
+import eecalcs.loads.GeneralLoad;
+import eecalcs.systems.VoltageAC;
+import eecalcs.voltagedrop.VoltageDropAC;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.DoubleFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SweepTest {
+	@Test
+	void stepFunction() {
+		Sweep.BreakpointTable<Integer> table = new Sweep<>("x", x -> (int) Math.floor(x / 10))
+				.range(0, 100).resolution(0.5).run();
+		assertEquals(0, table.getInitial());
+		assertEquals(10, table.getBreakpoints().size());
+		assertEquals(10, table.getBreakpoints().get(0).getValue());
+		assertEquals(0, table.getBreakpoints().get(0).getBefore());
+		assertEquals(1, table.getBreakpoints().get(0).getAfter());
+		assertEquals(4, table.getResultAt(49.5));
+		assertEquals(5, table.getResultAt(50));
+		assertTrue(table.getEvaluations() < 201);
+	}
+
+	@Test
+	void constantResult() {
+		Sweep.BreakpointTable<String> table = new Sweep<>("x", x -> "same").range(1, 1000).resolution(1).run();
+		assertTrue(table.getBreakpoints().isEmpty());
+		assertEquals(2, table.getEvaluations());
+	}
+
+	@Test
+	void phaseSizePerCurrent() {
+		DoubleFunction<CircuitAll> factory = current ->
+				new CircuitAll.Builder(new GeneralLoad(VoltageAC.v208_3ph_3w, current)).build();
+		DoubleFunction<Size> model = Sweep.phaseSize(factory);
+		Sweep.BreakpointTable<Size> table = new Sweep<>("Current", model)
+				.range(10, 200).resolution(1).splitAt(100).run();
+		for (int current = 10; current <= 200; current++)
+			assertEquals(model.apply(current), table.getResultAt(current), "At " + current + " A");
+		assertTrue(table.getEvaluations() < 191);
+	}
+
+	@Test
+	void runAll() {
+		DoubleFunction<CircuitAll> byCurrent = current ->
+				new CircuitAll.Builder(new GeneralLoad(VoltageAC.v480_3ph_3w, current)).build();
+		DoubleFunction<VoltageDropAC> byPowerFactor = pf -> new VoltageDropAC()
+				.setVoltageAC(VoltageAC.v480_3ph_3w)
+				.setLoadCurrent(150)
+				.setConductorLength(400)
+				.setPowerFactor(pf);
+		List<Sweep<?>> sweeps = List.of(
+				new Sweep<>("OCPD", Sweep.ocpdRating(byCurrent)).range(10, 300).resolution(1).splitAt(100),
+				new Sweep<>("Power factor", Sweep.minSizeForMaxVD(byPowerFactor)).range(0.7, 1).resolution(0.01));
+		List<Sweep.BreakpointTable<?>> tables = Sweep.runAll(sweeps);
+		assertEquals("OCPD", tables.get(0).getName());
+		assertEquals("Power factor", tables.get(1).getName());
+		assertFalse(tables.get(0).getBreakpoints().isEmpty());
+		for (int i = 0; i < 30; i++) {
+			double pf = 0.7 + i * 0.01;
+			assertEquals(Sweep.minSizeForMaxVD(byPowerFactor).apply(pf), tables.get(1).getResultAt(pf));
+		}
+	}
+
+	@Test
+	void invalidArguments() {
+		assertThrows(IllegalArgumentException.class, () -> new Sweep<>("x", x -> x).range(5, 5));
+		assertThrows(IllegalArgumentException.class, () -> new Sweep<>("x", x -> x).resolution(0));
+		assertThrows(IllegalArgumentException.class, () -> new Sweep<Double>(null, x -> x));
+	}
+}
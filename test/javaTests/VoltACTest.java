@@ -51,6 +51,26 @@ class VoltACTest {
 		assertEquals(1, vac.getFactor(),0.0000001);
 	}
 
+	@Test
+	void custom_4() {
+		//that custom voltage systems are interned, even when created concurrently.
+		VoltageAC[] created = new VoltageAC[8];
+		Thread[] threads = new Thread[created.length];
+		for (int i = 0; i < threads.length; i++) {
+			int index = i;
+			threads[i] = new Thread(() -> created[index] = VoltageAC.custom("Custom voltage 4", 4160, 3, 3, 0,
+					VoltageAC.WindingType.D));
+			threads[i].start();
+		}
+		for (Thread thread : threads)
+			assertDoesNotThrow(() -> thread.join());
+		for (VoltageAC vac : created)
+			assertSame(created[0], vac);
+		assertEquals(VoltageAC.values().length, VoltageAC.getNames().length);
+		assertSame(created[0], VoltageAC.values()[VoltageAC.values().length - 1]);
+		assertNotEquals(VoltageAC.v480_3ph_3w, created[0]);
+	}
+
 	@Test
 	void hasHotAndNeutralOnly() {
 		assertTrue(v120_1ph_2w.hasHotAndNeutralOnly());
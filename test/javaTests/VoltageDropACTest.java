@@ -9,6 +9,7 @@ import org.junit.jupiter.api.Test;
 import static eecalcs.voltagedrop.VoltageDropAC.*;
 import static eecalcs.voltagedrop.VoltageDropAC.getMaxLengthForVD;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class VoltageDropACTest {
 
@@ -289,5 +290,36 @@ class VoltageDropACTest {
 				OuterMaterial.STEEL), 0.01);
 	}
 
+	@Test
+	void temperatureCorrectedResistance() {
+		VoltageDropAC voltageDropAC = new VoltageDropAC()
+				.setConductorLength(100)
+				.setConduitMaterial(OuterMaterial.STEEL);
+		double tableVD = voltageDropAC.getVoltageDropPercent();
+		assertEquals(75, voltageDropAC.getConductorTemperature());
+
+		voltageDropAC.setConductorTemperature(75);
+		assertEquals(tableVD, voltageDropAC.getVoltageDropPercent());
+		voltageDropAC.setConductorTemperature(20);
+		assertEquals(20, voltageDropAC.getConductorTemperature());
+		assertEquals(tableVD * (1 - 0.00323 * 55), voltageDropAC.getVoltageDropPercent(), 0.1);
+		assertEquals(getVoltageDropPercent(120, 1, 10, 1, true, Size.AWG_12, 100, 1, ConductiveMetal.COPPER,
+				OuterMaterial.STEEL, 20), voltageDropAC.getVoltageDropPercent());
 
-}
\ No newline at end of file
+		//10 A in a #12 75°C conductor rated 25 A, at 30°C ambient: T = 30 + 45·(10/25)² = 37.2°C
+		voltageDropAC.setEstimatedConductorTemperature(30, TempRating.T75, 1);
+		assertEquals(37.2, voltageDropAC.getConductorTemperature(), 1e-9);
+		assertEquals(getVoltageDropPercent(120, 1, 10, 1, true, Size.AWG_12, 100, 1, ConductiveMetal.COPPER,
+				OuterMaterial.STEEL, 37.2), voltageDropAC.getVoltageDropPercent(), 1e-9);
+		assertTrue(voltageDropAC.getVoltageDropPercent() < tableVD);
+		assertTrue(voltageDropAC.getMaxLengthForVD() > getMaxLengthForVD(120, 1, 10, 1, true, Size.AWG_12, 3, 1,
+				ConductiveMetal.COPPER, OuterMaterial.STEEL));
+
+		voltageDropAC.useTableResistance();
+		assertEquals(tableVD, voltageDropAC.getVoltageDropPercent());
+		assertEquals(getMinSizeForMaxVD(120, 1, 10, 1, true, 3, 100, 1, ConductiveMetal.COPPER, OuterMaterial.STEEL),
+				voltageDropAC.getMinSizeForMaxVD());
+		assertEquals(getMinSizeForMaxVD(120, 1, 10, 1, true, 3, 100, 1, ConductiveMetal.COPPER, OuterMaterial.STEEL, 75),
+				voltageDropAC.getMinSizeForMaxVD());
+	}
+}